@@ -42,6 +42,118 @@ public enum EchoConfigPropertyName implements PropertyName {
 	 * Name of this property is {@code "echoServer.threads.workers"}.
 	 */
 	ECHO_WORKERS("echoServer.threads.workers", false),
+	/**
+	 * This property specifies requested maximum length of the queue of incoming connections the OS keeps for the server.
+	 * Connection requests that don't fit into the queue are dropped, which makes clients retransmit them after a delay.
+	 * The OS MAY silently limit the value (e.g. Linux limits it by {@code net.core.somaxconn}). MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1024}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.backlog"}.
+	 */
+	ECHO_SOCKET_BACKLOG("echoServer.socketOptions.backlog", true),
+	/**
+	 * This property specifies if the server MAY bind its address while previous connections to it are in {@code TIME_WAIT} state
+	 * ({@code SO_REUSEADDR}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.reuseAddress"}.
+	 */
+	ECHO_SOCKET_REUSE_ADDRESS("echoServer.socketOptions.reuseAddress", true),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for the accepted TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.tcpNoDelay"}.
+	 */
+	ECHO_SOCKET_TCP_NO_DELAY("echoServer.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via the accepted TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.keepAlive"}.
+	 */
+	ECHO_SOCKET_KEEP_ALIVE("echoServer.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of the accepted TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.receiveBufferSize"}.
+	 */
+	ECHO_SOCKET_RECEIVE_BUFFER_SIZE("echoServer.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of the accepted TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.socketOptions.sendBufferSize"}.
+	 */
+	ECHO_SOCKET_SEND_BUFFER_SIZE("echoServer.socketOptions.sendBufferSize", true),
+	/**
+	 * This property specifies maximum amount of time in milliseconds the server waits for accepted TCP connections
+	 * to be closed after it stopped accepting new ones in response to {@code PUT /shutdown/}.
+	 * Connections that are open after that are force-closed. Value {@code 0} means that connections aren't drained.
+	 * MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.drain.timeoutMillis"}.
+	 */
+	ECHO_DRAIN_TIMEOUT_MILLIS("echoServer.drain.timeoutMillis", true),
+	/**
+	 * This property specifies amount of time in milliseconds during which nothing was either read from or written to
+	 * an accepted TCP connection that is being drained, after which the server closes the connection without waiting
+	 * for the drain timeout. Value {@code 0} means that idle connections aren't closed before the drain timeout expires.
+	 * MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.drain.idleMillis"}.
+	 */
+	ECHO_DRAIN_IDLE_MILLIS("echoServer.drain.idleMillis", true),
+	/**
+	 * This property specifies maximum number of open accepted TCP connections.
+	 * Connections accepted over the limit are closed right away. Value {@code 0} means unlimited. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.connections.max"}.
+	 */
+	ECHO_CONNECTIONS_MAX("echoServer.connections.max", true),
+	/**
+	 * This property specifies maximum number of open accepted TCP connections per client IP address.
+	 * Connections accepted over the limit are closed right away. Value {@code 0} means unlimited. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.connections.maxPerAddress"}.
+	 */
+	ECHO_CONNECTIONS_MAX_PER_ADDRESS("echoServer.connections.maxPerAddress", true),
+	/**
+	 * This property specifies percentage of the process limit of open file descriptors, reaching which makes the server
+	 * close accepted TCP connections right away and pause accepting. Value {@code 0} disables the check.
+	 * MUST be from {@code 0} to {@code 100}.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.connections.maxFileDescriptorUsagePercent"}.
+	 */
+	ECHO_CONNECTIONS_MAX_FILE_DESCRIPTOR_USAGE_PERCENT("echoServer.connections.maxFileDescriptorUsagePercent", true),
+	/**
+	 * This property specifies amount of time in milliseconds the server doesn't accept TCP connections after it has noticed
+	 * that file descriptors are close to exhaustion or after accepting of a connection failed. MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1000}.
+	 * <p>
+	 * Name of this property is {@code "echoServer.connections.acceptBackOffMillis"}.
+	 */
+	ECHO_CONNECTIONS_ACCEPT_BACK_OFF_MILLIS("echoServer.connections.acceptBackOffMillis", true),
 	/**
 	 * This property specifies Internet address of a network interface the server uses to listen for control requests (REST).
 	 * <p>
@@ -73,7 +185,60 @@ public enum EchoConfigPropertyName implements PropertyName {
 	 * <p>
 	 * Name of this property is {@code "controlServer.threads.postResponseWorkers"}.
 	 */
-	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false);
+	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false),
+	/**
+	 * This property specifies requested maximum length of the queue of incoming connections the OS keeps for the server.
+	 * Connection requests that don't fit into the queue are dropped, which makes clients retransmit them after a delay.
+	 * The OS MAY silently limit the value (e.g. Linux limits it by {@code net.core.somaxconn}). MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1024}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.backlog"}.
+	 */
+	CONTROL_SOCKET_BACKLOG("controlServer.socketOptions.backlog", true),
+	/**
+	 * This property specifies if the server MAY bind its address while previous connections to it are in {@code TIME_WAIT} state
+	 * ({@code SO_REUSEADDR}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.reuseAddress"}.
+	 */
+	CONTROL_SOCKET_REUSE_ADDRESS("controlServer.socketOptions.reuseAddress", true),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for the accepted TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.tcpNoDelay"}.
+	 */
+	CONTROL_SOCKET_TCP_NO_DELAY("controlServer.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via the accepted TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.keepAlive"}.
+	 */
+	CONTROL_SOCKET_KEEP_ALIVE("controlServer.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of the accepted TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.receiveBufferSize"}.
+	 */
+	CONTROL_SOCKET_RECEIVE_BUFFER_SIZE("controlServer.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of the accepted TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.sendBufferSize"}.
+	 */
+	CONTROL_SOCKET_SEND_BUFFER_SIZE("controlServer.socketOptions.sendBufferSize", true);
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(EchoConfigPropertyName.class);
 
@@ -12,12 +12,17 @@ import com.gl.vn.me.ko.pies.platform.server.rest.RestServerAddress;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerBoss;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerName;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerRequestHandling;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestServerSocket;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerThreadFactory;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerWorker;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServer;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerAddress;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerBoss;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerConnectionLimits;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerDrainSettings;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerName;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocket;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocketOptions;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerThreadFactory;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerWorker;
 import com.google.common.collect.ImmutableList;
@@ -211,12 +216,13 @@ final class EchoModule extends AbstractModule {
 	@Nullable
 	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
 	private final Collection<? extends RestRequestHandler<? extends JsonRestRequestHandlerResult>>
-			provideControlSrvRestRequestHandlers(final TcpServer echoServer, final JsonBuilderFactory jsonBuilderFactory) {
+			provideControlSrvRestRequestHandlers(final TcpServer echoServer, final TcpServerDrainSettings drainSettings,
+					final JsonBuilderFactory jsonBuilderFactory) {
 		final Collection<? extends RestRequestHandler<? extends JsonRestRequestHandlerResult>> result;
 		try {
 			final ImmutableList.Builder<RestRequestHandler<JsonRestRequestHandlerResult>> resultBuilder
 					= ImmutableList.builder();
-			resultBuilder.add(new EchoShutdownRestRequestHandler(echoServer, jsonBuilderFactory));
+			resultBuilder.add(new EchoShutdownRestRequestHandler(echoServer, drainSettings, jsonBuilderFactory));
 			result = resultBuilder.build();
 		} catch (final RuntimeException e) {
 			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
@@ -239,6 +245,34 @@ final class EchoModule extends AbstractModule {
 		return result;
 	}
 
+	@Provides
+	@Singleton
+	@RestServerSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerSocketOptions provideControlSrvSocketOptions(final PropsConfig cfg) {
+		final TcpServerSocketOptions result;
+		try {
+			final TcpServerSocketOptions defaults = TcpServerSocketOptions.defaults();
+			result = defaults
+					.withBacklog(cfg.getInteger(EchoConfigPropertyName.CONTROL_SOCKET_BACKLOG,
+							defaults.getBacklog()).get().intValue())
+					.withReuseAddress(cfg.getBoolean(EchoConfigPropertyName.CONTROL_SOCKET_REUSE_ADDRESS,
+							defaults.isReuseAddress()).get().booleanValue())
+					.withTcpNoDelay(cfg.getBoolean(EchoConfigPropertyName.CONTROL_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue())
+					.withKeepAlive(cfg.getBoolean(EchoConfigPropertyName.CONTROL_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue())
+					.withReceiveBufferSize(cfg.getInteger(EchoConfigPropertyName.CONTROL_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue())
+					.withSendBufferSize(cfg.getInteger(EchoConfigPropertyName.CONTROL_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
 	@Provides
 	@Singleton
 	@TcpServerAddress
@@ -331,4 +365,72 @@ final class EchoModule extends AbstractModule {
 		}
 		return result;
 	}
+
+	@Provides
+	@Singleton
+	@TcpServerSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerSocketOptions provideEchoSrvSocketOptions(final PropsConfig cfg) {
+		final TcpServerSocketOptions result;
+		try {
+			final TcpServerSocketOptions defaults = TcpServerSocketOptions.defaults();
+			result = defaults
+					.withBacklog(cfg.getInteger(EchoConfigPropertyName.ECHO_SOCKET_BACKLOG,
+							defaults.getBacklog()).get().intValue())
+					.withReuseAddress(cfg.getBoolean(EchoConfigPropertyName.ECHO_SOCKET_REUSE_ADDRESS,
+							defaults.isReuseAddress()).get().booleanValue())
+					.withTcpNoDelay(cfg.getBoolean(EchoConfigPropertyName.ECHO_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue())
+					.withKeepAlive(cfg.getBoolean(EchoConfigPropertyName.ECHO_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue())
+					.withReceiveBufferSize(cfg.getInteger(EchoConfigPropertyName.ECHO_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue())
+					.withSendBufferSize(cfg.getInteger(EchoConfigPropertyName.ECHO_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerDrainSettings provideEchoSrvDrainSettings(final PropsConfig cfg) {
+		final TcpServerDrainSettings result;
+		try {
+			final TcpServerDrainSettings defaults = TcpServerDrainSettings.disabled();
+			result = new TcpServerDrainSettings(
+					cfg.getLong(EchoConfigPropertyName.ECHO_DRAIN_TIMEOUT_MILLIS, defaults.getTimeoutMillis()).get().longValue(),
+					cfg.getLong(EchoConfigPropertyName.ECHO_DRAIN_IDLE_MILLIS, defaults.getIdleMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerConnectionLimits provideEchoSrvConnectionLimits(final PropsConfig cfg) {
+		final TcpServerConnectionLimits result;
+		try {
+			final TcpServerConnectionLimits defaults = TcpServerConnectionLimits.unlimited();
+			result = new TcpServerConnectionLimits(
+					cfg.getInteger(EchoConfigPropertyName.ECHO_CONNECTIONS_MAX,
+							defaults.getMaxConnections()).get().intValue(),
+					cfg.getInteger(EchoConfigPropertyName.ECHO_CONNECTIONS_MAX_PER_ADDRESS,
+							defaults.getMaxConnectionsPerAddress()).get().intValue(),
+					cfg.getInteger(EchoConfigPropertyName.ECHO_CONNECTIONS_MAX_FILE_DESCRIPTOR_USAGE_PERCENT,
+							defaults.getMaxFileDescriptorUsagePercent()).get().intValue(),
+					cfg.getLong(EchoConfigPropertyName.ECHO_CONNECTIONS_ACCEPT_BACK_OFF_MILLIS,
+							defaults.getAcceptBackOffMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
 }
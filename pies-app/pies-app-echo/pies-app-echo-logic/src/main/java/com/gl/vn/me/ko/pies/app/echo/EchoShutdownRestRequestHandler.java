@@ -9,6 +9,8 @@ import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServer;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerDrainSettings;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -21,14 +23,16 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This {@link RestRequestHandler} is intended to perform shutdown of all {@link Server}s.
- * Firstly it shuts down Echo Server and then responds with {@link HttpResponseStatus#ACCEPTED} before shutting down the
- * Control Server it belongs to.
+ * Firstly it {@linkplain TcpServer#drainAndShutdown(TcpServerDrainSettings) drains connections and shuts down} Echo Server
+ * and then responds with {@link HttpResponseStatus#ACCEPTED} before shutting down the Control Server it belongs to.
+ * The response reports how many connections of Echo Server were force-closed because they weren't closed before the drain timeout.
  * <p>
  * Example of HTTP response content:
  * <pre><code>
  * {
  * 	"httpReasonPhrase": "Echo Server was stopped. Shutdown command for Control Server is accepted",
- * 	"echoServer": "Echo Server(address=localhost/127.0.0.1:7000, active=false)"
+ * 	"echoServer": "Echo Server(address=localhost/127.0.0.1:7000, active=false)",
+ * 	"forceClosedConnections": 0
  * }
  * </code></pre>
  * Note that value for name {@code echoServer} is just descriptive and MAY be changed.
@@ -37,22 +41,29 @@ import org.slf4j.LoggerFactory;
 final class EchoShutdownRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(EchoShutdownRestRequestHandler.class);
 	private static final String JSON_RESPONSE_ECHO_SERVER_NVNAME = "echoServer";
-	private final Server echoServer;
+	private static final String JSON_RESPONSE_FORCE_CLOSED_CONNECTIONS_NVNAME = "forceClosedConnections";
+	private final TcpServer echoServer;
+	private final TcpServerDrainSettings drainSettings;
 	private final JsonBuilderFactory jsonBuilderFactory;
 
 	/**
 	 * Constructs a new instance of {@link EchoShutdownRestRequestHandler}.
 	 *
 	 * @param echoServer
-	 * A {@link Server} that this {@link RestRequestHandler} will shut down.
+	 * A {@link TcpServer} that this {@link RestRequestHandler} will shut down.
+	 * @param drainSettings
+	 * {@link TcpServerDrainSettings} that specify how connections of the {@code echoServer} are drained on shutdown.
 	 * @param jsonBuilderFactory
 	 * An implementation of {@link JsonBuilderFactory}.
 	 */
-	EchoShutdownRestRequestHandler(final Server echoServer, final JsonBuilderFactory jsonBuilderFactory) {
+	EchoShutdownRestRequestHandler(
+			final TcpServer echoServer, final TcpServerDrainSettings drainSettings, final JsonBuilderFactory jsonBuilderFactory) {
 		super(RestRequest.valueOf("PUT /shutdown/"));
 		checkNotNull(echoServer, Message.ARGUMENT_NULL, "first", "echoServer");
-		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		checkNotNull(drainSettings, Message.ARGUMENT_NULL, "second", "drainSettings");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "third", "jsonBuilderFactory");
 		this.echoServer = echoServer;
+		this.drainSettings = drainSettings;
 		this.jsonBuilderFactory = jsonBuilderFactory;
 	}
 
@@ -67,11 +78,12 @@ final class EchoShutdownRestRequestHandler extends RestRequestHandler<JsonRestRe
 					throw new BadRestRequestException(
 							Message.format("Request %s... must not specify any arguments", getBinding()));
 				}
-				echoServer.shutdown();
+				final int forceClosedConnections = echoServer.drainAndShutdown(drainSettings);
 				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
 				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME,
 						"Echo Server was stopped. Shutdown command for Control Server is accepted");
 				jsonBuilder.add(JSON_RESPONSE_ECHO_SERVER_NVNAME, echoServer.toString());
+				jsonBuilder.add(JSON_RESPONSE_FORCE_CLOSED_CONNECTIONS_NVNAME, forceClosedConnections);
 				final JsonObject httpResponseContent = jsonBuilder.build();
 				/*
 				 * getServer().shutdown() will also shut down ExecutorService in which action is executed
@@ -88,7 +100,7 @@ final class EchoShutdownRestRequestHandler extends RestRequestHandler<JsonRestRe
 	}
 
 	/**
-	 * Shuts down {@link Server} that was specified to construct this {@link EchoShutdownRestRequestHandler}.
+	 * Shuts down {@link TcpServer} that was specified to construct this {@link EchoShutdownRestRequestHandler}.
 	 */
 	@Override
 	protected final void shutdownHook() {
@@ -48,6 +48,40 @@ public enum InitiatorConfigPropertyName implements PropertyName {
 	 * Name of this property is {@code "initiatorClient.validateResponse"}.
 	 */
 	INITIATOR_CLIENT_VALIDATE_RESPONSE("initiatorClient.validateResponse", false),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "initiatorClient.socketOptions.tcpNoDelay"}.
+	 */
+	INITIATOR_CLIENT_SOCKET_TCP_NO_DELAY("initiatorClient.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "initiatorClient.socketOptions.keepAlive"}.
+	 */
+	INITIATOR_CLIENT_SOCKET_KEEP_ALIVE("initiatorClient.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "initiatorClient.socketOptions.receiveBufferSize"}.
+	 */
+	INITIATOR_CLIENT_SOCKET_RECEIVE_BUFFER_SIZE("initiatorClient.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "initiatorClient.socketOptions.sendBufferSize"}.
+	 */
+	INITIATOR_CLIENT_SOCKET_SEND_BUFFER_SIZE("initiatorClient.socketOptions.sendBufferSize", true),
 	/**
 	 * This property specifies Internet address of a network interface the server uses to listen for control requests (REST).
 	 * <p>
@@ -79,7 +113,60 @@ public enum InitiatorConfigPropertyName implements PropertyName {
 	 * <p>
 	 * Name of this property is {@code "controlServer.threads.postResponseWorkers"}.
 	 */
-	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false);
+	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false),
+	/**
+	 * This property specifies requested maximum length of the queue of incoming connections the OS keeps for the server.
+	 * Connection requests that don't fit into the queue are dropped, which makes clients retransmit them after a delay.
+	 * The OS MAY silently limit the value (e.g. Linux limits it by {@code net.core.somaxconn}). MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1024}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.backlog"}.
+	 */
+	CONTROL_SOCKET_BACKLOG("controlServer.socketOptions.backlog", true),
+	/**
+	 * This property specifies if the server MAY bind its address while previous connections to it are in {@code TIME_WAIT} state
+	 * ({@code SO_REUSEADDR}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.reuseAddress"}.
+	 */
+	CONTROL_SOCKET_REUSE_ADDRESS("controlServer.socketOptions.reuseAddress", true),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for the accepted TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.tcpNoDelay"}.
+	 */
+	CONTROL_SOCKET_TCP_NO_DELAY("controlServer.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via the accepted TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.keepAlive"}.
+	 */
+	CONTROL_SOCKET_KEEP_ALIVE("controlServer.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of the accepted TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.receiveBufferSize"}.
+	 */
+	CONTROL_SOCKET_RECEIVE_BUFFER_SIZE("controlServer.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of the accepted TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.sendBufferSize"}.
+	 */
+	CONTROL_SOCKET_SEND_BUFFER_SIZE("controlServer.socketOptions.sendBufferSize", true);
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(InitiatorConfigPropertyName.class);
 
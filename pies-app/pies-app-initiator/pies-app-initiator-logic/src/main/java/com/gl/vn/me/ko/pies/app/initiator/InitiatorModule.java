@@ -7,10 +7,12 @@ import com.gl.vn.me.ko.pies.base.config.app.ConfigLocator;
 import com.gl.vn.me.ko.pies.base.main.GuiceLocator;
 import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpChannelInitializer;
+import com.gl.vn.me.ko.pies.platform.client.tcp.TcpClientSocketOptions;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClient;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientAddress;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientConnectTimeout;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientName;
+import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientSocket;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientThreadFactory;
 import com.gl.vn.me.ko.pies.platform.client.tcp.TcpSequentialClientWorker;
 import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
@@ -20,8 +22,10 @@ import com.gl.vn.me.ko.pies.platform.server.rest.RestServerAddress;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerBoss;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerName;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerRequestHandling;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestServerSocket;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerThreadFactory;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerWorker;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocketOptions;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provider;
@@ -245,6 +249,34 @@ final class InitiatorModule extends AbstractModule {
 		return result;
 	}
 
+	@Provides
+	@Singleton
+	@RestServerSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerSocketOptions provideControlSrvSocketOptions(final PropsConfig cfg) {
+		final TcpServerSocketOptions result;
+		try {
+			final TcpServerSocketOptions defaults = TcpServerSocketOptions.defaults();
+			result = defaults
+					.withBacklog(cfg.getInteger(InitiatorConfigPropertyName.CONTROL_SOCKET_BACKLOG,
+							defaults.getBacklog()).get().intValue())
+					.withReuseAddress(cfg.getBoolean(InitiatorConfigPropertyName.CONTROL_SOCKET_REUSE_ADDRESS,
+							defaults.isReuseAddress()).get().booleanValue())
+					.withTcpNoDelay(cfg.getBoolean(InitiatorConfigPropertyName.CONTROL_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue())
+					.withKeepAlive(cfg.getBoolean(InitiatorConfigPropertyName.CONTROL_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue())
+					.withReceiveBufferSize(cfg.getInteger(InitiatorConfigPropertyName.CONTROL_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue())
+					.withSendBufferSize(cfg.getInteger(InitiatorConfigPropertyName.CONTROL_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
 	@Provides
 	@TcpSequentialClientAddress
 	@Singleton
@@ -310,4 +342,28 @@ final class InitiatorModule extends AbstractModule {
 		}
 		return result;
 	}
+
+	@Provides
+	@Singleton
+	@TcpSequentialClientSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpClientSocketOptions provideEchoClientSocketOptions(final PropsConfig cfg) {
+		final TcpClientSocketOptions result;
+		try {
+			final TcpClientSocketOptions defaults = TcpClientSocketOptions.defaults();
+			result = new TcpClientSocketOptions(
+					cfg.getBoolean(InitiatorConfigPropertyName.INITIATOR_CLIENT_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue(),
+					cfg.getBoolean(InitiatorConfigPropertyName.INITIATOR_CLIENT_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue(),
+					cfg.getInteger(InitiatorConfigPropertyName.INITIATOR_CLIENT_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue(),
+					cfg.getInteger(InitiatorConfigPropertyName.INITIATOR_CLIENT_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
 }
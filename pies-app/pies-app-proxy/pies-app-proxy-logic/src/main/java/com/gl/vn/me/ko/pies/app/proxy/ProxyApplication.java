@@ -6,8 +6,12 @@ import com.gl.vn.me.ko.pies.platform.app.CommonApp;
 import com.gl.vn.me.ko.pies.platform.server.Server;
 import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServer;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
 import io.netty.util.concurrent.Future;
+import java.util.Optional;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +22,9 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public final class ProxyApplication extends CommonApp {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyApplication.class);
+	private static final Key<Optional<UdpReverseProxyServer>> UDP_PROXY_SERVER_KEY
+			= Key.get(new TypeLiteral<Optional<UdpReverseProxyServer>>() {
+			});
 
 	/**
 	 * Constructor required according to the specification of {@link App}.
@@ -28,14 +35,18 @@ public final class ProxyApplication extends CommonApp {
 	}
 
 	/**
-	 * Creates and starts Proxy and Control Servers.
+	 * Creates and starts Proxy and Control Servers, and UDP Proxy Server if it's specified by the Proxy Config.
 	 */
 	@Override
 	public final void run() {
 		final Injector injector = getInjector();
 		final Server proxyServer = injector.getInstance(TcpReverseProxyServer.class);
+		final Optional<UdpReverseProxyServer> optUdpProxyServer = injector.getInstance(UDP_PROXY_SERVER_KEY);
 		try {
 			final Future<?> proxyServerCompletion = proxyServer.start();
+			if (optUdpProxyServer.isPresent()) {
+				optUdpProxyServer.get().start();
+			}
 			final Server controlServer = injector.getInstance(JsonRestServer.class);
 			try {
 				final Future<?> controlServerCompletion = controlServer.start();
@@ -52,6 +63,9 @@ public final class ProxyApplication extends CommonApp {
 			LOGGER.info("Interrupt was detected. {} will shut down", proxyServer);
 			Thread.currentThread().interrupt();
 		} finally {
+			if (optUdpProxyServer.isPresent()) {
+				optUdpProxyServer.get().shutdown();
+			}
 			proxyServer.shutdown();
 		}
 	}
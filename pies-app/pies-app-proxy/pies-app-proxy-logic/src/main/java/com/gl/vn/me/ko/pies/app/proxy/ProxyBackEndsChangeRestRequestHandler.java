@@ -0,0 +1,168 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBackEnd;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import com.google.common.collect.ImmutableSet;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to change back-ends of Proxy Server at runtime.
+ * The expected {@link #getArguments(RestRequest) arguments} of a {@link RestRequest} are an action and
+ * an address of a back-end in the {@code host:port} form:
+ * <ul>
+ * <li>{@code "add"} adds a new back-end, an optional third argument specifies its weight
+ * (the default is {@code 1}), e.g. {@code "PUT /backEnds/add/localhost:7003/2/"};</li>
+ * <li>{@code "drain"} drains back-ends with the specified address, e.g. {@code "PUT /backEnds/drain/localhost:7003/"}:
+ * existing connections to them are kept until they are closed, but new connections are never forwarded to them;</li>
+ * <li>{@code "remove"} drains back-ends with the specified address and removes them from Proxy Server,
+ * e.g. {@code "PUT /backEnds/remove/localhost:7003/"}.</li>
+ * </ul>
+ * By default back-ends of the primary front-end address are changed. If the first argument is a name of an additional
+ * listener (see {@link TcpReverseProxyServer#getListenerNames()}) followed by an action, then back-ends of the listener
+ * are changed, e.g. {@code "PUT /backEnds/localhost:7002/add/localhost:7120/2/"}.
+ * HTTP response content is the same as the one of {@link ProxyBackEndsRestRequestHandler}
+ * and describes back-ends of the changed listener.
+ * This {@link RestRequestHandler} is bound to {@code "PUT /backEnds/"}.
+ */
+final class ProxyBackEndsChangeRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyBackEndsChangeRestRequestHandler.class);
+	private static final String ADD = "add";
+	private static final String DRAIN = "drain";
+	private static final String REMOVE = "remove";
+	private static final Set<String> ACTIONS = ImmutableSet.of(ADD, DRAIN, REMOVE);
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyBackEndsChangeRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} back-ends of which this {@link RestRequestHandler} will change.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyBackEndsChangeRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("PUT /backEnds/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> allArguments = getArguments(request);
+				@Nullable
+				final String listenerName;
+				final List<String> arguments;
+				if (!allArguments.isEmpty() && !ACTIONS.contains(allArguments.get(0))) {
+					listenerName = allArguments.get(0);
+					ProxyBackEndsRestRequestHandler.checkListenerName(proxyServer, listenerName);
+					arguments = allArguments.subList(1, allArguments.size());
+				} else {
+					listenerName = null;
+					arguments = allArguments;
+				}
+				if (arguments.size() < 2) {
+					throw new BadRestRequestException(Message.format(
+							"Request %s... must specify an action and an address of a back-end", getBinding()));
+				}
+				final String action = arguments.get(0);
+				final InetSocketAddress address = parseAddress(arguments.get(1));
+				if (ADD.equals(action)) {
+					if (arguments.size() > 3) {
+						throw new BadRestRequestException(Message.format(
+								"Request %s%s/... must specify at most an address and a weight of a back-end", getBinding(), action));
+					}
+					final int weight;
+					try {
+						weight = arguments.size() == 3 ? Integer.parseInt(arguments.get(2)) : 1;
+					} catch (final NumberFormatException e) {
+						throw new BadRestRequestException(Message.format("Weight %s isn't a number", arguments.get(2)));
+					}
+					if (weight <= 0) {
+						throw new BadRestRequestException(Message.format("Weight %s must be positive", Integer.valueOf(weight)));
+					}
+					final TcpReverseProxyBackEnd backEnd = new TcpReverseProxyBackEnd(address, weight);
+					if (!(listenerName == null ? proxyServer.addBackEnd(backEnd) : proxyServer.addBackEnd(listenerName, backEnd))) {
+						throw new BadRestRequestException(Message.format("Back-end with address %s already exists", address));
+					}
+					LOGGER.info("Back-end {} was added", backEnd);
+				} else if (DRAIN.equals(action) || REMOVE.equals(action)) {
+					if (arguments.size() > 2) {
+						throw new BadRestRequestException(Message.format(
+								"Request %s%s/... must specify only an address of a back-end", getBinding(), action));
+					}
+					boolean found = false;
+					for (final TcpReverseProxyBackEnd backEnd : getBackEnds(listenerName)) {
+						if (backEnd.getAddress().equals(address)) {
+							final boolean changed;
+							if (listenerName == null) {
+								changed = DRAIN.equals(action) ? proxyServer.drainBackEnd(backEnd) : proxyServer.removeBackEnd(backEnd);
+							} else {
+								changed = DRAIN.equals(action)
+										? proxyServer.drainBackEnd(listenerName, backEnd) : proxyServer.removeBackEnd(listenerName, backEnd);
+							}
+							if (changed) {
+								found = true;
+								LOGGER.info("Back-end {} was {}", backEnd, DRAIN.equals(action) ? "drained" : "removed");
+							}
+						}
+					}
+					if (!found) {
+						throw new BadRestRequestException(Message.format("There is no back-end with address %s", address));
+					}
+				} else {
+					throw new BadRestRequestException(Message.format("Unknown action %s, expected one of %s, %s, %s",
+							action, ADD, DRAIN, REMOVE));
+				}
+				final JsonObject httpResponseContent = ProxyBackEndsRestRequestHandler.createHttpResponseContent(
+						getBackEnds(listenerName), jsonBuilderFactory);
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+
+	private final List<TcpReverseProxyBackEnd> getBackEnds(@Nullable final String listenerName) {
+		return listenerName == null ? proxyServer.getBackEnds() : proxyServer.getBackEnds(listenerName);
+	}
+
+	private static final InetSocketAddress parseAddress(final String hostPort) {
+		final InetSocketAddress result;
+		try {
+			result = ProxyModule.parseAddress(hostPort);
+		} catch (final ApplicationException e) {
+			throw new BadRestRequestException(Message.format("Can't parse address of a back-end %s", hostPort), e);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,149 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBackEnd;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to report state of back-ends of Proxy Server,
+ * including their health (see {@link TcpReverseProxyBackEnd#isEjected()}).
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"backEnds": [
+ * 		{
+ * 			"address": "localhost/127.0.0.1:7002",
+ * 			"weight": 1,
+ * 			"activeConnections": 3,
+ * 			"ejected": false,
+ * 			"draining": false,
+ * 			"consecutiveFailures": 0,
+ * 			"ejections": 2
+ * 		}
+ * 	]
+ * }
+ * </code></pre>
+ * Note that value for name {@code address} is just descriptive and MAY be changed.
+ * By default back-ends of the primary front-end address are reported. If the only {@link #getArguments(RestRequest) argument}
+ * of a {@link RestRequest} is a name of an additional listener (see {@link TcpReverseProxyServer#getListenerNames()}),
+ * then back-ends of the listener are reported, e.g. {@code "GET /backEnds/localhost:7002/"}.
+ * This {@link RestRequestHandler} is bound to {@code "GET /backEnds/"}.
+ * Back-ends MAY be changed at runtime via {@link ProxyBackEndsChangeRestRequestHandler}.
+ */
+final class ProxyBackEndsRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyBackEndsRestRequestHandler.class);
+	private static final String JSON_RESPONSE_BACK_ENDS_NVNAME = "backEnds";
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyBackEndsRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} back-ends of which this {@link RestRequestHandler} will report.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyBackEndsRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("GET /backEnds/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> arguments = getArguments(request);
+				if (arguments.size() > 1) {
+					throw new BadRestRequestException(
+							Message.format("Request %s... must specify either no arguments or a name of a listener", getBinding()));
+				}
+				final List<TcpReverseProxyBackEnd> backEnds;
+				if (arguments.isEmpty()) {
+					backEnds = proxyServer.getBackEnds();
+				} else {
+					checkListenerName(proxyServer, arguments.get(0));
+					backEnds = proxyServer.getBackEnds(arguments.get(0));
+				}
+				final JsonObject httpResponseContent = createHttpResponseContent(backEnds, jsonBuilderFactory);
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+
+	/**
+	 * Checks that the {@code proxyServer} has an additional listener with the specified name.
+	 *
+	 * @param proxyServer
+	 * {@link TcpReverseProxyServer}.
+	 * @param listenerName
+	 * A name of a listener specified by a {@link RestRequest}.
+	 * @throws BadRestRequestException
+	 * If the {@code proxyServer} has no listener with the {@code listenerName}.
+	 */
+	static final void checkListenerName(final TcpReverseProxyServer proxyServer, final String listenerName) {
+		if (!proxyServer.getListenerNames().contains(listenerName)) {
+			throw new BadRestRequestException(Message.format("There is no listener %s", listenerName));
+		}
+	}
+
+	/**
+	 * Creates HTTP response content that describes the {@code backEnds} as shown in the example above.
+	 *
+	 * @param backEnds
+	 * {@link TcpReverseProxyBackEnd}s to describe.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 * @return
+	 * HTTP response content.
+	 */
+	static final JsonObject createHttpResponseContent(
+			final List<TcpReverseProxyBackEnd> backEnds, final JsonBuilderFactory jsonBuilderFactory) {
+		final JsonArrayBuilder backEndsJsonBuilder = jsonBuilderFactory.createArrayBuilder();
+		for (final TcpReverseProxyBackEnd backEnd : backEnds) {
+			backEndsJsonBuilder.add(jsonBuilderFactory.createObjectBuilder()
+					.add("address", backEnd.getAddress().toString())
+					.add("weight", backEnd.getWeight())
+					.add("activeConnections", backEnd.getActiveConnections())
+					.add("ejected", backEnd.isEjected())
+					.add("draining", backEnd.isDraining())
+					.add("consecutiveFailures", backEnd.getConsecutiveFailures())
+					.add("ejections", backEnd.getEjections()));
+		}
+		final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+		jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+		jsonBuilder.add(JSON_RESPONSE_BACK_ENDS_NVNAME, backEndsJsonBuilder);
+		return jsonBuilder.build();
+	}
+}
@@ -0,0 +1,136 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBandwidthLimits;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to change {@link TcpReverseProxyBandwidthLimits} of Proxy Server.
+ * The expected {@link #getArguments(RestRequest) arguments} of a {@link RestRequest} are a name of a limit
+ * ({@code "globalRead"}, {@code "globalWrite"}, {@code "connectionRead"} or {@code "connectionWrite"})
+ * and a new value of the limit in bytes per second, e.g. {@code "PUT /bandwidth/connectionRead/1048576/"}.
+ * Value {@code 0} means that the rate isn't limited.
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"bandwidth": {
+ * 		"globalRead": 0,
+ * 		"globalWrite": 0,
+ * 		"connectionRead": 1048576,
+ * 		"connectionWrite": 0
+ * 	}
+ * }
+ * </code></pre>
+ * This {@link RestRequestHandler} is bound to {@code "PUT /bandwidth/"}.
+ */
+final class ProxyBandwidthRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyBandwidthRestRequestHandler.class);
+	private static final String JSON_RESPONSE_BANDWIDTH_NVNAME = "bandwidth";
+	private static final String GLOBAL_READ = "globalRead";
+	private static final String GLOBAL_WRITE = "globalWrite";
+	private static final String CONNECTION_READ = "connectionRead";
+	private static final String CONNECTION_WRITE = "connectionWrite";
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyBandwidthRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} {@link TcpReverseProxyBandwidthLimits} of which this {@link RestRequestHandler}
+	 * will change.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyBandwidthRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("PUT /bandwidth/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> arguments = getArguments(request);
+				if (arguments.size() != 2) {
+					throw new BadRestRequestException(Message.format(
+							"Request %s... must specify exactly two arguments: a name of a limit and its value", getBinding()));
+				}
+				final String name = arguments.get(0);
+				final long bytesPerSecond;
+				try {
+					bytesPerSecond = Long.parseLong(arguments.get(1));
+				} catch (final NumberFormatException e) {
+					throw new BadRestRequestException(Message.format("Value %s of limit %s isn't a number", arguments.get(1), name));
+				}
+				if (bytesPerSecond < 0) {
+					throw new BadRestRequestException(Message.format("Value %s of limit %s must not be negative",
+							Long.valueOf(bytesPerSecond), name));
+				}
+				final TcpReverseProxyBandwidthLimits limits = proxyServer.getBandwidthLimits();
+				switch (name) {
+					case GLOBAL_READ: {
+						limits.setGlobalReadBytesPerSecond(bytesPerSecond);
+						break;
+					}
+					case GLOBAL_WRITE: {
+						limits.setGlobalWriteBytesPerSecond(bytesPerSecond);
+						break;
+					}
+					case CONNECTION_READ: {
+						limits.setConnectionReadBytesPerSecond(bytesPerSecond);
+						break;
+					}
+					case CONNECTION_WRITE: {
+						limits.setConnectionWriteBytesPerSecond(bytesPerSecond);
+						break;
+					}
+					default: {
+						throw new BadRestRequestException(Message.format("Unknown limit %s, expected one of %s, %s, %s, %s",
+								name, GLOBAL_READ, GLOBAL_WRITE, CONNECTION_READ, CONNECTION_WRITE));
+					}
+				}
+				LOGGER.info("Bandwidth limit {} was set to {} bytes per second", name, Long.valueOf(bytesPerSecond));
+				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+				jsonBuilder.add(JSON_RESPONSE_BANDWIDTH_NVNAME, jsonBuilderFactory.createObjectBuilder()
+						.add(GLOBAL_READ, limits.getGlobalReadBytesPerSecond())
+						.add(GLOBAL_WRITE, limits.getGlobalWriteBytesPerSecond())
+						.add(CONNECTION_READ, limits.getConnectionReadBytesPerSecond())
+						.add(CONNECTION_WRITE, limits.getConnectionWriteBytesPerSecond()));
+				final JsonObject httpResponseContent = jsonBuilder.build();
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+}
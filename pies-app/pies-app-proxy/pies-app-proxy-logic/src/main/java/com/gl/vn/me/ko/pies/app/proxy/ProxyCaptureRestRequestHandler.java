@@ -0,0 +1,110 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ExternallyVisibleException;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCapture;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to enable and disable {@link TcpReverseProxyCapture} of Proxy Server.
+ * The only expected {@link #getArguments(RestRequest) argument} of a {@link RestRequest} is either
+ * {@code "enabled"} or {@code "disabled"}, e.g. {@code "PUT /capture/enabled/"}.
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"capture": {
+ * 		"enabled": true,
+ * 		"directory": "capture",
+ * 		"records": 1024,
+ * 		"droppedRecords": 0
+ * 	}
+ * }
+ * </code></pre>
+ * This {@link RestRequestHandler} is bound to {@code "PUT /capture/"}.
+ */
+final class ProxyCaptureRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyCaptureRestRequestHandler.class);
+	private static final String JSON_RESPONSE_CAPTURE_NVNAME = "capture";
+	private static final String ARGUMENT_ENABLED = "enabled";
+	private static final String ARGUMENT_DISABLED = "disabled";
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyCaptureRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} {@link TcpReverseProxyCapture} of which this {@link RestRequestHandler} will control.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyCaptureRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("PUT /capture/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> arguments = getArguments(request);
+				final boolean enable;
+				if (arguments.size() == 1 && ARGUMENT_ENABLED.equals(arguments.get(0))) {
+					enable = true;
+				} else if (arguments.size() == 1 && ARGUMENT_DISABLED.equals(arguments.get(0))) {
+					enable = false;
+				} else {
+					throw new BadRestRequestException(Message.format("Request %s... must specify exactly one argument: %s or %s",
+							getBinding(), ARGUMENT_ENABLED, ARGUMENT_DISABLED));
+				}
+				final TcpReverseProxyCapture capture = proxyServer.getCapture();
+				if (enable && !capture.getSettings().isAvailable()) {
+					throw new ExternallyVisibleException("Capture directory isn't specified in config");
+				}
+				capture.setEnabled(enable);
+				final JsonObjectBuilder captureJsonBuilder = jsonBuilderFactory.createObjectBuilder()
+						.add("enabled", capture.isEnabled());
+				if (capture.getSettings().isAvailable()) {
+					captureJsonBuilder.add("directory", capture.getSettings().getDirectory().toString());
+				}
+				captureJsonBuilder.add("records", capture.getRecords())
+						.add("droppedRecords", capture.getDroppedRecords());
+				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+				jsonBuilder.add(JSON_RESPONSE_CAPTURE_NVNAME, captureJsonBuilder);
+				final JsonObject httpResponseContent = jsonBuilder.build();
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | ExternallyVisibleException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+}
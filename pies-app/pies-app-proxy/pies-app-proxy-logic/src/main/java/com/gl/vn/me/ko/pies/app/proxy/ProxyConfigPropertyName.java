@@ -31,17 +31,71 @@ public enum ProxyConfigPropertyName implements PropertyName {
 	 */
 	PROXY_FE_PORT("proxyServer.frontEnd.socket.port", false),
 	/**
-	 * This property specifies Internet address of a network interface the server uses to forward incoming requests.
+	 * This property specifies servers (back-ends) the server forwards incoming requests to.
+	 * Each back-end is specified as {@code host:port}.
+	 * This is a multiple property, i.e. back-ends are separated with {@code ';'}.
 	 * <p>
-	 * Name of this property is {@code "proxyServer.backEnd.socket.host"}.
+	 * Name of this property is {@code "proxyServer.backEnd.servers"}.
 	 */
-	PROXY_BE_HOST("proxyServer.backEnd.socket.host", false),
+	PROXY_BE_SERVERS("proxyServer.backEnd.servers", false),
 	/**
-	 * This property specifies TCP port the server uses to forward incoming requests.
+	 * This property specifies weights of the back-ends specified by {@link #PROXY_BE_SERVERS} in the same order.
+	 * This is a multiple property, i.e. weights are separated with {@code ';'}.
+	 * Number of weights MUST be the same as the number of back-ends, each weight MUST be positive.
 	 * <p>
-	 * Name of this property is {@code "proxyServer.backEnd.socket.port"}.
+	 * Optional property. By default all back-ends have weight {@code 1}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.weights"}.
+	 */
+	PROXY_BE_WEIGHTS("proxyServer.backEnd.weights", true),
+	/**
+	 * This property specifies how the server chooses a back-end for a new incoming connection.
+	 * Possible values are {@code "ROUND_ROBIN"}, {@code "LEAST_ACTIVE_CONNECTIONS"}, {@code "POWER_OF_TWO_CHOICES"}
+	 * and {@code "WEIGHTED"}.
+	 * <p>
+	 * Optional property. Default value is {@code "ROUND_ROBIN"}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.loadBalancing"}.
+	 */
+	PROXY_BE_LOAD_BALANCING("proxyServer.backEnd.loadBalancing", true),
+	/**
+	 * This property specifies number of idle pre-connected back-end connections
+	 * that each worker thread tries to maintain.
+	 * Value of this property MUST NOT be negative and MUST NOT be greater than {@link #PROXY_BE_POOL_MAX_IDLE}.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.pool.minIdle"}.
+	 */
+	PROXY_BE_POOL_MIN_IDLE("proxyServer.backEnd.pool.minIdle", true),
+	/**
+	 * This property specifies maximum number of idle pre-connected back-end connections per worker thread.
+	 * Value of this property MUST NOT be negative. If the value is {@code 0} then pre-connecting is disabled.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.pool.maxIdle"}.
+	 */
+	PROXY_BE_POOL_MAX_IDLE("proxyServer.backEnd.pool.maxIdle", true),
+	/**
+	 * This property specifies amount of time in milliseconds an idle pre-connected back-end connection
+	 * may stay in the pool before it's closed.
+	 * Value of this property MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 30000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.pool.maxAgeMillis"}.
 	 */
-	PROXY_BE_PORT("proxyServer.backEnd.socket.port", false),
+	PROXY_BE_POOL_MAX_AGE_MILLIS("proxyServer.backEnd.pool.maxAgeMillis", true),
+	/**
+	 * This property specifies if an idle pre-connected back-end connection must be checked
+	 * for being open, writable and not too old right before it's used.
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.pool.validateOnBorrow"}.
+	 */
+	PROXY_BE_POOL_VALIDATE_ON_BORROW("proxyServer.backEnd.pool.validateOnBorrow", true),
 	/**
 	 * This property specifies maximum number of threads that accept new TCP connections.
 	 * <p>
@@ -56,12 +110,532 @@ public enum ProxyConfigPropertyName implements PropertyName {
 	PROXY_WORKERS("proxyServer.threads.workers", false),
 	/**
 	 * This property specifies amount of time in milliseconds to wait for completion of I/O operations.
-	 * E.g. wait for connect to back-end.
+	 * E.g. wait for connect to back-end. Failed connects are retried against other back-ends until this time expires,
+	 * hence it bounds all connect attempts made for a single client connection.
 	 * Value of this property MUST be positive.
 	 * <p>
 	 * Name of this property is {@code "proxyServer.timeouts.ioTimeoutMillis"}.
 	 */
 	PROXY_IO_TIMEOUT_MILLIS("proxyServer.timeouts.ioTimeoutMillis", false),
+	/**
+	 * This property specifies amount of time in milliseconds during which nothing was read from either a client
+	 * or a back-end connection, after which both the connection and the one it's paired with are closed.
+	 * Value {@code 0} disables this timeout.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.timeouts.readIdleMillis"}.
+	 */
+	PROXY_READ_IDLE_MILLIS("proxyServer.timeouts.readIdleMillis", true),
+	/**
+	 * This property specifies amount of time in milliseconds during which nothing was written to either a client
+	 * or a back-end connection, after which both the connection and the one it's paired with are closed.
+	 * Value {@code 0} disables this timeout.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.timeouts.writeIdleMillis"}.
+	 */
+	PROXY_WRITE_IDLE_MILLIS("proxyServer.timeouts.writeIdleMillis", true),
+	/**
+	 * This property specifies amount of time in milliseconds during which nothing was either read from or written to
+	 * either a client or a back-end connection, after which both the connection and the one it's paired with are closed.
+	 * Value {@code 0} disables this timeout.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.timeouts.allIdleMillis"}.
+	 */
+	PROXY_ALL_IDLE_MILLIS("proxyServer.timeouts.allIdleMillis", true),
+	/**
+	 * This property specifies number of bytes queued for writing to a connection below which the server resumes
+	 * reading data from the opposite connection of the proxied pair.
+	 * Value of this property MUST be positive and MUST NOT be greater than {@link #PROXY_WRITE_BUFFER_HIGH_WATER_MARK}.
+	 * <p>
+	 * Optional property. Default value is {@code 32768}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.forwarding.writeBufferLowWaterMark"}.
+	 */
+	PROXY_WRITE_BUFFER_LOW_WATER_MARK("proxyServer.forwarding.writeBufferLowWaterMark", true),
+	/**
+	 * This property specifies number of bytes queued for writing to a connection above which the server stops
+	 * reading data from the opposite connection of the proxied pair.
+	 * Value of this property MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 65536}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.forwarding.writeBufferHighWaterMark"}.
+	 */
+	PROXY_WRITE_BUFFER_HIGH_WATER_MARK("proxyServer.forwarding.writeBufferHighWaterMark", true),
+	/**
+	 * This property specifies if data is forwarded via pooled direct (off-heap) buffers,
+	 * which avoids copying data through the Java heap and allocating memory on each read.
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.forwarding.pooledDirectBuffers"}.
+	 */
+	PROXY_POOLED_DIRECT_BUFFERS("proxyServer.forwarding.pooledDirectBuffers", true),
+	/**
+	 * This property specifies if a back-end connection is handled by the same thread as the front-end connection
+	 * it's paired with, which avoids handing data over between threads.
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.forwarding.eventLoopAffinity"}.
+	 */
+	PROXY_EVENT_LOOP_AFFINITY("proxyServer.forwarding.eventLoopAffinity", true),
+	/**
+	 * This property specifies interval in milliseconds between active TCP connect probes of each back-end.
+	 * Value {@code 0} disables active probing, in which case health of back-ends is judged only by
+	 * the outcome of connects and writes performed on behalf of clients.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.healthCheck.probeIntervalMillis"}.
+	 */
+	PROXY_BE_HEALTH_PROBE_INTERVAL_MILLIS("proxyServer.backEnd.healthCheck.probeIntervalMillis", true),
+	/**
+	 * This property specifies timeout in milliseconds of an active probe.
+	 * <p>
+	 * Optional property. Default value is {@code 1000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.healthCheck.probeTimeoutMillis"}.
+	 */
+	PROXY_BE_HEALTH_PROBE_TIMEOUT_MILLIS("proxyServer.backEnd.healthCheck.probeTimeoutMillis", true),
+	/**
+	 * This property specifies number of consecutive failures after which a back-end is ejected,
+	 * i.e. isn't chosen for new client connections while there are back-ends that aren't ejected.
+	 * <p>
+	 * Optional property. Default value is {@code 3}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.healthCheck.failureThreshold"}.
+	 */
+	PROXY_BE_HEALTH_FAILURE_THRESHOLD("proxyServer.backEnd.healthCheck.failureThreshold", true),
+	/**
+	 * This property specifies duration in milliseconds of the first ejection of a back-end.
+	 * Each next consecutive ejection lasts twice as long as the previous one.
+	 * <p>
+	 * Optional property. Default value is {@code 1000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.healthCheck.baseEjectionMillis"}.
+	 */
+	PROXY_BE_HEALTH_BASE_EJECTION_MILLIS("proxyServer.backEnd.healthCheck.baseEjectionMillis", true),
+	/**
+	 * This property specifies maximum duration in milliseconds of an ejection of a back-end.
+	 * <p>
+	 * Optional property. Default value is {@code 60000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.healthCheck.maxEjectionMillis"}.
+	 */
+	PROXY_BE_HEALTH_MAX_EJECTION_MILLIS("proxyServer.backEnd.healthCheck.maxEjectionMillis", true),
+	/**
+	 * This property specifies maximum number of concurrent connections to a single back-end.
+	 * A client connection that can't be paired with a back-end connection because all back-ends are at the limit
+	 * waits in a queue until a connection to some back-end is closed.
+	 * Value {@code 0} means that the number of connections isn't limited.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.admission.maxConnectionsPerBackEnd"}.
+	 */
+	PROXY_BE_ADMISSION_MAX_CONNECTIONS_PER_BE("proxyServer.backEnd.admission.maxConnectionsPerBackEnd", true),
+	/**
+	 * This property specifies maximum number of client connections that may wait for a back-end connection.
+	 * A client connection that arrives when the queue is full is closed immediately.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.admission.maxQueuedConnections"}.
+	 */
+	PROXY_BE_ADMISSION_MAX_QUEUED_CONNECTIONS("proxyServer.backEnd.admission.maxQueuedConnections", true),
+	/**
+	 * This property specifies maximum amount of time in milliseconds a client connection may wait for a back-end connection
+	 * before it's closed.
+	 * <p>
+	 * Optional property. Default value is {@code 1000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.admission.queueTimeoutMillis"}.
+	 */
+	PROXY_BE_ADMISSION_QUEUE_TIMEOUT_MILLIS("proxyServer.backEnd.admission.queueTimeoutMillis", true),
+	/**
+	 * This property specifies number of shared connections to each back-end server per worker thread,
+	 * {@code 0} means that each client connection has its own back-end connection.
+	 * Back-end connections may be shared only if back-end servers are echo servers.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.backEnd.multiplexing.connectionsPerThread"}.
+	 */
+	PROXY_BE_MULTIPLEXING_CONNECTIONS_PER_THREAD("proxyServer.backEnd.multiplexing.connectionsPerThread", true),
+	/**
+	 * This property specifies a shadow server, specified as host:port, client traffic is mirrored to.
+	 * Everything the shadow server returns is discarded.
+	 * <p>
+	 * Optional property. If the property isn't specified traffic isn't mirrored.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.mirror.shadowServer"}.
+	 */
+	PROXY_MIRROR_SHADOW_SERVER("proxyServer.mirror.shadowServer", true),
+	/**
+	 * This property specifies probability within [0, 1] that a client connection is mirrored to the shadow server.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.mirror.ratio"}.
+	 */
+	PROXY_MIRROR_RATIO("proxyServer.mirror.ratio", true),
+	/**
+	 * This property specifies maximum number of bytes that may be queued for writing to a single shadow connection.
+	 * Mirrored data that doesn't fit is dropped instead of slowing down the client connection.
+	 * <p>
+	 * Optional property. Default value is {@code 65536}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.mirror.maxBufferedBytes"}.
+	 */
+	PROXY_MIRROR_MAX_BUFFERED_BYTES("proxyServer.mirror.maxBufferedBytes", true),
+	/**
+	 * This property specifies a directory where segment files with captured traffic are created.
+	 * Capture is enabled and disabled at runtime via {@code PUT /capture/} request to the control server.
+	 * <p>
+	 * Optional property. If the property isn't specified traffic can't be captured.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.capture.directory"}.
+	 */
+	PROXY_CAPTURE_DIRECTORY("proxyServer.capture.directory", true),
+	/**
+	 * This property specifies size in bytes of a segment file with captured traffic.
+	 * <p>
+	 * Optional property. Default value is {@code 67108864}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.capture.segmentSizeBytes"}.
+	 */
+	PROXY_CAPTURE_SEGMENT_SIZE_BYTES("proxyServer.capture.segmentSizeBytes", true),
+	/**
+	 * This property specifies maximum number of segment files with captured traffic, the oldest files are deleted.
+	 * <p>
+	 * Optional property. Default value is {@code 16}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.capture.maxSegments"}.
+	 */
+	PROXY_CAPTURE_MAX_SEGMENTS("proxyServer.capture.maxSegments", true),
+	/**
+	 * This property specifies maximum rate in bytes per second at which data is read from all clients together, {@code 0} means that the rate isn't limited.
+	 * The limit may be changed at runtime via {@code PUT /bandwidth/} request to the control server.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.bandwidth.globalReadBytesPerSecond"}.
+	 */
+	PROXY_BANDWIDTH_GLOBAL_READ_BYTES_PER_SECOND("proxyServer.bandwidth.globalReadBytesPerSecond", true),
+	/**
+	 * This property specifies maximum rate in bytes per second at which data is written to all clients together, {@code 0} means that the rate isn't limited.
+	 * The limit may be changed at runtime via {@code PUT /bandwidth/} request to the control server.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.bandwidth.globalWriteBytesPerSecond"}.
+	 */
+	PROXY_BANDWIDTH_GLOBAL_WRITE_BYTES_PER_SECOND("proxyServer.bandwidth.globalWriteBytesPerSecond", true),
+	/**
+	 * This property specifies maximum rate in bytes per second at which data is read from a single client, {@code 0} means that the rate isn't limited.
+	 * The limit may be changed at runtime via {@code PUT /bandwidth/} request to the control server.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.bandwidth.connectionReadBytesPerSecond"}.
+	 */
+	PROXY_BANDWIDTH_CONNECTION_READ_BYTES_PER_SECOND("proxyServer.bandwidth.connectionReadBytesPerSecond", true),
+	/**
+	 * This property specifies maximum rate in bytes per second at which data is written to a single client, {@code 0} means that the rate isn't limited.
+	 * The limit may be changed at runtime via {@code PUT /bandwidth/} request to the control server.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.bandwidth.connectionWriteBytesPerSecond"}.
+	 */
+	PROXY_BANDWIDTH_CONNECTION_WRITE_BYTES_PER_SECOND("proxyServer.bandwidth.connectionWriteBytesPerSecond", true),
+	/**
+	 * This property specifies additional front-end addresses the server listens to, each specified as {@code host:port}.
+	 * This is a multiple property, i.e. addresses are separated with {@code ';'}.
+	 * Each address is also the name of the listener, e.g. in {@code GET /stats/} response of the control server.
+	 * <p>
+	 * Optional property. If the property isn't specified the server listens only to {@link #PROXY_FE_PORT}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.listeners.frontEnds"}.
+	 */
+	PROXY_LISTENERS_FE("proxyServer.listeners.frontEnds", true),
+	/**
+	 * This property specifies back-ends of the listeners specified by {@link #PROXY_LISTENERS_FE} in the same order.
+	 * This is a multiple property, i.e. back-ends of different listeners are separated with {@code ';'},
+	 * back-ends of the same listener are separated with {@code ','} and each back-end is specified as {@code host:port}.
+	 * Back-ends of each listener are specified the same way as {@link #PROXY_BE_SERVERS}, except for the separator.
+	 * <p>
+	 * Optional property. The property MUST be specified if {@link #PROXY_LISTENERS_FE} is specified.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.listeners.backEnds"}.
+	 */
+	PROXY_LISTENERS_BE("proxyServer.listeners.backEnds", true),
+	/**
+	 * This property specifies weights of the back-ends specified by {@link #PROXY_LISTENERS_BE} in the same order.
+	 * This is a multiple property, i.e. weights of back-ends of different listeners are separated with {@code ';'},
+	 * weights of back-ends of the same listener are separated with {@code ','}.
+	 * Weights of each listener are specified the same way as {@link #PROXY_BE_WEIGHTS}, except for the separator.
+	 * <p>
+	 * Optional property. By default all back-ends of listeners have weight {@code 1}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.listeners.weights"}.
+	 */
+	PROXY_LISTENERS_WEIGHTS("proxyServer.listeners.weights", true),
+	/**
+	 * This property specifies load balancing strategies (see {@link #PROXY_BE_LOAD_BALANCING})
+	 * of the listeners specified by {@link #PROXY_LISTENERS_FE} in the same order.
+	 * This is a multiple property, i.e. strategies are separated with {@code ';'}.
+	 * <p>
+	 * Optional property. By default all listeners use {@link #PROXY_BE_LOAD_BALANCING}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.listeners.loadBalancing"}.
+	 */
+	PROXY_LISTENERS_LOAD_BALANCING("proxyServer.listeners.loadBalancing", true),
+	/**
+	 * This property specifies a key store file with the private key and the certificate chain the server uses
+	 * to terminate TLS on client connections.
+	 * <p>
+	 * Optional property. If the property isn't specified TLS isn't terminated.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.keyStore"}.
+	 */
+	PROXY_TLS_KEY_STORE("proxyServer.tls.keyStore", true),
+	/**
+	 * This property specifies password of the key store file specified by {@link #PROXY_TLS_KEY_STORE}.
+	 * <p>
+	 * Optional property. The property MUST be specified if {@link #PROXY_TLS_KEY_STORE} is specified.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.keyStorePassword"}.
+	 */
+	PROXY_TLS_KEY_STORE_PASSWORD("proxyServer.tls.keyStorePassword", true),
+	/**
+	 * This property specifies maximum number of cached TLS sessions, {@code 0} means no limit.
+	 * <p>
+	 * Optional property. Default value is {@code 20480}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.sessionCacheSize"}.
+	 */
+	PROXY_TLS_SESSION_CACHE_SIZE("proxyServer.tls.sessionCacheSize", true),
+	/**
+	 * This property specifies amount of time in seconds a TLS session may be resumed for, {@code 0} means no limit.
+	 * <p>
+	 * Optional property. Default value is {@code 86400}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.sessionTimeoutSeconds"}.
+	 */
+	PROXY_TLS_SESSION_TIMEOUT_SECONDS("proxyServer.tls.sessionTimeoutSeconds", true),
+	/**
+	 * This property specifies amount of time in milliseconds a client connection is closed after
+	 * if the TLS handshake isn't completed.
+	 * <p>
+	 * Optional property. Default value is {@code 10000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.handshakeTimeoutMillis"}.
+	 */
+	PROXY_TLS_HANDSHAKE_TIMEOUT_MILLIS("proxyServer.tls.handshakeTimeoutMillis", true),
+	/**
+	 * This property specifies SNI host names that select back-ends of listeners specified by {@link #PROXY_TLS_SNI_LISTENERS}
+	 * in the same order. This is a multiple property, i.e. host names are separated with {@code ';'}.
+	 * <p>
+	 * Optional property.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.sniHostNames"}.
+	 */
+	PROXY_TLS_SNI_HOST_NAMES("proxyServer.tls.sniHostNames", true),
+	/**
+	 * This property specifies names of listeners (see {@link #PROXY_LISTENERS_FE}) that correspond to
+	 * {@link #PROXY_TLS_SNI_HOST_NAMES} in the same order. This is a multiple property, i.e. names are separated with {@code ';'}.
+	 * <p>
+	 * Optional property. The property MUST be specified if {@link #PROXY_TLS_SNI_HOST_NAMES} is specified.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.tls.sniListeners"}.
+	 */
+	PROXY_TLS_SNI_LISTENERS("proxyServer.tls.sniListeners", true),
+	/**
+	 * This property specifies requested maximum length of the queue of incoming connections the OS keeps for the server.
+	 * Connection requests that don't fit into the queue are dropped, which makes clients retransmit them after a delay.
+	 * The OS MAY silently limit the value (e.g. Linux limits it by {@code net.core.somaxconn}). MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1024}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.backlog"}.
+	 */
+	PROXY_SOCKET_BACKLOG("proxyServer.socketOptions.backlog", true),
+	/**
+	 * This property specifies if the server MAY bind its address while previous connections to it are in {@code TIME_WAIT} state
+	 * ({@code SO_REUSEADDR}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.reuseAddress"}.
+	 */
+	PROXY_SOCKET_REUSE_ADDRESS("proxyServer.socketOptions.reuseAddress", true),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for the accepted TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.tcpNoDelay"}.
+	 */
+	PROXY_SOCKET_TCP_NO_DELAY("proxyServer.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via the accepted TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.keepAlive"}.
+	 */
+	PROXY_SOCKET_KEEP_ALIVE("proxyServer.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of the accepted TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.receiveBufferSize"}.
+	 */
+	PROXY_SOCKET_RECEIVE_BUFFER_SIZE("proxyServer.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of the accepted TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.socketOptions.sendBufferSize"}.
+	 */
+	PROXY_SOCKET_SEND_BUFFER_SIZE("proxyServer.socketOptions.sendBufferSize", true),
+	/**
+	 * This property specifies maximum amount of time in milliseconds the server waits for accepted TCP connections
+	 * to be closed after it stopped accepting new ones in response to {@code PUT /shutdown/}.
+	 * Connections that are open after that are force-closed. Value {@code 0} means that connections aren't drained.
+	 * MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.drain.timeoutMillis"}.
+	 */
+	PROXY_DRAIN_TIMEOUT_MILLIS("proxyServer.drain.timeoutMillis", true),
+	/**
+	 * This property specifies amount of time in milliseconds during which nothing was either read from or written to
+	 * an accepted TCP connection that is being drained, after which the server closes the connection without waiting
+	 * for the drain timeout. Value {@code 0} means that idle connections aren't closed before the drain timeout expires.
+	 * MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.drain.idleMillis"}.
+	 */
+	PROXY_DRAIN_IDLE_MILLIS("proxyServer.drain.idleMillis", true),
+	/**
+	 * This property specifies maximum number of open accepted TCP connections.
+	 * Connections accepted over the limit are closed right away. Value {@code 0} means unlimited. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.connections.max"}.
+	 */
+	PROXY_CONNECTIONS_MAX("proxyServer.connections.max", true),
+	/**
+	 * This property specifies maximum number of open accepted TCP connections per client IP address.
+	 * Connections accepted over the limit are closed right away. Value {@code 0} means unlimited. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.connections.maxPerAddress"}.
+	 */
+	PROXY_CONNECTIONS_MAX_PER_ADDRESS("proxyServer.connections.maxPerAddress", true),
+	/**
+	 * This property specifies percentage of the process limit of open file descriptors, reaching which makes the server
+	 * close accepted TCP connections right away and pause accepting. Value {@code 0} disables the check.
+	 * MUST be from {@code 0} to {@code 100}.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.connections.maxFileDescriptorUsagePercent"}.
+	 */
+	PROXY_CONNECTIONS_MAX_FILE_DESCRIPTOR_USAGE_PERCENT("proxyServer.connections.maxFileDescriptorUsagePercent", true),
+	/**
+	 * This property specifies amount of time in milliseconds the server doesn't accept TCP connections after it has noticed
+	 * that file descriptors are close to exhaustion or after accepting of a connection failed. MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1000}.
+	 * <p>
+	 * Name of this property is {@code "proxyServer.connections.acceptBackOffMillis"}.
+	 */
+	PROXY_CONNECTIONS_ACCEPT_BACK_OFF_MILLIS("proxyServer.connections.acceptBackOffMillis", true),
+	/**
+	 * This property specifies Internet address of a network interface the UDP proxy server receives datagrams from clients at.
+	 * <p>
+	 * Optional property. If the property isn't specified the value is determined automatically.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.frontEnd.socket.host"}.
+	 */
+	UDP_PROXY_FE_HOST("udpProxyServer.frontEnd.socket.host", true),
+	/**
+	 * This property specifies UDP port the UDP proxy server receives datagrams from clients at.
+	 * <p>
+	 * Optional property. If the property isn't specified the UDP proxy server isn't started.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.frontEnd.socket.port"}.
+	 */
+	UDP_PROXY_FE_PORT("udpProxyServer.frontEnd.socket.port", true),
+	/**
+	 * This property specifies servers (back-ends) the UDP proxy server forwards datagrams to.
+	 * Each back-end is specified as {@code host:port}.
+	 * This is a multiple property, i.e. back-ends are separated with {@code ';'}.
+	 * <p>
+	 * Optional property. The property MUST be specified if {@link #UDP_PROXY_FE_PORT} is specified.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.backEnd.servers"}.
+	 */
+	UDP_PROXY_BE_SERVERS("udpProxyServer.backEnd.servers", true),
+	/**
+	 * This property specifies maximum number of threads that forward datagrams.
+	 * <p>
+	 * Optional property. Default value is {@code 1}.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.threads.workers"}.
+	 */
+	UDP_PROXY_WORKERS("udpProxyServer.threads.workers", true),
+	/**
+	 * This property specifies amount of time in milliseconds after which a session of a client is expired
+	 * if no datagrams were forwarded within it.
+	 * <p>
+	 * Optional property. Default value is {@code 60000}.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.sessions.idleTimeoutMillis"}.
+	 */
+	UDP_PROXY_SESSION_IDLE_TIMEOUT_MILLIS("udpProxyServer.sessions.idleTimeoutMillis", true),
+	/**
+	 * This property specifies maximum number of sessions, datagrams from new clients are dropped once it's reached.
+	 * <p>
+	 * Optional property. Default value is {@code 10000}.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.sessions.maxSessions"}.
+	 */
+	UDP_PROXY_MAX_SESSIONS("udpProxyServer.sessions.maxSessions", true),
+	/**
+	 * This property specifies maximum number of datagrams read from a socket in a batch before they are flushed.
+	 * <p>
+	 * Optional property. Default value is {@code 16}.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.sessions.maxDatagramsPerRead"}.
+	 */
+	UDP_PROXY_MAX_DATAGRAMS_PER_READ("udpProxyServer.sessions.maxDatagramsPerRead", true),
+	/**
+	 * This property specifies maximum size of a datagram in bytes, bigger datagrams are truncated.
+	 * <p>
+	 * Optional property. Default value is {@code 2048}.
+	 * <p>
+	 * Name of this property is {@code "udpProxyServer.sessions.maxDatagramBytes"}.
+	 */
+	UDP_PROXY_MAX_DATAGRAM_BYTES("udpProxyServer.sessions.maxDatagramBytes", true),
 	/**
 	 * This property specifies Internet address of a network interface the server uses to listen for control requests (REST).
 	 * <p>
@@ -93,7 +667,60 @@ public enum ProxyConfigPropertyName implements PropertyName {
 	 * <p>
 	 * Name of this property is {@code "controlServer.threads.postResponseWorkers"}.
 	 */
-	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false);
+	CONTROL_POST_RESPONSE_WORKERS("controlServer.threads.postResponseWorkers", false),
+	/**
+	 * This property specifies requested maximum length of the queue of incoming connections the OS keeps for the server.
+	 * Connection requests that don't fit into the queue are dropped, which makes clients retransmit them after a delay.
+	 * The OS MAY silently limit the value (e.g. Linux limits it by {@code net.core.somaxconn}). MUST be positive.
+	 * <p>
+	 * Optional property. Default value is {@code 1024}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.backlog"}.
+	 */
+	CONTROL_SOCKET_BACKLOG("controlServer.socketOptions.backlog", true),
+	/**
+	 * This property specifies if the server MAY bind its address while previous connections to it are in {@code TIME_WAIT} state
+	 * ({@code SO_REUSEADDR}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.reuseAddress"}.
+	 */
+	CONTROL_SOCKET_REUSE_ADDRESS("controlServer.socketOptions.reuseAddress", true),
+	/**
+	 * This property specifies if Nagle's algorithm is disabled for the accepted TCP connections ({@code TCP_NODELAY}).
+	 * <p>
+	 * Optional property. Default value is {@code true}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.tcpNoDelay"}.
+	 */
+	CONTROL_SOCKET_TCP_NO_DELAY("controlServer.socketOptions.tcpNoDelay", true),
+	/**
+	 * This property specifies if TCP keep-alive probes are sent via the accepted TCP connections ({@code SO_KEEPALIVE}).
+	 * <p>
+	 * Optional property. Default value is {@code false}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.keepAlive"}.
+	 */
+	CONTROL_SOCKET_KEEP_ALIVE("controlServer.socketOptions.keepAlive", true),
+	/**
+	 * This property specifies size in bytes of the socket receive buffer of the accepted TCP connections ({@code SO_RCVBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.receiveBufferSize"}.
+	 */
+	CONTROL_SOCKET_RECEIVE_BUFFER_SIZE("controlServer.socketOptions.receiveBufferSize", true),
+	/**
+	 * This property specifies size in bytes of the socket send buffer of the accepted TCP connections ({@code SO_SNDBUF}).
+	 * Value {@code 0} means the OS default. MUST NOT be negative.
+	 * <p>
+	 * Optional property. Default value is {@code 0}.
+	 * <p>
+	 * Name of this property is {@code "controlServer.socketOptions.sendBufferSize"}.
+	 */
+	CONTROL_SOCKET_SEND_BUFFER_SIZE("controlServer.socketOptions.sendBufferSize", true);
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyConfigPropertyName.class);
 
@@ -0,0 +1,157 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBackEnd;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyConnection;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyConnections;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to report active connections of Proxy Server page by page
+ * (see {@link TcpReverseProxyConnections}).
+ * The optional {@link #getArguments(RestRequest) arguments} of a {@link RestRequest} are id of a connection
+ * after which the page starts (the default is {@code 0}, i.e. the first page) and the maximal size of the page
+ * (the default is {@value #DEFAULT_LIMIT}, the maximum is {@value #MAX_LIMIT}),
+ * e.g. {@code "GET /connections/"} or {@code "GET /connections/1024/500/"}.
+ * The next page starts after {@code "nextAfterId"}, which is absent if there are no more connections.
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"total": 2,
+ * 	"connections": [
+ * 		{
+ * 			"id": 1023,
+ * 			"frontEnd": "/127.0.0.1:51314",
+ * 			"backEnd": "localhost/127.0.0.1:7002",
+ * 			"ageMillis": 6120,
+ * 			"idleMillis": 15,
+ * 			"frontEndToBackEndBytes": 1048576,
+ * 			"backEndToFrontEndBytes": 524288,
+ * 			"frontEndWritable": true,
+ * 			"backEndWritable": false
+ * 		}
+ * 	],
+ * 	"nextAfterId": 1023
+ * }
+ * </code></pre>
+ * Note that values for names {@code frontEnd} and {@code backEnd} are just descriptive and MAY be changed,
+ * {@code backEnd} is absent if a back-end isn't chosen yet.
+ * This {@link RestRequestHandler} is bound to {@code "GET /connections/"}.
+ */
+final class ProxyConnectionsRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyConnectionsRestRequestHandler.class);
+	private static final int DEFAULT_LIMIT = 100;
+	private static final int MAX_LIMIT = 1000;
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyConnectionsRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} connections of which this {@link RestRequestHandler} will report.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyConnectionsRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("GET /connections/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> arguments = getArguments(request);
+				if (arguments.size() > 2) {
+					throw new BadRestRequestException(Message.format(
+							"Request %s... must specify at most two arguments: id of a connection and size of a page", getBinding()));
+				}
+				final long afterId = arguments.size() > 0 ? parse(arguments.get(0), "Id of a connection") : 0;
+				final long limit = arguments.size() > 1 ? parse(arguments.get(1), "Size of a page") : DEFAULT_LIMIT;
+				if (afterId < 0) {
+					throw new BadRestRequestException(Message.format("Id of a connection %s must not be negative",
+							Long.valueOf(afterId)));
+				}
+				if (limit <= 0 || limit > MAX_LIMIT) {
+					throw new BadRestRequestException(Message.format("Size of a page %s must be positive and not greater than %s",
+							Long.valueOf(limit), Integer.valueOf(MAX_LIMIT)));
+				}
+				final TcpReverseProxyConnections connections = proxyServer.getConnections();
+				final List<TcpReverseProxyConnection> page = connections.page(afterId, (int)limit);
+				final JsonArrayBuilder connectionsJsonBuilder = jsonBuilderFactory.createArrayBuilder();
+				for (final TcpReverseProxyConnection connection : page) {
+					final JsonObjectBuilder connectionJsonBuilder = jsonBuilderFactory.createObjectBuilder()
+							.add("id", connection.getId());
+					@Nullable
+					final SocketAddress feAddress = connection.getFrontEndAddress();
+					if (feAddress != null) {
+						connectionJsonBuilder.add("frontEnd", feAddress.toString());
+					}
+					@Nullable
+					final TcpReverseProxyBackEnd backEnd = connection.getBackEnd();
+					if (backEnd != null) {
+						connectionJsonBuilder.add("backEnd", backEnd.getAddress().toString());
+					}
+					connectionsJsonBuilder.add(connectionJsonBuilder
+							.add("ageMillis", connection.getAgeMillis())
+							.add("idleMillis", connection.getIdleMillis())
+							.add("frontEndToBackEndBytes", connection.getFrontEndToBackEndBytes())
+							.add("backEndToFrontEndBytes", connection.getBackEndToFrontEndBytes())
+							.add("frontEndWritable", connection.isFrontEndWritable())
+							.add("backEndWritable", connection.isBackEndWritable()));
+				}
+				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+				jsonBuilder.add("total", connections.size());
+				jsonBuilder.add("connections", connectionsJsonBuilder);
+				if (page.size() == limit) {//there may be more connections
+					jsonBuilder.add("nextAfterId", page.get(page.size() - 1).getId());
+				}
+				final JsonObject httpResponseContent = jsonBuilder.build();
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+
+	private static final long parse(final String argument, final String description) {
+		try {
+			return Long.parseLong(argument);
+		} catch (final NumberFormatException e) {
+			throw new BadRestRequestException(Message.format("%s %s isn't a number", description, argument));
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyLatencyHistogram;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyStats;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to report percentiles of latencies of Proxy Server
+ * (see {@link TcpReverseProxyLatencyHistogram}) in microseconds.
+ * By default percentiles are computed over all latencies recorded since Proxy Server was started.
+ * If the only {@link #getArguments(RestRequest) argument} of a {@link RestRequest} is {@code "interval"},
+ * e.g. {@code "GET /latencies/interval/"}, then percentiles are computed only over latencies recorded since
+ * the previous such {@link RestRequest}, which allows to observe latencies over periods of time by polling.
+ * Latencies of additional listeners of Proxy Server (see {@link TcpReverseProxyServer#getListenerStats()}) are reported
+ * separately by names of the listeners.
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"latencies": {
+ * 		"backEndConnect": {
+ * 			"count": 1000,
+ * 			"p50": 98,
+ * 			"p90": 131,
+ * 			"p99": 410,
+ * 			"p99.9": 1507,
+ * 			"p99.99": 2031,
+ * 			"max": 2031
+ * 		},
+ * 		"frontEndReady": {...},
+ * 		"frontEndToBackEndForwarding": {...},
+ * 		"backEndToFrontEndForwarding": {...},
+ * 		"tlsHandshake": {...}
+ * 	},
+ * 	"listeners": {
+ * 		"localhost:7002": {
+ * 			"backEndConnect": {...},
+ * 			"frontEndReady": {...},
+ * 			"frontEndToBackEndForwarding": {...},
+ * 			"backEndToFrontEndForwarding": {...},
+ * 			"tlsHandshake": {...}
+ * 		}
+ * 	}
+ * }
+ * </code></pre>
+ * Value for name {@code listeners} is absent if there are no additional listeners.
+ * This {@link RestRequestHandler} is bound to {@code "GET /latencies/"}.
+ */
+final class ProxyLatenciesRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyLatenciesRestRequestHandler.class);
+	private static final String JSON_RESPONSE_LATENCIES_NVNAME = "latencies";
+	private static final String JSON_RESPONSE_LISTENERS_NVNAME = "listeners";
+	private static final String INTERVAL = "interval";
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+	private final TcpReverseProxyServer proxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyLatenciesRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} latencies of which this {@link RestRequestHandler} will report.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyLatenciesRestRequestHandler(final TcpReverseProxyServer proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("GET /latencies/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				final List<String> arguments = getArguments(request);
+				final boolean interval;
+				if (arguments.isEmpty()) {
+					interval = false;
+				} else if (arguments.size() == 1 && INTERVAL.equals(arguments.get(0))) {
+					interval = true;
+				} else {
+					throw new BadRestRequestException(
+							Message.format("Request %s... must specify either no arguments or %s", getBinding(), INTERVAL));
+				}
+				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+				jsonBuilder.add(JSON_RESPONSE_LATENCIES_NVNAME, latencies(proxyServer.getStats(), interval));
+				final Map<String, TcpReverseProxyStats> listenerStats = proxyServer.getListenerStats();
+				if (!listenerStats.isEmpty()) {
+					final JsonObjectBuilder listenersJsonBuilder = jsonBuilderFactory.createObjectBuilder();
+					for (final Map.Entry<String, TcpReverseProxyStats> entry : listenerStats.entrySet()) {
+						listenersJsonBuilder.add(entry.getKey(), latencies(entry.getValue(), interval));
+					}
+					jsonBuilder.add(JSON_RESPONSE_LISTENERS_NVNAME, listenersJsonBuilder);
+				}
+				final JsonObject httpResponseContent = jsonBuilder.build();
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+
+	private final JsonObjectBuilder latencies(final TcpReverseProxyStats stats, final boolean interval) {
+		return jsonBuilderFactory.createObjectBuilder()
+				.add("backEndConnect", percentiles(stats.getBackEndConnectLatency(), interval))
+				.add("frontEndReady", percentiles(stats.getFrontEndReadyLatency(), interval))
+				.add("frontEndToBackEndForwarding", percentiles(stats.getFrontEndToBackEndForwardingLatency(), interval))
+				.add("backEndToFrontEndForwarding", percentiles(stats.getBackEndToFrontEndForwardingLatency(), interval))
+				.add("tlsHandshake", percentiles(stats.getTlsHandshakeLatency(), interval));
+	}
+
+	private final JsonObjectBuilder percentiles(final TcpReverseProxyLatencyHistogram histogram, final boolean interval) {
+		final TcpReverseProxyLatencyHistogram.Snapshot snapshot = interval ? histogram.intervalSnapshot() : histogram.snapshot();
+		final JsonObjectBuilder result = jsonBuilderFactory.createObjectBuilder();
+		result.add("count", snapshot.getCount());
+		for (final double percentile : PERCENTILES) {
+			final String name = percentile == Math.rint(percentile)
+					? String.valueOf((long)percentile)
+					: String.valueOf(percentile);
+			result.add("p" + name, nanosToMicros(snapshot.getValueAtPercentile(percentile)));
+		}
+		result.add("max", nanosToMicros(snapshot.getMax()));
+		return result;
+	}
+
+	private static final long nanosToMicros(final long nanos) {
+		return (nanos + 999) / 1000;
+	}
+}
@@ -3,6 +3,7 @@ package com.gl.vn.me.ko.pies.app.proxy;
 import static com.gl.vn.me.ko.pies.base.constant.Message.GUICE_POTENTIALLY_SWALLOWED;
 import com.gl.vn.me.ko.pies.base.config.PropsConfig;
 import com.gl.vn.me.ko.pies.base.config.app.ConfigLocator;
+import com.gl.vn.me.ko.pies.base.constant.Message;
 import com.gl.vn.me.ko.pies.base.main.GuiceLocator;
 import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
 import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
@@ -12,17 +13,47 @@ import com.gl.vn.me.ko.pies.platform.server.rest.RestServerAddress;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerBoss;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerName;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerRequestHandling;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestServerSocket;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerThreadFactory;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestServerWorker;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyAdmissionSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBackEnd;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBackEndPoolSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyBandwidthLimits;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyForwardingSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyHealthCheckSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyIdleSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyListener;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyLoadBalancingStrategy;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyMirrorSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyMultiplexingSettings;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
-import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerBackEndAddress;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerBackEnds;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerBoss;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerConnectTimeout;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerFrontEndAddress;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerListeners;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerLoadBalancing;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerName;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerSocket;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerThreadFactory;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerWorker;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxySettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyTlsSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerConnectionLimits;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerDrainSettings;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocketOptions;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServer;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServerBackEnds;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServerFrontEndAddress;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServerName;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServerThreadFactory;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServerWorker;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxySessionSettings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HostAndPort;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provider;
 import com.google.inject.Provides;
@@ -37,13 +68,17 @@ import io.netty.handler.logging.LoggingHandler;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import javax.annotation.Nullable;
 import javax.inject.Singleton;
 import javax.json.Json;
 import javax.json.JsonBuilderFactory;
+import javax.net.ssl.SSLContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +95,14 @@ final class ProxyModule extends AbstractModule {
 	 * Name of the file that specifies Proxy Config.
 	 */
 	private static final String CONFIG_FILE_NAME = "proxyConfig.xml";
+	private static final String LISTENER_LIST_SEPARATOR = ",";
+	private static final TcpReverseProxyLoadBalancingStrategy DEFAULT_BE_LOAD_BALANCING
+			= TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN;
+	private static final int DEFAULT_BE_POOL_MIN_IDLE = 0;
+	private static final int DEFAULT_BE_POOL_MAX_IDLE = 0;
+	private static final long DEFAULT_BE_POOL_MAX_AGE_MILLIS = 30_000;
+	private static final boolean DEFAULT_BE_POOL_VALIDATE_ON_BORROW = true;
+	private static final int DEFAULT_UDP_PROXY_WORKERS = 1;
 
 	final static ProxyModule getInstance() {
 		return INSTANCE;
@@ -90,6 +133,60 @@ final class ProxyModule extends AbstractModule {
 		return result;
 	}
 
+	/**
+	 * Parses an address in the {@code host:port} form and resolves the host.
+	 *
+	 * @param hostAndPortString
+	 * An address in the {@code host:port} form, leading and trailing whitespaces are ignored.
+	 * @return
+	 * A resolved {@link InetSocketAddress}.
+	 * @throws ApplicationException
+	 * If the {@code hostAndPortString} can't be parsed or the host can't be resolved.
+	 */
+	static final InetSocketAddress parseAddress(final String hostAndPortString) {
+		final InetSocketAddress result;
+		try {
+			final HostAndPort hostAndPort = HostAndPort.fromString(hostAndPortString.trim());
+			result = new InetSocketAddress(InetAddress.getByName(hostAndPort.getHostText()), hostAndPort.getPort());
+		} catch (final UnknownHostException | IllegalArgumentException | IllegalStateException e) {
+			throw new ApplicationException(Message.format("Can't parse address %s", hostAndPortString), e);
+		}
+		return result;
+	}
+
+	/**
+	 * Creates {@link TcpReverseProxyBackEnd}s from addresses of back-ends and their weights.
+	 *
+	 * @param servers
+	 * Addresses of back-ends in the {@code host:port} form.
+	 * @param optWeights
+	 * Weights of the {@code servers} in the same order. All weights are {@code 1} if not present.
+	 * @return
+	 * An unmodifiable {@link List} of {@link TcpReverseProxyBackEnd}s.
+	 * @throws ApplicationException
+	 * If the number of weights doesn't match the number of {@code servers} or either of them can't be parsed.
+	 */
+	private static final List<TcpReverseProxyBackEnd> parseBackEnds(
+			final List<String> servers, final Optional<List<String>> optWeights) {
+		if (optWeights.isPresent() && optWeights.get().size() != servers.size()) {
+			throw new ApplicationException(Message.format("Number of weights %s doesn't match number of back-ends %s",
+					optWeights.get(), servers));
+		}
+		final ImmutableList.Builder<TcpReverseProxyBackEnd> resultBuilder = ImmutableList.builder();
+		for (int i = 0; i < servers.size(); i++) {
+			final String server = servers.get(i).trim();
+			final InetSocketAddress address = parseAddress(server);
+			final int weight;
+			try {
+				weight = optWeights.isPresent() ? Integer.parseInt(optWeights.get().get(i).trim()) : 1;
+			} catch (final NumberFormatException e) {
+				throw new ApplicationException(Message.format("Can't parse weight of back-end %s", server), e);
+			}
+			resultBuilder.add(new TcpReverseProxyBackEnd(address, weight));
+		}
+		return resultBuilder.build();
+	}
+
 	private ProxyModule() {
 	}
 
@@ -103,8 +200,10 @@ final class ProxyModule extends AbstractModule {
 			}
 			bind(JsonBuilderFactory.class).toInstance(Json.createBuilderFactory(null));
 			bind(String.class).annotatedWith(TcpReverseProxyServerName.class).toInstance("Proxy Server");
+			bind(String.class).annotatedWith(UdpReverseProxyServerName.class).toInstance("UDP Proxy Server");
 			bind(String.class).annotatedWith(RestServerName.class).toInstance("Control Server");
 			bind(TcpReverseProxyServer.class).in(Singleton.class);
+			bind(UdpReverseProxyServer.class).in(Singleton.class);
 			bind(JsonRestServer.class).in(Singleton.class);
 			bind(new TypeLiteral<ChannelInitializer<ServerSocketChannel>>() {
 			})
@@ -207,12 +306,21 @@ final class ProxyModule extends AbstractModule {
 	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
 	private final Collection<? extends RestRequestHandler<? extends JsonRestRequestHandlerResult>>
 			provideControlSrvRestRequestHandlers(final JsonBuilderFactory jsonBuilderFactory,
-					final TcpReverseProxyServer proxyServer) {
+					final TcpReverseProxyServer proxyServer,
+					final TcpServerDrainSettings drainSettings,
+					final Optional<UdpReverseProxyServer> optUdpProxyServer) {
 		final Collection<? extends RestRequestHandler<? extends JsonRestRequestHandlerResult>> result;
 		try {
 			final ImmutableList.Builder<RestRequestHandler<JsonRestRequestHandlerResult>> resultBuilder
 					= ImmutableList.builder();
-			resultBuilder.add(new ProxyShutdownRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyShutdownRestRequestHandler(proxyServer, drainSettings, jsonBuilderFactory));
+			resultBuilder.add(new ProxyBackEndsRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyBackEndsChangeRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyStatsRestRequestHandler(proxyServer, optUdpProxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyLatenciesRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyConnectionsRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyCaptureRestRequestHandler(proxyServer, jsonBuilderFactory));
+			resultBuilder.add(new ProxyBandwidthRestRequestHandler(proxyServer, jsonBuilderFactory));
 			result = resultBuilder.build();
 		} catch (final RuntimeException e) {
 			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
@@ -235,6 +343,34 @@ final class ProxyModule extends AbstractModule {
 		return result;
 	}
 
+	@Provides
+	@Singleton
+	@RestServerSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerSocketOptions provideControlSrvSocketOptions(final PropsConfig cfg) {
+		final TcpServerSocketOptions result;
+		try {
+			final TcpServerSocketOptions defaults = TcpServerSocketOptions.defaults();
+			result = defaults
+					.withBacklog(cfg.getInteger(ProxyConfigPropertyName.CONTROL_SOCKET_BACKLOG,
+							defaults.getBacklog()).get().intValue())
+					.withReuseAddress(cfg.getBoolean(ProxyConfigPropertyName.CONTROL_SOCKET_REUSE_ADDRESS,
+							defaults.isReuseAddress()).get().booleanValue())
+					.withTcpNoDelay(cfg.getBoolean(ProxyConfigPropertyName.CONTROL_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue())
+					.withKeepAlive(cfg.getBoolean(ProxyConfigPropertyName.CONTROL_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue())
+					.withReceiveBufferSize(cfg.getInteger(ProxyConfigPropertyName.CONTROL_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue())
+					.withSendBufferSize(cfg.getInteger(ProxyConfigPropertyName.CONTROL_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
 	@Provides
 	@Singleton
 	@TcpReverseProxyServerFrontEndAddress
@@ -261,21 +397,97 @@ final class ProxyModule extends AbstractModule {
 
 	@Provides
 	@Singleton
-	@TcpReverseProxyServerBackEndAddress
+	@TcpReverseProxyServerBackEnds
 	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
-	private final InetSocketAddress provideProxySrvBeAddress(final PropsConfig cfg) {
-		final InetSocketAddress result;
+	private final List<TcpReverseProxyBackEnd> provideProxySrvBackEnds(final PropsConfig cfg) {
+		final List<TcpReverseProxyBackEnd> result;
 		try {
-			final int port = cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_PORT).intValue();
-			final Optional<String> optHostPropertyValue = cfg.getString(ProxyConfigPropertyName.PROXY_BE_HOST, null);
-			final InetAddress host;
+			result = parseBackEnds(cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_BE_SERVERS),
+					cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_BE_WEIGHTS, null));
+			if (result.isEmpty()) {
+				throw new ApplicationException(Message.format("No back-ends are specified by %s",
+						ProxyConfigPropertyName.PROXY_BE_SERVERS));
+			}
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@TcpReverseProxyServerListeners
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final List<TcpReverseProxyListener> provideProxySrvListeners(final PropsConfig cfg,
+			@TcpReverseProxyServerLoadBalancing final TcpReverseProxyLoadBalancingStrategy defaultLoadBalancingStrategy) {
+		final List<TcpReverseProxyListener> result;
+		try {
+			final Optional<List<String>> optFrontEnds = cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_LISTENERS_FE, null);
+			if (optFrontEnds.isPresent()) {
+				final List<String> frontEnds = optFrontEnds.get();
+				final List<String> backEnds = cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_LISTENERS_BE);
+				final Optional<List<String>> optWeights = cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_LISTENERS_WEIGHTS, null);
+				final Optional<List<String>> optStrategies
+						= cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_LISTENERS_LOAD_BALANCING, null);
+				if (backEnds.size() != frontEnds.size()) {
+					throw new ApplicationException(Message.format("Number of back-end sets %s doesn't match number of listeners %s",
+							backEnds, frontEnds));
+				}
+				if (optWeights.isPresent() && optWeights.get().size() != frontEnds.size()) {
+					throw new ApplicationException(Message.format("Number of weight sets %s doesn't match number of listeners %s",
+							optWeights.get(), frontEnds));
+				}
+				if (optStrategies.isPresent() && optStrategies.get().size() != frontEnds.size()) {
+					throw new ApplicationException(Message.format(
+							"Number of load balancing strategies %s doesn't match number of listeners %s", optStrategies.get(), frontEnds));
+				}
+				final ImmutableList.Builder<TcpReverseProxyListener> resultBuilder = ImmutableList.builder();
+				for (int i = 0; i < frontEnds.size(); i++) {
+					final String frontEnd = frontEnds.get(i).trim();
+					final Optional<List<String>> optListenerWeights = optWeights.isPresent()
+							? Optional.of(Arrays.asList(optWeights.get().get(i).split(LISTENER_LIST_SEPARATOR))) : Optional.empty();
+					final List<TcpReverseProxyBackEnd> listenerBackEnds = parseBackEnds(
+							Arrays.asList(backEnds.get(i).split(LISTENER_LIST_SEPARATOR)), optListenerWeights);
+					final TcpReverseProxyLoadBalancingStrategy strategy;
+					if (optStrategies.isPresent()) {
+						final String strategyName = optStrategies.get().get(i).trim();
+						try {
+							strategy = TcpReverseProxyLoadBalancingStrategy.valueOf(strategyName);
+						} catch (final IllegalArgumentException e) {
+							throw new ApplicationException(Message.format("Unknown load balancing strategy %s", strategyName), e);
+						}
+					} else {
+						strategy = defaultLoadBalancingStrategy;
+					}
+					resultBuilder.add(new TcpReverseProxyListener(
+							frontEnd, parseAddress(frontEnd), listenerBackEnds, strategy));
+				}
+				result = resultBuilder.build();
+			} else {
+				result = ImmutableList.of();
+			}
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@TcpReverseProxyServerLoadBalancing
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyLoadBalancingStrategy provideProxySrvLoadBalancingStrategy(final PropsConfig cfg) {
+		final TcpReverseProxyLoadBalancingStrategy result;
+		try {
+			final String strategyName = cfg.getString(
+					ProxyConfigPropertyName.PROXY_BE_LOAD_BALANCING, DEFAULT_BE_LOAD_BALANCING.name()).get();
 			try {
-				host = optHostPropertyValue.isPresent()
-						? InetAddress.getByName(optHostPropertyValue.get()) : InetAddress.getLocalHost();
-			} catch (final UnknownHostException e) {
-				throw new ApplicationException(e);
+				result = TcpReverseProxyLoadBalancingStrategy.valueOf(strategyName.trim());
+			} catch (final IllegalArgumentException e) {
+				throw new ApplicationException(Message.format("Unknown load balancing strategy %s", strategyName), e);
 			}
-			result = new InetSocketAddress(host, port);
 		} catch (final RuntimeException e) {
 			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
 			throw e;
@@ -327,6 +539,34 @@ final class ProxyModule extends AbstractModule {
 		return result;
 	}
 
+	@Provides
+	@Singleton
+	@TcpReverseProxyServerSocket
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerSocketOptions provideProxySrvSocketOptions(final PropsConfig cfg) {
+		final TcpServerSocketOptions result;
+		try {
+			final TcpServerSocketOptions defaults = TcpServerSocketOptions.defaults();
+			result = defaults
+					.withBacklog(cfg.getInteger(ProxyConfigPropertyName.PROXY_SOCKET_BACKLOG,
+							defaults.getBacklog()).get().intValue())
+					.withReuseAddress(cfg.getBoolean(ProxyConfigPropertyName.PROXY_SOCKET_REUSE_ADDRESS,
+							defaults.isReuseAddress()).get().booleanValue())
+					.withTcpNoDelay(cfg.getBoolean(ProxyConfigPropertyName.PROXY_SOCKET_TCP_NO_DELAY,
+							defaults.isTcpNoDelay()).get().booleanValue())
+					.withKeepAlive(cfg.getBoolean(ProxyConfigPropertyName.PROXY_SOCKET_KEEP_ALIVE,
+							defaults.isKeepAlive()).get().booleanValue())
+					.withReceiveBufferSize(cfg.getInteger(ProxyConfigPropertyName.PROXY_SOCKET_RECEIVE_BUFFER_SIZE,
+							defaults.getReceiveBufferSize()).get().intValue())
+					.withSendBufferSize(cfg.getInteger(ProxyConfigPropertyName.PROXY_SOCKET_SEND_BUFFER_SIZE,
+							defaults.getSendBufferSize()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
 	@Provides
 	@TcpReverseProxyServerConnectTimeout
 	@Singleton
@@ -341,4 +581,428 @@ final class ProxyModule extends AbstractModule {
 		}
 		return result;
 	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyBackEndPoolSettings provideProxySrvBePoolSettings(final PropsConfig cfg) {
+		final TcpReverseProxyBackEndPoolSettings result;
+		try {
+			result = new TcpReverseProxyBackEndPoolSettings(
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_POOL_MIN_IDLE, DEFAULT_BE_POOL_MIN_IDLE).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_POOL_MAX_IDLE, DEFAULT_BE_POOL_MAX_IDLE).get().intValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BE_POOL_MAX_AGE_MILLIS, DEFAULT_BE_POOL_MAX_AGE_MILLIS).get().longValue(),
+					cfg.getBoolean(ProxyConfigPropertyName.PROXY_BE_POOL_VALIDATE_ON_BORROW, DEFAULT_BE_POOL_VALIDATE_ON_BORROW)
+							.get().booleanValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyForwardingSettings provideProxySrvForwardingSettings(final PropsConfig cfg) {
+		final TcpReverseProxyForwardingSettings result;
+		try {
+			final TcpReverseProxyForwardingSettings defaults = TcpReverseProxyForwardingSettings.defaults();
+			result = new TcpReverseProxyForwardingSettings(
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_WRITE_BUFFER_LOW_WATER_MARK,
+							defaults.getWriteBufferLowWaterMark()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_WRITE_BUFFER_HIGH_WATER_MARK,
+							defaults.getWriteBufferHighWaterMark()).get().intValue(),
+					cfg.getBoolean(ProxyConfigPropertyName.PROXY_POOLED_DIRECT_BUFFERS,
+							defaults.isPooledDirectBuffers()).get().booleanValue(),
+					cfg.getBoolean(ProxyConfigPropertyName.PROXY_EVENT_LOOP_AFFINITY,
+							defaults.isEventLoopAffinity()).get().booleanValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyHealthCheckSettings provideProxySrvHealthCheckSettings(final PropsConfig cfg) {
+		final TcpReverseProxyHealthCheckSettings result;
+		try {
+			final TcpReverseProxyHealthCheckSettings defaults = TcpReverseProxyHealthCheckSettings.defaults();
+			result = new TcpReverseProxyHealthCheckSettings(
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BE_HEALTH_PROBE_INTERVAL_MILLIS,
+							defaults.getProbeIntervalMillis()).get().longValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_HEALTH_PROBE_TIMEOUT_MILLIS,
+							defaults.getProbeTimeoutMillis()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_HEALTH_FAILURE_THRESHOLD,
+							defaults.getFailureThreshold()).get().intValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BE_HEALTH_BASE_EJECTION_MILLIS,
+							defaults.getBaseEjectionMillis()).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BE_HEALTH_MAX_EJECTION_MILLIS,
+							defaults.getMaxEjectionMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyIdleSettings provideProxySrvIdleSettings(final PropsConfig cfg) {
+		final TcpReverseProxyIdleSettings result;
+		try {
+			final TcpReverseProxyIdleSettings defaults = TcpReverseProxyIdleSettings.disabled();
+			result = new TcpReverseProxyIdleSettings(
+					cfg.getLong(ProxyConfigPropertyName.PROXY_READ_IDLE_MILLIS, defaults.getReadIdleMillis()).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_WRITE_IDLE_MILLIS, defaults.getWriteIdleMillis()).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_ALL_IDLE_MILLIS, defaults.getAllIdleMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyAdmissionSettings provideProxySrvAdmissionSettings(final PropsConfig cfg) {
+		final TcpReverseProxyAdmissionSettings result;
+		try {
+			final TcpReverseProxyAdmissionSettings defaults = TcpReverseProxyAdmissionSettings.unlimited();
+			result = new TcpReverseProxyAdmissionSettings(
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_ADMISSION_MAX_CONNECTIONS_PER_BE,
+							defaults.getMaxConnectionsPerBackEnd()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_ADMISSION_MAX_QUEUED_CONNECTIONS,
+							defaults.getMaxQueuedConnections()).get().intValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BE_ADMISSION_QUEUE_TIMEOUT_MILLIS,
+							defaults.getQueueTimeoutMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyMirrorSettings provideProxySrvMirrorSettings(final PropsConfig cfg) {
+		final TcpReverseProxyMirrorSettings result;
+		try {
+			final TcpReverseProxyMirrorSettings defaults = TcpReverseProxyMirrorSettings.disabled();
+			final Optional<String> optShadowServer = cfg.getString(ProxyConfigPropertyName.PROXY_MIRROR_SHADOW_SERVER, null);
+			@Nullable
+			final InetSocketAddress shadowAddress;
+			if (optShadowServer.isPresent()) {
+				shadowAddress = parseAddress(optShadowServer.get());
+			} else {
+				shadowAddress = null;
+			}
+			result = new TcpReverseProxyMirrorSettings(
+					shadowAddress,
+					cfg.getDouble(ProxyConfigPropertyName.PROXY_MIRROR_RATIO, defaults.getRatio()).get().doubleValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_MIRROR_MAX_BUFFERED_BYTES,
+							defaults.getMaxBufferedBytes()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyTlsSettings provideProxySrvTlsSettings(final PropsConfig cfg) {
+		final TcpReverseProxyTlsSettings result;
+		try {
+			final TcpReverseProxyTlsSettings defaults = TcpReverseProxyTlsSettings.disabled();
+			final Optional<String> optKeyStore = cfg.getString(ProxyConfigPropertyName.PROXY_TLS_KEY_STORE, null);
+			if (optKeyStore.isPresent()) {
+				final SSLContext sslContext = TcpReverseProxyTlsSettings.newSslContext(Paths.get(optKeyStore.get().trim()),
+						cfg.getString(ProxyConfigPropertyName.PROXY_TLS_KEY_STORE_PASSWORD));
+				final Optional<List<String>> optSniHostNames
+						= cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_TLS_SNI_HOST_NAMES, null);
+				final ImmutableMap.Builder<String, String> sniRoutesBuilder = ImmutableMap.builder();
+				if (optSniHostNames.isPresent()) {
+					final List<String> sniHostNames = optSniHostNames.get();
+					final List<String> sniListeners = cfg.getListOfStrings(ProxyConfigPropertyName.PROXY_TLS_SNI_LISTENERS);
+					if (sniListeners.size() != sniHostNames.size()) {
+						throw new ApplicationException(Message.format("Number of listeners %s doesn't match number of SNI host names %s",
+								sniListeners, sniHostNames));
+					}
+					for (int i = 0; i < sniHostNames.size(); i++) {
+						sniRoutesBuilder.put(sniHostNames.get(i).trim(), sniListeners.get(i).trim());
+					}
+				}
+				result = new TcpReverseProxyTlsSettings(
+						sslContext,
+						cfg.getInteger(ProxyConfigPropertyName.PROXY_TLS_SESSION_CACHE_SIZE,
+								defaults.getSessionCacheSize()).get().intValue(),
+						cfg.getInteger(ProxyConfigPropertyName.PROXY_TLS_SESSION_TIMEOUT_SECONDS,
+								defaults.getSessionTimeoutSeconds()).get().intValue(),
+						cfg.getLong(ProxyConfigPropertyName.PROXY_TLS_HANDSHAKE_TIMEOUT_MILLIS,
+								defaults.getHandshakeTimeoutMillis()).get().longValue(),
+						sniRoutesBuilder.build());
+			} else {
+				result = defaults;
+			}
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyCaptureSettings provideProxySrvCaptureSettings(final PropsConfig cfg) {
+		final TcpReverseProxyCaptureSettings result;
+		try {
+			final TcpReverseProxyCaptureSettings defaults = TcpReverseProxyCaptureSettings.unavailable();
+			final Optional<String> optDirectory = cfg.getString(ProxyConfigPropertyName.PROXY_CAPTURE_DIRECTORY, null);
+			result = new TcpReverseProxyCaptureSettings(
+					optDirectory.isPresent() ? Paths.get(optDirectory.get().trim()) : null,
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_CAPTURE_SEGMENT_SIZE_BYTES,
+							defaults.getSegmentSizeBytes()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_CAPTURE_MAX_SEGMENTS, defaults.getMaxSegments()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyBandwidthLimits provideProxySrvBandwidthLimits(final PropsConfig cfg) {
+		final TcpReverseProxyBandwidthLimits result;
+		try {
+			result = new TcpReverseProxyBandwidthLimits(
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BANDWIDTH_GLOBAL_READ_BYTES_PER_SECOND, Long.valueOf(0)).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BANDWIDTH_GLOBAL_WRITE_BYTES_PER_SECOND, Long.valueOf(0)).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BANDWIDTH_CONNECTION_READ_BYTES_PER_SECOND, Long.valueOf(0)).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_BANDWIDTH_CONNECTION_WRITE_BYTES_PER_SECOND, Long.valueOf(0)).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxyMultiplexingSettings provideProxySrvMultiplexingSettings(final PropsConfig cfg) {
+		final TcpReverseProxyMultiplexingSettings result;
+		try {
+			final TcpReverseProxyMultiplexingSettings defaults = TcpReverseProxyMultiplexingSettings.disabled();
+			result = new TcpReverseProxyMultiplexingSettings(
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_BE_MULTIPLEXING_CONNECTIONS_PER_THREAD,
+							defaults.getConnectionsPerEventLoop()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final Optional<UdpReverseProxyServer> provideUdpProxySrv(
+			final PropsConfig cfg, final Provider<UdpReverseProxyServer> udpProxyServerProvider) {
+		final Optional<UdpReverseProxyServer> result;
+		try {
+			result = cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_FE_PORT, null).isPresent()
+					? Optional.of(udpProxyServerProvider.get()) : Optional.empty();
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@UdpReverseProxyServerFrontEndAddress
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final InetSocketAddress provideUdpProxySrvFeAddress(final PropsConfig cfg) {
+		final InetSocketAddress result;
+		try {
+			final int port = cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_FE_PORT).intValue();
+			final Optional<String> optHostPropertyValue = cfg.getString(ProxyConfigPropertyName.UDP_PROXY_FE_HOST, null);
+			final InetAddress host;
+			try {
+				host = optHostPropertyValue.isPresent()
+						? InetAddress.getByName(optHostPropertyValue.get()) : InetAddress.getLocalHost();
+			} catch (final UnknownHostException e) {
+				throw new ApplicationException(e);
+			}
+			result = new InetSocketAddress(host, port);
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@UdpReverseProxyServerBackEnds
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final List<InetSocketAddress> provideUdpProxySrvBackEnds(final PropsConfig cfg) {
+		final List<InetSocketAddress> result;
+		try {
+			final List<String> servers = cfg.getListOfStrings(ProxyConfigPropertyName.UDP_PROXY_BE_SERVERS);
+			final ImmutableList.Builder<InetSocketAddress> resultBuilder = ImmutableList.builder();
+			for (final String server : servers) {
+				resultBuilder.add(parseAddress(server));
+			}
+			result = resultBuilder.build();
+			if (result.isEmpty()) {
+				throw new ApplicationException(Message.format("No back-ends are specified by %s",
+						ProxyConfigPropertyName.UDP_PROXY_BE_SERVERS));
+			}
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@UdpReverseProxyServerWorker
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final Integer provideUdpProxySrvMaxWorkerThreads(final PropsConfig cfg) {
+		final Integer result;
+		try {
+			result = cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_WORKERS, DEFAULT_UDP_PROXY_WORKERS).get();
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@UdpReverseProxyServerThreadFactory
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final ThreadFactory provideUdpProxySrvThreadFactory(final ThreadFactory threadFactory) {
+		final ThreadFactory result;
+		try {
+			result = threadFactory;
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final UdpReverseProxySessionSettings provideUdpProxySrvSessionSettings(final PropsConfig cfg) {
+		final UdpReverseProxySessionSettings result;
+		try {
+			final UdpReverseProxySessionSettings defaults = UdpReverseProxySessionSettings.defaults();
+			result = new UdpReverseProxySessionSettings(
+					cfg.getLong(ProxyConfigPropertyName.UDP_PROXY_SESSION_IDLE_TIMEOUT_MILLIS,
+							defaults.getIdleTimeoutMillis()).get().longValue(),
+					cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_MAX_SESSIONS,
+							defaults.getMaxSessions()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_MAX_DATAGRAMS_PER_READ,
+							defaults.getMaxDatagramsPerRead()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.UDP_PROXY_MAX_DATAGRAM_BYTES,
+							defaults.getMaxDatagramBytes()).get().intValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerDrainSettings provideProxySrvDrainSettings(final PropsConfig cfg) {
+		final TcpServerDrainSettings result;
+		try {
+			final TcpServerDrainSettings defaults = TcpServerDrainSettings.disabled();
+			result = new TcpServerDrainSettings(
+					cfg.getLong(ProxyConfigPropertyName.PROXY_DRAIN_TIMEOUT_MILLIS, defaults.getTimeoutMillis()).get().longValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_DRAIN_IDLE_MILLIS, defaults.getIdleMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpServerConnectionLimits provideProxySrvConnectionLimits(final PropsConfig cfg) {
+		final TcpServerConnectionLimits result;
+		try {
+			final TcpServerConnectionLimits defaults = TcpServerConnectionLimits.unlimited();
+			result = new TcpServerConnectionLimits(
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_CONNECTIONS_MAX,
+							defaults.getMaxConnections()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_CONNECTIONS_MAX_PER_ADDRESS,
+							defaults.getMaxConnectionsPerAddress()).get().intValue(),
+					cfg.getInteger(ProxyConfigPropertyName.PROXY_CONNECTIONS_MAX_FILE_DESCRIPTOR_USAGE_PERCENT,
+							defaults.getMaxFileDescriptorUsagePercent()).get().intValue(),
+					cfg.getLong(ProxyConfigPropertyName.PROXY_CONNECTIONS_ACCEPT_BACK_OFF_MILLIS,
+							defaults.getAcceptBackOffMillis()).get().longValue());
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
+
+	@Provides
+	@Singleton
+	@SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "This method is called by Guice framework")
+	private final TcpReverseProxySettings provideProxySrvSettings(
+			final TcpReverseProxyBackEndPoolSettings bePoolSettings,
+			final TcpReverseProxyForwardingSettings forwardingSettings,
+			final TcpReverseProxyHealthCheckSettings healthCheckSettings,
+			final TcpReverseProxyIdleSettings idleSettings,
+			final TcpReverseProxyAdmissionSettings admissionSettings,
+			final TcpReverseProxyMirrorSettings mirrorSettings,
+			final TcpReverseProxyCaptureSettings captureSettings,
+			final TcpReverseProxyMultiplexingSettings multiplexingSettings,
+			final TcpReverseProxyTlsSettings tlsSettings,
+			@TcpReverseProxyServerSocket final TcpServerSocketOptions socketOptions,
+			final TcpServerConnectionLimits connectionLimits) {
+		final TcpReverseProxySettings result;
+		try {
+			result = TcpReverseProxySettings.defaults()
+					.withBePoolSettings(bePoolSettings)
+					.withForwardingSettings(forwardingSettings)
+					.withHealthCheckSettings(healthCheckSettings)
+					.withIdleSettings(idleSettings)
+					.withAdmissionSettings(admissionSettings)
+					.withMirrorSettings(mirrorSettings)
+					.withCaptureSettings(captureSettings)
+					.withMultiplexingSettings(multiplexingSettings)
+					.withTlsSettings(tlsSettings)
+					.withSocketOptions(socketOptions)
+					.withConnectionLimits(connectionLimits);
+		} catch (final RuntimeException e) {
+			LOGGER.error(GUICE_POTENTIALLY_SWALLOWED, e);
+			throw e;
+		}
+		return result;
+	}
 }
@@ -9,6 +9,8 @@ import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
 import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServer;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerDrainSettings;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -21,14 +23,16 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This {@link RestRequestHandler} is intended to perform shutdown of all {@link Server}s.
- * Firstly it shuts down Proxy Server and then responds with {@link HttpResponseStatus#ACCEPTED} before shutting down the
- * Control Server it belongs to.
+ * Firstly it {@linkplain TcpServer#drainAndShutdown(TcpServerDrainSettings) drains connections and shuts down} Proxy Server
+ * and then responds with {@link HttpResponseStatus#ACCEPTED} before shutting down the Control Server it belongs to.
+ * The response reports how many connections of Proxy Server were force-closed because they weren't closed before the drain timeout.
  * <p>
  * Example of HTTP response content:
  * <pre><code>
  * {
  * 	"httpReasonPhrase": "Proxy Server was stopped. Shutdown command for Control Server is accepted",
- * 	"proxyServer": "Proxy Server(address=localhost/127.0.0.1:7001, active=false)"
+ * 	"proxyServer": "Proxy Server(address=localhost/127.0.0.1:7001, active=false)",
+ * 	"forceClosedConnections": 0
  * }
  * </code></pre>
  * Note that value for name {@code proxyServer} is just descriptive and MAY be changed.
@@ -37,22 +41,29 @@ import org.slf4j.LoggerFactory;
 final class ProxyShutdownRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyShutdownRestRequestHandler.class);
 	private static final String JSON_RESPONSE_PROXY_SERVER_NVNAME = "proxyServer";
-	private final Server proxyServer;
+	private static final String JSON_RESPONSE_FORCE_CLOSED_CONNECTIONS_NVNAME = "forceClosedConnections";
+	private final TcpServer proxyServer;
+	private final TcpServerDrainSettings drainSettings;
 	private final JsonBuilderFactory jsonBuilderFactory;
 
 	/**
 	 * Constructs a new instance of {@link ProxyShutdownRestRequestHandler}.
 	 *
 	 * @param proxyServer
-	 * A {@link Server} that this {@link RestRequestHandler} will shut down.
+	 * A {@link TcpServer} that this {@link RestRequestHandler} will shut down.
+	 * @param drainSettings
+	 * {@link TcpServerDrainSettings} that specify how connections of the {@code proxyServer} are drained on shutdown.
 	 * @param jsonBuilderFactory
 	 * An implementation of {@link JsonBuilderFactory}.
 	 */
-	ProxyShutdownRestRequestHandler(final Server proxyServer, final JsonBuilderFactory jsonBuilderFactory) {
+	ProxyShutdownRestRequestHandler(
+			final TcpServer proxyServer, final TcpServerDrainSettings drainSettings, final JsonBuilderFactory jsonBuilderFactory) {
 		super(RestRequest.valueOf("PUT /shutdown/"));
 		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
-		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "second", "jsonBuilderFactory");
+		checkNotNull(drainSettings, Message.ARGUMENT_NULL, "second", "drainSettings");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "third", "jsonBuilderFactory");
 		this.proxyServer = proxyServer;
+		this.drainSettings = drainSettings;
 		this.jsonBuilderFactory = jsonBuilderFactory;
 	}
 
@@ -67,11 +78,12 @@ final class ProxyShutdownRestRequestHandler extends RestRequestHandler<JsonRestR
 					throw new BadRestRequestException(
 							Message.format("Request %s... must not specify any arguments", getBinding()));
 				}
-				proxyServer.shutdown();
+				final int forceClosedConnections = proxyServer.drainAndShutdown(drainSettings);
 				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
 				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME,
 						"Proxy Server was stopped. Shutdown command for Control Server is accepted");
 				jsonBuilder.add(JSON_RESPONSE_PROXY_SERVER_NVNAME, proxyServer.toString());
+				jsonBuilder.add(JSON_RESPONSE_FORCE_CLOSED_CONNECTIONS_NVNAME, forceClosedConnections);
 				final JsonObject httpResponseContent = jsonBuilder.build();
 				/*
 				 * getServer().shutdown() will also shut down ExecutorService in which action is executed
@@ -88,7 +100,7 @@ final class ProxyShutdownRestRequestHandler extends RestRequestHandler<JsonRestR
 	}
 
 	/**
-	 * Shuts down {@link Server} that was specified to construct this {@link ProxyShutdownRestRequestHandler}.
+	 * Shuts down {@link TcpServer} that was specified to construct this {@link ProxyShutdownRestRequestHandler}.
 	 */
 	@Override
 	protected final void shutdownHook() {
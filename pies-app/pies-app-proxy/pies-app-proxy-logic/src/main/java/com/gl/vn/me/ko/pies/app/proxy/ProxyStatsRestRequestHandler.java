@@ -0,0 +1,219 @@
+package com.gl.vn.me.ko.pies.app.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.rest.BadRestRequestException;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestRequestHandlerResult;
+import com.gl.vn.me.ko.pies.platform.server.rest.JsonRestServer;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequest;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandler;
+import com.gl.vn.me.ko.pies.platform.server.rest.RestRequestHandlingException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServer;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyStats;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerConnectionStats;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyServer;
+import com.gl.vn.me.ko.pies.platform.server.udp.UdpReverseProxyStats;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.timeout.IdleState;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link RestRequestHandler} is intended to report {@link TcpReverseProxyStats} and {@link TcpServerConnectionStats}
+ * of Proxy Server and {@link UdpReverseProxyStats} of UDP Proxy Server if the latter is started.
+ * Stats of additional listeners of Proxy Server (see {@link TcpReverseProxyServer#getListenerStats()}) are reported
+ * separately by names of the listeners.
+ * <p>
+ * Example of HTTP response content:
+ * <pre><code>
+ * {
+ * 	"httpReasonPhrase": "OK",
+ * 	"connections": {
+ * 		"open": 120,
+ * 		"globalLimitRejections": 0,
+ * 		"addressLimitRejections": 7,
+ * 		"fileDescriptorRejections": 0,
+ * 		"acceptBackOffs": 0
+ * 	},
+ * 	"idleClosures": {
+ * 		"frontEnd": {
+ * 			"READER_IDLE": 0,
+ * 			"WRITER_IDLE": 0,
+ * 			"ALL_IDLE": 12
+ * 		},
+ * 		"backEnd": {
+ * 			"READER_IDLE": 0,
+ * 			"WRITER_IDLE": 0,
+ * 			"ALL_IDLE": 1
+ * 		}
+ * 	},
+ * 	"admissionRejections": {
+ * 		"queueFull": 3,
+ * 		"queueTimeout": 0
+ * 	},
+ * 	"mirror": {
+ * 		"connections": 10,
+ * 		"bytes": 40960,
+ * 		"droppedBytes": 0
+ * 	},
+ * 	"shapingDelays": 42,
+ * 	"tls": {
+ * 		"handshakes": 100,
+ * 		"resumedHandshakes": 80,
+ * 		"resumptionRatio": 0.8,
+ * 		"failedHandshakes": 1,
+ * 		"handshakeCpuNanos": 150000000
+ * 	},
+ * 	"listeners": {
+ * 		"localhost:7002": {
+ * 			"idleClosures": {...},
+ * 			"admissionRejections": {...},
+ * 			"mirror": {...},
+ * 			"shapingDelays": 0,
+ * 			"tls": {...}
+ * 		}
+ * 	},
+ * 	"udp": {
+ * 		"sessions": 2,
+ * 		"createdSessions": 5,
+ * 		"expiredSessions": 3,
+ * 		"frontEndToBackEndDatagrams": 1024,
+ * 		"backEndToFrontEndDatagrams": 1020,
+ * 		"droppedDatagrams": 0
+ * 	}
+ * }
+ * </code></pre>
+ * Value for name {@code resumptionRatio} is the ratio of resumed handshakes to all successful handshakes,
+ * i.e. the hit ratio of the TLS session cache, it's {@code 0} if there were no handshakes.
+ * Value for name {@code connections} covers connections accepted at all addresses including additional listeners.
+ * Value for name {@code listeners} is absent if there are no additional listeners,
+ * value for name {@code udp} is absent if UDP Proxy Server isn't started.
+ * This {@link RestRequestHandler} is bound to {@code "GET /stats/"}.
+ */
+final class ProxyStatsRestRequestHandler extends RestRequestHandler<JsonRestRequestHandlerResult> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStatsRestRequestHandler.class);
+	private static final String JSON_RESPONSE_CONNECTIONS_NVNAME = "connections";
+	private static final String JSON_RESPONSE_IDLE_CLOSURES_NVNAME = "idleClosures";
+	private static final String JSON_RESPONSE_ADMISSION_REJECTIONS_NVNAME = "admissionRejections";
+	private static final String JSON_RESPONSE_MIRROR_NVNAME = "mirror";
+	private static final String JSON_RESPONSE_SHAPING_DELAYS_NVNAME = "shapingDelays";
+	private static final String JSON_RESPONSE_TLS_NVNAME = "tls";
+	private static final String JSON_RESPONSE_LISTENERS_NVNAME = "listeners";
+	private static final String JSON_RESPONSE_UDP_NVNAME = "udp";
+	private final TcpReverseProxyServer proxyServer;
+	private final Optional<UdpReverseProxyServer> optUdpProxyServer;
+	private final JsonBuilderFactory jsonBuilderFactory;
+
+	/**
+	 * Constructs a new instance of {@link ProxyStatsRestRequestHandler}.
+	 *
+	 * @param proxyServer
+	 * A {@link TcpReverseProxyServer} {@link TcpReverseProxyStats} of which this {@link RestRequestHandler} will report.
+	 * @param optUdpProxyServer
+	 * A {@link UdpReverseProxyServer} {@link UdpReverseProxyStats} of which this {@link RestRequestHandler} will report,
+	 * if present.
+	 * @param jsonBuilderFactory
+	 * An implementation of {@link JsonBuilderFactory}.
+	 */
+	ProxyStatsRestRequestHandler(
+			final TcpReverseProxyServer proxyServer,
+			final Optional<UdpReverseProxyServer> optUdpProxyServer,
+			final JsonBuilderFactory jsonBuilderFactory) {
+		super(RestRequest.valueOf("GET /stats/"));
+		checkNotNull(proxyServer, Message.ARGUMENT_NULL, "first", "proxyServer");
+		checkNotNull(optUdpProxyServer, Message.ARGUMENT_NULL, "second", "optUdpProxyServer");
+		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "third", "jsonBuilderFactory");
+		this.proxyServer = proxyServer;
+		this.optUdpProxyServer = optUdpProxyServer;
+		this.jsonBuilderFactory = jsonBuilderFactory;
+	}
+
+	@Override
+	public final CompletionStage<JsonRestRequestHandlerResult> handleRequest(
+			final RestRequest request, final ExecutorService executorService) {
+		return CompletableFuture.supplyAsync(() -> {
+			final JsonRestRequestHandlerResult result;
+			try {
+				LOGGER.debug("Handling request {}", request);
+				if (!getArguments(request).isEmpty()) {
+					throw new BadRestRequestException(
+							Message.format("Request %s... must not specify any arguments", getBinding()));
+				}
+				final JsonObjectBuilder jsonBuilder = jsonBuilderFactory.createObjectBuilder();
+				jsonBuilder.add(JsonRestServer.JSON_RESPONSE_REASON_PHRASE_NVNAME, HttpResponseStatus.OK.reasonPhrase());
+				final TcpServerConnectionStats connectionStats = proxyServer.getConnectionStats();
+				jsonBuilder.add(JSON_RESPONSE_CONNECTIONS_NVNAME, jsonBuilderFactory.createObjectBuilder()
+						.add("open", connectionStats.getOpenConnections())
+						.add("globalLimitRejections", connectionStats.getGlobalLimitRejections())
+						.add("addressLimitRejections", connectionStats.getAddressLimitRejections())
+						.add("fileDescriptorRejections", connectionStats.getFileDescriptorRejections())
+						.add("acceptBackOffs", connectionStats.getAcceptBackOffs()));
+				addStats(jsonBuilder, proxyServer.getStats());
+				final Map<String, TcpReverseProxyStats> listenerStats = proxyServer.getListenerStats();
+				if (!listenerStats.isEmpty()) {
+					final JsonObjectBuilder listenersJsonBuilder = jsonBuilderFactory.createObjectBuilder();
+					for (final Map.Entry<String, TcpReverseProxyStats> entry : listenerStats.entrySet()) {
+						final JsonObjectBuilder listenerJsonBuilder = jsonBuilderFactory.createObjectBuilder();
+						addStats(listenerJsonBuilder, entry.getValue());
+						listenersJsonBuilder.add(entry.getKey(), listenerJsonBuilder);
+					}
+					jsonBuilder.add(JSON_RESPONSE_LISTENERS_NVNAME, listenersJsonBuilder);
+				}
+				if (optUdpProxyServer.isPresent()) {
+					final UdpReverseProxyServer udpProxyServer = optUdpProxyServer.get();
+					final UdpReverseProxyStats udpStats = udpProxyServer.getStats();
+					jsonBuilder.add(JSON_RESPONSE_UDP_NVNAME, jsonBuilderFactory.createObjectBuilder()
+							.add("sessions", udpProxyServer.getSessionCount())
+							.add("createdSessions", udpStats.getCreatedSessions())
+							.add("expiredSessions", udpStats.getExpiredSessions())
+							.add("frontEndToBackEndDatagrams", udpStats.getFrontEndToBackEndDatagrams())
+							.add("backEndToFrontEndDatagrams", udpStats.getBackEndToFrontEndDatagrams())
+							.add("droppedDatagrams", udpStats.getDroppedDatagrams()));
+				}
+				final JsonObject httpResponseContent = jsonBuilder.build();
+				result = new JsonRestRequestHandlerResult(HttpResponseStatus.OK, httpResponseContent, "en", null);
+			} catch (final RestRequestHandlingException | BadRestRequestException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new RestRequestHandlingException(e);
+			}
+			return result;
+		}, executorService);
+	}
+
+	private final void addStats(final JsonObjectBuilder jsonBuilder, final TcpReverseProxyStats stats) {
+		final JsonObjectBuilder feIdleClosuresJsonBuilder = jsonBuilderFactory.createObjectBuilder();
+		final JsonObjectBuilder beIdleClosuresJsonBuilder = jsonBuilderFactory.createObjectBuilder();
+		for (final IdleState state : IdleState.values()) {
+			feIdleClosuresJsonBuilder.add(state.name(), stats.getFrontEndIdleClosures(state));
+			beIdleClosuresJsonBuilder.add(state.name(), stats.getBackEndIdleClosures(state));
+		}
+		jsonBuilder.add(JSON_RESPONSE_IDLE_CLOSURES_NVNAME, jsonBuilderFactory.createObjectBuilder()
+				.add("frontEnd", feIdleClosuresJsonBuilder)
+				.add("backEnd", beIdleClosuresJsonBuilder));
+		jsonBuilder.add(JSON_RESPONSE_ADMISSION_REJECTIONS_NVNAME, jsonBuilderFactory.createObjectBuilder()
+				.add("queueFull", stats.getQueueFullRejections())
+				.add("queueTimeout", stats.getQueueTimeoutRejections()));
+		jsonBuilder.add(JSON_RESPONSE_MIRROR_NVNAME, jsonBuilderFactory.createObjectBuilder()
+				.add("connections", stats.getMirroredConnections())
+				.add("bytes", stats.getMirroredBytes())
+				.add("droppedBytes", stats.getMirrorDroppedBytes()));
+		jsonBuilder.add(JSON_RESPONSE_SHAPING_DELAYS_NVNAME, stats.getShapingDelays());
+		final long tlsHandshakes = stats.getTlsHandshakes();
+		final long tlsResumedHandshakes = stats.getTlsResumedHandshakes();
+		jsonBuilder.add(JSON_RESPONSE_TLS_NVNAME, jsonBuilderFactory.createObjectBuilder()
+				.add("handshakes", tlsHandshakes)
+				.add("resumedHandshakes", tlsResumedHandshakes)
+				.add("resumptionRatio", tlsHandshakes == 0 ? 0 : (double)tlsResumedHandshakes / tlsHandshakes)
+				.add("failedHandshakes", stats.getTlsFailedHandshakes())
+				.add("handshakeCpuNanos", stats.getTlsHandshakeCpuNanos()));
+	}
+}
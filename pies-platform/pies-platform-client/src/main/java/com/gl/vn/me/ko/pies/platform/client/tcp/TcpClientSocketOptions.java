@@ -0,0 +1,136 @@
+package com.gl.vn.me.ko.pies.platform.client.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.SocketChannel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies socket options of {@link SocketChannel}s a {@link TcpSequentialClient} connects.
+ * Buffer sizes equal to {@code 0} mean that OS defaults (and OS auto-tuning) are used.
+ */
+@Immutable
+public final class TcpClientSocketOptions {
+	private static final TcpClientSocketOptions DEFAULT = new TcpClientSocketOptions(true, true, 0, 0);
+
+	/**
+	 * Returns {@link TcpClientSocketOptions} with {@code TCP_NODELAY} and {@code SO_KEEPALIVE} enabled
+	 * and OS default buffer sizes.
+	 *
+	 * @return
+	 * Default {@link TcpClientSocketOptions}.
+	 */
+	public static final TcpClientSocketOptions defaults() {
+		return DEFAULT;
+	}
+
+	private final boolean tcpNoDelay;
+	private final boolean keepAlive;
+	private final int receiveBufferSize;
+	private final int sendBufferSize;
+
+	/**
+	 * Constructs a new instance of {@link TcpClientSocketOptions}.
+	 *
+	 * @param tcpNoDelay
+	 * {@code TCP_NODELAY}, i.e. specifies if Nagle's algorithm is disabled.
+	 * @param keepAlive
+	 * {@code SO_KEEPALIVE}.
+	 * @param receiveBufferSize
+	 * {@code SO_RCVBUF} in bytes, {@code 0} means the OS default. The value is set before connecting,
+	 * so that it's taken into account when the TCP window is negotiated. This argument MUST NOT be negative.
+	 * @param sendBufferSize
+	 * {@code SO_SNDBUF} in bytes, {@code 0} means the OS default. This argument MUST NOT be negative.
+	 */
+	public TcpClientSocketOptions(
+			final boolean tcpNoDelay,
+			final boolean keepAlive,
+			final int receiveBufferSize,
+			final int sendBufferSize) {
+		checkArgument(receiveBufferSize >= 0, ARGUMENT_ILLEGAL, receiveBufferSize, "third", "receiveBufferSize",
+				"Expected value must not be negative");
+		checkArgument(sendBufferSize >= 0, ARGUMENT_ILLEGAL, sendBufferSize, "fourth", "sendBufferSize",
+				"Expected value must not be negative");
+		this.tcpNoDelay = tcpNoDelay;
+		this.keepAlive = keepAlive;
+		this.receiveBufferSize = receiveBufferSize;
+		this.sendBufferSize = sendBufferSize;
+	}
+
+	/**
+	 * See {@link #TcpClientSocketOptions(boolean, boolean, int, int)}.
+	 *
+	 * @return
+	 * {@code true} if {@code TCP_NODELAY} is enabled, {@code false} otherwise.
+	 */
+	public final boolean isTcpNoDelay() {
+		return tcpNoDelay;
+	}
+
+	/**
+	 * See {@link #TcpClientSocketOptions(boolean, boolean, int, int)}.
+	 *
+	 * @return
+	 * {@code true} if {@code SO_KEEPALIVE} is enabled, {@code false} otherwise.
+	 */
+	public final boolean isKeepAlive() {
+		return keepAlive;
+	}
+
+	/**
+	 * See {@link #TcpClientSocketOptions(boolean, boolean, int, int)}.
+	 *
+	 * @return
+	 * {@code SO_RCVBUF} in bytes, or {@code 0}.
+	 */
+	public final int getReceiveBufferSize() {
+		return receiveBufferSize;
+	}
+
+	/**
+	 * See {@link #TcpClientSocketOptions(boolean, boolean, int, int)}.
+	 *
+	 * @return
+	 * {@code SO_SNDBUF} in bytes, or {@code 0}.
+	 */
+	public final int getSendBufferSize() {
+		return sendBufferSize;
+	}
+
+	/**
+	 * Applies the {@link TcpClientSocketOptions} to the {@code bootstrap}.
+	 *
+	 * @param bootstrap
+	 * {@link Bootstrap} to modify.
+	 */
+	final void apply(final Bootstrap bootstrap) {
+		bootstrap
+				.option(ChannelOption.TCP_NODELAY, Boolean.valueOf(tcpNoDelay))
+				.option(ChannelOption.SO_KEEPALIVE, Boolean.valueOf(keepAlive));
+		if (receiveBufferSize > 0) {
+			bootstrap.option(ChannelOption.SO_RCVBUF, Integer.valueOf(receiveBufferSize));
+		}
+		if (sendBufferSize > 0) {
+			bootstrap.option(ChannelOption.SO_SNDBUF, Integer.valueOf(sendBufferSize));
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpClientSocketOptions}.
+	 *
+	 * @return
+	 * A description of the {@link TcpClientSocketOptions}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(tcpNoDelay=").append(tcpNoDelay)
+				.append(", keepAlive=").append(keepAlive)
+				.append(", receiveBufferSize=").append(receiveBufferSize)
+				.append(", sendBufferSize=").append(sendBufferSize).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -99,6 +99,8 @@ public final class TcpSequentialClient<Message, Response>
 	 * @param connectTimeoutMillis
 	 * Amount of time in milliseconds to wait for connecting to the {@code address}.
 	 * This argument MUST be positive.
+	 * @param socketOptions
+	 * {@link TcpClientSocketOptions} of the {@link SocketChannel}s.
 	 */
 	@Inject
 	public TcpSequentialClient(
@@ -107,7 +109,8 @@ public final class TcpSequentialClient<Message, Response>
 			@TcpSequentialClientWorker final Integer maxWorkerThreads,
 			@TcpSequentialClientThreadFactory final ThreadFactory threadFactory,
 			@TcpSequentialClientWorker final TcpChannelInitializer workerSocketChannelInitializer,
-			@TcpSequentialClientConnectTimeout final Integer connectTimeoutMillis) {
+			@TcpSequentialClientConnectTimeout final Integer connectTimeoutMillis,
+			@TcpSequentialClientSocket final TcpClientSocketOptions socketOptions) {
 		checkNotNull(address, ARGUMENT_NULL, "first", "address");
 		checkNotNull(name, ARGUMENT_NULL, "second", "name");
 		checkNotNull(maxWorkerThreads, ARGUMENT_NULL, "third", "maxWorkerThreads");
@@ -116,6 +119,7 @@ public final class TcpSequentialClient<Message, Response>
 		checkNotNull(connectTimeoutMillis, ARGUMENT_NULL, "sixth", "connectTimeoutMillis");
 		checkArgument(connectTimeoutMillis.longValue() > 0,
 				ARGUMENT_ILLEGAL, connectTimeoutMillis, "sixth", "connectTimeoutMillis", "Expected value must be positive");
+		checkNotNull(socketOptions, ARGUMENT_NULL, "seventh", "socketOptions");
 		this.name = name;
 		this.address = address;
 		workerEventLoopGroup = createWorkerEventLoop(maxWorkerThreads.intValue(), threadFactory);
@@ -123,7 +127,8 @@ public final class TcpSequentialClient<Message, Response>
 				maxWorkerThreads.intValue(),
 				workerEventLoopGroup,
 				workerSocketChannelInitializer,
-				connectTimeoutMillis);
+				connectTimeoutMillis,
+				socketOptions);
 		scheduledExecutorService = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder()
 				.setThreadFactory(threadFactory)
 				.setNameFormat(name + "-responseTimeoutCancellator-%d")
@@ -170,11 +175,11 @@ public final class TcpSequentialClient<Message, Response>
 			final int maxWorkerThreads,
 			final NioEventLoopGroup workerEventLoopGroup,
 			final TcpChannelInitializer workerSocketChannelInitializer,
-			Integer connectTimeoutMillis) {
+			Integer connectTimeoutMillis,
+			final TcpClientSocketOptions socketOptions) {
 		final Bootstrap bootstrap = new Bootstrap()
 				.group(workerEventLoopGroup)
 				.channel(NioSocketChannel.class)
-				.option(ChannelOption.SO_KEEPALIVE, true)
 				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
 				.handler(new ChannelInitializer<SocketChannel>() {
 					@Override
@@ -183,6 +188,7 @@ public final class TcpSequentialClient<Message, Response>
 						channel.pipeline().addLast(new TcpSequentialHandler<Message, Response>(scheduledExecutorService));
 					}
 				});
+		socketOptions.apply(bootstrap);
 		final GenericObjectPoolConfig poolConfig = new GenericObjectPoolConfig();
 		{//initialize poolConfig
 			final int maxPooledConnections = maxWorkerThreads;
@@ -3,6 +3,7 @@ package com.gl.vn.me.ko.pies.platform.server.rest;
 import static com.google.common.base.Preconditions.checkNotNull;
 import com.gl.vn.me.ko.pies.base.constant.Constant;
 import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocketOptions;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -49,33 +50,46 @@ public final class JsonRestServer extends RestServer<JsonRestRequestHandlerResul
 	/**
 	 * Constructs a new instance of {@link JsonRestServer}.
 	 * See {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}
 	 * for details.
 	 *
 	 * @param address
 	 * See {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param name
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param maxBossThreads
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param maxWorkerThreads
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param maxPostResponseWorkerThreads
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param threadFactory
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param serverSocketChannelInitializer
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param restHandlers
 	 * {@link RestServer#RestServer(
-	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection)}.
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
+	 * @param socketOptions
+	 * {@link RestServer#RestServer(
+	 * InetSocketAddress, String, Integer, Integer, Integer, ThreadFactory, ChannelInitializer, Collection,
+	 * TcpServerSocketOptions)}.
 	 * @param jsonBuilderFactory
 	 * An implementation of {@link JsonBuilderFactory}.
 	 */
@@ -90,6 +104,7 @@ public final class JsonRestServer extends RestServer<JsonRestRequestHandlerResul
 			@RestServerBoss @Nullable final ChannelInitializer<ServerSocketChannel> serverSocketChannelInitializer,
 			@RestServerRequestHandling @Nullable
 			final Collection<? extends RestRequestHandler<? extends JsonRestRequestHandlerResult>> restHandlers,
+			@RestServerSocket final TcpServerSocketOptions socketOptions,
 			final JsonBuilderFactory jsonBuilderFactory) {
 		super(
 				address,
@@ -99,7 +114,8 @@ public final class JsonRestServer extends RestServer<JsonRestRequestHandlerResul
 				maxPostResponseWorkerThreads,
 				threadFactory,
 				serverSocketChannelInitializer,
-				restHandlers
+				restHandlers,
+				socketOptions
 		);
 		checkNotNull(jsonBuilderFactory, Message.ARGUMENT_NULL, "tenth", "jsonBuilderFactory");
 		this.jsonBuilderFactory = jsonBuilderFactory;
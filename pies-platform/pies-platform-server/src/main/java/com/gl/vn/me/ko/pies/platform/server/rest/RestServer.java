@@ -10,6 +10,8 @@ import com.gl.vn.me.ko.pies.base.throwable.ExternallyVisibleException;
 import com.gl.vn.me.ko.pies.base.throwable.TimeoutException;
 import com.gl.vn.me.ko.pies.platform.server.Server;
 import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServer;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerConnectionLimits;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpServerSocketOptions;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
@@ -161,6 +163,8 @@ public class RestServer<T extends RestRequestHandlerResult> extends TcpServer {
 	 * @param restHandlers
 	 * {@link RestRequestHandler}s that will be used to handle REST requests.
 	 * Each {@link RestRequestHandler} can only be associated with a single instance of {@link RestServer}.
+	 * @param socketOptions
+	 * {@link TcpServerSocketOptions} of the {@link ServerSocketChannel} and of the accepted {@link SocketChannel}s.
 	 */
 	@Inject
 	public RestServer(
@@ -172,7 +176,8 @@ public class RestServer<T extends RestRequestHandlerResult> extends TcpServer {
 			@RestServerThreadFactory final ThreadFactory threadFactory,
 			@RestServerBoss @Nullable final ChannelInitializer<ServerSocketChannel> serverSocketChannelInitializer,
 			@RestServerRequestHandling @Nullable
-			final Collection<? extends RestRequestHandler<? extends T>> restHandlers) {
+			final Collection<? extends RestRequestHandler<? extends T>> restHandlers,
+			@RestServerSocket final TcpServerSocketOptions socketOptions) {
 		super(
 				address,
 				name,
@@ -180,7 +185,9 @@ public class RestServer<T extends RestRequestHandlerResult> extends TcpServer {
 				maxWorkerThreads,
 				threadFactory,
 				serverSocketChannelInitializer,
-				null);
+				null,
+				socketOptions,
+				TcpServerConnectionLimits.unlimited());
 		final ExecutorService executorService
 				= Executors.newFixedThreadPool(
 						maxPostResponseWorkerThreads.intValue(),
@@ -0,0 +1,116 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} limits the number of concurrent connections to each {@link TcpReverseProxyBackEnd}.
+ * <p>
+ * If the {@linkplain #getMaxConnectionsPerBackEnd() limit} is set, a new front-end connection is paired with
+ * a back-end connection only if there is a {@link TcpReverseProxyBackEnd} that has less
+ * {@linkplain TcpReverseProxyBackEnd#getActiveConnections() active connections} than the limit.
+ * Otherwise the front-end connection waits in a first-in-first-out queue until a slot becomes free,
+ * nothing is read from it meanwhile. A front-end connection is closed if the queue is full, or if it has been waiting
+ * for longer than {@linkplain #getQueueTimeoutMillis() queue timeout}. Such closures are counted by {@link TcpReverseProxyStats}.
+ * Thus bursts of front-end connections are smoothed instead of being turned into equal bursts of back-end connections.
+ */
+@Immutable
+public final class TcpReverseProxyAdmissionSettings {
+	private static final TcpReverseProxyAdmissionSettings UNLIMITED = new TcpReverseProxyAdmissionSettings(0, 0, 1000);
+
+	/**
+	 * Returns {@link TcpReverseProxyAdmissionSettings} that don't limit the number of connections to back-ends.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyAdmissionSettings} that disable admission control.
+	 */
+	public static final TcpReverseProxyAdmissionSettings unlimited() {
+		return UNLIMITED;
+	}
+
+	private final int maxConnectionsPerBackEnd;
+	private final int maxQueuedConnections;
+	private final long queueTimeoutMillis;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyAdmissionSettings}.
+	 *
+	 * @param maxConnectionsPerBackEnd
+	 * Maximum number of concurrent connections to a single {@link TcpReverseProxyBackEnd}.
+	 * This argument MUST NOT be negative. If this argument is {@code 0} then the number of connections isn't limited.
+	 * @param maxQueuedConnections
+	 * Maximum number of front-end connections that MAY wait for a free slot. This argument MUST NOT be negative.
+	 * @param queueTimeoutMillis
+	 * Maximum amount of time in milliseconds a front-end connection MAY wait for a free slot.
+	 * This argument MUST be positive.
+	 */
+	public TcpReverseProxyAdmissionSettings(
+			final int maxConnectionsPerBackEnd, final int maxQueuedConnections, final long queueTimeoutMillis) {
+		checkArgument(maxConnectionsPerBackEnd >= 0, ARGUMENT_ILLEGAL, maxConnectionsPerBackEnd, "first",
+				"maxConnectionsPerBackEnd", "Expected value must not be negative");
+		checkArgument(maxQueuedConnections >= 0, ARGUMENT_ILLEGAL, maxQueuedConnections, "second",
+				"maxQueuedConnections", "Expected value must not be negative");
+		checkArgument(queueTimeoutMillis > 0, ARGUMENT_ILLEGAL, queueTimeoutMillis, "third",
+				"queueTimeoutMillis", "Expected value must be positive");
+		this.maxConnectionsPerBackEnd = maxConnectionsPerBackEnd;
+		this.maxQueuedConnections = maxQueuedConnections;
+		this.queueTimeoutMillis = queueTimeoutMillis;
+	}
+
+	/**
+	 * Specifies if the number of connections to back-ends is limited.
+	 *
+	 * @return
+	 * {@code true} if {@link #getMaxConnectionsPerBackEnd()} is positive, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return maxConnectionsPerBackEnd > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyAdmissionSettings(int, int, long)}.
+	 *
+	 * @return
+	 * Maximum number of concurrent connections to a single {@link TcpReverseProxyBackEnd}.
+	 */
+	public final int getMaxConnectionsPerBackEnd() {
+		return maxConnectionsPerBackEnd;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyAdmissionSettings(int, int, long)}.
+	 *
+	 * @return
+	 * Maximum number of waiting front-end connections.
+	 */
+	public final int getMaxQueuedConnections() {
+		return maxQueuedConnections;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyAdmissionSettings(int, int, long)}.
+	 *
+	 * @return
+	 * Queue timeout in milliseconds.
+	 */
+	public final long getQueueTimeoutMillis() {
+		return queueTimeoutMillis;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyAdmissionSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyAdmissionSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(maxConnectionsPerBackEnd=").append(maxConnectionsPerBackEnd)
+				.append(", maxQueuedConnections=").append(maxQueuedConnections)
+				.append(", queueTimeoutMillis=").append(queueTimeoutMillis).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
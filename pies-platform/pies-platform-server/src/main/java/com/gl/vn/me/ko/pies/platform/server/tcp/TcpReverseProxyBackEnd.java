@@ -0,0 +1,253 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Represents a server (back-end) {@link TcpReverseProxyServer} forwards requests to.
+ * <p>
+ * Two {@link TcpReverseProxyBackEnd}s are never equal unless they are the same object,
+ * hence there MAY be multiple {@link TcpReverseProxyBackEnd}s with the same {@linkplain #getAddress() address}.
+ * <p>
+ * {@link TcpReverseProxyBackEnd} tracks its own health as described in {@link TcpReverseProxyHealthCheckSettings}.
+ * <p>
+ * A {@linkplain #isDraining() draining} {@link TcpReverseProxyBackEnd} keeps its existing connections,
+ * but is never chosen for new front-end connections.
+ */
+@ThreadSafe
+public final class TcpReverseProxyBackEnd {
+	private final InetSocketAddress address;
+	private final int weight;
+	private final AtomicInteger activeConnections;
+	private final Object mutex;
+	private int consecutiveFailures;
+	private int consecutiveEjections;
+	private long ejections;
+	private long ejectedUntilNanos;
+	private volatile boolean ejected;
+	private volatile boolean draining;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyBackEnd}.
+	 *
+	 * @param address
+	 * {@link InetSocketAddress} of the back-end.
+	 * @param weight
+	 * Relative capacity of the back-end, which is taken into account by
+	 * {@linkplain TcpReverseProxyLoadBalancingStrategy load balancing strategies} that respect weights.
+	 * This argument MUST be positive.
+	 */
+	public TcpReverseProxyBackEnd(final InetSocketAddress address, final int weight) {
+		checkNotNull(address, ARGUMENT_NULL, "first", "address");
+		checkArgument(weight > 0, ARGUMENT_ILLEGAL, weight, "second", "weight", "Expected value must be positive");
+		this.address = address;
+		this.weight = weight;
+		activeConnections = new AtomicInteger(0);
+		mutex = new Object();
+		consecutiveFailures = 0;
+		consecutiveEjections = 0;
+		ejections = 0;
+		ejectedUntilNanos = 0;
+		ejected = false;
+		draining = false;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEnd(InetSocketAddress, int)}.
+	 *
+	 * @return
+	 * {@link InetSocketAddress} of the back-end.
+	 */
+	public final InetSocketAddress getAddress() {
+		return address;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEnd(InetSocketAddress, int)}.
+	 *
+	 * @return
+	 * Weight of the back-end.
+	 */
+	public final int getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Returns number of front-end connections that are currently associated with the back-end,
+	 * including those for which connection to the back-end is still being established.
+	 *
+	 * @return
+	 * Number of active connections.
+	 */
+	public final int getActiveConnections() {
+		return activeConnections.get();
+	}
+
+	final void incrementActiveConnections() {
+		activeConnections.incrementAndGet();
+	}
+
+	/**
+	 * Increments number of active connections unless it has already reached {@code max}.
+	 *
+	 * @param max
+	 * Maximum number of active connections. {@code 0} means that the number isn't limited.
+	 * @return
+	 * {@code true} if the number of active connections was incremented, {@code false} otherwise.
+	 */
+	final boolean tryIncrementActiveConnections(final int max) {
+		boolean result = false;
+		if (max <= 0) {
+			activeConnections.incrementAndGet();
+			result = true;
+		} else {
+			for (int current = activeConnections.get(); current < max; current = activeConnections.get()) {
+				if (activeConnections.compareAndSet(current, current + 1)) {
+					result = true;
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	final void decrementActiveConnections() {
+		activeConnections.decrementAndGet();
+	}
+
+	/**
+	 * Specifies if the back-end is currently ejected, i.e. isn't chosen for new front-end connections
+	 * while there are other back-ends that aren't ejected.
+	 *
+	 * @return
+	 * {@code true} if the back-end is ejected, {@code false} otherwise.
+	 */
+	public final boolean isEjected() {
+		return !isAvailable(System.nanoTime());
+	}
+
+	/**
+	 * Specifies if the back-end is draining, i.e. isn't chosen for new front-end connections (see
+	 * {@link TcpReverseProxyServer#drainBackEnd(TcpReverseProxyBackEnd)}).
+	 *
+	 * @return
+	 * {@code true} if the back-end is draining, {@code false} otherwise.
+	 */
+	public final boolean isDraining() {
+		return draining;
+	}
+
+	final void drain() {
+		draining = true;
+	}
+
+	/**
+	 * Returns number of failures that happened since the last success.
+	 *
+	 * @return
+	 * Number of consecutive failures.
+	 */
+	public final int getConsecutiveFailures() {
+		synchronized (mutex) {
+			return consecutiveFailures;
+		}
+	}
+
+	/**
+	 * Returns total number of times the back-end was ejected.
+	 *
+	 * @return
+	 * Number of ejections.
+	 */
+	public final long getEjections() {
+		synchronized (mutex) {
+			return ejections;
+		}
+	}
+
+	/**
+	 * Specifies if the back-end MAY be chosen for a new front-end connection.
+	 *
+	 * @param nowNanos
+	 * Current value of {@link System#nanoTime()}.
+	 * @return
+	 * {@code false} if the back-end is ejected and the ejection period hasn't expired yet, {@code true} otherwise.
+	 */
+	final boolean isAvailable(final long nowNanos) {
+		if (!ejected) {
+			return true;
+		}
+		synchronized (mutex) {
+			if (ejected && nowNanos - ejectedUntilNanos >= 0) {
+				ejected = false;
+			}
+			return !ejected;
+		}
+	}
+
+	/**
+	 * Records a successful interaction with the back-end.
+	 * A success that happens after the back-end was re-admitted resets the ejection period to the base one.
+	 */
+	final void reportSuccess() {
+		synchronized (mutex) {
+			consecutiveFailures = 0;
+			if (isAvailable(System.nanoTime())) {
+				consecutiveEjections = 0;
+			}
+		}
+	}
+
+	/**
+	 * Records a failed interaction with the back-end and ejects the back-end if
+	 * {@linkplain TcpReverseProxyHealthCheckSettings#getFailureThreshold() threshold} is reached.
+	 *
+	 * @param settings
+	 * {@link TcpReverseProxyHealthCheckSettings} that specify when and for how long the back-end is ejected.
+	 * @return
+	 * Duration in milliseconds of the ejection if the back-end has been ejected as a result of this failure,
+	 * {@code 0} otherwise.
+	 */
+	final long reportFailure(final TcpReverseProxyHealthCheckSettings settings) {
+		final long nowNanos = System.nanoTime();
+		synchronized (mutex) {
+			consecutiveFailures++;
+			final long result;
+			if (isAvailable(nowNanos) && consecutiveFailures >= settings.getFailureThreshold()) {
+				consecutiveFailures = 0;
+				consecutiveEjections++;
+				ejections++;
+				result = settings.ejectionMillis(consecutiveEjections);
+				ejectedUntilNanos = nowNanos + TimeUnit.MILLISECONDS.toNanos(result);
+				ejected = true;
+			} else {
+				result = 0;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyBackEnd}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyBackEnd}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(address=").append(address)
+				.append(", weight=").append(weight)
+				.append(", activeConnections=").append(activeConnections.get())
+				.append(", ejected=").append(isEjected())
+				.append(", draining=").append(draining).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
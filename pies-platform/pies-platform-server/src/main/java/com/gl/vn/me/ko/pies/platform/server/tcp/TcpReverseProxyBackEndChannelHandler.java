@@ -1,9 +1,11 @@
 package com.gl.vn.me.ko.pies.platform.server.tcp;
 
-import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
 import static com.google.common.base.Preconditions.checkNotNull;
 import com.gl.vn.me.ko.pies.base.constant.Message;
 import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -20,28 +22,112 @@ final class TcpReverseProxyBackEndChannelHandler extends ChannelHandlerAdapter {
 	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyBackEndChannelHandler.class);
 
 	private final Channel feChannel;
+	private final TcpReverseProxyForwardingSettings forwardingSettings;
+	private final TcpReverseProxyIdleSettings idleSettings;
+	private final TcpReverseProxyStats stats;
+	private final TcpReverseProxyCapture capture;
+	private final TcpReverseProxyConnection connection;
+	private final TcpReverseProxyTrafficShaper feShaper;
+	private final TcpReverseProxyTrafficShaper beShaper;
 
 	/**
 	 * Constructs a new instance of {@link TcpReverseProxyBackEndChannelHandler}.
 	 *
 	 * @param feChannel
 	 * Front-end {@link Channel} this back-end handler is associated with.
+	 * @param forwardingSettings
+	 * {@link TcpReverseProxyForwardingSettings} that are applied to the back-end {@link Channel}
+	 * once the {@link TcpReverseProxyBackEndChannelHandler} is added to its pipeline.
+	 * @param idleSettings
+	 * {@link TcpReverseProxyIdleSettings} that are applied to the back-end {@link Channel}
+	 * once the {@link TcpReverseProxyBackEndChannelHandler} is added to its pipeline.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} of the {@link TcpReverseProxyServer}.
+	 * @param capture
+	 * {@link TcpReverseProxyCapture} that records data read from the back-end {@link Channel}.
+	 * @param connection
+	 * {@link TcpReverseProxyConnection} of the front-end {@link Channel}.
+	 * Its {@linkplain TcpReverseProxyConnection#getId() id} is used as {@link TcpReverseProxyCaptureRecord#getConnectionId()}.
+	 * @param feShaper
+	 * {@link TcpReverseProxyTrafficShaper} of the front-end {@link Channel}.
+	 * @param beShaper
+	 * {@link TcpReverseProxyTrafficShaper} of the back-end {@link Channel}.
 	 */
-	TcpReverseProxyBackEndChannelHandler(final Channel feChannel) {
-		checkNotNull(feChannel, ARGUMENT_NULL_SINGLE, "feChannel");
+	TcpReverseProxyBackEndChannelHandler(
+			final Channel feChannel,
+			final TcpReverseProxyForwardingSettings forwardingSettings,
+			final TcpReverseProxyIdleSettings idleSettings,
+			final TcpReverseProxyStats stats,
+			final TcpReverseProxyCapture capture,
+			final TcpReverseProxyConnection connection,
+			final TcpReverseProxyTrafficShaper feShaper,
+			final TcpReverseProxyTrafficShaper beShaper) {
+		checkNotNull(feChannel, ARGUMENT_NULL, "first", "feChannel");
+		checkNotNull(forwardingSettings, ARGUMENT_NULL, "second", "forwardingSettings");
+		checkNotNull(idleSettings, ARGUMENT_NULL, "third", "idleSettings");
+		checkNotNull(stats, ARGUMENT_NULL, "fourth", "stats");
+		checkNotNull(capture, ARGUMENT_NULL, "fifth", "capture");
+		checkNotNull(connection, ARGUMENT_NULL, "sixth", "connection");
+		checkNotNull(feShaper, ARGUMENT_NULL, "seventh", "feShaper");
+		checkNotNull(beShaper, ARGUMENT_NULL, "eighth", "beShaper");
 		this.feChannel = feChannel;
+		this.forwardingSettings = forwardingSettings;
+		this.idleSettings = idleSettings;
+		this.stats = stats;
+		this.capture = capture;
+		this.connection = connection;
+		this.feShaper = feShaper;
+		this.beShaper = beShaper;
+	}
+
+	@Override
+	public final void handlerAdded(final ChannelHandlerContext ctx) {
+		forwardingSettings.apply(ctx.channel().config());
+		if (idleSettings.isEnabled()) {
+			ctx.pipeline().addBefore(ctx.name(), TcpReverseProxyIdleStateHandler.NAME,
+					new TcpReverseProxyIdleStateHandler(idleSettings, false, stats));
+		}
 	}
 
 	@Override
 	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
 		LOGGER.debug("Writing {} to front-end {}", msg, feChannel);
-		feChannel.writeAndFlush(msg).addListener((final ChannelFuture future) -> {
-			if (!future.isSuccess()) {
+		capture.record(connection.getId(), Direction.BACK_END_TO_FRONT_END, msg);
+		if (msg instanceof ByteBuf) {
+			connection.backEndToFrontEnd(((ByteBuf)msg).readableBytes());
+		}
+		final Channel beChannel = ctx.channel();
+		beShaper.onRead(beChannel, feChannel, msg);//must be done before writing to feChannel, which releases msg
+		final long readNanos = System.nanoTime();
+		feChannel.write(msg).addListener((final ChannelFuture future) -> {
+			if (future.isSuccess()) {
+				stats.getBackEndToFrontEndForwardingLatency().record(System.nanoTime() - readNanos);
+			} else {
 				feChannel.close();
 				throw new ApplicationException(
-						Message.format("Can't write and flush to front-end %s", feChannel), future.cause());
+						Message.format("Can't write to front-end %s", feChannel), future.cause());
 			}
 		});
+		if (!feChannel.isWritable()) {//stop reading until front-end drains its outbound buffer
+			beChannel.config().setAutoRead(false);
+			if (feChannel.isWritable()) {//front-end may have become writable concurrently
+				beShaper.resumeReading(beChannel);
+			}
+		}
+	}
+
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) {
+		feChannel.flush();
+		ctx.fireChannelReadComplete();
+	}
+
+	@Override
+	public final void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+		if (ctx.channel().isWritable()) {//resume reading from front-end
+			feShaper.resumeReading(feChannel);
+		}
+		ctx.fireChannelWritabilityChanged();
 	}
 
 	@Override
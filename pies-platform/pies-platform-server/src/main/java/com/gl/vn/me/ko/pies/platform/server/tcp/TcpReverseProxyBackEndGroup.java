@@ -0,0 +1,503 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL_SINGLE;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.netty.channel.EventLoopGroup;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link TcpReverseProxyBackEnd}s of a {@link TcpReverseProxyServer} together with the means to choose one of them
+ * and with {@linkplain TcpReverseProxyBackEndPool pools} of pre-connected channels to each of them.
+ * <p>
+ * Ejected {@link TcpReverseProxyBackEnd}s (see {@link TcpReverseProxyHealthCheckSettings}) aren't chosen
+ * unless all {@link TcpReverseProxyBackEnd}s are ejected, in which case ejection is ignored because refusing
+ * all front-end connections is never better than trying a back-end that is likely unhealthy.
+ * <p>
+ * If {@linkplain TcpReverseProxyAdmissionSettings admission control} is enabled, the group also maintains the queue of
+ * front-end connections that wait for a {@link TcpReverseProxyBackEnd} with a free slot.
+ * <p>
+ * {@link TcpReverseProxyBackEnd}s MAY be {@linkplain #add(TcpReverseProxyBackEnd) added},
+ * {@linkplain #drain(TcpReverseProxyBackEnd) drained} and {@linkplain #remove(TcpReverseProxyBackEnd) removed} at runtime.
+ * The set of {@link TcpReverseProxyBackEnd}s is copied on each modification, so choosing a {@link TcpReverseProxyBackEnd}
+ * doesn't need a lock. Draining and removed {@link TcpReverseProxyBackEnd}s are never chosen, and if there is no other
+ * {@link TcpReverseProxyBackEnd} then a front-end connection is handled as if all {@link TcpReverseProxyBackEnd}s were at capacity.
+ */
+@ThreadSafe
+final class TcpReverseProxyBackEndGroup {
+	private static final int MAX_ACQUIRE_ATTEMPTS = 3;
+	private static final ThreadLocal<List<TcpReverseProxyBackEnd>> CANDIDATES = ThreadLocal.withInitial(ArrayList::new);
+
+	private volatile ImmutableList<TcpReverseProxyBackEnd> backEnds;
+	private final TcpReverseProxyLoadBalancingStrategy loadBalancingStrategy;
+	private final TcpReverseProxyLoadBalancer loadBalancer;
+	private final int connectTimeoutMillis;
+	private final TcpReverseProxyBackEndPoolSettings poolSettings;
+	private final ConcurrentMap<TcpReverseProxyBackEnd, TcpReverseProxyBackEndPool> pools;
+	@Nullable
+	private EventLoopGroup workerEventLoopGroup;
+	private final TcpReverseProxyHealthChecker healthChecker;
+	private final TcpReverseProxyAdmissionSettings admissionSettings;
+	private final TcpReverseProxyMultiplexer multiplexer;
+	private final Object mutex;
+	private final ArrayDeque<Runnable> waiters;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyBackEndGroup}.
+	 *
+	 * @param backEnds
+	 * Initial {@link TcpReverseProxyBackEnd}s. This argument MUST NOT be empty.
+	 * @param loadBalancingStrategy
+	 * {@link TcpReverseProxyLoadBalancingStrategy} that is used to {@linkplain #select() choose} a {@link TcpReverseProxyBackEnd}.
+	 * @param connectTimeoutMillis
+	 * Amount of time in milliseconds to wait for connecting to a back-end.
+	 * This argument MUST be positive.
+	 * @param poolSettings
+	 * {@link TcpReverseProxyBackEndPoolSettings} that are applied to each of the {@code backEnds}.
+	 * @param healthCheckSettings
+	 * {@link TcpReverseProxyHealthCheckSettings} that are applied to each of the {@code backEnds}.
+	 * @param admissionSettings
+	 * {@link TcpReverseProxyAdmissionSettings} that are applied to each of the {@code backEnds}.
+	 * @param multiplexer
+	 * {@link TcpReverseProxyMultiplexer} that provides shared back-end channels to the {@link TcpReverseProxyBackEnd}s
+	 * of the group.
+	 */
+	TcpReverseProxyBackEndGroup(
+			final List<TcpReverseProxyBackEnd> backEnds,
+			final TcpReverseProxyLoadBalancingStrategy loadBalancingStrategy,
+			final int connectTimeoutMillis,
+			final TcpReverseProxyBackEndPoolSettings poolSettings,
+			final TcpReverseProxyHealthCheckSettings healthCheckSettings,
+			final TcpReverseProxyAdmissionSettings admissionSettings,
+			final TcpReverseProxyMultiplexer multiplexer) {
+		checkNotNull(backEnds, ARGUMENT_NULL, "first", "backEnds");
+		checkArgument(!backEnds.isEmpty(), ARGUMENT_ILLEGAL, backEnds, "first", "backEnds", "Expected value must not be empty");
+		checkNotNull(loadBalancingStrategy, ARGUMENT_NULL, "second", "loadBalancingStrategy");
+		checkNotNull(poolSettings, ARGUMENT_NULL, "fourth", "poolSettings");
+		checkNotNull(healthCheckSettings, ARGUMENT_NULL, "fifth", "healthCheckSettings");
+		checkNotNull(admissionSettings, ARGUMENT_NULL, "sixth", "admissionSettings");
+		checkNotNull(multiplexer, ARGUMENT_NULL, "seventh", "multiplexer");
+		this.backEnds = ImmutableList.copyOf(backEnds);
+		this.loadBalancingStrategy = loadBalancingStrategy;
+		loadBalancer = loadBalancingStrategy.newLoadBalancer();
+		this.connectTimeoutMillis = connectTimeoutMillis;
+		this.poolSettings = poolSettings;
+		pools = new ConcurrentHashMap<>();
+		for (final TcpReverseProxyBackEnd backEnd : this.backEnds) {
+			pools.put(backEnd, new TcpReverseProxyBackEndPool(backEnd.getAddress(), connectTimeoutMillis, poolSettings));
+		}
+		workerEventLoopGroup = null;
+		healthChecker = new TcpReverseProxyHealthChecker(() -> this.backEnds, healthCheckSettings);
+		this.admissionSettings = admissionSettings;
+		this.multiplexer = multiplexer;
+		mutex = new Object();
+		waiters = new ArrayDeque<>();
+	}
+
+	/**
+	 * Returns all {@link TcpReverseProxyBackEnd}s of the group including ejected and draining ones.
+	 *
+	 * @return
+	 * A snapshot of {@link TcpReverseProxyBackEnd}s of the group.
+	 */
+	final ImmutableList<TcpReverseProxyBackEnd> getBackEnds() {
+		return backEnds;
+	}
+
+	/**
+	 * Adds the {@code backEnd} to the group, so that it MAY be chosen for new front-end connections,
+	 * unless the group already has a {@link TcpReverseProxyBackEnd} with the same {@linkplain TcpReverseProxyBackEnd#getAddress()
+	 * address}. The check and the addition are atomic.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that isn't {@linkplain TcpReverseProxyBackEnd#isDraining() draining}.
+	 * @return
+	 * {@code true} if the {@code backEnd} was added, {@code false} if the group has a {@link TcpReverseProxyBackEnd}
+	 * with the same address.
+	 */
+	final boolean add(final TcpReverseProxyBackEnd backEnd) {
+		checkNotNull(backEnd, ARGUMENT_NULL_SINGLE, "backEnd");
+		checkArgument(!backEnd.isDraining(), ARGUMENT_ILLEGAL_SINGLE, backEnd, "backEnd", "Expected value must not be draining");
+		final TcpReverseProxyBackEndPool pool = new TcpReverseProxyBackEndPool(backEnd.getAddress(), connectTimeoutMillis, poolSettings);
+		synchronized (mutex) {
+			for (final TcpReverseProxyBackEnd existing : backEnds) {
+				if (existing.getAddress().equals(backEnd.getAddress())) {
+					return false;
+				}
+			}
+			pools.put(backEnd, pool);
+			backEnds = ImmutableList.<TcpReverseProxyBackEnd>builder().addAll(backEnds).add(backEnd).build();
+			if (workerEventLoopGroup != null) {
+				pool.warmUp(workerEventLoopGroup);
+			}
+		}
+		if (admissionSettings.isEnabled() && hasCapacity()) {//front-end connections may wait for the new back-end
+			wakeUpNext();
+		}
+		return true;
+	}
+
+	/**
+	 * Stops choosing the {@code backEnd} for new front-end connections, existing connections aren't affected.
+	 * Draining can't be undone.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belongs to the group, {@code false} otherwise.
+	 */
+	final boolean drain(final TcpReverseProxyBackEnd backEnd) {
+		checkNotNull(backEnd, ARGUMENT_NULL_SINGLE, "backEnd");
+		@Nullable
+		final TcpReverseProxyBackEndPool pool;
+		synchronized (mutex) {
+			if (!backEnds.contains(backEnd)) {
+				return false;
+			}
+			backEnd.drain();
+			pool = pools.get(backEnd);
+		}
+		pool.close();
+		return true;
+	}
+
+	/**
+	 * {@linkplain #drain(TcpReverseProxyBackEnd) Drains} the {@code backEnd} and removes it from the group,
+	 * existing connections aren't affected except for shared back-end channels, which are closed once they are idle
+	 * (see {@link TcpReverseProxyMultiplexer#remove(TcpReverseProxyBackEnd)}).
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belonged to the group, {@code false} otherwise.
+	 */
+	final boolean remove(final TcpReverseProxyBackEnd backEnd) {
+		checkNotNull(backEnd, ARGUMENT_NULL_SINGLE, "backEnd");
+		@Nullable
+		final TcpReverseProxyBackEndPool pool;
+		synchronized (mutex) {
+			if (!backEnds.contains(backEnd)) {
+				return false;
+			}
+			backEnd.drain();
+			final List<TcpReverseProxyBackEnd> newBackEnds = new ArrayList<>(backEnds);
+			newBackEnds.remove(backEnd);
+			backEnds = ImmutableList.copyOf(newBackEnds);
+			pool = pools.remove(backEnd);
+		}
+		pool.close();
+		multiplexer.remove(backEnd);
+		return true;
+	}
+
+	/**
+	 * Chooses a {@link TcpReverseProxyBackEnd} for a new front-end connection.
+	 *
+	 * @return
+	 * One of the {@link TcpReverseProxyBackEnd}s of the group, or {@code null} if all of them are draining.
+	 */
+	@Nullable
+	final TcpReverseProxyBackEnd select() {
+		return select(ImmutableSet.of());
+	}
+
+	/**
+	 * Chooses a {@link TcpReverseProxyBackEnd} for a front-end connection for which connecting to the {@code excluded}
+	 * {@link TcpReverseProxyBackEnd}s has already failed.
+	 * {@link TcpReverseProxyBackEnd}s that are neither ejected nor excluded are preferred,
+	 * then those that aren't ejected, and if all are ejected then any {@link TcpReverseProxyBackEnd} is chosen.
+	 * Draining {@link TcpReverseProxyBackEnd}s are never chosen.
+	 *
+	 * @param excluded
+	 * {@link TcpReverseProxyBackEnd}s that SHOULD NOT be chosen.
+	 * @return
+	 * One of the {@link TcpReverseProxyBackEnd}s of the group, or {@code null} if all of them are draining.
+	 */
+	@Nullable
+	final TcpReverseProxyBackEnd select(final Set<TcpReverseProxyBackEnd> excluded) {
+		final long nowNanos = System.nanoTime();
+		final ImmutableList<TcpReverseProxyBackEnd> backEnds = this.backEnds;
+		List<TcpReverseProxyBackEnd> candidates = backEnds;
+		for (int i = 0; i < backEnds.size(); i++) {
+			final TcpReverseProxyBackEnd backEnd = backEnds.get(i);
+			if (!backEnd.isAvailable(nowNanos) || backEnd.isDraining() || excluded.contains(backEnd)) {
+				candidates = candidates(backEnds, nowNanos, excluded, 0);
+				break;
+			}
+		}
+		return candidates.isEmpty() ? null : loadBalancer.select(candidates);
+	}
+
+	/**
+	 * Does the same as {@link #select(Set)}, but also takes into account
+	 * {@linkplain TcpReverseProxyAdmissionSettings#getMaxConnectionsPerBackEnd() capacity} of {@link TcpReverseProxyBackEnd}s
+	 * and increments the number of {@linkplain TcpReverseProxyBackEnd#getActiveConnections() active connections}
+	 * of the chosen one. The acquired slot MUST be {@linkplain #release(TcpReverseProxyBackEnd) released}.
+	 *
+	 * @param excluded
+	 * {@link TcpReverseProxyBackEnd}s that SHOULD NOT be chosen.
+	 * @return
+	 * One of the {@link TcpReverseProxyBackEnd}s of the group, or {@code null} if all of them are at capacity or draining.
+	 */
+	@Nullable
+	final TcpReverseProxyBackEnd tryAcquire(final Set<TcpReverseProxyBackEnd> excluded) {
+		@Nullable
+		TcpReverseProxyBackEnd result = null;
+		if (admissionSettings.isEnabled()) {
+			final int max = admissionSettings.getMaxConnectionsPerBackEnd();
+			for (int attempt = 0; result == null && attempt < MAX_ACQUIRE_ATTEMPTS; attempt++) {
+				final List<TcpReverseProxyBackEnd> candidates = candidates(backEnds, System.nanoTime(), excluded, max);
+				if (candidates.isEmpty()) {
+					break;
+				}
+				final TcpReverseProxyBackEnd candidate = loadBalancer.select(candidates);
+				if (candidate.tryIncrementActiveConnections(max)) {
+					result = candidate;
+				}
+			}
+		} else {
+			result = select(excluded);
+			if (result != null) {
+				result.incrementActiveConnections();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Releases a slot acquired via {@link #tryAcquire(Set)} and wakes up the longest waiting front-end connection if any.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that belongs to the group.
+	 */
+	final void release(final TcpReverseProxyBackEnd backEnd) {
+		backEnd.decrementActiveConnections();
+		if (admissionSettings.isEnabled()) {
+			wakeUpNext();
+		}
+	}
+
+	/**
+	 * Returns candidates for choosing a {@link TcpReverseProxyBackEnd} in the order of preference:
+	 * those that are neither ejected nor excluded, those that aren't ejected, all that aren't draining.
+	 * If {@code max} is positive, only {@link TcpReverseProxyBackEnd}s with less active connections are returned.
+	 * <p>
+	 * This method is called for each front-end connection, hence it doesn't allocate:
+	 * the returned {@link List} is owned by the current {@link Thread} and is only valid until the next invocation.
+	 */
+	private static final List<TcpReverseProxyBackEnd> candidates(final List<TcpReverseProxyBackEnd> backEnds,
+			final long nowNanos, final Set<TcpReverseProxyBackEnd> excluded, final int max) {
+		final List<TcpReverseProxyBackEnd> result = CANDIDATES.get();
+		result.clear();
+		int resultRank = Integer.MAX_VALUE;
+		for (int i = 0; i < backEnds.size(); i++) {
+			final TcpReverseProxyBackEnd backEnd = backEnds.get(i);
+			if (!backEnd.isDraining() && (max <= 0 || backEnd.getActiveConnections() < max)) {
+				final int rank = !backEnd.isAvailable(nowNanos) ? 2 : (excluded.contains(backEnd) ? 1 : 0);
+				if (rank < resultRank) {//a more preferable candidate supersedes all the less preferable ones found so far
+					result.clear();
+					resultRank = rank;
+				}
+				if (rank == resultRank) {
+					result.add(backEnd);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * See {@link TcpReverseProxyAdmissionSettings#getQueueTimeoutMillis()}.
+	 *
+	 * @return
+	 * Queue timeout in milliseconds.
+	 */
+	final long getQueueTimeoutMillis() {
+		return admissionSettings.getQueueTimeoutMillis();
+	}
+
+	/**
+	 * Specifies if there are front-end connections waiting for a free slot.
+	 * A new front-end connection SHOULD be {@linkplain #enqueue(Runnable) enqueued} in such a case
+	 * in order to not overtake the waiting ones.
+	 *
+	 * @return
+	 * {@code true} if the queue isn't empty.
+	 */
+	final boolean hasWaiters() {
+		if (!admissionSettings.isEnabled()) {
+			return false;
+		}
+		synchronized (mutex) {
+			return !waiters.isEmpty();
+		}
+	}
+
+	/**
+	 * Adds the {@code waiter} to the tail of the queue of front-end connections waiting for a free slot.
+	 * The {@code waiter} is removed from the queue and is run once a slot MAY have become free, it MUST NOT block and
+	 * MUST either {@linkplain #tryAcquire(Set) acquire} a slot, or {@linkplain #requeue(Runnable) requeue} itself,
+	 * or {@linkplain #wakeUpNext() pass} the wake-up to the next waiter.
+	 *
+	 * @param waiter
+	 * A waiting front-end connection.
+	 * @return
+	 * {@code true} if the {@code waiter} was enqueued, {@code false} if the queue is full.
+	 */
+	final boolean enqueue(final Runnable waiter) {
+		synchronized (mutex) {
+			if (waiters.size() >= admissionSettings.getMaxQueuedConnections()) {
+				return false;
+			}
+			waiters.addLast(waiter);
+		}
+		if (hasCapacity()) {//a slot may have been released before the waiter was enqueued
+			wakeUpNext();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the {@code waiter} that has failed to acquire a slot after wake-up to the head of the queue.
+	 *
+	 * @param waiter
+	 * A waiting front-end connection.
+	 */
+	final void requeue(final Runnable waiter) {
+		synchronized (mutex) {
+			waiters.addFirst(waiter);
+		}
+		if (hasCapacity()) {
+			wakeUpNext();
+		}
+	}
+
+	/**
+	 * Removes the {@code waiter} from the queue.
+	 *
+	 * @param waiter
+	 * A waiting front-end connection.
+	 * @return
+	 * {@code true} if the {@code waiter} was in the queue, {@code false} if it has already been woken up.
+	 */
+	final boolean dequeue(final Runnable waiter) {
+		synchronized (mutex) {
+			return waiters.remove(waiter);
+		}
+	}
+
+	/**
+	 * Removes the longest waiting front-end connection from the queue and runs it.
+	 */
+	final void wakeUpNext() {
+		@Nullable
+		final Runnable waiter;
+		synchronized (mutex) {
+			waiter = waiters.pollFirst();
+		}
+		if (waiter != null) {
+			waiter.run();
+		}
+	}
+
+	private final boolean hasCapacity() {
+		final int max = admissionSettings.getMaxConnectionsPerBackEnd();
+		final ImmutableList<TcpReverseProxyBackEnd> backEnds = this.backEnds;
+		for (int i = 0; i < backEnds.size(); i++) {
+			final TcpReverseProxyBackEnd backEnd = backEnds.get(i);
+			if (!backEnd.isDraining() && backEnd.getActiveConnections() < max) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * See {@link TcpReverseProxyHealthChecker#reportSuccess(TcpReverseProxyBackEnd)}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that belongs to the group.
+	 */
+	final void reportSuccess(final TcpReverseProxyBackEnd backEnd) {
+		healthChecker.reportSuccess(backEnd);
+	}
+
+	/**
+	 * See {@link TcpReverseProxyHealthChecker#reportFailure(TcpReverseProxyBackEnd)}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that belongs to the group.
+	 */
+	final void reportFailure(final TcpReverseProxyBackEnd backEnd) {
+		healthChecker.reportFailure(backEnd);
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyBackEndPool} of the {@code backEnd}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@link TcpReverseProxyBackEndPool} of pre-connected channels to the {@code backEnd},
+	 * or {@code null} if the {@code backEnd} doesn't belong to the group, e.g. because it has just been removed.
+	 */
+	@Nullable
+	final TcpReverseProxyBackEndPool getPool(final TcpReverseProxyBackEnd backEnd) {
+		return pools.get(backEnd);
+	}
+
+	/**
+	 * See {@link TcpReverseProxyBackEndPool#warmUp(EventLoopGroup)} and {@link TcpReverseProxyHealthChecker#start(EventLoopGroup)}.
+	 *
+	 * @param workerEventLoopGroup
+	 * {@link EventLoopGroup} that processes events on front-end channels.
+	 */
+	final void start(final EventLoopGroup workerEventLoopGroup) {
+		synchronized (mutex) {
+			this.workerEventLoopGroup = workerEventLoopGroup;
+			for (final TcpReverseProxyBackEndPool pool : pools.values()) {
+				pool.warmUp(workerEventLoopGroup);
+			}
+		}
+		healthChecker.start(workerEventLoopGroup);
+	}
+
+	/**
+	 * See {@link TcpReverseProxyBackEndPool#close()} and {@link TcpReverseProxyHealthChecker#stop()}.
+	 */
+	final void close() {
+		healthChecker.stop();
+		for (final TcpReverseProxyBackEndPool pool : pools.values()) {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyBackEndGroup}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyBackEndGroup}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(backEnds=").append(backEnds)
+				.append(", loadBalancingStrategy=").append(loadBalancingStrategy)
+				.append(", healthChecker=").append(healthChecker)
+				.append(", admissionSettings=").append(admissionSettings).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
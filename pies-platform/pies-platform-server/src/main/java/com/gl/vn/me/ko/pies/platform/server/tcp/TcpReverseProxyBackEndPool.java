@@ -0,0 +1,327 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of pre-connected (warm) back-end {@link Channel}s for {@link TcpReverseProxyServer}.
+ * <p>
+ * The pool is partitioned by worker {@link EventLoop}s: idle {@link Channel}s are registered on the same {@link EventLoop}
+ * as the front-end {@link Channel} that adopts them, and each partition is only accessed from its {@link EventLoop},
+ * hence no locking is involved.
+ * A back-end {@link Channel} taken from the pool is never returned to it because a TCP connection can't be reused
+ * by another client of a reverse proxy.
+ */
+@ThreadSafe
+final class TcpReverseProxyBackEndPool {
+	/**
+	 * Idle {@link Channel}s of a single {@link EventLoop}.
+	 * Instances MUST only be accessed from the {@link EventLoop} they belong to.
+	 */
+	@NotThreadSafe
+	private final class Partition {
+		private final EventLoop eventLoop;
+		private final Bootstrap bootstrap;
+		private final ArrayDeque<IdleChannel> idleChannels;
+		private int pendingConnects;
+		@Nullable
+		private ScheduledFuture<?> maintenance;
+
+		private Partition(final EventLoop eventLoop) {
+			this.eventLoop = eventLoop;
+			bootstrap = new Bootstrap().group(eventLoop)
+					.channel(NioSocketChannel.class)
+					.option(ChannelOption.SO_KEEPALIVE, true)
+					.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+					.handler(new IdleChannelHandler(this));
+			idleChannels = new ArrayDeque<>(settings.getMaxIdle());
+			pendingConnects = 0;
+			maintenance = null;
+		}
+
+		private final void start() {
+			final long maintenancePeriodMillis = Math.max(1, Math.min(MAX_MAINTENANCE_PERIOD_MILLIS, settings.getMaxAgeMillis() / 2));
+			maintenance = eventLoop.scheduleWithFixedDelay(
+					this::maintain, maintenancePeriodMillis, maintenancePeriodMillis, MILLISECONDS);
+			replenish();
+		}
+
+		@Nullable
+		private final Channel poll() {
+			@Nullable
+			Channel result = null;
+			final long nowNanos = System.nanoTime();
+			while (result == null && !idleChannels.isEmpty()) {
+				final IdleChannel idleChannel = idleChannels.pollFirst();
+				if (!idleChannel.channel.isActive()) {//the back-end closed the channel while it was idle
+					LOGGER.debug("Idle back-end {} was closed and will be discarded", idleChannel.channel);
+				} else if (!settings.isValidateOnBorrow() || isValid(idleChannel, nowNanos)) {
+					result = idleChannel.channel;
+				} else {
+					LOGGER.debug("Idle back-end {} didn't pass validation and will be closed", idleChannel.channel);
+					idleChannel.channel.close();
+				}
+			}
+			replenish();
+			return result;
+		}
+
+		private final void maintain() {
+			if (closed) {//the pool is closed while the event loop is still running, e.g. the back-end was removed
+				final List<IdleChannel> idleChannels = new ArrayList<>(this.idleChannels);
+				this.idleChannels.clear();
+				for (final IdleChannel idleChannel : idleChannels) {
+					idleChannel.channel.close();
+				}
+				maintenance.cancel(false);
+				return;
+			}
+			final long nowNanos = System.nanoTime();
+			for (final Iterator<IdleChannel> it = idleChannels.iterator(); it.hasNext();) {
+				final IdleChannel idleChannel = it.next();
+				if (!isValid(idleChannel, nowNanos)) {
+					it.remove();
+					LOGGER.debug("Idle back-end {} was evicted", idleChannel.channel);
+					idleChannel.channel.close();
+				}
+			}
+			replenish();
+		}
+
+		private final void replenish() {
+			while (!closed && idleChannels.size() + pendingConnects < settings.getMinIdle()) {
+				pendingConnects++;
+				bootstrap.connect(beAddress).addListener((final ChannelFuture future) -> {
+					pendingConnects--;
+					final Channel channel = future.channel();
+					if (future.isSuccess()) {
+						if (closed || idleChannels.size() >= settings.getMaxIdle() || !channel.isActive()) {
+							channel.close();
+						} else {
+							idleChannels.addLast(new IdleChannel(channel, System.nanoTime()));
+							LOGGER.debug("Idle back-end {} was added to the pool", channel);
+						}
+					} else {
+						/*
+						 * Don't retry immediately in order to avoid connect storms against a back-end that is down,
+						 * next attempt will be made either on the next poll() or on the next maintain()
+						 */
+						LOGGER.debug("Can't pre-connect to back-end {}: {}", beAddress, future.cause());
+					}
+				});
+			}
+		}
+
+		private final boolean isValid(final IdleChannel idleChannel, final long nowNanos) {
+			final Channel channel = idleChannel.channel;
+			return channel.isActive() && channel.isWritable()
+					&& NANOSECONDS.toMillis(nowNanos - idleChannel.createdNanos) < settings.getMaxAgeMillis();
+		}
+
+		private final void remove(final Channel channel) {
+			for (final Iterator<IdleChannel> it = idleChannels.iterator(); it.hasNext();) {
+				if (it.next().channel == channel) {
+					it.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	private static final class IdleChannel {
+		private final Channel channel;
+		private final long createdNanos;
+
+		private IdleChannel(final Channel channel, final long createdNanos) {
+			this.channel = channel;
+			this.createdNanos = createdNanos;
+		}
+	}
+
+	/**
+	 * Handles events on idle back-end {@link Channel}s.
+	 * This {@link ChannelHandler} is replaced once a {@link Channel} is adopted by a front-end {@link Channel}.
+	 */
+	@ChannelHandler.Sharable
+	private static final class IdleChannelHandler extends ChannelHandlerAdapter {
+		private final Partition partition;
+
+		private IdleChannelHandler(final Partition partition) {
+			this.partition = partition;
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			try {
+				LOGGER.debug("Idle back-end {} unexpectedly sent data and will be closed", ctx.channel());
+			} finally {
+				ReferenceCountUtil.release(msg);
+				ctx.close();
+			}
+		}
+
+		@Override
+		public final void channelInactive(final ChannelHandlerContext ctx) {
+			partition.remove(ctx.channel());
+			ctx.fireChannelInactive();
+		}
+
+		@Override
+		public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) {
+			try {
+				LOGGER.debug("Exception caught on idle back-end {}", ctx.channel(), e);
+			} finally {
+				ctx.close();
+			}
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyBackEndPool.class);
+	private static final long MAX_MAINTENANCE_PERIOD_MILLIS = 1000;
+	private static final String BE_HANDLER_NAME = "backEnd";
+
+	private final InetSocketAddress beAddress;
+	private final int connectTimeoutMillis;
+	private final TcpReverseProxyBackEndPoolSettings settings;
+	private final ConcurrentMap<EventLoop, Partition> partitions;
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyBackEndPool}.
+	 *
+	 * @param beAddress
+	 * Back-end {@link InetSocketAddress}.
+	 * @param connectTimeoutMillis
+	 * Amount of time in milliseconds to wait for connecting to the {@code beAddress}.
+	 * This argument MUST be positive.
+	 * @param settings
+	 * {@link TcpReverseProxyBackEndPoolSettings} of the pool.
+	 */
+	TcpReverseProxyBackEndPool(
+			final InetSocketAddress beAddress, final int connectTimeoutMillis, final TcpReverseProxyBackEndPoolSettings settings) {
+		checkNotNull(beAddress, ARGUMENT_NULL, "first", "beAddress");
+		checkArgument(connectTimeoutMillis > 0, ARGUMENT_ILLEGAL, connectTimeoutMillis,
+				"second", "connectTimeoutMillis", "Expected value must be positive");
+		checkNotNull(settings, ARGUMENT_NULL, "third", "settings");
+		this.beAddress = beAddress;
+		this.connectTimeoutMillis = connectTimeoutMillis;
+		this.settings = settings;
+		partitions = new ConcurrentHashMap<>();
+		closed = false;
+	}
+
+	/**
+	 * Starts pre-connecting back-end {@link Channel}s on each {@link EventLoop} of the {@code workerEventLoopGroup}.
+	 * This method does nothing if pooling isn't {@linkplain TcpReverseProxyBackEndPoolSettings#isEnabled() enabled}.
+	 *
+	 * @param workerEventLoopGroup
+	 * {@link EventLoopGroup} that processes events on front-end {@link Channel}s.
+	 */
+	final void warmUp(final EventLoopGroup workerEventLoopGroup) {
+		if (settings.isEnabled()) {
+			for (final EventLoop eventLoop : workerEventLoopGroup.<EventLoop>children()) {
+				try {
+					eventLoop.execute(() -> partition(eventLoop));
+				} catch (final RejectedExecutionException e) {
+					LOGGER.debug("Can't warm up the pool for {}", eventLoop, e);
+				}
+			}
+			LOGGER.info("Pooling of back-end channels is started with {}", settings);
+		}
+	}
+
+	/**
+	 * Takes an idle back-end {@link Channel} from the partition of the {@code eventLoop} if there is any,
+	 * and replaces its {@link ChannelHandler} with the {@code handler}.
+	 * This method MUST only be called from the {@code eventLoop}.
+	 *
+	 * @param eventLoop
+	 * {@link EventLoop} of a front-end {@link Channel} that adopts the back-end {@link Channel}.
+	 * @param handler
+	 * {@link ChannelHandler} that will handle events on the back-end {@link Channel}.
+	 * @return
+	 * A connected back-end {@link Channel} registered on the {@code eventLoop},
+	 * or {@code null} if there are no idle {@link Channel}s or pooling isn't enabled.
+	 */
+	@Nullable
+	final Channel poll(final EventLoop eventLoop, final ChannelHandler handler) {
+		@Nullable
+		final Channel result;
+		if (settings.isEnabled() && !closed) {
+			result = partition(eventLoop).poll();
+			if (result != null) {
+				result.pipeline().replace(IdleChannelHandler.class, BE_HANDLER_NAME, handler);
+			}
+		} else {
+			result = null;
+		}
+		return result;
+	}
+
+	/**
+	 * Stops pre-connecting back-end {@link Channel}s. Idle {@link Channel}s are closed either by the next maintenance
+	 * or once their {@link EventLoop}s are shut down, whichever happens first. This method is idempotent.
+	 */
+	final void close() {
+		closed = true;
+	}
+
+	private final Partition partition(final EventLoop eventLoop) {
+		@Nullable
+		Partition result = partitions.get(eventLoop);
+		if (result == null) {
+			final Partition newPartition = new Partition(eventLoop);
+			result = partitions.putIfAbsent(eventLoop, newPartition);
+			if (result == null) {
+				result = newPartition;
+				newPartition.start();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyBackEndPool}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyBackEndPool}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(beAddress=").append(beAddress)
+				.append(", settings=").append(settings)
+				.append(", closed=").append(closed).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,134 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} pools pre-connected (warm) back-end {@link Channel}s.
+ * Pooling is performed per worker {@link EventLoop}, i.e. all limits specified by {@link TcpReverseProxyBackEndPoolSettings}
+ * are applied to each worker {@link EventLoop} separately.
+ * <p>
+ * Pooling is {@linkplain #isEnabled() enabled} if and only if {@linkplain #getMaxIdle() maximum number of idle channels}
+ * is positive.
+ */
+@Immutable
+public final class TcpReverseProxyBackEndPoolSettings {
+	private static final TcpReverseProxyBackEndPoolSettings DISABLED
+			= new TcpReverseProxyBackEndPoolSettings(0, 0, Long.MAX_VALUE, true);
+
+	/**
+	 * Returns {@link TcpReverseProxyBackEndPoolSettings} that specify that pooling is disabled.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyBackEndPoolSettings} that aren't {@linkplain #isEnabled() enabled}.
+	 */
+	public static final TcpReverseProxyBackEndPoolSettings disabled() {
+		return DISABLED;
+	}
+
+	private final int minIdle;
+	private final int maxIdle;
+	private final long maxAgeMillis;
+	private final boolean validateOnBorrow;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyBackEndPoolSettings}.
+	 *
+	 * @param minIdle
+	 * Number of idle pre-connected back-end {@link Channel}s that a worker {@link EventLoop} tries to maintain.
+	 * This argument MUST NOT be negative and MUST NOT be greater than {@code maxIdle}.
+	 * @param maxIdle
+	 * Maximum number of idle pre-connected back-end {@link Channel}s a worker {@link EventLoop} MAY hold.
+	 * This argument MUST NOT be negative. If this argument is {@code 0} then pooling is disabled.
+	 * @param maxAgeMillis
+	 * Amount of time in milliseconds an idle back-end {@link Channel} MAY stay in the pool.
+	 * Idle {@link Channel}s that are older are closed. This argument MUST be positive.
+	 * @param validateOnBorrow
+	 * Specifies if a back-end {@link Channel} MUST be checked for being active, writable and not too old
+	 * right before it's adopted by a front-end {@link Channel}.
+	 * If this argument is {@code false} then only {@link Channel}s closed by the back-end are excluded from the pool
+	 * (as soon as closure is detected), and {@link Channel}s that are too old are excluded periodically.
+	 */
+	public TcpReverseProxyBackEndPoolSettings(
+			final int minIdle, final int maxIdle, final long maxAgeMillis, final boolean validateOnBorrow) {
+		checkArgument(maxIdle >= 0, ARGUMENT_ILLEGAL, maxIdle, "second", "maxIdle", "Expected value must not be negative");
+		checkArgument(minIdle >= 0 && minIdle <= maxIdle, ARGUMENT_ILLEGAL, minIdle, "first", "minIdle",
+				"Expected value must not be negative and must not be greater than maxIdle");
+		checkArgument(maxAgeMillis > 0, ARGUMENT_ILLEGAL, maxAgeMillis, "third", "maxAgeMillis",
+				"Expected value must be positive");
+		this.minIdle = minIdle;
+		this.maxIdle = maxIdle;
+		this.maxAgeMillis = maxAgeMillis;
+		this.validateOnBorrow = validateOnBorrow;
+	}
+
+	/**
+	 * Specifies if pooling is enabled.
+	 *
+	 * @return
+	 * {@code true} if {@link #getMaxIdle()} is positive, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return maxIdle > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEndPoolSettings(int, int, long, boolean)}.
+	 *
+	 * @return
+	 * Number of idle {@link Channel}s per worker {@link EventLoop} the pool tries to maintain.
+	 */
+	public final int getMinIdle() {
+		return minIdle;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEndPoolSettings(int, int, long, boolean)}.
+	 *
+	 * @return
+	 * Maximum number of idle {@link Channel}s per worker {@link EventLoop}.
+	 */
+	public final int getMaxIdle() {
+		return maxIdle;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEndPoolSettings(int, int, long, boolean)}.
+	 *
+	 * @return
+	 * Maximum age in milliseconds of an idle {@link Channel}.
+	 */
+	public final long getMaxAgeMillis() {
+		return maxAgeMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyBackEndPoolSettings(int, int, long, boolean)}.
+	 *
+	 * @return
+	 * {@code true} if {@link Channel}s are validated before being adopted, {@code false} otherwise.
+	 */
+	public final boolean isValidateOnBorrow() {
+		return validateOnBorrow;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyBackEndPoolSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyBackEndPoolSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(minIdle=").append(minIdle)
+				.append(", maxIdle=").append(maxIdle)
+				.append(", maxAgeMillis=").append(maxAgeMillis)
+				.append(", validateOnBorrow=").append(validateOnBorrow).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,182 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Byte-rate limits that {@link TcpReverseProxyServer} applies to proxied traffic.
+ * <p>
+ * Read limits apply to data that is read from front-ends (clients) and is forwarded to back-ends,
+ * write limits apply to data that is read from back-ends and is written to front-ends.
+ * Global limits apply to all proxied connections together, connection limits apply to each proxied connection separately.
+ * A limit equal to {@code 0} means that the rate isn't limited.
+ * <p>
+ * A limit is enforced by delaying reads from the {@link io.netty.channel.Channel} the data comes from,
+ * so that data isn't accumulated in the proxy. Limits MAY be changed at any time and are applied to the next read.
+ */
+@ThreadSafe
+public final class TcpReverseProxyBandwidthLimits {
+	/**
+	 * Returns new {@link TcpReverseProxyBandwidthLimits} that don't limit the rate.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyBandwidthLimits} with all limits equal to {@code 0}.
+	 */
+	public static final TcpReverseProxyBandwidthLimits unlimited() {
+		return new TcpReverseProxyBandwidthLimits(0, 0, 0, 0);
+	}
+
+	private static final void checkLimit(final long bytesPerSecond, final String name) {
+		checkArgument(bytesPerSecond >= 0, ARGUMENT_ILLEGAL, bytesPerSecond, "first", name, "Expected value must not be negative");
+	}
+
+	private final TcpReverseProxyTokenBucket globalReadBucket;
+	private final TcpReverseProxyTokenBucket globalWriteBucket;
+	private volatile long globalReadBytesPerSecond;
+	private volatile long globalWriteBytesPerSecond;
+	private volatile long connectionReadBytesPerSecond;
+	private volatile long connectionWriteBytesPerSecond;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyBandwidthLimits}.
+	 *
+	 * @param globalReadBytesPerSecond
+	 * See {@link #setGlobalReadBytesPerSecond(long)}.
+	 * @param globalWriteBytesPerSecond
+	 * See {@link #setGlobalWriteBytesPerSecond(long)}.
+	 * @param connectionReadBytesPerSecond
+	 * See {@link #setConnectionReadBytesPerSecond(long)}.
+	 * @param connectionWriteBytesPerSecond
+	 * See {@link #setConnectionWriteBytesPerSecond(long)}.
+	 */
+	public TcpReverseProxyBandwidthLimits(
+			final long globalReadBytesPerSecond,
+			final long globalWriteBytesPerSecond,
+			final long connectionReadBytesPerSecond,
+			final long connectionWriteBytesPerSecond) {
+		checkArgument(globalReadBytesPerSecond >= 0, ARGUMENT_ILLEGAL, globalReadBytesPerSecond, "first",
+				"globalReadBytesPerSecond", "Expected value must not be negative");
+		checkArgument(globalWriteBytesPerSecond >= 0, ARGUMENT_ILLEGAL, globalWriteBytesPerSecond, "second",
+				"globalWriteBytesPerSecond", "Expected value must not be negative");
+		checkArgument(connectionReadBytesPerSecond >= 0, ARGUMENT_ILLEGAL, connectionReadBytesPerSecond, "third",
+				"connectionReadBytesPerSecond", "Expected value must not be negative");
+		checkArgument(connectionWriteBytesPerSecond >= 0, ARGUMENT_ILLEGAL, connectionWriteBytesPerSecond, "fourth",
+				"connectionWriteBytesPerSecond", "Expected value must not be negative");
+		globalReadBucket = new TcpReverseProxyTokenBucket();
+		globalWriteBucket = new TcpReverseProxyTokenBucket();
+		this.globalReadBytesPerSecond = globalReadBytesPerSecond;
+		this.globalWriteBytesPerSecond = globalWriteBytesPerSecond;
+		this.connectionReadBytesPerSecond = connectionReadBytesPerSecond;
+		this.connectionWriteBytesPerSecond = connectionWriteBytesPerSecond;
+	}
+
+	/**
+	 * See {@link #setGlobalReadBytesPerSecond(long)}.
+	 *
+	 * @return
+	 * Global read limit in bytes per second.
+	 */
+	public final long getGlobalReadBytesPerSecond() {
+		return globalReadBytesPerSecond;
+	}
+
+	/**
+	 * Sets maximum rate at which data is read from all front-ends together.
+	 *
+	 * @param bytesPerSecond
+	 * Limit in bytes per second. This argument MUST NOT be negative. {@code 0} means that the rate isn't limited.
+	 */
+	public final void setGlobalReadBytesPerSecond(final long bytesPerSecond) {
+		checkLimit(bytesPerSecond, "bytesPerSecond");
+		globalReadBytesPerSecond = bytesPerSecond;
+	}
+
+	/**
+	 * See {@link #setGlobalWriteBytesPerSecond(long)}.
+	 *
+	 * @return
+	 * Global write limit in bytes per second.
+	 */
+	public final long getGlobalWriteBytesPerSecond() {
+		return globalWriteBytesPerSecond;
+	}
+
+	/**
+	 * Sets maximum rate at which data is written to all front-ends together.
+	 *
+	 * @param bytesPerSecond
+	 * Limit in bytes per second. This argument MUST NOT be negative. {@code 0} means that the rate isn't limited.
+	 */
+	public final void setGlobalWriteBytesPerSecond(final long bytesPerSecond) {
+		checkLimit(bytesPerSecond, "bytesPerSecond");
+		globalWriteBytesPerSecond = bytesPerSecond;
+	}
+
+	/**
+	 * See {@link #setConnectionReadBytesPerSecond(long)}.
+	 *
+	 * @return
+	 * Connection read limit in bytes per second.
+	 */
+	public final long getConnectionReadBytesPerSecond() {
+		return connectionReadBytesPerSecond;
+	}
+
+	/**
+	 * Sets maximum rate at which data is read from a single front-end.
+	 *
+	 * @param bytesPerSecond
+	 * Limit in bytes per second. This argument MUST NOT be negative. {@code 0} means that the rate isn't limited.
+	 */
+	public final void setConnectionReadBytesPerSecond(final long bytesPerSecond) {
+		checkLimit(bytesPerSecond, "bytesPerSecond");
+		connectionReadBytesPerSecond = bytesPerSecond;
+	}
+
+	/**
+	 * See {@link #setConnectionWriteBytesPerSecond(long)}.
+	 *
+	 * @return
+	 * Connection write limit in bytes per second.
+	 */
+	public final long getConnectionWriteBytesPerSecond() {
+		return connectionWriteBytesPerSecond;
+	}
+
+	/**
+	 * Sets maximum rate at which data is written to a single front-end.
+	 *
+	 * @param bytesPerSecond
+	 * Limit in bytes per second. This argument MUST NOT be negative. {@code 0} means that the rate isn't limited.
+	 */
+	public final void setConnectionWriteBytesPerSecond(final long bytesPerSecond) {
+		checkLimit(bytesPerSecond, "bytesPerSecond");
+		connectionWriteBytesPerSecond = bytesPerSecond;
+	}
+
+	final TcpReverseProxyTokenBucket getGlobalReadBucket() {
+		return globalReadBucket;
+	}
+
+	final TcpReverseProxyTokenBucket getGlobalWriteBucket() {
+		return globalWriteBucket;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyBandwidthLimits}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyBandwidthLimits}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(globalReadBytesPerSecond=").append(globalReadBytesPerSecond)
+				.append(", globalWriteBytesPerSecond=").append(globalWriteBytesPerSecond)
+				.append(", connectionReadBytesPerSecond=").append(connectionReadBytesPerSecond)
+				.append(", connectionWriteBytesPerSecond=").append(connectionWriteBytesPerSecond).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
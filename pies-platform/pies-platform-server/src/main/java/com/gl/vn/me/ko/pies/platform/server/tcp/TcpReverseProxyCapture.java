@@ -0,0 +1,402 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records data that passes through a {@link TcpReverseProxyServer} as specified by {@link TcpReverseProxyCaptureSettings}.
+ * Recorded data can be read with {@link TcpReverseProxyCaptureReader}.
+ * <p>
+ * Capture is disabled initially and MAY be enabled and disabled at any time.
+ * Recording never blocks the calling thread: space for a record is reserved in the current memory-mapped segment
+ * with a single CAS, and the data is copied into the mapped memory. Segments are created, pre-allocated, flushed and deleted
+ * by a dedicated {@link Thread}; if the next segment isn't ready when the current one is full, records are dropped
+ * and counted.
+ */
+@ThreadSafe
+public final class TcpReverseProxyCapture {
+	private static final class Segment {
+		private final Path path;
+		private final MappedByteBuffer buffer;
+		private final AtomicInteger position;
+
+		private Segment(final Path path, final MappedByteBuffer buffer) {
+			this.path = path;
+			this.buffer = buffer;
+			position = new AtomicInteger(TcpReverseProxyCaptureRecord.SEGMENT_HEADER_BYTES);
+		}
+
+		/**
+		 * Reserves {@code size} bytes.
+		 *
+		 * @return
+		 * Offset of the reserved space, or {@code -1} if the {@link Segment} doesn't have enough free space.
+		 */
+		private final int reserve(final int size) {
+			int offset;
+			do {
+				offset = position.get();
+				if (offset + size > buffer.capacity()) {
+					return -1;
+				}
+			} while (!position.compareAndSet(offset, offset + size));
+			return offset;
+		}
+
+		private final void write(
+				final int offset, final long timestampNanos, final long connectionId, final Direction direction, final ByteBuf data) {
+			final int length = data.readableBytes();
+			final ByteBuffer dst = buffer.duplicate();
+			dst.position(offset + Integer.BYTES);
+			dst.putLong(timestampNanos).putLong(connectionId).put(direction.getCode());
+			dst.limit(dst.position() + length);
+			data.getBytes(data.readerIndex(), dst);
+			buffer.putInt(offset, length);//length is written last, so an incomplete record looks like the end of records
+		}
+
+		@Override
+		public final String toString() {
+			final StringBuilder sb = new StringBuilder(this.getClass().getName())
+					.append("(path=").append(path)
+					.append(", position=").append(position).append(')');
+			final String result = sb.toString();
+			return result;
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyCapture.class);
+	private static final int PAGE_BYTES = 4096;
+	private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+	private final TcpReverseProxyCaptureSettings settings;
+	@Nullable
+	private final ExecutorService segmentExecutor;
+	private final long originEpochNanos;
+	private final long originNanos;
+	private final AtomicLong connectionIds;
+	private final LongAdder records;
+	private final LongAdder droppedRecords;
+	private final Object mutex;
+	private final ArrayDeque<Path> segmentPaths;
+	private long segmentCounter;
+	@Nullable
+	private volatile Segment current;
+	@Nullable
+	private Segment next;
+	private boolean allocating;
+	private volatile boolean enabled;
+	private boolean closed;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyCapture}.
+	 *
+	 * @param settings
+	 * {@link TcpReverseProxyCaptureSettings}.
+	 * @param threadFactory
+	 * {@link ThreadFactory} that is used to create a {@link Thread} that manages segment files.
+	 */
+	TcpReverseProxyCapture(final TcpReverseProxyCaptureSettings settings, final ThreadFactory threadFactory) {
+		checkNotNull(settings, ARGUMENT_NULL, "first", "settings");
+		checkNotNull(threadFactory, ARGUMENT_NULL, "second", "threadFactory");
+		this.settings = settings;
+		segmentExecutor = settings.isAvailable() ? Executors.newSingleThreadExecutor(threadFactory) : null;
+		originEpochNanos = MILLISECONDS.toNanos(System.currentTimeMillis());
+		originNanos = System.nanoTime();
+		connectionIds = new AtomicLong();
+		records = new LongAdder();
+		droppedRecords = new LongAdder();
+		mutex = new Object();
+		segmentPaths = new ArrayDeque<>();
+		segmentCounter = 0;
+		current = null;
+		next = null;
+		allocating = false;
+		enabled = false;
+		closed = false;
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyCaptureSettings} of the {@link TcpReverseProxyCapture}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyCaptureSettings}.
+	 */
+	public final TcpReverseProxyCaptureSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Specifies if data is being recorded.
+	 *
+	 * @return
+	 * {@code true} if capture is enabled, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables capture. When capture is enabled, a new segment is created and recording starts
+	 * from the beginning of it. When capture is disabled, the current segment is flushed to the storage device
+	 * and is kept in the {@linkplain TcpReverseProxyCaptureSettings#getDirectory() directory}.
+	 * This method has no effect if capture is already in the requested state.
+	 *
+	 * @param enabled
+	 * {@code true} to enable capture, {@code false} to disable it.
+	 * @throws ApplicationException
+	 * If capture is being enabled but it isn't {@linkplain TcpReverseProxyCaptureSettings#isAvailable() available},
+	 * or if the {@link TcpReverseProxyServer} was shut down, or if a segment can't be created.
+	 */
+	public final void setEnabled(final boolean enabled) throws ApplicationException {
+		synchronized (mutex) {
+			if (enabled && !this.enabled) {
+				if (!settings.isAvailable()) {
+					throw new ApplicationException("Capture directory isn't specified");
+				}
+				if (closed) {
+					throw new ApplicationException("Capture was closed");
+				}
+				try {
+					Files.createDirectories(settings.getDirectory());
+				} catch (final IOException e) {
+					throw new ApplicationException(e);
+				}
+				current = newSegment();
+				this.enabled = true;
+				allocateNext();
+				LOGGER.info("Capture was enabled, segment {}", current.path);
+			} else if (!enabled && this.enabled) {
+				this.enabled = false;
+				@Nullable
+				final Segment current = this.current;
+				this.current = null;
+				if (current != null) {
+					flush(current);
+				}
+				@Nullable
+				final Segment next = this.next;
+				this.next = null;
+				if (next != null) {
+					segmentPaths.remove(next.path);
+					delete(next.path);
+				}
+				LOGGER.info("Capture was disabled");
+			}
+		}
+	}
+
+	/**
+	 * Returns number of records that were written since the {@link TcpReverseProxyCapture} was constructed.
+	 *
+	 * @return
+	 * Number of records.
+	 */
+	public final long getRecords() {
+		return records.sum();
+	}
+
+	/**
+	 * Returns number of records that were dropped because there was no free space in segments, or because a record
+	 * is bigger than a segment.
+	 *
+	 * @return
+	 * Number of dropped records.
+	 */
+	public final long getDroppedRecords() {
+		return droppedRecords.sum();
+	}
+
+	/**
+	 * Returns a new identifier of a proxied connection.
+	 *
+	 * @return
+	 * A unique connection id.
+	 */
+	final long nextConnectionId() {
+		return connectionIds.incrementAndGet();
+	}
+
+	/**
+	 * Records readable bytes of {@code msg} if capture is {@linkplain #isEnabled() enabled}.
+	 * This method neither changes reference count nor reader index of {@code msg}.
+	 *
+	 * @param connectionId
+	 * See {@link TcpReverseProxyCaptureRecord#getConnectionId()}.
+	 * @param direction
+	 * See {@link TcpReverseProxyCaptureRecord#getDirection()}.
+	 * @param msg
+	 * Data read from a {@link io.netty.channel.Channel}. Data other than {@link ByteBuf} isn't recorded.
+	 */
+	final void record(final long connectionId, final Direction direction, final Object msg) {
+		if (!enabled || !(msg instanceof ByteBuf)) {
+			return;
+		}
+		final ByteBuf data = (ByteBuf)msg;
+		if (!data.isReadable()) {
+			return;
+		}
+		final int size = TcpReverseProxyCaptureRecord.RECORD_HEADER_BYTES + data.readableBytes();
+		if (size <= settings.getSegmentSizeBytes() - TcpReverseProxyCaptureRecord.SEGMENT_HEADER_BYTES) {
+			for (int attempt = 0; attempt < 2; attempt++) {
+				@Nullable
+				final Segment segment = current;
+				if (segment == null) {
+					return;
+				}
+				final int offset = segment.reserve(size);
+				if (offset >= 0) {
+					segment.write(offset, originEpochNanos + (System.nanoTime() - originNanos), connectionId, direction, data);
+					records.increment();
+					return;
+				}
+				rotate(segment);
+			}
+		}
+		droppedRecords.increment();
+	}
+
+	/**
+	 * Disables capture, waits until segments are flushed and releases resources. Capture can't be enabled afterwards.
+	 */
+	final void close() {
+		synchronized (mutex) {
+			setEnabled(false);
+			closed = true;
+		}
+		if (segmentExecutor != null) {
+			segmentExecutor.shutdown();
+			try {
+				if (!segmentExecutor.awaitTermination(CLOSE_TIMEOUT_MILLIS, MILLISECONDS)) {
+					LOGGER.warn("Segments weren't flushed in {} ms", CLOSE_TIMEOUT_MILLIS);
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private final void rotate(final Segment full) {
+		synchronized (mutex) {
+			if (current == full) {
+				if (next != null) {
+					current = next;
+					next = null;
+					flush(full);
+					allocateNext();
+				} else {
+					LOGGER.debug("Next segment isn't allocated yet");
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method MUST be called while holding {@link #mutex}.
+	 */
+	private final void allocateNext() {
+		if (!allocating && next == null && !closed) {
+			allocating = true;
+			segmentExecutor.execute(() -> {
+				@Nullable
+				Segment segment = null;
+				try {
+					segment = newSegment();
+				} catch (final RuntimeException e) {
+					LOGGER.error("Can't allocate a segment", e);
+				} finally {
+					synchronized (mutex) {
+						allocating = false;
+						if (segment != null) {
+							if (enabled) {
+								next = segment;
+							} else {
+								segmentPaths.remove(segment.path);
+								delete(segment.path);
+							}
+						}
+					}
+				}
+			});
+		}
+	}
+
+	private final Segment newSegment() {
+		final Path path;
+		synchronized (mutex) {
+			segmentCounter++;
+			path = settings.getDirectory().resolve(
+					Message.format("capture-%019d-%06d.seg", Long.valueOf(originEpochNanos), Long.valueOf(segmentCounter)));
+			segmentPaths.add(path);
+			while (segmentPaths.size() > settings.getMaxSegments()) {
+				delete(segmentPaths.poll());
+			}
+		}
+		final int size = settings.getSegmentSizeBytes();
+		final MappedByteBuffer buffer;
+		try (final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.setLength(size);
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} catch (final IOException e) {
+			throw new ApplicationException(Message.format("Can't create segment %s", path), e);
+		}
+		for (int i = 0; i < size; i += PAGE_BYTES) {//touch each page, so that writers don't wait for the storage to be allocated
+			buffer.put(i, (byte)0);
+		}
+		buffer.putInt(0, TcpReverseProxyCaptureRecord.SEGMENT_MAGIC);
+		buffer.putInt(Integer.BYTES, TcpReverseProxyCaptureRecord.SEGMENT_VERSION);
+		return new Segment(path, buffer);
+	}
+
+	private final void flush(final Segment segment) {
+		segmentExecutor.execute(() -> segment.buffer.force());
+	}
+
+	private static final void delete(final Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (final IOException e) {
+			LOGGER.warn("Can't delete segment {}", path, e);
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyCapture}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyCapture}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(settings=").append(settings)
+				.append(", enabled=").append(enabled)
+				.append(", current=").append(current)
+				.append(", records=").append(records)
+				.append(", droppedRecords=").append(droppedRecords).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,168 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterates over {@link TcpReverseProxyCaptureRecord}s that were recorded by {@link TcpReverseProxyCapture}
+ * in all segment files of a directory, from the oldest segment to the newest one.
+ * <p>
+ * Segments are memory-mapped one at a time, and {@linkplain TcpReverseProxyCaptureRecord#getData() data} of records
+ * isn't copied. A segment that is being written to MAY be read, in which case iteration stops at the last record that
+ * was completely written when the reader reached it. A segment that was deleted by {@link TcpReverseProxyCapture}
+ * before the reader reached it is skipped.
+ */
+@NotThreadSafe
+public final class TcpReverseProxyCaptureReader implements Iterator<TcpReverseProxyCaptureRecord> {
+	private final ArrayDeque<Path> segmentPaths;
+	@Nullable
+	private ByteBuffer segment;
+	@Nullable
+	private Path segmentPath;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyCaptureReader}.
+	 *
+	 * @param directory
+	 * {@linkplain TcpReverseProxyCaptureSettings#getDirectory() Directory} with segment files.
+	 * Only segment files that exist when this constructor is called are read.
+	 * @throws ApplicationException
+	 * If the {@code directory} can't be listed.
+	 */
+	public TcpReverseProxyCaptureReader(final Path directory) throws ApplicationException {
+		checkNotNull(directory, ARGUMENT_NULL_SINGLE, "directory");
+		final List<Path> paths = new ArrayList<>();
+		try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "capture-*.seg")) {
+			for (final Path path : stream) {
+				paths.add(path);
+			}
+		} catch (final IOException e) {
+			throw new ApplicationException(Message.format("Can't list segments in %s", directory), e);
+		}
+		Collections.sort(paths);//names of segment files are ordered by creation time
+		segmentPaths = new ArrayDeque<>(paths);
+		segment = null;
+		segmentPath = null;
+	}
+
+	/**
+	 * Returns {@link Path}s of segment files that weren't yet reached by the {@link TcpReverseProxyCaptureReader}.
+	 *
+	 * @return
+	 * An unmodifiable {@link List} of segment {@link Path}s.
+	 */
+	public final List<Path> getRemainingSegments() {
+		return Collections.unmodifiableList(new ArrayList<>(segmentPaths));
+	}
+
+	/**
+	 * See {@link Iterator#hasNext()}.
+	 *
+	 * @throws ApplicationException
+	 * If a segment file can't be read or is corrupted.
+	 */
+	@Override
+	public final boolean hasNext() throws ApplicationException {
+		while (segment == null || !hasRecord(segment)) {
+			if (segmentPaths.isEmpty()) {
+				return false;
+			}
+			segmentPath = segmentPaths.poll();
+			segment = map(segmentPath);
+		}
+		return true;
+	}
+
+	/**
+	 * See {@link Iterator#next()}.
+	 *
+	 * @throws ApplicationException
+	 * If a segment file can't be read or is corrupted.
+	 */
+	@Override
+	public final TcpReverseProxyCaptureRecord next() throws ApplicationException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final int length = segment.getInt();
+		final long timestampNanos = segment.getLong();
+		final long connectionId = segment.getLong();
+		final byte directionCode = segment.get();
+		@Nullable
+		final Direction direction = Direction.valueOf(directionCode);
+		if (direction == null) {
+			throw new ApplicationException(Message.format("Segment %s is corrupted, unknown direction %s at position %s",
+					segmentPath, Byte.valueOf(directionCode), Integer.valueOf(segment.position() - 1)));
+		}
+		final ByteBuffer data = segment.slice();
+		data.limit(length);
+		segment.position(segment.position() + length);
+		return new TcpReverseProxyCaptureRecord(timestampNanos, connectionId, direction, data);
+	}
+
+	private static final boolean hasRecord(final ByteBuffer segment) {
+		final boolean result;
+		if (segment.remaining() >= TcpReverseProxyCaptureRecord.RECORD_HEADER_BYTES) {
+			final int length = segment.getInt(segment.position());
+			result = length > 0 && segment.remaining() >= TcpReverseProxyCaptureRecord.RECORD_HEADER_BYTES + length;
+		} else {
+			result = false;
+		}
+		return result;
+	}
+
+	@Nullable
+	private static final ByteBuffer map(final Path path) throws ApplicationException {
+		final ByteBuffer result;
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			result = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (final NoSuchFileException e) {
+			return null;
+		} catch (final IOException e) {
+			throw new ApplicationException(Message.format("Can't read segment %s", path), e);
+		}
+		if (result.remaining() < TcpReverseProxyCaptureRecord.SEGMENT_HEADER_BYTES
+				|| result.getInt() != TcpReverseProxyCaptureRecord.SEGMENT_MAGIC) {
+			throw new ApplicationException(Message.format("%s isn't a segment", path));
+		}
+		final int version = result.getInt();
+		if (version != TcpReverseProxyCaptureRecord.SEGMENT_VERSION) {
+			throw new ApplicationException(Message.format("Version %s of segment %s isn't supported", Integer.valueOf(version), path));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyCaptureReader}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyCaptureReader}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(segmentPath=").append(segmentPath)
+				.append(", remainingSegments=").append(segmentPaths.size()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,166 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A chunk of data that was read from either side of a proxied connection and was recorded by {@link TcpReverseProxyCapture}.
+ * <p>
+ * Layout of a segment file: a header that consists of {@code int} {@link #SEGMENT_MAGIC} and {@code int}
+ * {@link #SEGMENT_VERSION}, followed by records. A record consists of {@code int} length of data,
+ * {@code long} {@linkplain #getTimestampNanos() timestamp}, {@code long} {@linkplain #getConnectionId() connection id},
+ * {@code byte} {@linkplain Direction#getCode() direction code} and the data itself. All numbers are big-endian.
+ * Records end either at the end of a segment or at a record with length {@code 0}.
+ */
+@Immutable
+public final class TcpReverseProxyCaptureRecord {
+	/**
+	 * Direction in which data was transferred.
+	 */
+	public static enum Direction {
+		/**
+		 * Data was read from a front-end connection and was written to a back-end connection.
+		 */
+		FRONT_END_TO_BACK_END((byte)1),
+		/**
+		 * Data was read from a back-end connection and was written to a front-end connection.
+		 */
+		BACK_END_TO_FRONT_END((byte)2);
+
+		/**
+		 * Returns {@link Direction} that has the specified {@code code}.
+		 *
+		 * @param code
+		 * {@linkplain #getCode() Code} of a {@link Direction}.
+		 * @return
+		 * {@link Direction}, or {@code null} if there is no {@link Direction} with such {@code code}.
+		 */
+		@Nullable
+		static final Direction valueOf(final byte code) {
+			@Nullable
+			Direction result = null;
+			for (final Direction direction : values()) {
+				if (direction.code == code) {
+					result = direction;
+					break;
+				}
+			}
+			return result;
+		}
+
+		private final byte code;
+
+		private Direction(final byte code) {
+			this.code = code;
+		}
+
+		/**
+		 * Returns a code that represents the {@link Direction} in segment files.
+		 *
+		 * @return
+		 * A code of the {@link Direction}.
+		 */
+		public final byte getCode() {
+			return code;
+		}
+	}
+
+	/**
+	 * The first {@code int} of each segment file.
+	 */
+	public static final int SEGMENT_MAGIC = 0x50494553;
+	/**
+	 * The second {@code int} of each segment file, it's incremented each time the layout is changed.
+	 */
+	public static final int SEGMENT_VERSION = 1;
+	static final int SEGMENT_HEADER_BYTES = 2 * Integer.BYTES;
+	static final int RECORD_HEADER_BYTES = Integer.BYTES + 2 * Long.BYTES + Byte.BYTES;
+
+	private final long timestampNanos;
+	private final long connectionId;
+	private final Direction direction;
+	private final ByteBuffer data;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyCaptureRecord}.
+	 *
+	 * @param timestampNanos
+	 * See {@link #getTimestampNanos()}.
+	 * @param connectionId
+	 * See {@link #getConnectionId()}.
+	 * @param direction
+	 * See {@link #getDirection()}.
+	 * @param data
+	 * Recorded data. Content of this {@link ByteBuffer} between its position and limit MUST NOT be modified afterwards.
+	 */
+	TcpReverseProxyCaptureRecord(
+			final long timestampNanos, final long connectionId, final Direction direction, final ByteBuffer data) {
+		checkNotNull(direction, ARGUMENT_NULL, "third", "direction");
+		checkNotNull(data, ARGUMENT_NULL, "fourth", "data");
+		this.timestampNanos = timestampNanos;
+		this.connectionId = connectionId;
+		this.direction = direction;
+		this.data = data.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the time when the data was read.
+	 *
+	 * @return
+	 * Number of nanoseconds since the epoch. Timestamps of records made by the same {@link TcpReverseProxyCapture} are
+	 * measured with nanosecond precision, but their origin is only as accurate as {@link System#currentTimeMillis()}.
+	 */
+	public final long getTimestampNanos() {
+		return timestampNanos;
+	}
+
+	/**
+	 * Returns an identifier of the proxied connection (i.e. a pair of front-end and back-end connections) the data belongs to.
+	 *
+	 * @return
+	 * Connection id that is unique within a single {@link TcpReverseProxyCapture}.
+	 */
+	public final long getConnectionId() {
+		return connectionId;
+	}
+
+	/**
+	 * Returns {@link Direction} in which the data was transferred.
+	 *
+	 * @return
+	 * {@link Direction}.
+	 */
+	public final Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the recorded data.
+	 *
+	 * @return
+	 * A new read-only {@link ByteBuffer} that contains the data between its position and limit.
+	 */
+	public final ByteBuffer getData() {
+		return data.duplicate();
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyCaptureRecord}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyCaptureRecord}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(timestampNanos=").append(timestampNanos)
+				.append(", connectionId=").append(connectionId)
+				.append(", direction=").append(direction)
+				.append(", dataBytes=").append(data.remaining()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,114 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import java.nio.file.Path;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies where and how {@link TcpReverseProxyCapture} records data that passes through {@link TcpReverseProxyServer}.
+ * <p>
+ * Records are appended to segment files of fixed size that are pre-allocated and memory-mapped in advance.
+ * Once a segment is full, recording continues in the next segment, and the oldest segment is deleted
+ * if there are more than {@linkplain #getMaxSegments() max segments}. A record is dropped instead of waiting
+ * if the next segment isn't allocated yet.
+ */
+@Immutable
+public final class TcpReverseProxyCaptureSettings {
+	private static final TcpReverseProxyCaptureSettings UNAVAILABLE = new TcpReverseProxyCaptureSettings(null, 64 * 1024 * 1024, 16);
+
+	/**
+	 * Returns {@link TcpReverseProxyCaptureSettings} that don't allow to capture data.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyCaptureSettings} without {@linkplain #getDirectory() directory}.
+	 */
+	public static final TcpReverseProxyCaptureSettings unavailable() {
+		return UNAVAILABLE;
+	}
+
+	@Nullable
+	private final Path directory;
+	private final int segmentSizeBytes;
+	private final int maxSegments;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyCaptureSettings}.
+	 *
+	 * @param directory
+	 * Directory where segment files are created. If this argument is {@code null} then data can't be captured.
+	 * @param segmentSizeBytes
+	 * Size of a segment file in bytes. A record that is bigger than a segment is dropped.
+	 * This argument MUST NOT be less than {@code 4096}.
+	 * @param maxSegments
+	 * Maximum number of segment files kept in the {@code directory}, including the one being written to and the one
+	 * allocated in advance. This argument MUST NOT be less than {@code 2}.
+	 */
+	public TcpReverseProxyCaptureSettings(@Nullable final Path directory, final int segmentSizeBytes, final int maxSegments) {
+		checkArgument(segmentSizeBytes >= 4096, ARGUMENT_ILLEGAL, segmentSizeBytes, "second", "segmentSizeBytes",
+				"Expected value must not be less than 4096");
+		checkArgument(maxSegments >= 2, ARGUMENT_ILLEGAL, maxSegments, "third", "maxSegments",
+				"Expected value must not be less than 2");
+		this.directory = directory;
+		this.segmentSizeBytes = segmentSizeBytes;
+		this.maxSegments = maxSegments;
+	}
+
+	/**
+	 * Specifies if data can be captured.
+	 *
+	 * @return
+	 * {@code true} if {@link #getDirectory()} isn't {@code null}, {@code false} otherwise.
+	 */
+	public final boolean isAvailable() {
+		return directory != null;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyCaptureSettings(Path, int, int)}.
+	 *
+	 * @return
+	 * Directory of segment files, or {@code null}.
+	 */
+	@Nullable
+	public final Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyCaptureSettings(Path, int, int)}.
+	 *
+	 * @return
+	 * Size of a segment file in bytes.
+	 */
+	public final int getSegmentSizeBytes() {
+		return segmentSizeBytes;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyCaptureSettings(Path, int, int)}.
+	 *
+	 * @return
+	 * Maximum number of segment files.
+	 */
+	public final int getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyCaptureSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyCaptureSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(directory=").append(directory)
+				.append(", segmentSizeBytes=").append(segmentSizeBytes)
+				.append(", maxSegments=").append(maxSegments).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,197 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import io.netty.channel.Channel;
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Describes a proxied connection, i.e. a front-end {@link Channel} and a back-end {@link Channel} it's forwarded to,
+ * while the front-end {@link Channel} is active (see {@link TcpReverseProxyConnections}).
+ * <p>
+ * Counters are updated from the {@link io.netty.channel.EventLoop}s of the front-end and back-end {@link Channel}s
+ * and MAY be observed concurrently without any locking, hence values returned by different methods
+ * MAY be mutually inconsistent.
+ */
+@ThreadSafe
+public final class TcpReverseProxyConnection {
+	private final long id;
+	private final Channel feChannel;
+	private final long createdNanos;
+	private final LongAdder feToBeBytes;
+	private final LongAdder beToFeBytes;
+	private volatile long lastActivityNanos;
+	@Nullable
+	private volatile TcpReverseProxyBackEnd backEnd;
+	@Nullable
+	private volatile Channel beChannel;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyConnection}.
+	 *
+	 * @param id
+	 * {@linkplain TcpReverseProxyCapture#nextConnectionId() Connection id}.
+	 * @param feChannel
+	 * Front-end {@link Channel}.
+	 */
+	TcpReverseProxyConnection(final long id, final Channel feChannel) {
+		checkNotNull(feChannel, ARGUMENT_NULL_SINGLE, "feChannel");
+		this.id = id;
+		this.feChannel = feChannel;
+		createdNanos = System.nanoTime();
+		feToBeBytes = new LongAdder();
+		beToFeBytes = new LongAdder();
+		lastActivityNanos = createdNanos;
+		backEnd = null;
+		beChannel = null;
+	}
+
+	/**
+	 * Returns id of the {@link TcpReverseProxyConnection}, which is the same as
+	 * {@link TcpReverseProxyCaptureRecord#getConnectionId()} of data that passes through it.
+	 * Ids are positive and grow monotonically, so a newer {@link TcpReverseProxyConnection} has a greater id.
+	 *
+	 * @return
+	 * Id of the {@link TcpReverseProxyConnection}.
+	 */
+	public final long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns address of the client.
+	 *
+	 * @return
+	 * Remote address of the front-end {@link Channel}, or {@code null} if it's unknown.
+	 */
+	@Nullable
+	public final SocketAddress getFrontEndAddress() {
+		return feChannel.remoteAddress();
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyBackEnd} chosen for the {@link TcpReverseProxyConnection}.
+	 * The {@link TcpReverseProxyBackEnd} MAY change while connecting to a back-end is being retried.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyBackEnd}, or {@code null} if it isn't chosen yet, e.g. because the front-end {@link Channel}
+	 * waits for a free slot.
+	 */
+	@Nullable
+	public final TcpReverseProxyBackEnd getBackEnd() {
+		return backEnd;
+	}
+
+	/**
+	 * Returns amount of time since the front-end {@link Channel} was accepted.
+	 *
+	 * @return
+	 * Age of the {@link TcpReverseProxyConnection} in milliseconds.
+	 */
+	public final long getAgeMillis() {
+		return NANOSECONDS.toMillis(System.nanoTime() - createdNanos);
+	}
+
+	/**
+	 * Returns amount of time since data was last read from either the front-end or the back-end {@link Channel}.
+	 *
+	 * @return
+	 * Idle time of the {@link TcpReverseProxyConnection} in milliseconds.
+	 */
+	public final long getIdleMillis() {
+		return NANOSECONDS.toMillis(System.nanoTime() - lastActivityNanos);
+	}
+
+	/**
+	 * Returns number of bytes read from the front-end {@link Channel} in order to be written to the back-end {@link Channel}.
+	 *
+	 * @return
+	 * Number of bytes.
+	 */
+	public final long getFrontEndToBackEndBytes() {
+		return feToBeBytes.sum();
+	}
+
+	/**
+	 * Returns number of bytes read from the back-end {@link Channel} in order to be written to the front-end {@link Channel}.
+	 *
+	 * @return
+	 * Number of bytes.
+	 */
+	public final long getBackEndToFrontEndBytes() {
+		return beToFeBytes.sum();
+	}
+
+	/**
+	 * See {@link Channel#isWritable()}.
+	 *
+	 * @return
+	 * {@code true} if the front-end {@link Channel} is writable.
+	 */
+	public final boolean isFrontEndWritable() {
+		return feChannel.isWritable();
+	}
+
+	/**
+	 * See {@link Channel#isWritable()}.
+	 *
+	 * @return
+	 * {@code true} if the back-end {@link Channel} exists and is writable.
+	 */
+	public final boolean isBackEndWritable() {
+		@Nullable
+		final Channel beChannel = this.beChannel;
+		return beChannel != null && beChannel.isWritable();
+	}
+
+	/**
+	 * Specifies the {@code backEnd} that is chosen for the {@link TcpReverseProxyConnection}
+	 * and the {@code beChannel} that is connected, or is being connected, to it.
+	 * The {@code beChannel} MAY be shared with other {@link TcpReverseProxyConnection}s
+	 * (see {@link TcpReverseProxyMultiplexingSettings}).
+	 */
+	final void setBackEnd(final TcpReverseProxyBackEnd backEnd, final Channel beChannel) {
+		this.backEnd = backEnd;
+		this.beChannel = beChannel;
+	}
+
+	/**
+	 * Registers {@code bytes} read from the front-end {@link Channel}.
+	 * This method MUST be called from the {@link io.netty.channel.EventLoop} of the front-end {@link Channel}.
+	 */
+	final void frontEndToBackEnd(final int bytes) {
+		feToBeBytes.add(bytes);
+		lastActivityNanos = System.nanoTime();
+	}
+
+	/**
+	 * Registers {@code bytes} read from the back-end {@link Channel}.
+	 * This method MUST be called from the {@link io.netty.channel.EventLoop} of the back-end {@link Channel}.
+	 */
+	final void backEndToFrontEnd(final int bytes) {
+		beToFeBytes.add(bytes);
+		lastActivityNanos = System.nanoTime();
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyConnection}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyConnection}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(id=").append(id)
+				.append(", feChannel=").append(feChannel)
+				.append(", backEnd=").append(backEnd)
+				.append(", feToBeBytes=").append(feToBeBytes.sum())
+				.append(", beToFeBytes=").append(beToFeBytes.sum()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,104 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL_SINGLE;
+import static com.google.common.base.Preconditions.checkArgument;
+import com.google.common.collect.ImmutableList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A table of active {@link TcpReverseProxyConnection}s of a {@link TcpReverseProxyServer}.
+ * <p>
+ * {@link TcpReverseProxyConnection}s are ordered by {@linkplain TcpReverseProxyConnection#getId() id} in a lock-free
+ * {@link ConcurrentSkipListMap}, so that registering a connection never blocks event loops,
+ * and the table MAY be read page by page via {@link #page(long, int)} without copying it as a whole.
+ * Pages are weakly consistent: a {@link TcpReverseProxyConnection} that is registered or unregistered while a page
+ * is being read MAY or MAY NOT be in the page.
+ */
+@ThreadSafe
+public final class TcpReverseProxyConnections {
+	private final ConcurrentNavigableMap<Long, TcpReverseProxyConnection> connections;
+	private final LongAdder size;
+
+	TcpReverseProxyConnections() {
+		connections = new ConcurrentSkipListMap<>();
+		size = new LongAdder();
+	}
+
+	final void add(final TcpReverseProxyConnection connection) {
+		if (connections.putIfAbsent(Long.valueOf(connection.getId()), connection) == null) {
+			size.increment();
+		}
+	}
+
+	final void remove(final TcpReverseProxyConnection connection) {
+		if (connections.remove(Long.valueOf(connection.getId()), connection)) {
+			size.decrement();
+		}
+	}
+
+	/**
+	 * Returns number of active {@link TcpReverseProxyConnection}s.
+	 * Unlike {@link ConcurrentSkipListMap#size()}, this method takes constant time.
+	 *
+	 * @return
+	 * Number of {@link TcpReverseProxyConnection}s.
+	 */
+	public final long size() {
+		return size.sum();
+	}
+
+	/**
+	 * Returns an active {@link TcpReverseProxyConnection}.
+	 *
+	 * @param id
+	 * {@linkplain TcpReverseProxyConnection#getId() Id} of a {@link TcpReverseProxyConnection}.
+	 * @return
+	 * {@link TcpReverseProxyConnection}, or {@code null} if there is no active {@link TcpReverseProxyConnection}
+	 * with the specified {@code id}.
+	 */
+	@Nullable
+	public final TcpReverseProxyConnection get(final long id) {
+		return connections.get(Long.valueOf(id));
+	}
+
+	/**
+	 * Returns up to {@code limit} active {@link TcpReverseProxyConnection}s with ids greater than {@code afterId}
+	 * in the ascending order of ids. In order to read the next page specify {@linkplain TcpReverseProxyConnection#getId() id}
+	 * of the last {@link TcpReverseProxyConnection} of the current page as {@code afterId}.
+	 *
+	 * @param afterId
+	 * All returned {@link TcpReverseProxyConnection}s have greater ids. Ids are positive, so specify {@code 0} to read the first page.
+	 * @param limit
+	 * Maximal number of returned {@link TcpReverseProxyConnection}s. This argument MUST be positive.
+	 * @return
+	 * A page of {@link TcpReverseProxyConnection}s, which is empty if there are no more {@link TcpReverseProxyConnection}s.
+	 */
+	public final ImmutableList<TcpReverseProxyConnection> page(final long afterId, final int limit) {
+		checkArgument(limit > 0, ARGUMENT_ILLEGAL_SINGLE, limit, "limit", "Expected value must be positive");
+		final ImmutableList.Builder<TcpReverseProxyConnection> resultBuilder = ImmutableList.builder();
+		final Iterator<TcpReverseProxyConnection> iterator = connections.tailMap(Long.valueOf(afterId), false).values().iterator();
+		for (int i = 0; i < limit && iterator.hasNext(); i++) {
+			resultBuilder.add(iterator.next());
+		}
+		return resultBuilder.build();
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyConnections}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyConnections}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(size=").append(size.sum()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,164 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} forwards data between front-end and back-end {@link Channel}s.
+ * <p>
+ * Data is read from a {@link Channel} only while the opposite {@link Channel} is {@linkplain Channel#isWritable() writable}.
+ * A {@link Channel} stops being writable once the number of bytes queued for writing exceeds
+ * {@linkplain #getWriteBufferHighWaterMark() high water mark}, and becomes writable again once this number drops below
+ * {@linkplain #getWriteBufferLowWaterMark() low water mark}. Hence the amount of memory consumed by data queued
+ * in a single direction of a proxied connection is limited by approximately high water mark plus size of a single read.
+ * <p>
+ * If {@linkplain #isPooledDirectBuffers() pooled direct buffers} are used, data read from a socket is placed directly
+ * into reusable off-heap memory and is written to the opposite socket from the same memory,
+ * i.e. data is copied exactly once between kernel and user space in each direction and no memory is allocated per read.
+ * Otherwise Netty's default unpooled allocator is used.
+ * <p>
+ * If {@linkplain #isEventLoopAffinity() event loop affinity} is enabled, a back-end {@link Channel} is registered with
+ * the same {@link EventLoop} as the front-end {@link Channel} it's paired with, hence all events of a proxied connection
+ * are processed by a single thread and forwarding doesn't involve submitting tasks to another thread.
+ * Otherwise a back-end {@link Channel} is registered with the next {@link EventLoop} of the worker {@link EventLoopGroup}.
+ * Pre-connected back-end {@link Channel}s (see {@link TcpReverseProxyBackEndPoolSettings}) always have such affinity.
+ */
+@Immutable
+public final class TcpReverseProxyForwardingSettings {
+	private static final TcpReverseProxyForwardingSettings DEFAULT
+			= new TcpReverseProxyForwardingSettings(32 * 1024, 64 * 1024, false, false);
+	private static final ByteBufAllocator POOLED_DIRECT_ALLOCATOR = new PooledByteBufAllocator(true);
+
+	/**
+	 * Returns {@link TcpReverseProxyForwardingSettings} with the default water marks that are the same as Netty uses,
+	 * with Netty's default allocator and without event loop affinity.
+	 *
+	 * @return
+	 * Default {@link TcpReverseProxyForwardingSettings}.
+	 */
+	public static final TcpReverseProxyForwardingSettings defaults() {
+		return DEFAULT;
+	}
+
+	private final int writeBufferLowWaterMark;
+	private final int writeBufferHighWaterMark;
+	private final boolean pooledDirectBuffers;
+	private final boolean eventLoopAffinity;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyForwardingSettings}.
+	 *
+	 * @param writeBufferLowWaterMark
+	 * Number of bytes queued for writing to a {@link Channel} below which the {@link Channel} becomes writable again.
+	 * This argument MUST be positive and MUST NOT be greater than {@code writeBufferHighWaterMark}.
+	 * @param writeBufferHighWaterMark
+	 * Number of bytes queued for writing to a {@link Channel} above which the {@link Channel} stops being writable.
+	 * This argument MUST be positive.
+	 * @param pooledDirectBuffers
+	 * Specifies if data is forwarded via pooled direct {@link ByteBuf}s.
+	 * @param eventLoopAffinity
+	 * Specifies if a back-end {@link Channel} is registered with the {@link EventLoop} of its front-end {@link Channel}.
+	 */
+	public TcpReverseProxyForwardingSettings(
+			final int writeBufferLowWaterMark,
+			final int writeBufferHighWaterMark,
+			final boolean pooledDirectBuffers,
+			final boolean eventLoopAffinity) {
+		checkArgument(writeBufferHighWaterMark > 0, ARGUMENT_ILLEGAL, writeBufferHighWaterMark,
+				"second", "writeBufferHighWaterMark", "Expected value must be positive");
+		checkArgument(writeBufferLowWaterMark > 0 && writeBufferLowWaterMark <= writeBufferHighWaterMark,
+				ARGUMENT_ILLEGAL, writeBufferLowWaterMark, "first", "writeBufferLowWaterMark",
+				"Expected value must be positive and must not be greater than writeBufferHighWaterMark");
+		this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+		this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+		this.pooledDirectBuffers = pooledDirectBuffers;
+		this.eventLoopAffinity = eventLoopAffinity;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyForwardingSettings(int, int, boolean, boolean)}.
+	 *
+	 * @return
+	 * Low water mark in bytes.
+	 */
+	public final int getWriteBufferLowWaterMark() {
+		return writeBufferLowWaterMark;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyForwardingSettings(int, int, boolean, boolean)}.
+	 *
+	 * @return
+	 * High water mark in bytes.
+	 */
+	public final int getWriteBufferHighWaterMark() {
+		return writeBufferHighWaterMark;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyForwardingSettings(int, int, boolean, boolean)}.
+	 *
+	 * @return
+	 * {@code true} if data is forwarded via pooled direct {@link ByteBuf}s, {@code false} otherwise.
+	 */
+	public final boolean isPooledDirectBuffers() {
+		return pooledDirectBuffers;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyForwardingSettings(int, int, boolean, boolean)}.
+	 *
+	 * @return
+	 * {@code true} if a back-end {@link Channel} is registered with the {@link EventLoop} of its front-end {@link Channel},
+	 * {@code false} otherwise.
+	 */
+	public final boolean isEventLoopAffinity() {
+		return eventLoopAffinity;
+	}
+
+	/**
+	 * Applies the {@link TcpReverseProxyForwardingSettings} to the {@code config}.
+	 * Water marks are set in such an order that low water mark never exceeds high water mark,
+	 * because otherwise {@link ChannelConfig} refuses to accept the new value.
+	 *
+	 * @param config
+	 * {@link ChannelConfig} to modify.
+	 */
+	final void apply(final ChannelConfig config) {
+		if (pooledDirectBuffers) {
+			config.setAllocator(POOLED_DIRECT_ALLOCATOR);
+		}
+		if (writeBufferLowWaterMark > config.getWriteBufferHighWaterMark()) {
+			config.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
+			config.setWriteBufferLowWaterMark(writeBufferLowWaterMark);
+		} else {
+			config.setWriteBufferLowWaterMark(writeBufferLowWaterMark);
+			config.setWriteBufferHighWaterMark(writeBufferHighWaterMark);
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyForwardingSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyForwardingSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(writeBufferLowWaterMark=").append(writeBufferLowWaterMark)
+				.append(", writeBufferHighWaterMark=").append(writeBufferHighWaterMark)
+				.append(", pooledDirectBuffers=").append(pooledDirectBuffers)
+				.append(", eventLoopAffinity=").append(eventLoopAffinity).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -4,10 +4,15 @@ import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
 import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import com.gl.vn.me.ko.pies.base.constant.Message;
 import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
 import com.gl.vn.me.ko.pies.base.throwable.TimeoutException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import com.google.common.collect.ImmutableSet;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -16,96 +21,452 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.ConnectTimeoutException;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
 import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Handles events on front-end {@link Channel}s.
+ * <p>
+ * If connecting to a back-end fails, connecting is retried, preferably to another healthy back-end,
+ * until either a connection is established or the connect timeout that bounds all attempts for a front-end {@link Channel}
+ * expires. Retries are scheduled on the {@link EventLoop} of the front-end {@link Channel} and never block it.
+ * No data is lost during retries because nothing is read from a front-end {@link Channel} until it's paired with
+ * a connected back-end {@link Channel}.
+ * <p>
+ * If {@linkplain TcpReverseProxyAdmissionSettings admission control} is enabled and all back-ends are at capacity,
+ * a front-end {@link Channel} waits in the queue of {@link TcpReverseProxyBackEndGroup} before a back-end is chosen for it.
+ * <p>
+ * If {@linkplain TcpReverseProxyMirrorSettings mirroring} is enabled, data read from a sampled front-end {@link Channel}
+ * is additionally passed to a {@link TcpReverseProxyMirror}, which never slows down forwarding to the back-end.
+ * <p>
+ * {@link TcpReverseProxyBandwidthLimits} are enforced by {@link TcpReverseProxyTrafficShaper}s, which delay reading
+ * from the front-end and back-end {@link Channel}s.
+ * <p>
+ * If {@linkplain TcpReverseProxyMultiplexingSettings multiplexing} is enabled, the front-end {@link Channel} uses a shared
+ * back-end {@link Channel} provided by {@link TcpReverseProxyMultiplexer} instead of its own one. Reading from the front-end
+ * {@link Channel} is suspended while either the shared back-end {@link Channel} or the front-end {@link Channel} itself
+ * isn't writable, so a client that doesn't read responses doesn't make the proxy accumulate them.
+ * <p>
+ * While the front-end {@link Channel} is active, it's described by a {@link TcpReverseProxyConnection}
+ * registered in {@link TcpReverseProxyConnections}.
  */
 final class TcpReverseProxyFrontEndChannelHandler extends ChannelHandlerAdapter {
 	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyFrontEndChannelHandler.class);
+	/**
+	 * Delay before retrying to connect once all back-ends were tried,
+	 * which prevents spinning when back-ends refuse connections immediately.
+	 */
+	private static final long RETRY_DELAY_MILLIS = 50;
 
-	private final InetSocketAddress beAddress;
+	private final TcpReverseProxyBackEndGroup beGroup;
 	private final int connectTimeoutMillis;
 	private final EventLoopGroup workerEventLoopGroup;
+	private final TcpReverseProxyForwardingSettings forwardingSettings;
+	private final TcpReverseProxyIdleSettings idleSettings;
+	private final TcpReverseProxyMirrorSettings mirrorSettings;
+	private final TcpReverseProxyStats stats;
+	private final TcpReverseProxyCapture capture;
+	private final long connectionId;
+	private final TcpReverseProxyTrafficShaper feShaper;
+	private final TcpReverseProxyTrafficShaper beShaper;
+	private final TcpReverseProxyMultiplexer multiplexer;
+	private final TcpReverseProxyConnections connections;
+	@Nullable
+	private TcpReverseProxyConnection connection;
+	@Nullable
+	private TcpReverseProxyBackEnd backEnd;
 	@Nullable
 	private Channel beChannel;
+	private long acceptedNanos;
+	private long connectDeadlineNanos;
+	@Nullable
+	private Set<TcpReverseProxyBackEnd> triedBackEnds;
+	@Nullable
+	private Runnable waiter;
+	@Nullable
+	private ScheduledFuture<?> queueTimeout;
+	@Nullable
+	private TcpReverseProxyMirror mirror;
+	@Nullable
+	private TcpReverseProxyMultiplexedChannelHandler lane;
 
 	/**
 	 * Constructs a new instance of {@link TcpReverseProxyFrontEndChannelHandler}.
 	 *
-	 * @param beAddress
-	 * Back-end {@link InetSocketAddress}.
+	 * @param beGroup
+	 * {@link TcpReverseProxyBackEndGroup} a back-end is chosen from. A back-end is chosen once per front-end {@link Channel}.
+	 * A pre-connected back-end {@link Channel} is used if the corresponding {@link TcpReverseProxyBackEndPool} can provide one,
+	 * otherwise a new back-end {@link Channel} is connected.
 	 * @param connectTimeoutMillis
-	 * Amount of time in milliseconds to wait for connecting to the {@code beAddress}.
+	 * Amount of time in milliseconds to wait for connecting to a back-end, including all retries.
 	 * This argument MUST be positive.
 	 * @param workerEventLoopGroup
-	 * {@Link EventLoopGroup} to use to process events on back-end {@link Channel}s.
+	 * {@Link EventLoopGroup} to use to process events on back-end {@link Channel}s
+	 * unless {@link TcpReverseProxyForwardingSettings#isEventLoopAffinity() event loop affinity} is enabled.
+	 * @param forwardingSettings
+	 * {@link TcpReverseProxyForwardingSettings} that are applied to back-end {@link Channel}s.
+	 * @param idleSettings
+	 * {@link TcpReverseProxyIdleSettings} that are applied to back-end {@link Channel}s.
+	 * @param mirrorSettings
+	 * {@link TcpReverseProxyMirrorSettings} that specify if the front-end {@link Channel} is mirrored.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} of the {@link TcpReverseProxyServer}.
+	 * @param capture
+	 * {@link TcpReverseProxyCapture} that records data read from the front-end and back-end {@link Channel}s.
+	 * @param bandwidthLimits
+	 * {@link TcpReverseProxyBandwidthLimits} that are enforced for the front-end and back-end {@link Channel}s.
+	 * @param multiplexer
+	 * {@link TcpReverseProxyMultiplexer} that provides a shared back-end {@link Channel} if multiplexing is enabled.
+	 * @param connections
+	 * {@link TcpReverseProxyConnections} where the front-end {@link Channel} is registered while it's active.
 	 */
 	TcpReverseProxyFrontEndChannelHandler(
-			final InetSocketAddress beAddress, final int connectTimeoutMillis, final EventLoopGroup workerEventLoopGroup) {
-		checkNotNull(beAddress, ARGUMENT_NULL, "first", "beAddress");
+			final TcpReverseProxyBackEndGroup beGroup,
+			final int connectTimeoutMillis,
+			final EventLoopGroup workerEventLoopGroup,
+			final TcpReverseProxyForwardingSettings forwardingSettings,
+			final TcpReverseProxyIdleSettings idleSettings,
+			final TcpReverseProxyMirrorSettings mirrorSettings,
+			final TcpReverseProxyStats stats,
+			final TcpReverseProxyCapture capture,
+			final TcpReverseProxyBandwidthLimits bandwidthLimits,
+			final TcpReverseProxyMultiplexer multiplexer,
+			final TcpReverseProxyConnections connections) {
+		checkNotNull(beGroup, ARGUMENT_NULL, "first", "beGroup");
 		checkArgument(connectTimeoutMillis > 0, ARGUMENT_ILLEGAL, connectTimeoutMillis,
 				"second", "connectTimeoutMillis", "Expected value must be positive");
 		checkNotNull(workerEventLoopGroup, ARGUMENT_NULL, "third", "workerEventLoopGroup");
-		this.beAddress = beAddress;
+		checkNotNull(forwardingSettings, ARGUMENT_NULL, "fourth", "forwardingSettings");
+		checkNotNull(idleSettings, ARGUMENT_NULL, "fifth", "idleSettings");
+		checkNotNull(mirrorSettings, ARGUMENT_NULL, "sixth", "mirrorSettings");
+		checkNotNull(stats, ARGUMENT_NULL, "seventh", "stats");
+		checkNotNull(capture, ARGUMENT_NULL, "eighth", "capture");
+		checkNotNull(bandwidthLimits, ARGUMENT_NULL, "ninth", "bandwidthLimits");
+		checkNotNull(multiplexer, ARGUMENT_NULL, "tenth", "multiplexer");
+		checkNotNull(connections, ARGUMENT_NULL, "eleventh", "connections");
+		this.beGroup = beGroup;
 		this.connectTimeoutMillis = connectTimeoutMillis;
 		this.workerEventLoopGroup = workerEventLoopGroup;
+		this.forwardingSettings = forwardingSettings;
+		this.idleSettings = idleSettings;
+		this.mirrorSettings = mirrorSettings;
+		this.stats = stats;
+		this.capture = capture;
+		connectionId = capture.nextConnectionId();
+		feShaper = new TcpReverseProxyTrafficShaper(bandwidthLimits, true, stats);
+		beShaper = new TcpReverseProxyTrafficShaper(bandwidthLimits, false, stats);
+		this.multiplexer = multiplexer;
+		this.connections = connections;
+		connection = null;
+		acceptedNanos = 0;
+		connectDeadlineNanos = 0;
+		triedBackEnds = null;
+		waiter = null;
+		queueTimeout = null;
+		mirror = null;
+		lane = null;
 	}
 
 	@Override
 	public final void channelActive(final ChannelHandlerContext ctx) {
 		final Channel feChannel = ctx.channel();
-		final Bootstrap beBootstrap = new Bootstrap().group(workerEventLoopGroup)
+		acceptedNanos = System.nanoTime();
+		connection = new TcpReverseProxyConnection(connectionId, feChannel);
+		connections.add(connection);
+		if (!beGroup.hasWaiters()) {
+			backEnd = beGroup.tryAcquire(ImmutableSet.of());
+		}
+		if (backEnd != null) {
+			admit(feChannel, backEnd);
+		} else {
+			await(feChannel);
+		}
+	}
+
+	private final void await(final Channel feChannel) {
+		final Runnable waiter = () -> feChannel.eventLoop().execute(() -> wakeUp(feChannel));
+		if (beGroup.enqueue(waiter)) {
+			this.waiter = waiter;
+			LOGGER.debug("Front-end {} waits for a back-end", feChannel);
+			queueTimeout = feChannel.eventLoop().schedule(() -> {
+				if (this.waiter != null) {
+					this.waiter = null;
+					beGroup.dequeue(waiter);//if the waiter isn't in the queue then wakeUp(Channel) will pass the wake-up on
+					stats.queueTimeoutRejection();
+					LOGGER.debug("Front-end {} has been waiting for a back-end for too long and will be closed", feChannel);
+					feChannel.close();
+				}
+			}, beGroup.getQueueTimeoutMillis(), MILLISECONDS);
+		} else {
+			stats.queueFullRejection();
+			LOGGER.debug("Front-end {} will be closed because too many front-ends wait for a back-end", feChannel);
+			feChannel.close();
+		}
+	}
+
+	private final void wakeUp(final Channel feChannel) {
+		@Nullable
+		final Runnable waiter = this.waiter;
+		if (waiter == null) {//front-end was closed or has been waiting for too long
+			beGroup.wakeUpNext();
+		} else {
+			backEnd = beGroup.tryAcquire(ImmutableSet.of());
+			if (backEnd != null) {
+				this.waiter = null;
+				if (queueTimeout != null) {
+					queueTimeout.cancel(false);
+				}
+				admit(feChannel, backEnd);
+			} else {//another front-end took the slot
+				beGroup.requeue(waiter);
+			}
+		}
+	}
+
+	private final void admit(final Channel feChannel, final TcpReverseProxyBackEnd backEnd) {
+		connectDeadlineNanos = System.nanoTime() + MILLISECONDS.toNanos(connectTimeoutMillis);
+		LOGGER.debug("Back-end {} was chosen for front-end {}", backEnd, feChannel);
+		if (TcpReverseProxyMirror.sample(mirrorSettings)) {
+			mirror = new TcpReverseProxyMirror(feChannel, mirrorSettings, stats);
+			mirror.start(connectTimeoutMillis);
+			LOGGER.debug("Front-end {} is mirrored", feChannel);
+		}
+		if (multiplexer.isEnabled()) {//shared back-end channels aren't pooled
+			connect(feChannel, backEnd);
+			return;
+		}
+		@Nullable
+		final TcpReverseProxyBackEndPool pool = beGroup.getPool(backEnd);
+		@Nullable
+		final Channel pooledBeChannel = pool == null ? null : pool.poll(feChannel.eventLoop(), newBeChannelHandler(feChannel));
+		if (pooledBeChannel != null) {
+			beChannel = pooledBeChannel;
+			connection.setBackEnd(backEnd, beChannel);
+			LOGGER.debug("A pooled back-end channel {} was associated with front-end {}", beChannel, feChannel);
+			startReading(feChannel);
+		} else {//either there are no idle channels or all of them were closed by the back-end
+			connect(feChannel, backEnd);
+		}
+	}
+
+	private final void connect(final Channel feChannel, final TcpReverseProxyBackEnd backEnd) {
+		final InetSocketAddress beAddress = backEnd.getAddress();
+		final long remainingMillis = NANOSECONDS.toMillis(connectDeadlineNanos - System.nanoTime());
+		if (multiplexer.isEnabled()) {
+			connectShared(feChannel, backEnd, (int)Math.max(1, remainingMillis));
+			return;
+		}
+		final EventLoopGroup beEventLoopGroup
+				= forwardingSettings.isEventLoopAffinity() ? feChannel.eventLoop() : workerEventLoopGroup;
+		final Bootstrap beBootstrap = new Bootstrap().group(beEventLoopGroup)
 				.channel(NioSocketChannel.class)
 				.option(ChannelOption.SO_KEEPALIVE, true)
-				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
-				.handler(new TcpReverseProxyBackEndChannelHandler(feChannel));
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)Math.max(1, remainingMillis))
+				.handler(newBeChannelHandler(feChannel));
+		final long connectStartNanos = System.nanoTime();
 		final ChannelFuture beConnectFuture = beBootstrap.connect(beAddress);
 		beChannel = beConnectFuture.channel();
+		connection.setBackEnd(backEnd, beChannel);
 		LOGGER.debug("A new back-end channel {} was created and was associated with front-end {}", beChannel, feChannel);
 		beConnectFuture.addListener((final ChannelFuture future) -> {
+			stats.getBackEndConnectLatency().record(System.nanoTime() - connectStartNanos);
 			if (future.isSuccess()) {
-				LOGGER.debug("Back-end {} was connected", beChannel);
-				feChannel.read();
+				LOGGER.debug("Back-end {} was connected", future.channel());
+				beGroup.reportSuccess(backEnd);
+				startReading(feChannel);
 			} else {
-				feChannel.close();
-				final Throwable cause = future.cause();
-				final String internalMsg = Message.format("Can't connect to back-end %s", beAddress);
-				if (cause instanceof ConnectTimeoutException) {
-					throw new TimeoutException(internalMsg, cause, "TCP connect timeout");
-				} else {
-					throw new ApplicationException(internalMsg, cause);
+				beGroup.reportFailure(backEnd);
+				feChannel.eventLoop().execute(() -> retry(feChannel, backEnd, future.cause()));
+			}
+		});
+	}
+
+	private final void connectShared(final Channel feChannel, final TcpReverseProxyBackEnd backEnd, final int connectTimeoutMillis) {
+		final TcpReverseProxyMultiplexedChannelHandler lane
+				= multiplexer.acquire(backEnd, feChannel.eventLoop(), connectTimeoutMillis);
+		lane.getConnectFuture().addListener((final ChannelFuture future) -> {
+			if (future.isSuccess()) {
+				beGroup.reportSuccess(backEnd);
+				if (feChannel.isActive()) {
+					this.lane = lane;
+					connection.setBackEnd(backEnd, lane.channel());
+					LOGGER.debug("A shared back-end channel {} was associated with front-end {}", future.channel(), feChannel);
+					lane.attach(feChannel, () -> resumeReadingShared(feChannel));
+					startReading(feChannel);
 				}
+			} else {
+				beGroup.reportFailure(backEnd);
+				feChannel.eventLoop().execute(() -> retry(feChannel, backEnd, future.cause()));
 			}
 		});
 	}
 
+	private final void resumeReadingShared(final Channel feChannel) {
+		if (feChannel.isWritable() && lane.channel().isWritable()) {
+			feShaper.resumeReading(feChannel);
+		}
+	}
+
+	/**
+	 * Chooses the next back-end and connects to it if the connect timeout hasn't expired yet, closes {@code feChannel} otherwise.
+	 * This method MUST be called from the {@link EventLoop} of the {@code feChannel},
+	 * hence it never races with {@link #channelInactive(ChannelHandlerContext)}.
+	 */
+	private final void retry(final Channel feChannel, final TcpReverseProxyBackEnd failedBackEnd, final Throwable cause) {
+		if (!feChannel.isActive()) {
+			LOGGER.debug("Connecting for front-end {} was abandoned because it isn't active", feChannel);
+			return;
+		}
+		final long remainingMillis = NANOSECONDS.toMillis(connectDeadlineNanos - System.nanoTime());
+		if (remainingMillis <= 0) {
+			feChannel.close();
+			final String internalMsg = Message.format("Can't connect to back-end %s", failedBackEnd.getAddress());
+			if (cause instanceof ConnectTimeoutException) {
+				throw new TimeoutException(internalMsg, cause, "TCP connect timeout");
+			} else {
+				throw new ApplicationException(internalMsg, cause);
+			}
+		}
+		LOGGER.debug("Can't connect to back-end {} for front-end {}, will retry: {}", failedBackEnd, feChannel, cause);
+		if (triedBackEnds == null) {
+			triedBackEnds = new HashSet<>();
+		}
+		triedBackEnds.add(failedBackEnd);
+		@Nullable
+		final TcpReverseProxyBackEnd acquiredBackEnd = beGroup.tryAcquire(triedBackEnds);
+		final TcpReverseProxyBackEnd nextBackEnd;
+		if (acquiredBackEnd != null) {
+			beGroup.release(failedBackEnd);
+			nextBackEnd = acquiredBackEnd;
+		} else {//all other back-ends are at capacity, keep the slot of the failed back-end and retry it
+			nextBackEnd = failedBackEnd;
+		}
+		backEnd = nextBackEnd;
+		if (triedBackEnds.contains(nextBackEnd)) {//all back-ends were tried, start over but don't spin
+			triedBackEnds.clear();
+			feChannel.eventLoop().schedule(() -> {
+				if (feChannel.isActive()) {
+					connect(feChannel, nextBackEnd);
+				}
+			}, Math.min(RETRY_DELAY_MILLIS, remainingMillis), MILLISECONDS);
+		} else {
+			connect(feChannel, nextBackEnd);
+		}
+	}
+
+	private final TcpReverseProxyBackEndChannelHandler newBeChannelHandler(final Channel feChannel) {
+		return new TcpReverseProxyBackEndChannelHandler(
+				feChannel, forwardingSettings, idleSettings, stats, capture, connection, feShaper, beShaper);
+	}
+
+	/**
+	 * Front-end {@link Channel}s are accepted with {@link ChannelOption#AUTO_READ} disabled,
+	 * so that no data is read before a back-end {@link Channel} is ready to accept it.
+	 */
+	private final void startReading(final Channel feChannel) {
+		stats.getFrontEndReadyLatency().record(System.nanoTime() - acceptedNanos);
+		feChannel.config().setAutoRead(true);
+	}
+
 	@Override
 	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
 		final Channel feChannel = ctx.channel();
-		if (beChannel.isActive()) {//can't be null because feChannel.read() is only called if beChannel successfully initialized
+		if (msg instanceof ByteBuf) {
+			connection.frontEndToBackEnd(((ByteBuf)msg).readableBytes());
+		}
+		if (lane != null) {
+			capture.record(connectionId, Direction.FRONT_END_TO_BACK_END, msg);
+			if (mirror != null) {//must be done before writing to the shared back-end channel, which releases msg
+				mirror.mirror(msg);
+			}
+			feShaper.onRead(feChannel, lane.channel(), msg);
+			lane.write(feChannel, connection, msg);
+			if (!lane.channel().isWritable() || !feChannel.isWritable()) {//stop reading until both drain their outbound buffers
+				feChannel.config().setAutoRead(false);
+			}
+		} else if (beChannel.isActive()) {//can't be null because feChannel reads only if beChannel successfully initialized
 			LOGGER.debug("Writing {} from front-end {} to back-end {}", msg, feChannel, beChannel);
-			beChannel.writeAndFlush(msg).addListener((final ChannelFuture future) -> {
+			capture.record(connectionId, Direction.FRONT_END_TO_BACK_END, msg);
+			if (mirror != null) {//must be done before writing to beChannel, which releases msg
+				mirror.mirror(msg);
+			}
+			feShaper.onRead(feChannel, beChannel, msg);
+			final long readNanos = System.nanoTime();
+			beChannel.write(msg).addListener((final ChannelFuture future) -> {
 				if (future.isSuccess()) {
-					feChannel.read();
+					stats.getFrontEndToBackEndForwardingLatency().record(System.nanoTime() - readNanos);
 				} else {
+					beGroup.reportFailure(backEnd);
 					beChannel.close();
 					throw new ApplicationException(
-							Message.format("Can't write and flush to back-end %s", beChannel), future.cause());
+							Message.format("Can't write to back-end %s", beChannel), future.cause());
 				}
 			});
+			if (!beChannel.isWritable()) {//stop reading until back-end drains its outbound buffer
+				feChannel.config().setAutoRead(false);
+				if (beChannel.isWritable()) {//back-end may have become writable concurrently
+					feShaper.resumeReading(feChannel);
+				}
+			}
 		} else {
+			ReferenceCountUtil.release(msg);
 			LOGGER.debug("Data {} from front-end {} was ignored because back-end {} isn't active", msg, feChannel, beChannel);
 		}
 	}
 
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) {
+		if (beChannel != null) {
+			beChannel.flush();
+		} else if (lane != null) {
+			lane.flush();
+		}
+		if (mirror != null) {
+			mirror.flush();
+		}
+		ctx.fireChannelReadComplete();
+	}
+
+	@Override
+	public final void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+		if (beChannel != null && ctx.channel().isWritable()) {//resume reading from back-end
+			beShaper.resumeReading(beChannel);
+		} else if (lane != null) {
+			resumeReadingShared(ctx.channel());
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
 	@Override
 	public final void channelInactive(final ChannelHandlerContext ctx) {
+		if (connection != null) {
+			connections.remove(connection);
+		}
+		if (waiter != null) {
+			beGroup.dequeue(waiter);
+			waiter = null;
+			if (queueTimeout != null) {
+				queueTimeout.cancel(false);
+			}
+		}
+		if (backEnd != null) {
+			beGroup.release(backEnd);
+		}
+		if (mirror != null) {
+			mirror.close();
+		}
+		if (lane != null) {
+			lane.detach(ctx.channel());
+		}
 		if (beChannel != null && beChannel.isActive()) {//flush beChannel and close
 			beChannel.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener((final ChannelFuture future) -> beChannel.close());
 		}
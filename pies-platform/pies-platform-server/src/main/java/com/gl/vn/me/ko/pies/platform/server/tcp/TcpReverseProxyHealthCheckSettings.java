@@ -0,0 +1,170 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} detects unhealthy {@link TcpReverseProxyBackEnd}s.
+ * <p>
+ * A {@link TcpReverseProxyBackEnd} is checked passively, i.e. by the outcome of connects and writes performed
+ * on behalf of front-ends, and MAY be checked actively, i.e. by periodic TCP connect probes.
+ * Once the number of consecutive failures reaches {@linkplain #getFailureThreshold() threshold},
+ * the {@link TcpReverseProxyBackEnd} is ejected, i.e. isn't chosen for new front-end connections
+ * unless all {@link TcpReverseProxyBackEnd}s are ejected. The ejected {@link TcpReverseProxyBackEnd} is re-admitted
+ * once the ejection period expires. The first ejection period is {@linkplain #getBaseEjectionMillis() base ejection time},
+ * each next consecutive ejection doubles it up to {@linkplain #getMaxEjectionMillis() maximum ejection time}.
+ * A successful connect to a re-admitted {@link TcpReverseProxyBackEnd} resets the ejection period to the base one.
+ */
+@Immutable
+public final class TcpReverseProxyHealthCheckSettings {
+	private static final TcpReverseProxyHealthCheckSettings DEFAULT
+			= new TcpReverseProxyHealthCheckSettings(0, 1000, 3, 1000, 60_000);
+
+	/**
+	 * Returns default {@link TcpReverseProxyHealthCheckSettings}: active probing is disabled,
+	 * probe timeout is 1s, failure threshold is 3, base ejection time is 1s and maximum ejection time is 60s.
+	 *
+	 * @return
+	 * Default {@link TcpReverseProxyHealthCheckSettings}.
+	 */
+	public static final TcpReverseProxyHealthCheckSettings defaults() {
+		return DEFAULT;
+	}
+
+	private final long probeIntervalMillis;
+	private final int probeTimeoutMillis;
+	private final int failureThreshold;
+	private final long baseEjectionMillis;
+	private final long maxEjectionMillis;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyHealthCheckSettings}.
+	 *
+	 * @param probeIntervalMillis
+	 * Amount of time in milliseconds between active probes of each {@link TcpReverseProxyBackEnd}.
+	 * This argument MUST NOT be negative. If this argument is {@code 0} then active probing is disabled.
+	 * @param probeTimeoutMillis
+	 * Amount of time in milliseconds to wait for a probe connect. This argument MUST be positive.
+	 * @param failureThreshold
+	 * Number of consecutive failures after which a {@link TcpReverseProxyBackEnd} is ejected.
+	 * This argument MUST be positive.
+	 * @param baseEjectionMillis
+	 * Duration in milliseconds of the first ejection. This argument MUST be positive.
+	 * @param maxEjectionMillis
+	 * Maximum duration in milliseconds of an ejection. This argument MUST NOT be less than {@code baseEjectionMillis}.
+	 */
+	public TcpReverseProxyHealthCheckSettings(
+			final long probeIntervalMillis,
+			final int probeTimeoutMillis,
+			final int failureThreshold,
+			final long baseEjectionMillis,
+			final long maxEjectionMillis) {
+		checkArgument(probeIntervalMillis >= 0, ARGUMENT_ILLEGAL, probeIntervalMillis, "first", "probeIntervalMillis",
+				"Expected value must not be negative");
+		checkArgument(probeTimeoutMillis > 0, ARGUMENT_ILLEGAL, probeTimeoutMillis, "second", "probeTimeoutMillis",
+				"Expected value must be positive");
+		checkArgument(failureThreshold > 0, ARGUMENT_ILLEGAL, failureThreshold, "third", "failureThreshold",
+				"Expected value must be positive");
+		checkArgument(baseEjectionMillis > 0, ARGUMENT_ILLEGAL, baseEjectionMillis, "fourth", "baseEjectionMillis",
+				"Expected value must be positive");
+		checkArgument(maxEjectionMillis >= baseEjectionMillis, ARGUMENT_ILLEGAL, maxEjectionMillis, "fifth", "maxEjectionMillis",
+				"Expected value must not be less than baseEjectionMillis");
+		this.probeIntervalMillis = probeIntervalMillis;
+		this.probeTimeoutMillis = probeTimeoutMillis;
+		this.failureThreshold = failureThreshold;
+		this.baseEjectionMillis = baseEjectionMillis;
+		this.maxEjectionMillis = maxEjectionMillis;
+	}
+
+	/**
+	 * Specifies if active probing is enabled.
+	 *
+	 * @return
+	 * {@code true} if {@link #getProbeIntervalMillis()} is positive, {@code false} otherwise.
+	 */
+	public final boolean isProbingEnabled() {
+		return probeIntervalMillis > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyHealthCheckSettings(long, int, int, long, long)}.
+	 *
+	 * @return
+	 * Interval in milliseconds between active probes.
+	 */
+	public final long getProbeIntervalMillis() {
+		return probeIntervalMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyHealthCheckSettings(long, int, int, long, long)}.
+	 *
+	 * @return
+	 * Probe connect timeout in milliseconds.
+	 */
+	public final int getProbeTimeoutMillis() {
+		return probeTimeoutMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyHealthCheckSettings(long, int, int, long, long)}.
+	 *
+	 * @return
+	 * Number of consecutive failures after which a {@link TcpReverseProxyBackEnd} is ejected.
+	 */
+	public final int getFailureThreshold() {
+		return failureThreshold;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyHealthCheckSettings(long, int, int, long, long)}.
+	 *
+	 * @return
+	 * Duration in milliseconds of the first ejection.
+	 */
+	public final long getBaseEjectionMillis() {
+		return baseEjectionMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyHealthCheckSettings(long, int, int, long, long)}.
+	 *
+	 * @return
+	 * Maximum duration in milliseconds of an ejection.
+	 */
+	public final long getMaxEjectionMillis() {
+		return maxEjectionMillis;
+	}
+
+	/**
+	 * Calculates duration of an ejection.
+	 *
+	 * @param consecutiveEjections
+	 * Number of consecutive ejections including the one for which duration is calculated. MUST be positive.
+	 * @return
+	 * Duration in milliseconds.
+	 */
+	final long ejectionMillis(final int consecutiveEjections) {
+		final int shift = Math.min(consecutiveEjections - 1, Long.numberOfLeadingZeros(baseEjectionMillis) - 1);
+		return Math.min(baseEjectionMillis << shift, maxEjectionMillis);
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyHealthCheckSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyHealthCheckSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(probeIntervalMillis=").append(probeIntervalMillis)
+				.append(", probeTimeoutMillis=").append(probeTimeoutMillis)
+				.append(", failureThreshold=").append(failureThreshold)
+				.append(", baseEjectionMillis=").append(baseEjectionMillis)
+				.append(", maxEjectionMillis=").append(maxEjectionMillis).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,151 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks health of {@link TcpReverseProxyBackEnd}s as specified by {@link TcpReverseProxyHealthCheckSettings}.
+ * <p>
+ * Passive checks are performed by reporting outcomes of interactions with back-ends via {@link #reportSuccess(TcpReverseProxyBackEnd)}
+ * and {@link #reportFailure(TcpReverseProxyBackEnd)}. Active checks are TCP connect probes that are performed
+ * by a single {@link EventLoop} once {@linkplain #start(EventLoopGroup) started}.
+ * A probe is considered successful if a TCP connection is established within
+ * {@linkplain TcpReverseProxyHealthCheckSettings#getProbeTimeoutMillis() probe timeout}, the connection is closed right away.
+ */
+@ThreadSafe
+final class TcpReverseProxyHealthChecker {
+	@ChannelHandler.Sharable
+	private static final class ProbeChannelHandler extends ChannelHandlerAdapter {
+		private ProbeChannelHandler() {
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyHealthChecker.class);
+	private static final ChannelHandler PROBE_CHANNEL_HANDLER = new ProbeChannelHandler();
+
+	private final Supplier<? extends List<TcpReverseProxyBackEnd>> backEnds;
+	private final TcpReverseProxyHealthCheckSettings settings;
+	@Nullable
+	private volatile ScheduledFuture<?> probing;
+	private volatile boolean stopped;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyHealthChecker}.
+	 *
+	 * @param backEnds
+	 * A {@link Supplier} of {@link TcpReverseProxyBackEnd}s to check, it's called before each round of probes
+	 * because {@link TcpReverseProxyBackEnd}s MAY be added and removed at runtime.
+	 * @param settings
+	 * {@link TcpReverseProxyHealthCheckSettings}.
+	 */
+	TcpReverseProxyHealthChecker(
+			final Supplier<? extends List<TcpReverseProxyBackEnd>> backEnds, final TcpReverseProxyHealthCheckSettings settings) {
+		checkNotNull(backEnds, ARGUMENT_NULL, "first", "backEnds");
+		checkNotNull(settings, ARGUMENT_NULL, "second", "settings");
+		this.backEnds = backEnds;
+		this.settings = settings;
+		probing = null;
+		stopped = false;
+	}
+
+	/**
+	 * Starts active probing if it's {@linkplain TcpReverseProxyHealthCheckSettings#isProbingEnabled() enabled}.
+	 * This method MUST NOT be called more than once.
+	 *
+	 * @param eventLoopGroup
+	 * {@link EventLoopGroup} one of {@link EventLoop}s of which performs probes.
+	 */
+	final void start(final EventLoopGroup eventLoopGroup) {
+		if (settings.isProbingEnabled() && !stopped) {
+			final EventLoop eventLoop = eventLoopGroup.next();
+			final Bootstrap bootstrap = new Bootstrap().group(eventLoop)
+					.channel(NioSocketChannel.class)
+					.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, settings.getProbeTimeoutMillis())
+					.handler(PROBE_CHANNEL_HANDLER);
+			final long intervalMillis = settings.getProbeIntervalMillis();
+			probing = eventLoop.scheduleWithFixedDelay(() -> probe(bootstrap), intervalMillis, intervalMillis, MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops active probing. Passive checks are still performed after this method is called.
+	 */
+	final void stop() {
+		stopped = true;
+		@Nullable
+		final ScheduledFuture<?> probing = this.probing;
+		if (probing != null) {
+			probing.cancel(false);
+		}
+	}
+
+	/**
+	 * Records a successful interaction with the {@code backEnd}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that was interacted with.
+	 */
+	final void reportSuccess(final TcpReverseProxyBackEnd backEnd) {
+		backEnd.reportSuccess();
+	}
+
+	/**
+	 * Records a failed interaction with the {@code backEnd} and ejects it if necessary.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that was interacted with.
+	 */
+	final void reportFailure(final TcpReverseProxyBackEnd backEnd) {
+		final long ejectionMillis = backEnd.reportFailure(settings);
+		if (ejectionMillis > 0) {
+			LOGGER.warn("Back-end {} was ejected for {} ms", backEnd, ejectionMillis);
+		}
+	}
+
+	private final void probe(final Bootstrap bootstrap) {
+		for (final TcpReverseProxyBackEnd backEnd : backEnds.get()) {
+			if (stopped) {
+				break;
+			}
+			bootstrap.connect(backEnd.getAddress()).addListener((final ChannelFuture future) -> {
+				if (future.isSuccess()) {
+					future.channel().close();
+					reportSuccess(backEnd);
+				} else {
+					LOGGER.debug("Probe of back-end {} failed: {}", backEnd, future.cause());
+					reportFailure(backEnd);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyHealthChecker}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyHealthChecker}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(settings=").append(settings).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,115 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.channel.Channel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies when {@link TcpReverseProxyServer} closes idle proxied connections.
+ * <p>
+ * Timeouts are applied to both front-end and back-end {@link Channel}s. Once a timeout expires for a {@link Channel},
+ * both the {@link Channel} and the {@link Channel} it's paired with are closed after data queued for writing to them
+ * is flushed, and the closure is counted by {@link TcpReverseProxyStats}.
+ * A timeout equal to {@code 0} is disabled.
+ */
+@Immutable
+public final class TcpReverseProxyIdleSettings {
+	private static final TcpReverseProxyIdleSettings DISABLED = new TcpReverseProxyIdleSettings(0, 0, 0);
+
+	/**
+	 * Returns {@link TcpReverseProxyIdleSettings} with all timeouts disabled,
+	 * i.e. proxied connections live until either side closes them.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyIdleSettings} that disable closing of idle connections.
+	 */
+	public static final TcpReverseProxyIdleSettings disabled() {
+		return DISABLED;
+	}
+
+	private final long readIdleMillis;
+	private final long writeIdleMillis;
+	private final long allIdleMillis;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyIdleSettings}.
+	 *
+	 * @param readIdleMillis
+	 * Amount of time in milliseconds during which nothing was read from a {@link Channel}, after which the {@link Channel}
+	 * is considered idle. This argument MUST NOT be negative.
+	 * @param writeIdleMillis
+	 * Amount of time in milliseconds during which nothing was written to a {@link Channel}, after which the {@link Channel}
+	 * is considered idle. This argument MUST NOT be negative.
+	 * @param allIdleMillis
+	 * Amount of time in milliseconds during which nothing was either read from or written to a {@link Channel},
+	 * after which the {@link Channel} is considered idle. This argument MUST NOT be negative.
+	 */
+	public TcpReverseProxyIdleSettings(final long readIdleMillis, final long writeIdleMillis, final long allIdleMillis) {
+		checkArgument(readIdleMillis >= 0, ARGUMENT_ILLEGAL, readIdleMillis, "first", "readIdleMillis",
+				"Expected value must not be negative");
+		checkArgument(writeIdleMillis >= 0, ARGUMENT_ILLEGAL, writeIdleMillis, "second", "writeIdleMillis",
+				"Expected value must not be negative");
+		checkArgument(allIdleMillis >= 0, ARGUMENT_ILLEGAL, allIdleMillis, "third", "allIdleMillis",
+				"Expected value must not be negative");
+		this.readIdleMillis = readIdleMillis;
+		this.writeIdleMillis = writeIdleMillis;
+		this.allIdleMillis = allIdleMillis;
+	}
+
+	/**
+	 * Specifies if at least one of the timeouts is enabled.
+	 *
+	 * @return
+	 * {@code true} if at least one of the timeouts is positive, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return readIdleMillis > 0 || writeIdleMillis > 0 || allIdleMillis > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyIdleSettings(long, long, long)}.
+	 *
+	 * @return
+	 * Read idle timeout in milliseconds.
+	 */
+	public final long getReadIdleMillis() {
+		return readIdleMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyIdleSettings(long, long, long)}.
+	 *
+	 * @return
+	 * Write idle timeout in milliseconds.
+	 */
+	public final long getWriteIdleMillis() {
+		return writeIdleMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyIdleSettings(long, long, long)}.
+	 *
+	 * @return
+	 * All idle timeout in milliseconds.
+	 */
+	public final long getAllIdleMillis() {
+		return allIdleMillis;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyIdleSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyIdleSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(readIdleMillis=").append(readIdleMillis)
+				.append(", writeIdleMillis=").append(writeIdleMillis)
+				.append(", allIdleMillis=").append(allIdleMillis).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
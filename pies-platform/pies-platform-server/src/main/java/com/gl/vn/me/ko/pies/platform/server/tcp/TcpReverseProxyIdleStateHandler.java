@@ -0,0 +1,54 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closes an idle front-end or back-end {@link Channel} as specified by {@link TcpReverseProxyIdleSettings}.
+ * The {@link Channel} it's paired with is closed by {@link TcpReverseProxyFrontEndChannelHandler}
+ * or {@link TcpReverseProxyBackEndChannelHandler} once the idle {@link Channel} becomes inactive.
+ */
+final class TcpReverseProxyIdleStateHandler extends IdleStateHandler {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyIdleStateHandler.class);
+	static final String NAME = "idleState";
+
+	private final boolean frontEnd;
+	private final TcpReverseProxyStats stats;
+	private boolean closing;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyIdleStateHandler}.
+	 *
+	 * @param settings
+	 * {@link TcpReverseProxyIdleSettings} that MUST be {@linkplain TcpReverseProxyIdleSettings#isEnabled() enabled}.
+	 * @param frontEnd
+	 * {@code true} if the handler is added to a front-end {@link Channel},
+	 * {@code false} if it's added to a back-end {@link Channel}.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} that count closures.
+	 */
+	TcpReverseProxyIdleStateHandler(final TcpReverseProxyIdleSettings settings, final boolean frontEnd, final TcpReverseProxyStats stats) {
+		super(settings.getReadIdleMillis(), settings.getWriteIdleMillis(), settings.getAllIdleMillis(), MILLISECONDS);
+		this.frontEnd = frontEnd;
+		this.stats = stats;
+		closing = false;
+	}
+
+	@Override
+	protected final void channelIdle(final ChannelHandlerContext ctx, final IdleStateEvent e) {
+		final Channel channel = ctx.channel();
+		if (!closing && channel.isActive()) {
+			closing = true;
+			stats.idleClosure(frontEnd, e.state());
+			LOGGER.debug("{} {} is {} and will be closed", frontEnd ? "Front-end" : "Back-end", channel, e.state());
+			channel.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+		}
+	}
+}
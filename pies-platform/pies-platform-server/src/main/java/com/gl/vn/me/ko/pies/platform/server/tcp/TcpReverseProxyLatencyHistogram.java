@@ -0,0 +1,220 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL_SINGLE;
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A high-resolution histogram of latencies in nanoseconds in the spirit of HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split into 32 equal buckets,
+ * so that any reported value differs from the recorded one by less than 1/32 (about 3%),
+ * values less than 64 nanoseconds are counted exactly,
+ * and values greater than {@link #MAX_TRACKABLE_NANOS} are counted as {@link #MAX_TRACKABLE_NANOS}.
+ * <p>
+ * Recording is wait-free and doesn't allocate, so it's suitable for event loops.
+ * Counters are striped by recording {@link Thread}s, which keeps event loops from contending for the same cache lines.
+ * {@link Snapshot}s MAY be taken concurrently with recording, either {@linkplain #snapshot() cumulative} ones
+ * or {@linkplain #intervalSnapshot() interval} ones that contain only values recorded since the previous interval snapshot.
+ */
+@ThreadSafe
+public final class TcpReverseProxyLatencyHistogram {
+	/**
+	 * An immutable state of a {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	@Immutable
+	public static final class Snapshot {
+		private final long[] counts;
+		private final long count;
+
+		private Snapshot(final long[] counts) {
+			this.counts = counts;
+			long count = 0;
+			for (final long c : counts) {
+				count += c;
+			}
+			this.count = count;
+		}
+
+		/**
+		 * Returns number of recorded values.
+		 *
+		 * @return
+		 * Number of values.
+		 */
+		public final long getCount() {
+			return count;
+		}
+
+		/**
+		 * Returns a value such that {@code percentile} percents of recorded values are less or equal to it.
+		 *
+		 * @param percentile
+		 * A percentile, e.g. {@code 99.9}. This argument MUST be in the range [0, 100].
+		 * @return
+		 * Value in nanoseconds, or {@code 0} if there are no recorded values.
+		 */
+		public final long getValueAtPercentile(final double percentile) {
+			checkArgument(percentile >= 0 && percentile <= 100, ARGUMENT_ILLEGAL_SINGLE, percentile, "percentile",
+					"Expected value must be in the range [0, 100]");
+			if (count == 0) {
+				return 0;
+			}
+			final long rank = Math.max(1, (long)Math.ceil(percentile / 100 * count));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					return highestEquivalentValue(i);
+				}
+			}
+			return highestEquivalentValue(counts.length - 1);
+		}
+
+		/**
+		 * Returns the maximal recorded value.
+		 *
+		 * @return
+		 * Value in nanoseconds, or {@code 0} if there are no recorded values.
+		 */
+		public final long getMax() {
+			for (int i = counts.length - 1; i >= 0; i--) {
+				if (counts[i] != 0) {
+					return highestEquivalentValue(i);
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Returns a description of the {@link Snapshot}.
+		 *
+		 * @return
+		 * A description of the {@link Snapshot}.
+		 */
+		@Override
+		public final String toString() {
+			final StringBuilder sb = new StringBuilder(this.getClass().getName())
+					.append("(count=").append(count)
+					.append(", p50=").append(getValueAtPercentile(50))
+					.append(", p99=").append(getValueAtPercentile(99))
+					.append(", max=").append(getMax()).append(')');
+			final String result = sb.toString();
+			return result;
+		}
+	}
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_SHIFT = 30;
+	private static final int BUCKETS = 2 * SUB_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+	/**
+	 * The maximal value in nanoseconds that is counted precisely, which is a bit more than a minute.
+	 */
+	public static final long MAX_TRACKABLE_NANOS = ((long)(2 * SUB_BUCKETS) << MAX_SHIFT) - 1;
+	private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+	private static final int index(final long value) {
+		final int result;
+		if (value < 2 * SUB_BUCKETS) {
+			result = (int)value;
+		} else {
+			final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;//value >>> shift is in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+			result = 2 * SUB_BUCKETS + (shift - 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS;
+		}
+		return result;
+	}
+
+	private static final long highestEquivalentValue(final int index) {
+		final long result;
+		if (index < 2 * SUB_BUCKETS) {
+			result = index;
+		} else {
+			final int shift = (index - 2 * SUB_BUCKETS) / SUB_BUCKETS + 1;
+			final long subBucket = (index - 2 * SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+			result = ((subBucket + 1) << shift) - 1;
+		}
+		return result;
+	}
+
+	private final AtomicLongArray[] stripes;
+	private final Object mutex;
+	@GuardedBy("mutex")
+	private long[] intervalStart;
+
+	TcpReverseProxyLatencyHistogram() {
+		stripes = new AtomicLongArray[STRIPES];
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new AtomicLongArray(BUCKETS);
+		}
+		mutex = new Object();
+		intervalStart = new long[BUCKETS];
+	}
+
+	/**
+	 * Records a value.
+	 *
+	 * @param nanos
+	 * Latency in nanoseconds. Negative values are recorded as {@code 0}.
+	 */
+	final void record(final long nanos) {
+		final int index = index(Math.min(Math.max(0, nanos), MAX_TRACKABLE_NANOS));
+		stripes[(int)Thread.currentThread().getId() & (STRIPES - 1)].incrementAndGet(index);
+	}
+
+	private final long[] counts() {
+		final long[] result = new long[BUCKETS];
+		for (final AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				result[i] += stripe.get(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a {@link Snapshot} of all values recorded since the {@link TcpReverseProxyLatencyHistogram} was constructed.
+	 *
+	 * @return
+	 * A cumulative {@link Snapshot}.
+	 */
+	public final Snapshot snapshot() {
+		return new Snapshot(counts());
+	}
+
+	/**
+	 * Returns a {@link Snapshot} of values recorded since the previous invocation of this method,
+	 * or since the {@link TcpReverseProxyLatencyHistogram} was constructed if this is the first invocation.
+	 *
+	 * @return
+	 * An interval {@link Snapshot}.
+	 */
+	public final Snapshot intervalSnapshot() {
+		final long[] intervalCounts = new long[BUCKETS];
+		synchronized (mutex) {//counts must be taken under the lock, otherwise a concurrent invocation may take newer ones
+			final long[] counts = counts();
+			for (int i = 0; i < BUCKETS; i++) {
+				intervalCounts[i] = counts[i] - intervalStart[i];
+			}
+			intervalStart = counts;
+		}
+		return new Snapshot(intervalCounts);
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyLatencyHistogram}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(snapshot=").append(snapshot()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
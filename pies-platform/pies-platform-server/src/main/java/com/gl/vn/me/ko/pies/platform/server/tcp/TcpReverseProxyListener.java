@@ -0,0 +1,111 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.google.common.collect.ImmutableList;
+import java.net.InetSocketAddress;
+import java.util.List;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies an additional front-end address a {@link TcpReverseProxyServer} listens to,
+ * together with back-ends connections accepted at this address are forwarded to.
+ * <p>
+ * All listeners of a {@link TcpReverseProxyServer} share its boss and worker threads and all other settings,
+ * but each listener has its own back-ends, load balancing strategy and {@link TcpReverseProxyStats}.
+ */
+@Immutable
+public final class TcpReverseProxyListener {
+	private final String name;
+	private final InetSocketAddress address;
+	private final List<TcpReverseProxyBackEnd> backEnds;
+	private final TcpReverseProxyLoadBalancingStrategy loadBalancingStrategy;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyListener}.
+	 *
+	 * @param name
+	 * A name of the listener, which MUST be unique among listeners of a {@link TcpReverseProxyServer}.
+	 * @param address
+	 * {@link InetSocketAddress} the listener listens to (front-end address).
+	 * @param backEnds
+	 * {@link TcpReverseProxyBackEnd}s connections accepted by the listener are forwarded to.
+	 * This argument MUST NOT be empty.
+	 * @param loadBalancingStrategy
+	 * {@link TcpReverseProxyLoadBalancingStrategy} that specifies how a back-end is chosen for a new front-end connection.
+	 */
+	public TcpReverseProxyListener(
+			final String name,
+			final InetSocketAddress address,
+			final List<TcpReverseProxyBackEnd> backEnds,
+			final TcpReverseProxyLoadBalancingStrategy loadBalancingStrategy) {
+		checkNotNull(name, ARGUMENT_NULL, "first", "name");
+		checkNotNull(address, ARGUMENT_NULL, "second", "address");
+		checkNotNull(backEnds, ARGUMENT_NULL, "third", "backEnds");
+		checkArgument(!backEnds.isEmpty(), ARGUMENT_ILLEGAL, backEnds, "third", "backEnds", "Expected value must not be empty");
+		checkNotNull(loadBalancingStrategy, ARGUMENT_NULL, "fourth", "loadBalancingStrategy");
+		this.name = name;
+		this.address = address;
+		this.backEnds = ImmutableList.copyOf(backEnds);
+		this.loadBalancingStrategy = loadBalancingStrategy;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyListener(String, InetSocketAddress, List, TcpReverseProxyLoadBalancingStrategy)}.
+	 *
+	 * @return
+	 * Name of the listener.
+	 */
+	public final String getName() {
+		return name;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyListener(String, InetSocketAddress, List, TcpReverseProxyLoadBalancingStrategy)}.
+	 *
+	 * @return
+	 * Front-end address.
+	 */
+	public final InetSocketAddress getAddress() {
+		return address;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyListener(String, InetSocketAddress, List, TcpReverseProxyLoadBalancingStrategy)}.
+	 *
+	 * @return
+	 * An unmodifiable {@link List} of back-ends the listener was constructed with.
+	 */
+	public final List<TcpReverseProxyBackEnd> getBackEnds() {
+		return backEnds;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyListener(String, InetSocketAddress, List, TcpReverseProxyLoadBalancingStrategy)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLoadBalancingStrategy}.
+	 */
+	public final TcpReverseProxyLoadBalancingStrategy getLoadBalancingStrategy() {
+		return loadBalancingStrategy;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyListener}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyListener}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(name=").append(name)
+				.append(", address=").append(address)
+				.append(", backEnds=").append(backEnds)
+				.append(", loadBalancingStrategy=").append(loadBalancingStrategy).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,21 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Chooses a {@link TcpReverseProxyBackEnd} for a new front-end connection.
+ * Instances are created by {@link TcpReverseProxyLoadBalancingStrategy#newLoadBalancer()}.
+ */
+@ThreadSafe
+interface TcpReverseProxyLoadBalancer {
+	/**
+	 * Chooses one of the {@code backEnds}.
+	 *
+	 * @param backEnds
+	 * {@link TcpReverseProxyBackEnd}s to choose from. This argument MUST NOT be empty.
+	 * @return
+	 * One of the {@code backEnds}.
+	 */
+	TcpReverseProxyBackEnd select(List<TcpReverseProxyBackEnd> backEnds);
+}
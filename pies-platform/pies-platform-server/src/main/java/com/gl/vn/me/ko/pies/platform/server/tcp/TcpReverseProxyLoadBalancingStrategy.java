@@ -0,0 +1,117 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} chooses a {@link TcpReverseProxyBackEnd} for a new front-end connection.
+ */
+@Immutable
+public enum TcpReverseProxyLoadBalancingStrategy {
+	/**
+	 * {@link TcpReverseProxyBackEnd}s are chosen one after another in a cyclic order.
+	 * {@linkplain TcpReverseProxyBackEnd#getWeight() Weights} are ignored.
+	 */
+	ROUND_ROBIN {
+		@Override
+		final TcpReverseProxyLoadBalancer newLoadBalancer() {
+			final AtomicInteger counter = new AtomicInteger(0);
+			return (backEnds) -> backEnds.get(Math.floorMod(counter.getAndIncrement(), backEnds.size()));
+		}
+	},
+	/**
+	 * {@link TcpReverseProxyBackEnd} with the least number of {@linkplain TcpReverseProxyBackEnd#getActiveConnections()
+	 * active connections} is chosen. Ties are resolved in a round-robin manner.
+	 * {@linkplain TcpReverseProxyBackEnd#getWeight() Weights} are ignored.
+	 * <p>
+	 * This strategy inspects all {@link TcpReverseProxyBackEnd}s on each choice.
+	 */
+	LEAST_ACTIVE_CONNECTIONS {
+		@Override
+		final TcpReverseProxyLoadBalancer newLoadBalancer() {
+			final AtomicInteger counter = new AtomicInteger(0);
+			return (backEnds) -> {
+				final int size = backEnds.size();
+				final int offset = Math.floorMod(counter.getAndIncrement(), size);
+				TcpReverseProxyBackEnd result = backEnds.get(offset);
+				int minActiveConnections = result.getActiveConnections();
+				for (int i = 1; i < size && minActiveConnections > 0; i++) {
+					final TcpReverseProxyBackEnd backEnd = backEnds.get((offset + i) % size);
+					final int activeConnections = backEnd.getActiveConnections();
+					if (activeConnections < minActiveConnections) {
+						result = backEnd;
+						minActiveConnections = activeConnections;
+					}
+				}
+				return result;
+			};
+		}
+	},
+	/**
+	 * Two distinct {@link TcpReverseProxyBackEnd}s are picked at random and the one with the least number of
+	 * {@linkplain TcpReverseProxyBackEnd#getActiveConnections() active connections} is chosen.
+	 * {@linkplain TcpReverseProxyBackEnd#getWeight() Weights} are ignored.
+	 * <p>
+	 * This strategy distributes load almost as evenly as {@link #LEAST_ACTIVE_CONNECTIONS},
+	 * but inspects only two {@link TcpReverseProxyBackEnd}s on each choice
+	 * and doesn't direct all new connections to the same least loaded {@link TcpReverseProxyBackEnd}.
+	 */
+	POWER_OF_TWO_CHOICES {
+		@Override
+		final TcpReverseProxyLoadBalancer newLoadBalancer() {
+			return (backEnds) -> {
+				final int size = backEnds.size();
+				final TcpReverseProxyBackEnd result;
+				if (size == 1) {
+					result = backEnds.get(0);
+				} else {
+					final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+					final int first = rnd.nextInt(size);
+					int second = rnd.nextInt(size - 1);
+					if (second >= first) {
+						second++;
+					}
+					final TcpReverseProxyBackEnd firstBackEnd = backEnds.get(first);
+					final TcpReverseProxyBackEnd secondBackEnd = backEnds.get(second);
+					result = firstBackEnd.getActiveConnections() <= secondBackEnd.getActiveConnections()
+							? firstBackEnd : secondBackEnd;
+				}
+				return result;
+			};
+		}
+	},
+	/**
+	 * {@link TcpReverseProxyBackEnd}s are chosen at random with probabilities proportional to their
+	 * {@linkplain TcpReverseProxyBackEnd#getWeight() weights}.
+	 */
+	WEIGHTED {
+		@Override
+		final TcpReverseProxyLoadBalancer newLoadBalancer() {
+			return (backEnds) -> {
+				long totalWeight = 0;
+				for (final TcpReverseProxyBackEnd backEnd : backEnds) {
+					totalWeight += backEnd.getWeight();
+				}
+				long point = ThreadLocalRandom.current().nextLong(totalWeight);
+				TcpReverseProxyBackEnd result = backEnds.get(backEnds.size() - 1);
+				for (final TcpReverseProxyBackEnd backEnd : backEnds) {
+					point -= backEnd.getWeight();
+					if (point < 0) {
+						result = backEnd;
+						break;
+					}
+				}
+				return result;
+			};
+		}
+	};
+
+	/**
+	 * Creates a new {@link TcpReverseProxyLoadBalancer} that implements the strategy.
+	 *
+	 * @return
+	 * A new {@link TcpReverseProxyLoadBalancer}.
+	 */
+	abstract TcpReverseProxyLoadBalancer newLoadBalancer();
+}
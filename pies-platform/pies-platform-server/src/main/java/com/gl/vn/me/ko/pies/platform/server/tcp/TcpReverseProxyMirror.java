@@ -0,0 +1,227 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mirrors data read from a single front-end {@link Channel} to the shadow back-end
+ * as specified by {@link TcpReverseProxyMirrorSettings}.
+ * <p>
+ * The shadow {@link Channel} is registered with the {@link EventLoop} of the front-end {@link Channel},
+ * and all methods MUST be called from that {@link EventLoop}, hence no synchronization is needed.
+ * Data is written to the shadow {@link Channel} without waiting for it to become writable;
+ * the number of bytes queued for writing is bounded by {@link TcpReverseProxyMirrorSettings#getMaxBufferedBytes()},
+ * and data that doesn't fit is dropped.
+ */
+@NotThreadSafe
+final class TcpReverseProxyMirror {
+	@ChannelHandler.Sharable
+	private static final class DiscardChannelHandler extends ChannelHandlerAdapter {
+		private DiscardChannelHandler() {
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			ReferenceCountUtil.release(msg);
+		}
+
+		@Override
+		public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) {
+			LOGGER.debug("Shadow {} failed and will be closed: {}", ctx.channel(), e);
+			ctx.close();
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyMirror.class);
+	private static final ChannelHandler DISCARD_CHANNEL_HANDLER = new DiscardChannelHandler();
+
+	/**
+	 * Decides if a new front-end {@link Channel} is mirrored.
+	 *
+	 * @param settings
+	 * {@link TcpReverseProxyMirrorSettings}.
+	 * @return
+	 * {@code true} with probability {@link TcpReverseProxyMirrorSettings#getRatio()} if mirroring is enabled,
+	 * {@code false} otherwise.
+	 */
+	static final boolean sample(final TcpReverseProxyMirrorSettings settings) {
+		return settings.isEnabled() && ThreadLocalRandom.current().nextDouble() < settings.getRatio();
+	}
+
+	private final Channel feChannel;
+	private final TcpReverseProxyMirrorSettings settings;
+	private final TcpReverseProxyStats stats;
+	private final ArrayDeque<ByteBuf> pending;
+	@Nullable
+	private Channel shadowChannel;
+	private boolean connected;
+	private boolean closed;
+	private int bufferedBytes;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyMirror}.
+	 *
+	 * @param feChannel
+	 * Front-end {@link Channel} data of which is mirrored.
+	 * @param settings
+	 * {@link TcpReverseProxyMirrorSettings} that MUST be {@linkplain TcpReverseProxyMirrorSettings#isEnabled() enabled}.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} of the {@link TcpReverseProxyServer}.
+	 */
+	TcpReverseProxyMirror(
+			final Channel feChannel, final TcpReverseProxyMirrorSettings settings, final TcpReverseProxyStats stats) {
+		checkNotNull(feChannel, ARGUMENT_NULL, "first", "feChannel");
+		checkNotNull(settings, ARGUMENT_NULL, "second", "settings");
+		checkArgument(settings.isEnabled(), ARGUMENT_ILLEGAL, settings, "second", "settings", "Expected enabled settings");
+		checkNotNull(stats, ARGUMENT_NULL, "third", "stats");
+		this.feChannel = feChannel;
+		this.settings = settings;
+		this.stats = stats;
+		pending = new ArrayDeque<>();
+		shadowChannel = null;
+		connected = false;
+		closed = false;
+		bufferedBytes = 0;
+	}
+
+	/**
+	 * Starts connecting to the shadow back-end. Data passed to {@link #mirror(Object)} before the connection is established
+	 * is queued. This method MUST NOT be called more than once.
+	 *
+	 * @param connectTimeoutMillis
+	 * Amount of time in milliseconds to wait for connecting to the shadow back-end.
+	 */
+	final void start(final int connectTimeoutMillis) {
+		stats.mirroredConnection();
+		final ChannelFuture connectFuture = new Bootstrap().group(feChannel.eventLoop())
+				.channel(NioSocketChannel.class)
+				.option(ChannelOption.SO_KEEPALIVE, true)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+				.handler(DISCARD_CHANNEL_HANDLER)
+				.connect(settings.getShadowAddress());
+		shadowChannel = connectFuture.channel();
+		connectFuture.addListener((final ChannelFuture future) -> {
+			if (future.isSuccess() && !closed) {
+				connected = true;
+				LOGGER.debug("Shadow {} was connected for front-end {}", shadowChannel, feChannel);
+				while (!pending.isEmpty()) {
+					write(pending.poll());
+				}
+				shadowChannel.flush();
+			} else {
+				if (!future.isSuccess()) {
+					LOGGER.debug("Can't connect to shadow {} for front-end {}: {}",
+							settings.getShadowAddress(), feChannel, future.cause());
+				}
+				close();
+			}
+		});
+	}
+
+	/**
+	 * Queues a copy of {@code msg} for writing to the shadow back-end, or drops it if the shadow back-end fell behind.
+	 * This method neither changes reference count nor reader index of {@code msg}.
+	 *
+	 * @param msg
+	 * Data read from the front-end {@link Channel}.
+	 */
+	final void mirror(final Object msg) {
+		if (msg instanceof ByteBuf) {
+			final ByteBuf buf = (ByteBuf)msg;
+			final int size = buf.readableBytes();
+			final boolean shadowFailed = connected && !shadowChannel.isActive();
+			if (closed || shadowFailed || bufferedBytes + size > settings.getMaxBufferedBytes()) {
+				stats.mirrorDrop(size);
+			} else {
+				bufferedBytes += size;
+				final ByteBuf copy = buf.duplicate().retain();
+				if (connected) {
+					write(copy);
+				} else {
+					pending.add(copy);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Flushes data queued by {@link #mirror(Object)}.
+	 */
+	final void flush() {
+		if (connected && !closed) {
+			shadowChannel.flush();
+		}
+	}
+
+	/**
+	 * Closes the shadow {@link Channel} after queued data is flushed. Data that wasn't yet queued is dropped.
+	 */
+	final void close() {
+		if (!closed) {
+			closed = true;
+			while (!pending.isEmpty()) {
+				final ByteBuf buf = pending.poll();
+				bufferedBytes -= buf.readableBytes();
+				stats.mirrorDrop(buf.readableBytes());
+				ReferenceCountUtil.release(buf);
+			}
+			if (shadowChannel != null) {
+				if (connected && shadowChannel.isActive()) {
+					shadowChannel.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+				} else {
+					shadowChannel.close();
+				}
+			}
+		}
+	}
+
+	private final void write(final ByteBuf buf) {
+		final int size = buf.readableBytes();
+		shadowChannel.write(buf).addListener((final ChannelFuture future) -> {
+			bufferedBytes -= size;
+			if (future.isSuccess()) {
+				stats.mirroredBytes(size);
+			} else {
+				stats.mirrorDrop(size);
+			}
+		});
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyMirror}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyMirror}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(feChannel=").append(feChannel)
+				.append(", shadowChannel=").append(shadowChannel)
+				.append(", bufferedBytes=").append(bufferedBytes)
+				.append(", closed=").append(closed).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,118 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import java.net.InetSocketAddress;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} mirrors traffic to a shadow back-end.
+ * <p>
+ * If mirroring is {@linkplain #isEnabled() enabled}, each new front-end connection is mirrored with
+ * probability {@linkplain #getRatio() ratio}. Data read from a mirrored front-end connection is forwarded to the back-end
+ * as usual and is additionally written to a separate connection to the shadow back-end, everything the shadow back-end
+ * returns is discarded. Mirroring never applies backpressure to the front-end connection: data that doesn't fit into
+ * the {@linkplain #getMaxBufferedBytes() buffer} of the shadow connection is dropped, and failures of the shadow back-end
+ * don't affect the front-end connection. Both mirrored and dropped data are counted by {@link TcpReverseProxyStats}.
+ */
+@Immutable
+public final class TcpReverseProxyMirrorSettings {
+	private static final TcpReverseProxyMirrorSettings DISABLED = new TcpReverseProxyMirrorSettings(null, 0, 65536);
+
+	/**
+	 * Returns {@link TcpReverseProxyMirrorSettings} that don't mirror traffic.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyMirrorSettings} that disable mirroring.
+	 */
+	public static final TcpReverseProxyMirrorSettings disabled() {
+		return DISABLED;
+	}
+
+	@Nullable
+	private final InetSocketAddress shadowAddress;
+	private final double ratio;
+	private final int maxBufferedBytes;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyMirrorSettings}.
+	 *
+	 * @param shadowAddress
+	 * {@link InetSocketAddress} of the shadow back-end. If this argument is {@code null} then traffic isn't mirrored.
+	 * @param ratio
+	 * Probability that a new front-end connection is mirrored. This argument MUST be within [0, 1].
+	 * If this argument is {@code 0} then traffic isn't mirrored.
+	 * @param maxBufferedBytes
+	 * Maximum number of bytes that MAY be queued for writing to a single shadow connection,
+	 * including data read before the shadow connection is established. This argument MUST be positive.
+	 */
+	public TcpReverseProxyMirrorSettings(
+			@Nullable final InetSocketAddress shadowAddress, final double ratio, final int maxBufferedBytes) {
+		checkArgument(ratio >= 0 && ratio <= 1, ARGUMENT_ILLEGAL, ratio, "second", "ratio",
+				"Expected value must be within [0, 1]");
+		checkArgument(maxBufferedBytes > 0, ARGUMENT_ILLEGAL, maxBufferedBytes, "third", "maxBufferedBytes",
+				"Expected value must be positive");
+		this.shadowAddress = shadowAddress;
+		this.ratio = ratio;
+		this.maxBufferedBytes = maxBufferedBytes;
+	}
+
+	/**
+	 * Specifies if traffic is mirrored.
+	 *
+	 * @return
+	 * {@code true} if {@link #getShadowAddress()} isn't {@code null} and {@link #getRatio()} is positive,
+	 * {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return shadowAddress != null && ratio > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyMirrorSettings(InetSocketAddress, double, int)}.
+	 *
+	 * @return
+	 * {@link InetSocketAddress} of the shadow back-end, or {@code null}.
+	 */
+	@Nullable
+	public final InetSocketAddress getShadowAddress() {
+		return shadowAddress;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyMirrorSettings(InetSocketAddress, double, int)}.
+	 *
+	 * @return
+	 * Probability that a front-end connection is mirrored.
+	 */
+	public final double getRatio() {
+		return ratio;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyMirrorSettings(InetSocketAddress, double, int)}.
+	 *
+	 * @return
+	 * Maximum number of bytes queued for writing to a shadow connection.
+	 */
+	public final int getMaxBufferedBytes() {
+		return maxBufferedBytes;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyMirrorSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyMirrorSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(shadowAddress=").append(shadowAddress)
+				.append(", ratio=").append(ratio)
+				.append(", maxBufferedBytes=").append(maxBufferedBytes).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,305 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles events on a back-end {@link Channel} that is shared by multiple front-end {@link Channel}s
+ * (see {@link TcpReverseProxyMultiplexingSettings}).
+ * <p>
+ * Each chunk of data written to the back-end {@link Channel} is remembered as a pair of the front-end {@link Channel}
+ * and the length of the chunk. Data read from the back-end {@link Channel} is split according to these pairs in the same
+ * order, and each part is written to the corresponding front-end {@link Channel}. Responses for a front-end {@link Channel}
+ * that is already closed are discarded, so the remaining front-end {@link Channel}s aren't affected.
+ * If the back-end {@link Channel} is closed, all front-end {@link Channel}s that use it are closed.
+ * A back-end {@link Channel} that is no longer needed MAY be {@linkplain #closeWhenIdle() closed} without losing responses.
+ * <p>
+ * The back-end {@link Channel} is registered with the {@link io.netty.channel.EventLoop} of the front-end {@link Channel}s
+ * that use it, and all methods MUST be called from that {@link io.netty.channel.EventLoop}.
+ */
+@NotThreadSafe
+final class TcpReverseProxyMultiplexedChannelHandler extends ChannelHandlerAdapter {
+	private static final class Pending {
+		private final Channel feChannel;
+		private final TcpReverseProxyConnection connection;
+		private int remainingBytes;
+
+		private Pending(final Channel feChannel, final TcpReverseProxyConnection connection, final int remainingBytes) {
+			this.feChannel = feChannel;
+			this.connection = connection;
+			this.remainingBytes = remainingBytes;
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyMultiplexedChannelHandler.class);
+
+	private final TcpReverseProxyForwardingSettings forwardingSettings;
+	private final TcpReverseProxyCapture capture;
+	private final Queue<Pending> pendings;
+	private final Map<Channel, Runnable> feChannels;
+	private final Set<Channel> feChannelsToFlush;
+	@Nullable
+	private ChannelFuture connectFuture;
+	private boolean closing;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyMultiplexedChannelHandler}.
+	 *
+	 * @param forwardingSettings
+	 * {@link TcpReverseProxyForwardingSettings} that are applied to the back-end {@link Channel}
+	 * once the {@link TcpReverseProxyMultiplexedChannelHandler} is added to its pipeline.
+	 * @param capture
+	 * {@link TcpReverseProxyCapture} that records data read from the back-end {@link Channel}.
+	 */
+	TcpReverseProxyMultiplexedChannelHandler(
+			final TcpReverseProxyForwardingSettings forwardingSettings, final TcpReverseProxyCapture capture) {
+		checkNotNull(forwardingSettings, ARGUMENT_NULL, "first", "forwardingSettings");
+		checkNotNull(capture, ARGUMENT_NULL, "second", "capture");
+		this.forwardingSettings = forwardingSettings;
+		this.capture = capture;
+		pendings = new ArrayDeque<>();
+		feChannels = new HashMap<>();
+		feChannelsToFlush = new HashSet<>();
+		connectFuture = null;
+		closing = false;
+	}
+
+	/**
+	 * Specifies {@link ChannelFuture} of connecting the back-end {@link Channel}.
+	 * This method MUST be called once right after the connect was initiated.
+	 *
+	 * @param connectFuture
+	 * {@link ChannelFuture} returned by {@link io.netty.bootstrap.Bootstrap#connect(java.net.SocketAddress)}.
+	 */
+	final void setConnectFuture(final ChannelFuture connectFuture) {
+		this.connectFuture = connectFuture;
+		connectFuture.channel().closeFuture().addListener((final ChannelFuture future) -> closeFrontEnds());
+	}
+
+	/**
+	 * Returns {@link ChannelFuture} of connecting the back-end {@link Channel}.
+	 *
+	 * @return
+	 * See {@link #setConnectFuture(ChannelFuture)}.
+	 */
+	final ChannelFuture getConnectFuture() {
+		return connectFuture;
+	}
+
+	/**
+	 * Returns the back-end {@link Channel}.
+	 *
+	 * @return
+	 * The back-end {@link Channel}.
+	 */
+	final Channel channel() {
+		return connectFuture.channel();
+	}
+
+	/**
+	 * Specifies if the back-end {@link Channel} MAY be used by more front-end {@link Channel}s.
+	 *
+	 * @return
+	 * {@code false} if the back-end {@link Channel} is closed or failed to connect, {@code true} otherwise.
+	 */
+	final boolean isUsable() {
+		return !channel().closeFuture().isDone();
+	}
+
+	/**
+	 * Starts using the back-end {@link Channel} for the {@code feChannel}.
+	 * If the back-end {@link Channel} isn't active then the {@code feChannel} is closed.
+	 *
+	 * @param feChannel
+	 * Front-end {@link Channel}.
+	 * @param onWritable
+	 * An action that is performed each time the back-end {@link Channel} becomes writable.
+	 */
+	final void attach(final Channel feChannel, final Runnable onWritable) {
+		if (channel().isActive()) {
+			feChannels.put(feChannel, onWritable);
+		} else {
+			feChannel.close();
+		}
+	}
+
+	/**
+	 * Stops using the back-end {@link Channel} for the {@code feChannel}.
+	 * Responses that are still expected for the {@code feChannel} are discarded once they are read.
+	 *
+	 * @param feChannel
+	 * Front-end {@link Channel}.
+	 */
+	final void detach(final Channel feChannel) {
+		feChannels.remove(feChannel);
+	}
+
+	/**
+	 * Writes data read from the {@code feChannel} to the back-end {@link Channel}.
+	 *
+	 * @param feChannel
+	 * Front-end {@link Channel} the {@code msg} was read from.
+	 * @param connection
+	 * {@link TcpReverseProxyConnection} of the {@code feChannel}.
+	 * @param msg
+	 * Data read from the {@code feChannel}. Only {@link ByteBuf}s are written, other messages are released.
+	 */
+	final void write(final Channel feChannel, final TcpReverseProxyConnection connection, final Object msg) {
+		if (!(msg instanceof ByteBuf) || !((ByteBuf)msg).isReadable()) {
+			ReferenceCountUtil.release(msg);
+			return;
+		}
+		final Channel beChannel = channel();
+		pendings.add(new Pending(feChannel, connection, ((ByteBuf)msg).readableBytes()));
+		beChannel.write(msg).addListener((final ChannelFuture future) -> {
+			if (!future.isSuccess()) {
+				beChannel.close();
+				throw new ApplicationException(Message.format("Can't write to back-end %s", beChannel), future.cause());
+			}
+		});
+	}
+
+	/**
+	 * Closes the back-end {@link Channel} as soon as there are no responses that are expected to be read from it,
+	 * which is immediately if there are none. Front-end {@link Channel}s that still use the back-end {@link Channel}
+	 * are closed along with it.
+	 */
+	final void closeWhenIdle() {
+		closing = true;
+		if (pendings.isEmpty()) {
+			channel().close();
+		}
+	}
+
+	/**
+	 * Flushes the back-end {@link Channel}.
+	 */
+	final void flush() {
+		channel().flush();
+	}
+
+	@Override
+	public final void handlerAdded(final ChannelHandlerContext ctx) {
+		forwardingSettings.apply(ctx.channel().config());
+	}
+
+	@Override
+	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+		if (!(msg instanceof ByteBuf)) {
+			ReferenceCountUtil.release(msg);
+			return;
+		}
+		final ByteBuf in = (ByteBuf)msg;
+		try {
+			while (in.isReadable()) {
+				@Nullable
+				final Pending pending = pendings.peek();
+				if (pending == null) {
+					throw new ApplicationException(Message.format("%s unexpected bytes were read from back-end %s",
+							Integer.valueOf(in.readableBytes()), ctx.channel()));
+				}
+				final ByteBuf response = in.readSlice(Math.min(pending.remainingBytes, in.readableBytes())).retain();
+				pending.remainingBytes -= response.readableBytes();
+				if (pending.remainingBytes == 0) {
+					pendings.remove();
+				}
+				if (pending.feChannel.isActive()) {
+					LOGGER.debug("Writing {} to front-end {}", response, pending.feChannel);
+					capture.record(pending.connection.getId(), Direction.BACK_END_TO_FRONT_END, response);
+					pending.connection.backEndToFrontEnd(response.readableBytes());
+					pending.feChannel.write(response);
+					feChannelsToFlush.add(pending.feChannel);
+				} else {
+					response.release();
+				}
+			}
+		} finally {
+			in.release();
+		}
+	}
+
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) {
+		for (final Channel feChannel : feChannelsToFlush) {
+			feChannel.flush();
+		}
+		feChannelsToFlush.clear();
+		ctx.fireChannelReadComplete();
+		if (closing && pendings.isEmpty()) {
+			ctx.channel().close();
+		}
+	}
+
+	@Override
+	public final void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+		if (ctx.channel().isWritable()) {//resume reading from front-ends
+			for (final Runnable onWritable : new ArrayList<>(feChannels.values())) {
+				onWritable.run();
+			}
+		}
+		ctx.fireChannelWritabilityChanged();
+	}
+
+	private final void closeFrontEnds() {
+		final List<Channel> feChannels = new ArrayList<>(this.feChannels.keySet());
+		this.feChannels.clear();
+		for (final Channel feChannel : feChannels) {
+			feChannel.close();
+		}
+	}
+
+	@Override
+	public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) {
+		try {
+			LOGGER.error("Exception caught", e);
+		} finally {
+			final Channel channel = ctx.channel();
+			channel.close();
+		}
+	}
+
+	@Override
+	public final void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+		final Channel channel = ctx.channel();
+		ctx.close();
+		LOGGER.debug("{} was closed", channel);
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyMultiplexedChannelHandler}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyMultiplexedChannelHandler}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(channel=").append(connectFuture == null ? null : connectFuture.channel())
+				.append(", feChannels=").append(feChannels.size())
+				.append(", pendings=").append(pendings.size()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
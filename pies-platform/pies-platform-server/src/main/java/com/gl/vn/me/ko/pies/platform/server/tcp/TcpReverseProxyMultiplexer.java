@@ -0,0 +1,173 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkNotNull;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides shared back-end {@link io.netty.channel.Channel}s to front-end {@link io.netty.channel.Channel}s
+ * if {@linkplain TcpReverseProxyMultiplexingSettings multiplexing} is enabled.
+ * <p>
+ * Shared back-end {@link io.netty.channel.Channel}s are kept separately for each {@link EventLoop}
+ * and are registered with it, so a front-end {@link io.netty.channel.Channel} and the back-end
+ * {@link io.netty.channel.Channel} it uses are always processed by the same {@link Thread} and need no synchronization.
+ * Front-end {@link io.netty.channel.Channel}s are spread over shared back-end {@link io.netty.channel.Channel}s in round-robin
+ * fashion, and a shared back-end {@link io.netty.channel.Channel} that was closed is replaced by a new one on demand.
+ * Shared back-end {@link io.netty.channel.Channel}s to a {@linkplain #remove(TcpReverseProxyBackEnd) removed}
+ * {@link TcpReverseProxyBackEnd} are forgotten and closed.
+ */
+@ThreadSafe
+final class TcpReverseProxyMultiplexer {
+	/**
+	 * Shared back-end {@link io.netty.channel.Channel}s of a single {@link EventLoop}, MUST be used only from that
+	 * {@link EventLoop}.
+	 */
+	private static final class Lanes {
+		private final Map<TcpReverseProxyBackEnd, TcpReverseProxyMultiplexedChannelHandler[]> lanes;
+		private int next;
+
+		private Lanes() {
+			lanes = new HashMap<>();
+			next = 0;
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyMultiplexer.class);
+
+	private final TcpReverseProxyMultiplexingSettings settings;
+	private final TcpReverseProxyForwardingSettings forwardingSettings;
+	private final TcpReverseProxyCapture capture;
+	private final ConcurrentMap<EventLoop, Lanes> eventLoopsLanes;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyMultiplexer}.
+	 *
+	 * @param settings
+	 * {@link TcpReverseProxyMultiplexingSettings}.
+	 * @param forwardingSettings
+	 * {@link TcpReverseProxyForwardingSettings} that are applied to shared back-end {@link io.netty.channel.Channel}s.
+	 * @param capture
+	 * {@link TcpReverseProxyCapture} that records data read from shared back-end {@link io.netty.channel.Channel}s.
+	 */
+	TcpReverseProxyMultiplexer(
+			final TcpReverseProxyMultiplexingSettings settings,
+			final TcpReverseProxyForwardingSettings forwardingSettings,
+			final TcpReverseProxyCapture capture) {
+		checkNotNull(settings, ARGUMENT_NULL, "first", "settings");
+		checkNotNull(forwardingSettings, ARGUMENT_NULL, "second", "forwardingSettings");
+		checkNotNull(capture, ARGUMENT_NULL, "third", "capture");
+		this.settings = settings;
+		this.forwardingSettings = forwardingSettings;
+		this.capture = capture;
+		eventLoopsLanes = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Specifies if multiplexing is enabled.
+	 *
+	 * @return
+	 * See {@link TcpReverseProxyMultiplexingSettings#isEnabled()}.
+	 */
+	final boolean isEnabled() {
+		return settings.isEnabled();
+	}
+
+	/**
+	 * Chooses a shared back-end {@link io.netty.channel.Channel} connected to the {@code backEnd},
+	 * connecting a new one if needed. This method MUST be called from the {@code eventLoop}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} to connect to.
+	 * @param eventLoop
+	 * {@link EventLoop} of the front-end {@link io.netty.channel.Channel} that will use the chosen back-end
+	 * {@link io.netty.channel.Channel}.
+	 * @param connectTimeoutMillis
+	 * Amount of time in milliseconds to wait for connecting if a new back-end {@link io.netty.channel.Channel} is created.
+	 * @return
+	 * {@link TcpReverseProxyMultiplexedChannelHandler} of the chosen back-end {@link io.netty.channel.Channel},
+	 * which MAY be not connected yet (see {@link TcpReverseProxyMultiplexedChannelHandler#getConnectFuture()}).
+	 */
+	final TcpReverseProxyMultiplexedChannelHandler acquire(
+			final TcpReverseProxyBackEnd backEnd, final EventLoop eventLoop, final int connectTimeoutMillis) {
+		final Lanes lanes = eventLoopsLanes.computeIfAbsent(eventLoop, key -> new Lanes());
+		final TcpReverseProxyMultiplexedChannelHandler[] backEndLanes = lanes.lanes.computeIfAbsent(
+				backEnd, key -> new TcpReverseProxyMultiplexedChannelHandler[settings.getConnectionsPerEventLoop()]);
+		final int idx = lanes.next++ % backEndLanes.length;
+		if (lanes.next == Integer.MAX_VALUE) {
+			lanes.next = 0;
+		}
+		@Nullable
+		TcpReverseProxyMultiplexedChannelHandler result = backEndLanes[idx];
+		if (result == null || !result.isUsable()) {
+			result = new TcpReverseProxyMultiplexedChannelHandler(forwardingSettings, capture);
+			final ChannelFuture connectFuture = new Bootstrap().group(eventLoop)
+					.channel(NioSocketChannel.class)
+					.option(ChannelOption.SO_KEEPALIVE, true)
+					.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+					.handler(result)
+					.connect(backEnd.getAddress());
+			result.setConnectFuture(connectFuture);
+			backEndLanes[idx] = result;
+			LOGGER.debug("A new shared back-end channel {} was created", connectFuture.channel());
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets shared back-end {@link io.netty.channel.Channel}s connected to the {@code backEnd} on each {@link EventLoop}
+	 * and closes each of them once responses to all data written to it are read
+	 * (see {@link TcpReverseProxyMultiplexedChannelHandler#closeWhenIdle()}).
+	 * This method MAY be called from any {@link Thread}.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that was removed and hence is never chosen again.
+	 */
+	final void remove(final TcpReverseProxyBackEnd backEnd) {
+		checkNotNull(backEnd, ARGUMENT_NULL_SINGLE, "backEnd");
+		for (final Map.Entry<EventLoop, Lanes> eventLoopLanes : eventLoopsLanes.entrySet()) {
+			final EventLoop eventLoop = eventLoopLanes.getKey();
+			final Lanes lanes = eventLoopLanes.getValue();
+			if (!eventLoop.isShuttingDown()) {
+				eventLoop.execute(() -> {
+					@Nullable
+					final TcpReverseProxyMultiplexedChannelHandler[] backEndLanes = lanes.lanes.remove(backEnd);
+					if (backEndLanes != null) {
+						for (final TcpReverseProxyMultiplexedChannelHandler lane : backEndLanes) {
+							if (lane != null) {
+								lane.closeWhenIdle();
+							}
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyMultiplexer}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyMultiplexer}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(settings=").append(settings)
+				.append(", eventLoops=").append(eventLoopsLanes.size()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
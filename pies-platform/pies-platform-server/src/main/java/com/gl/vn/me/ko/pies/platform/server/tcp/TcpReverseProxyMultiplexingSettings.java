@@ -0,0 +1,84 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies if {@link TcpReverseProxyServer} multiplexes front-end connections over shared back-end connections.
+ * <p>
+ * If multiplexing is enabled, data read from front-end connections is interleaved onto a fixed number of back-end connections
+ * per {@link TcpReverseProxyBackEnd} and per worker {@link io.netty.channel.EventLoop}, so the number of back-end connections
+ * doesn't depend on the number of front-end connections. Responses are demultiplexed by remembering how many bytes
+ * each front-end connection has written to a back-end connection, hence multiplexing MUST be enabled only for back-ends
+ * that respond to each received byte with exactly one byte and in the same order, e.g. echo servers.
+ * <p>
+ * Pooling of back-end connections (see {@link TcpReverseProxyBackEndPoolSettings}) and idleness of back-end connections
+ * (see {@link TcpReverseProxyIdleSettings}) don't apply to shared back-end connections,
+ * and neither do {@linkplain TcpReverseProxyBandwidthLimits write limits} because delaying reads from a shared
+ * back-end connection would delay all front-end connections that use it.
+ */
+@Immutable
+public final class TcpReverseProxyMultiplexingSettings {
+	private static final TcpReverseProxyMultiplexingSettings DISABLED = new TcpReverseProxyMultiplexingSettings(0);
+
+	/**
+	 * Returns {@link TcpReverseProxyMultiplexingSettings} that disable multiplexing,
+	 * i.e. each front-end connection has its own back-end connection.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyMultiplexingSettings} with {@link #getConnectionsPerEventLoop()} equal to {@code 0}.
+	 */
+	public static final TcpReverseProxyMultiplexingSettings disabled() {
+		return DISABLED;
+	}
+
+	private final int connectionsPerEventLoop;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyMultiplexingSettings}.
+	 *
+	 * @param connectionsPerEventLoop
+	 * Number of shared connections to each {@link TcpReverseProxyBackEnd} per worker {@link io.netty.channel.EventLoop}.
+	 * This argument MUST NOT be negative. If this argument is {@code 0} then multiplexing is disabled.
+	 */
+	public TcpReverseProxyMultiplexingSettings(final int connectionsPerEventLoop) {
+		checkArgument(connectionsPerEventLoop >= 0, ARGUMENT_ILLEGAL, connectionsPerEventLoop, "first",
+				"connectionsPerEventLoop", "Expected value must not be negative");
+		this.connectionsPerEventLoop = connectionsPerEventLoop;
+	}
+
+	/**
+	 * Specifies if multiplexing is enabled.
+	 *
+	 * @return
+	 * {@code true} if {@link #getConnectionsPerEventLoop()} is positive, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return connectionsPerEventLoop > 0;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyMultiplexingSettings(int)}.
+	 *
+	 * @return
+	 * Number of shared back-end connections per {@link TcpReverseProxyBackEnd} and per worker {@link io.netty.channel.EventLoop}.
+	 */
+	public final int getConnectionsPerEventLoop() {
+		return connectionsPerEventLoop;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyMultiplexingSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyMultiplexingSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(connectionsPerEventLoop=").append(connectionsPerEventLoop).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
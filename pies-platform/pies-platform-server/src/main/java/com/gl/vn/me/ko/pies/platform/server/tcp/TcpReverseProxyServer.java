@@ -1,7 +1,11 @@
 package com.gl.vn.me.ko.pies.platform.server.tcp;
 
 import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
@@ -12,9 +16,19 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -22,6 +36,12 @@ import org.slf4j.LoggerFactory;
  * This proxy simply transfers data (requests) from clients (front-ends) to servers (back-ends)
  * and transfers data back (responses) from back-ends to front-ends,
  * thus hiding back-ends from front-ends and front-ends from back-ends.
+ * <p>
+ * Besides the front-end address the proxy MAY listen to any number of additional addresses
+ * (see {@link TcpReverseProxyListener}), all of them are served by the same boss and worker threads.
+ * <p>
+ * The proxy MAY terminate TLS on front-end connections (see {@link TcpReverseProxyTlsSettings}),
+ * in which case only decrypted data is forwarded to back-ends.
  */
 @ThreadSafe
 public final class TcpReverseProxyServer extends TcpServer {
@@ -42,35 +62,119 @@ public final class TcpReverseProxyServer extends TcpServer {
 		}
 	}
 
+	/**
+	 * Back-ends and {@link TcpReverseProxyStats} that serve a front-end connection.
+	 */
+	private static final class Route {
+		private final TcpReverseProxyBackEndGroup beGroup;
+		private final TcpReverseProxyStats stats;
+
+		private Route(final TcpReverseProxyBackEndGroup beGroup, final TcpReverseProxyStats stats) {
+			this.beGroup = beGroup;
+			this.stats = stats;
+		}
+	}
+
 	private static final class WorkerChannelInitializer extends ChannelInitializer<SocketChannel> {
-		private final InetSocketAddress beAddress;
+		private final Route route;
 		private final int connectTimeoutMillis;
 		private final EventLoopGroup workerEventLoopGroup;
+		private final TcpReverseProxyForwardingSettings forwardingSettings;
+		private final TcpReverseProxyIdleSettings idleSettings;
+		private final TcpReverseProxyMirrorSettings mirrorSettings;
+		private final TcpReverseProxyCapture capture;
+		private final TcpReverseProxyBandwidthLimits bandwidthLimits;
+		private final TcpReverseProxyMultiplexer multiplexer;
+		private final TcpReverseProxyConnections connections;
+		private final TcpReverseProxyTlsSettings tlsSettings;
+		private final Map<String, Route> sniRoutes;
 
 		private WorkerChannelInitializer(
-				final InetSocketAddress beAddress,
+				final Route route,
 				final int connectTimeoutMillis,
-				final EventLoopGroup workerEventLoopGroup) {
-			this.beAddress = beAddress;
+				final EventLoopGroup workerEventLoopGroup,
+				final TcpReverseProxyForwardingSettings forwardingSettings,
+				final TcpReverseProxyIdleSettings idleSettings,
+				final TcpReverseProxyMirrorSettings mirrorSettings,
+				final TcpReverseProxyCapture capture,
+				final TcpReverseProxyBandwidthLimits bandwidthLimits,
+				final TcpReverseProxyMultiplexer multiplexer,
+				final TcpReverseProxyConnections connections,
+				final TcpReverseProxyTlsSettings tlsSettings,
+				final Map<String, Route> sniRoutes) {
+			this.route = route;
 			this.connectTimeoutMillis = connectTimeoutMillis;
 			this.workerEventLoopGroup = workerEventLoopGroup;
+			this.forwardingSettings = forwardingSettings;
+			this.idleSettings = idleSettings;
+			this.mirrorSettings = mirrorSettings;
+			this.capture = capture;
+			this.bandwidthLimits = bandwidthLimits;
+			this.multiplexer = multiplexer;
+			this.connections = connections;
+			this.tlsSettings = tlsSettings;
+			this.sniRoutes = sniRoutes;
 		}
 
 		@Override
 		protected final void initChannel(final SocketChannel channel) throws Exception {
+			forwardingSettings.apply(channel.config());
 			final ChannelPipeline pipeline = channel.pipeline();
-			pipeline.addLast(new TcpReverseProxyFrontEndChannelHandler(beAddress, connectTimeoutMillis, workerEventLoopGroup));
+			if (idleSettings.isEnabled()) {
+				pipeline.addLast(TcpReverseProxyIdleStateHandler.NAME,
+						new TcpReverseProxyIdleStateHandler(idleSettings, true, route.stats));
+			}
+			@Nullable
+			final SSLContext sslContext = tlsSettings.getSslContext();
+			if (sslContext != null) {
+				final SSLEngine engine = sslContext.createSSLEngine();
+				engine.setUseClientMode(false);
+				pipeline.addLast(new TcpReverseProxyTlsHandler(engine, tlsSettings.getHandshakeTimeoutMillis(),
+						(final Optional<String> sniHostName) -> newFrontEndChannelHandler(
+								sniHostName.map(sniRoutes::get).orElse(route)),
+						route.stats));
+			} else {
+				pipeline.addLast(newFrontEndChannelHandler(route));
+			}
+		}
+
+		private final TcpReverseProxyFrontEndChannelHandler newFrontEndChannelHandler(final Route route) {
+			return new TcpReverseProxyFrontEndChannelHandler(
+					route.beGroup, connectTimeoutMillis, workerEventLoopGroup, forwardingSettings, idleSettings, mirrorSettings,
+					route.stats, capture, bandwidthLimits, multiplexer, connections);
 		}
+	}
+
+	private static final class Listener {
+		private final TcpReverseProxyListener listener;
+		private final Route route;
+		private final WorkerChannelInitializer workerChannelInitializer;
 
+		private Listener(
+				final TcpReverseProxyListener listener,
+				final Route route,
+				final WorkerChannelInitializer workerChannelInitializer) {
+			this.listener = listener;
+			this.route = route;
+			this.workerChannelInitializer = workerChannelInitializer;
+		}
 	}
 
+	private final TcpReverseProxyBackEndGroup beGroup;
+	private final TcpReverseProxyStats stats;
+	private final List<Listener> listeners;
+	private final TcpReverseProxyCapture capture;
+	private final TcpReverseProxyBandwidthLimits bandwidthLimits;
+	private final TcpReverseProxyConnections connections;
+
 	/**
 	 * Constructs a new instance of {@link TcpReverseProxyServer}.
 	 *
 	 * @param feAddress
 	 * {@link InetSocketAddress} the {@link TcpReverseProxyServer} will listen to (front-end address).
-	 * @param beAddress
-	 * {@link InetSocketAddress} the {@link TcpReverseProxyServer} will forward requests to (back-end address).
+	 * @param backEnds
+	 * {@link TcpReverseProxyBackEnd}s the {@link TcpReverseProxyServer} will forward requests to.
+	 * This argument MUST NOT be empty.
 	 * @param name
 	 * A name of the {@link TcpReverseProxyServer}.
 	 * @param maxBossThreads
@@ -81,23 +185,307 @@ public final class TcpReverseProxyServer extends TcpServer {
 	 * A {@link ThreadFactory} that will be used to create boss and worker {@link Thread}s.
 	 * {@link Thread} names MAY not be the same as the {@code threadFactory} generates.
 	 * @param connectTimeoutMillis
-	 * Amount of time in milliseconds to wait for connecting to the {@code beAddress}.
+	 * Amount of time in milliseconds to wait for connecting to a back-end.
+	 * Failed connects are retried against other back-ends until this time expires,
+	 * i.e. it bounds all connect attempts made for a single front-end connection.
 	 * This argument MUST be positive.
+	 * @param loadBalancingStrategy
+	 * {@link TcpReverseProxyLoadBalancingStrategy} that specifies how a back-end is chosen for a new front-end connection.
+	 * @param bandwidthLimits
+	 * {@link TcpReverseProxyBandwidthLimits} that are enforced for proxied traffic.
+	 * They MAY be changed at runtime via {@link #getBandwidthLimits()}.
+	 * @param listeners
+	 * Additional {@link TcpReverseProxyListener}s, MAY be empty. Names of listeners MUST be unique.
+	 * @param settings
+	 * {@link TcpReverseProxySettings} of the {@link TcpReverseProxyServer}.
+	 * {@linkplain TcpReverseProxyTlsSettings#getSniRoutes() SNI routes} MUST refer to names of {@code listeners}.
 	 */
 	@Inject
 	public TcpReverseProxyServer(
 			@TcpReverseProxyServerFrontEndAddress final InetSocketAddress feAddress,
-			@TcpReverseProxyServerBackEndAddress final InetSocketAddress beAddress,
+			@TcpReverseProxyServerBackEnds final List<TcpReverseProxyBackEnd> backEnds,
 			@TcpReverseProxyServerName final String name,
 			@TcpReverseProxyServerBoss final Integer maxBossThreads,
 			@TcpReverseProxyServerWorker final Integer maxWorkerThreads,
 			@TcpReverseProxyServerThreadFactory final ThreadFactory threadFactory,
-			@TcpReverseProxyServerConnectTimeout final Integer connectTimeoutMillis) {
-		super(feAddress, name, maxBossThreads, maxWorkerThreads, threadFactory, new ServerChannelInitializer(), null);
+			@TcpReverseProxyServerConnectTimeout final Integer connectTimeoutMillis,
+			@TcpReverseProxyServerLoadBalancing final TcpReverseProxyLoadBalancingStrategy loadBalancingStrategy,
+			final TcpReverseProxyBandwidthLimits bandwidthLimits,
+			@TcpReverseProxyServerListeners final List<TcpReverseProxyListener> listeners,
+			final TcpReverseProxySettings settings) {
+		super(feAddress, name, maxBossThreads, maxWorkerThreads, threadFactory, new ServerChannelInitializer(), null,
+				checkNotNull(settings, ARGUMENT_NULL, "eleventh", "settings").getSocketOptions(), settings.getConnectionLimits());
 		checkArgument(connectTimeoutMillis.longValue() > 0,
 				ARGUMENT_ILLEGAL, connectTimeoutMillis, "seventh", "connectTimeoutMillis", "Expected value must be positive");
-		getServerBootstrap().childHandler(
-				new WorkerChannelInitializer(beAddress, connectTimeoutMillis.intValue(), getServerBootstrap().childGroup()));
+		checkNotNull(loadBalancingStrategy, ARGUMENT_NULL, "eighth", "loadBalancingStrategy");
+		checkNotNull(bandwidthLimits, ARGUMENT_NULL, "ninth", "bandwidthLimits");
+		checkNotNull(listeners, ARGUMENT_NULL, "tenth", "listeners");
+		final Set<String> listenerNames = new HashSet<>();
+		for (final TcpReverseProxyListener listener : listeners) {
+			checkArgument(listenerNames.add(listener.getName()), ARGUMENT_ILLEGAL, listeners, "tenth", "listeners",
+					"Expected names of listeners must be unique");
+		}
+		final TcpReverseProxyBackEndPoolSettings bePoolSettings = settings.getBePoolSettings();
+		final TcpReverseProxyForwardingSettings forwardingSettings = settings.getForwardingSettings();
+		final TcpReverseProxyHealthCheckSettings healthCheckSettings = settings.getHealthCheckSettings();
+		final TcpReverseProxyIdleSettings idleSettings = settings.getIdleSettings();
+		final TcpReverseProxyAdmissionSettings admissionSettings = settings.getAdmissionSettings();
+		final TcpReverseProxyMirrorSettings mirrorSettings = settings.getMirrorSettings();
+		final TcpReverseProxyTlsSettings tlsSettings = settings.getTlsSettings();
+		this.bandwidthLimits = bandwidthLimits;
+		stats = new TcpReverseProxyStats();
+		connections = new TcpReverseProxyConnections();
+		capture = new TcpReverseProxyCapture(settings.getCaptureSettings(), threadFactory);
+		final TcpReverseProxyMultiplexer multiplexer = new TcpReverseProxyMultiplexer(
+				settings.getMultiplexingSettings(), forwardingSettings, capture);
+		beGroup = new TcpReverseProxyBackEndGroup(backEnds, loadBalancingStrategy, connectTimeoutMillis.intValue(),
+				bePoolSettings, healthCheckSettings, admissionSettings, multiplexer);
+		final Map<String, Route> listenerRoutes = new LinkedHashMap<>();
+		for (final TcpReverseProxyListener listener : listeners) {
+			listenerRoutes.put(listener.getName(), new Route(new TcpReverseProxyBackEndGroup(listener.getBackEnds(),
+					listener.getLoadBalancingStrategy(), connectTimeoutMillis.intValue(), bePoolSettings, healthCheckSettings,
+					admissionSettings, multiplexer), new TcpReverseProxyStats()));
+		}
+		final ImmutableMap.Builder<String, Route> sniRoutesBuilder = ImmutableMap.builder();
+		for (final Map.Entry<String, String> sniRoute : tlsSettings.getSniRoutes().entrySet()) {
+			@Nullable
+			final Route route = listenerRoutes.get(sniRoute.getValue());
+			checkArgument(route != null, ARGUMENT_ILLEGAL, settings, "eleventh", "settings",
+					"Expected SNI routes must refer to names of listeners");
+			sniRoutesBuilder.put(sniRoute.getKey(), route);
+		}
+		final Map<String, Route> sniRoutes = sniRoutesBuilder.build();
+		@Nullable
+		final SSLContext sslContext = tlsSettings.getSslContext();
+		if (sslContext != null) {
+			final SSLSessionContext sessionContext = sslContext.getServerSessionContext();
+			sessionContext.setSessionCacheSize(tlsSettings.getSessionCacheSize());
+			sessionContext.setSessionTimeout(tlsSettings.getSessionTimeoutSeconds());
+		}
+		getServerBootstrap().childHandler(new WorkerChannelInitializer(new Route(beGroup, stats), connectTimeoutMillis.intValue(),
+				getServerBootstrap().childGroup(), forwardingSettings, idleSettings, mirrorSettings, capture,
+				bandwidthLimits, multiplexer, connections, tlsSettings, sniRoutes));
 		getServerBootstrap().childOption(ChannelOption.AUTO_READ, false);
+		final ImmutableList.Builder<Listener> listenersBuilder = ImmutableList.builder();
+		for (final TcpReverseProxyListener listener : listeners) {
+			final Route route = listenerRoutes.get(listener.getName());
+			listenersBuilder.add(new Listener(listener, route, new WorkerChannelInitializer(
+					route, connectTimeoutMillis.intValue(), getServerBootstrap().childGroup(), forwardingSettings,
+					idleSettings, mirrorSettings, capture, bandwidthLimits, multiplexer, connections, tlsSettings, sniRoutes)));
+		}
+		this.listeners = listenersBuilder.build();
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyBackEnd}s the {@link TcpReverseProxyServer} forwards requests to,
+	 * which allows to observe their state.
+	 *
+	 * @return
+	 * An unmodifiable snapshot {@link List} of {@link TcpReverseProxyBackEnd}s including draining ones.
+	 */
+	public final List<TcpReverseProxyBackEnd> getBackEnds() {
+		return beGroup.getBackEnds();
+	}
+
+	/**
+	 * Adds a {@link TcpReverseProxyBackEnd} at runtime, so that new front-end connections MAY be forwarded to it.
+	 *
+	 * Checking that there is no {@link TcpReverseProxyBackEnd} with the same address and adding are done atomically.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that isn't {@linkplain TcpReverseProxyBackEnd#isDraining() draining}.
+	 * @return
+	 * {@code true} if the {@code backEnd} was added, {@code false} if the {@link TcpReverseProxyServer} already has
+	 * a {@link TcpReverseProxyBackEnd} with the same {@linkplain TcpReverseProxyBackEnd#getAddress() address}.
+	 */
+	public final boolean addBackEnd(final TcpReverseProxyBackEnd backEnd) {
+		return beGroup.add(backEnd);
+	}
+
+	/**
+	 * Drains a {@link TcpReverseProxyBackEnd}: existing connections to it are kept until they are closed,
+	 * but new front-end connections are never forwarded to it. Draining can't be undone.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belongs to the {@link TcpReverseProxyServer}, {@code false} otherwise.
+	 */
+	public final boolean drainBackEnd(final TcpReverseProxyBackEnd backEnd) {
+		return beGroup.drain(backEnd);
+	}
+
+	/**
+	 * {@linkplain #drainBackEnd(TcpReverseProxyBackEnd) Drains} a {@link TcpReverseProxyBackEnd} and removes it
+	 * from the {@link TcpReverseProxyServer}. Existing connections to the {@code backEnd} are kept until they are closed.
+	 *
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belonged to the {@link TcpReverseProxyServer}, {@code false} otherwise.
+	 */
+	public final boolean removeBackEnd(final TcpReverseProxyBackEnd backEnd) {
+		return beGroup.remove(backEnd);
+	}
+
+	/**
+	 * Returns {@linkplain TcpReverseProxyListener#getName() names} of additional {@link TcpReverseProxyListener}s.
+	 *
+	 * @return
+	 * An unmodifiable {@link List} of names in the order in which listeners were specified.
+	 */
+	public final List<String> getListenerNames() {
+		final ImmutableList.Builder<String> resultBuilder = ImmutableList.builder();
+		for (final Listener listener : listeners) {
+			resultBuilder.add(listener.listener.getName());
+		}
+		return resultBuilder.build();
+	}
+
+	/**
+	 * Does the same as {@link #getBackEnds()}, but for an additional {@link TcpReverseProxyListener}.
+	 *
+	 * @param listenerName
+	 * One of the {@linkplain #getListenerNames() names} of additional {@link TcpReverseProxyListener}s.
+	 * @return
+	 * An unmodifiable snapshot {@link List} of {@link TcpReverseProxyBackEnd}s of the listener including draining ones.
+	 */
+	public final List<TcpReverseProxyBackEnd> getBackEnds(final String listenerName) {
+		return listenerBeGroup(listenerName).getBackEnds();
+	}
+
+	/**
+	 * Does the same as {@link #addBackEnd(TcpReverseProxyBackEnd)}, but for an additional {@link TcpReverseProxyListener}.
+	 *
+	 * @param listenerName
+	 * One of the {@linkplain #getListenerNames() names} of additional {@link TcpReverseProxyListener}s.
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd} that isn't {@linkplain TcpReverseProxyBackEnd#isDraining() draining}.
+	 * @return
+	 * {@code true} if the {@code backEnd} was added, {@code false} if the listener already has
+	 * a {@link TcpReverseProxyBackEnd} with the same {@linkplain TcpReverseProxyBackEnd#getAddress() address}.
+	 */
+	public final boolean addBackEnd(final String listenerName, final TcpReverseProxyBackEnd backEnd) {
+		return listenerBeGroup(listenerName).add(backEnd);
+	}
+
+	/**
+	 * Does the same as {@link #drainBackEnd(TcpReverseProxyBackEnd)}, but for an additional {@link TcpReverseProxyListener}.
+	 *
+	 * @param listenerName
+	 * One of the {@linkplain #getListenerNames() names} of additional {@link TcpReverseProxyListener}s.
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belongs to the listener, {@code false} otherwise.
+	 */
+	public final boolean drainBackEnd(final String listenerName, final TcpReverseProxyBackEnd backEnd) {
+		return listenerBeGroup(listenerName).drain(backEnd);
+	}
+
+	/**
+	 * Does the same as {@link #removeBackEnd(TcpReverseProxyBackEnd)}, but for an additional {@link TcpReverseProxyListener}.
+	 *
+	 * @param listenerName
+	 * One of the {@linkplain #getListenerNames() names} of additional {@link TcpReverseProxyListener}s.
+	 * @param backEnd
+	 * {@link TcpReverseProxyBackEnd}.
+	 * @return
+	 * {@code true} if the {@code backEnd} belonged to the listener, {@code false} otherwise.
+	 */
+	public final boolean removeBackEnd(final String listenerName, final TcpReverseProxyBackEnd backEnd) {
+		return listenerBeGroup(listenerName).remove(backEnd);
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyStats} of the {@link TcpReverseProxyServer}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyStats}.
+	 */
+	public final TcpReverseProxyStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyStats} of each additional {@link TcpReverseProxyListener}.
+	 * Connections accepted by additional listeners aren't counted by {@link #getStats()}.
+	 *
+	 * @return
+	 * An unmodifiable {@link Map} from {@linkplain TcpReverseProxyListener#getName() names} of listeners
+	 * to their {@link TcpReverseProxyStats}, iteration order is the order in which listeners were specified.
+	 */
+	public final Map<String, TcpReverseProxyStats> getListenerStats() {
+		final ImmutableMap.Builder<String, TcpReverseProxyStats> resultBuilder = ImmutableMap.builder();
+		for (final Listener listener : listeners) {
+			resultBuilder.put(listener.listener.getName(), listener.route.stats);
+		}
+		return resultBuilder.build();
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyConnections} of the {@link TcpReverseProxyServer},
+	 * which allows to observe active proxied connections.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyConnections}.
+	 */
+	public final TcpReverseProxyConnections getConnections() {
+		return connections;
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyCapture} of the {@link TcpReverseProxyServer},
+	 * which allows to record data that passes through the {@link TcpReverseProxyServer}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyCapture}.
+	 */
+	public final TcpReverseProxyCapture getCapture() {
+		return capture;
+	}
+
+	/**
+	 * Returns {@link TcpReverseProxyBandwidthLimits} of the {@link TcpReverseProxyServer},
+	 * which allows to change them at runtime.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyBandwidthLimits}.
+	 */
+	public final TcpReverseProxyBandwidthLimits getBandwidthLimits() {
+		return bandwidthLimits;
+	}
+
+	private final TcpReverseProxyBackEndGroup listenerBeGroup(final String listenerName) {
+		checkNotNull(listenerName, ARGUMENT_NULL, "first", "listenerName");
+		@Nullable
+		TcpReverseProxyBackEndGroup result = null;
+		for (final Listener listener : listeners) {
+			if (listener.listener.getName().equals(listenerName)) {
+				result = listener.route.beGroup;
+				break;
+			}
+		}
+		checkArgument(result != null, ARGUMENT_ILLEGAL, listenerName, "first", "listenerName",
+				"Expected value must be a name of one of the listeners");
+		return result;
+	}
+
+	@Override
+	protected final void startHook() {
+		beGroup.start(getServerBootstrap().childGroup());
+		for (final Listener listener : listeners) {
+			listener.route.beGroup.start(getServerBootstrap().childGroup());
+			bind(getServerBootstrap().clone().childHandler(listener.workerChannelInitializer), listener.listener.getAddress());
+		}
+	}
+
+	@Override
+	protected final void shutdownHook() {
+		beGroup.close();
+		for (final Listener listener : listeners) {
+			listener.route.beGroup.close();
+		}
+		capture.close();
 	}
 }
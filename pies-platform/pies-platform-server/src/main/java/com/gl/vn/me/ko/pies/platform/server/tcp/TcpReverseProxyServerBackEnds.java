@@ -11,5 +11,5 @@ import javax.inject.Qualifier;
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Qualifier
-public @interface TcpReverseProxyServerBackEndAddress {
+public @interface TcpReverseProxyServerBackEnds {
 }
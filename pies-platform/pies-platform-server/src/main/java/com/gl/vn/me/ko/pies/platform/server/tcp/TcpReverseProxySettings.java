@@ -0,0 +1,369 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkNotNull;
+import io.netty.channel.socket.SocketChannel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Groups settings of a {@link TcpReverseProxyServer} that have reasonable defaults.
+ * <p>
+ * Instances are obtained by modifying {@link #defaults()} via {@code with...} methods, e.g.
+ * {@code TcpReverseProxySettings.defaults().withIdleSettings(idleSettings)}.
+ */
+@Immutable
+public final class TcpReverseProxySettings {
+	private static final TcpReverseProxySettings DEFAULT = new TcpReverseProxySettings(
+			TcpReverseProxyBackEndPoolSettings.disabled(),
+			TcpReverseProxyForwardingSettings.defaults(),
+			TcpReverseProxyHealthCheckSettings.defaults(),
+			TcpReverseProxyIdleSettings.disabled(),
+			TcpReverseProxyAdmissionSettings.unlimited(),
+			TcpReverseProxyMirrorSettings.disabled(),
+			TcpReverseProxyCaptureSettings.unavailable(),
+			TcpReverseProxyMultiplexingSettings.disabled(),
+			TcpReverseProxyTlsSettings.disabled(),
+			TcpServerSocketOptions.defaults(),
+			TcpServerConnectionLimits.unlimited());
+
+	/**
+	 * Returns {@link TcpReverseProxySettings} that consist of defaults of each of the grouped settings,
+	 * i.e. pooling, mirroring, multiplexing and TLS are disabled, capture is unavailable,
+	 * and connections are neither limited nor closed when idle.
+	 *
+	 * @return
+	 * Default {@link TcpReverseProxySettings}.
+	 */
+	public static final TcpReverseProxySettings defaults() {
+		return DEFAULT;
+	}
+
+	private final TcpReverseProxyBackEndPoolSettings bePoolSettings;
+	private final TcpReverseProxyForwardingSettings forwardingSettings;
+	private final TcpReverseProxyHealthCheckSettings healthCheckSettings;
+	private final TcpReverseProxyIdleSettings idleSettings;
+	private final TcpReverseProxyAdmissionSettings admissionSettings;
+	private final TcpReverseProxyMirrorSettings mirrorSettings;
+	private final TcpReverseProxyCaptureSettings captureSettings;
+	private final TcpReverseProxyMultiplexingSettings multiplexingSettings;
+	private final TcpReverseProxyTlsSettings tlsSettings;
+	private final TcpServerSocketOptions socketOptions;
+	private final TcpServerConnectionLimits connectionLimits;
+
+	private TcpReverseProxySettings(
+			final TcpReverseProxyBackEndPoolSettings bePoolSettings,
+			final TcpReverseProxyForwardingSettings forwardingSettings,
+			final TcpReverseProxyHealthCheckSettings healthCheckSettings,
+			final TcpReverseProxyIdleSettings idleSettings,
+			final TcpReverseProxyAdmissionSettings admissionSettings,
+			final TcpReverseProxyMirrorSettings mirrorSettings,
+			final TcpReverseProxyCaptureSettings captureSettings,
+			final TcpReverseProxyMultiplexingSettings multiplexingSettings,
+			final TcpReverseProxyTlsSettings tlsSettings,
+			final TcpServerSocketOptions socketOptions,
+			final TcpServerConnectionLimits connectionLimits) {
+		this.bePoolSettings = bePoolSettings;
+		this.forwardingSettings = forwardingSettings;
+		this.healthCheckSettings = healthCheckSettings;
+		this.idleSettings = idleSettings;
+		this.admissionSettings = admissionSettings;
+		this.mirrorSettings = mirrorSettings;
+		this.captureSettings = captureSettings;
+		this.multiplexingSettings = multiplexingSettings;
+		this.tlsSettings = tlsSettings;
+		this.socketOptions = socketOptions;
+		this.connectionLimits = connectionLimits;
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyBackEndPoolSettings}.
+	 *
+	 * @param bePoolSettings
+	 * {@link TcpReverseProxyBackEndPoolSettings} that specify how pre-connected back-end channels are pooled.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withBePoolSettings(final TcpReverseProxyBackEndPoolSettings bePoolSettings) {
+		checkNotNull(bePoolSettings, ARGUMENT_NULL_SINGLE, "bePoolSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyForwardingSettings}.
+	 *
+	 * @param forwardingSettings
+	 * {@link TcpReverseProxyForwardingSettings} that specify how data is forwarded between front-ends and back-ends.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withForwardingSettings(final TcpReverseProxyForwardingSettings forwardingSettings) {
+		checkNotNull(forwardingSettings, ARGUMENT_NULL_SINGLE, "forwardingSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyHealthCheckSettings}.
+	 *
+	 * @param healthCheckSettings
+	 * {@link TcpReverseProxyHealthCheckSettings} that specify how unhealthy back-ends are detected.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withHealthCheckSettings(final TcpReverseProxyHealthCheckSettings healthCheckSettings) {
+		checkNotNull(healthCheckSettings, ARGUMENT_NULL_SINGLE, "healthCheckSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyIdleSettings}.
+	 *
+	 * @param idleSettings
+	 * {@link TcpReverseProxyIdleSettings} that specify when idle proxied connections are closed.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withIdleSettings(final TcpReverseProxyIdleSettings idleSettings) {
+		checkNotNull(idleSettings, ARGUMENT_NULL_SINGLE, "idleSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyAdmissionSettings}.
+	 *
+	 * @param admissionSettings
+	 * {@link TcpReverseProxyAdmissionSettings} that specify how the number of connections to each back-end is limited.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withAdmissionSettings(final TcpReverseProxyAdmissionSettings admissionSettings) {
+		checkNotNull(admissionSettings, ARGUMENT_NULL_SINGLE, "admissionSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyMirrorSettings}.
+	 *
+	 * @param mirrorSettings
+	 * {@link TcpReverseProxyMirrorSettings} that specify how traffic is mirrored to a shadow back-end.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withMirrorSettings(final TcpReverseProxyMirrorSettings mirrorSettings) {
+		checkNotNull(mirrorSettings, ARGUMENT_NULL_SINGLE, "mirrorSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyCaptureSettings}.
+	 *
+	 * @param captureSettings
+	 * {@link TcpReverseProxyCaptureSettings} that specify where data is recorded once
+	 * {@linkplain TcpReverseProxyServer#getCapture() capture} is enabled.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withCaptureSettings(final TcpReverseProxyCaptureSettings captureSettings) {
+		checkNotNull(captureSettings, ARGUMENT_NULL_SINGLE, "captureSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyMultiplexingSettings}.
+	 *
+	 * @param multiplexingSettings
+	 * {@link TcpReverseProxyMultiplexingSettings} that specify if front-end connections share back-end connections.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withMultiplexingSettings(final TcpReverseProxyMultiplexingSettings multiplexingSettings) {
+		checkNotNull(multiplexingSettings, ARGUMENT_NULL_SINGLE, "multiplexingSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpReverseProxyTlsSettings}.
+	 *
+	 * @param tlsSettings
+	 * {@link TcpReverseProxyTlsSettings} that specify if TLS is terminated on front-end connections accepted at all addresses.
+	 * {@linkplain TcpReverseProxyTlsSettings#getSniRoutes() SNI routes} MUST refer to names of listeners of the
+	 * {@link TcpReverseProxyServer}.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withTlsSettings(final TcpReverseProxyTlsSettings tlsSettings) {
+		checkNotNull(tlsSettings, ARGUMENT_NULL_SINGLE, "tlsSettings");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpServerSocketOptions}.
+	 *
+	 * @param socketOptions
+	 * {@link TcpServerSocketOptions} of front-end sockets at all addresses.
+	 * Water marks of front-end {@link SocketChannel}s are still specified by {@link #getForwardingSettings()}.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withSocketOptions(final TcpServerSocketOptions socketOptions) {
+		checkNotNull(socketOptions, ARGUMENT_NULL_SINGLE, "socketOptions");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpReverseProxySettings} with the specified {@link TcpServerConnectionLimits}.
+	 *
+	 * @param connectionLimits
+	 * {@link TcpServerConnectionLimits} that are enforced when front-end connections are accepted at all addresses.
+	 * @return
+	 * Modified copy of the {@link TcpReverseProxySettings}.
+	 */
+	public final TcpReverseProxySettings withConnectionLimits(final TcpServerConnectionLimits connectionLimits) {
+		checkNotNull(connectionLimits, ARGUMENT_NULL_SINGLE, "connectionLimits");
+		return new TcpReverseProxySettings(bePoolSettings, forwardingSettings, healthCheckSettings, idleSettings,
+				admissionSettings, mirrorSettings, captureSettings, multiplexingSettings, tlsSettings, socketOptions, connectionLimits);
+	}
+
+	/**
+	 * See {@link #withBePoolSettings(TcpReverseProxyBackEndPoolSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyBackEndPoolSettings}.
+	 */
+	public final TcpReverseProxyBackEndPoolSettings getBePoolSettings() {
+		return bePoolSettings;
+	}
+
+	/**
+	 * See {@link #withForwardingSettings(TcpReverseProxyForwardingSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyForwardingSettings}.
+	 */
+	public final TcpReverseProxyForwardingSettings getForwardingSettings() {
+		return forwardingSettings;
+	}
+
+	/**
+	 * See {@link #withHealthCheckSettings(TcpReverseProxyHealthCheckSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyHealthCheckSettings}.
+	 */
+	public final TcpReverseProxyHealthCheckSettings getHealthCheckSettings() {
+		return healthCheckSettings;
+	}
+
+	/**
+	 * See {@link #withIdleSettings(TcpReverseProxyIdleSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyIdleSettings}.
+	 */
+	public final TcpReverseProxyIdleSettings getIdleSettings() {
+		return idleSettings;
+	}
+
+	/**
+	 * See {@link #withAdmissionSettings(TcpReverseProxyAdmissionSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyAdmissionSettings}.
+	 */
+	public final TcpReverseProxyAdmissionSettings getAdmissionSettings() {
+		return admissionSettings;
+	}
+
+	/**
+	 * See {@link #withMirrorSettings(TcpReverseProxyMirrorSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyMirrorSettings}.
+	 */
+	public final TcpReverseProxyMirrorSettings getMirrorSettings() {
+		return mirrorSettings;
+	}
+
+	/**
+	 * See {@link #withCaptureSettings(TcpReverseProxyCaptureSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyCaptureSettings}.
+	 */
+	public final TcpReverseProxyCaptureSettings getCaptureSettings() {
+		return captureSettings;
+	}
+
+	/**
+	 * See {@link #withMultiplexingSettings(TcpReverseProxyMultiplexingSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyMultiplexingSettings}.
+	 */
+	public final TcpReverseProxyMultiplexingSettings getMultiplexingSettings() {
+		return multiplexingSettings;
+	}
+
+	/**
+	 * See {@link #withTlsSettings(TcpReverseProxyTlsSettings)}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyTlsSettings}.
+	 */
+	public final TcpReverseProxyTlsSettings getTlsSettings() {
+		return tlsSettings;
+	}
+
+	/**
+	 * See {@link #withSocketOptions(TcpServerSocketOptions)}.
+	 *
+	 * @return
+	 * {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions getSocketOptions() {
+		return socketOptions;
+	}
+
+	/**
+	 * See {@link #withConnectionLimits(TcpServerConnectionLimits)}.
+	 *
+	 * @return
+	 * {@link TcpServerConnectionLimits}.
+	 */
+	public final TcpServerConnectionLimits getConnectionLimits() {
+		return connectionLimits;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxySettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxySettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(bePoolSettings=").append(bePoolSettings)
+				.append(", forwardingSettings=").append(forwardingSettings)
+				.append(", healthCheckSettings=").append(healthCheckSettings)
+				.append(", idleSettings=").append(idleSettings)
+				.append(", admissionSettings=").append(admissionSettings)
+				.append(", mirrorSettings=").append(mirrorSettings)
+				.append(", captureSettings=").append(captureSettings)
+				.append(", multiplexingSettings=").append(multiplexingSettings)
+				.append(", tlsSettings=").append(tlsSettings)
+				.append(", socketOptions=").append(socketOptions)
+				.append(", connectionLimits=").append(connectionLimits).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,333 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL_SINGLE;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.google.common.collect.Maps;
+import io.netty.handler.timeout.IdleState;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Counters of events that happen in a {@link TcpReverseProxyServer}.
+ * Counters are cumulative since the {@link TcpReverseProxyServer} was constructed and are cheap to update concurrently.
+ * Latencies are recorded in {@link TcpReverseProxyLatencyHistogram}s, which additionally allow to take interval snapshots.
+ */
+@ThreadSafe
+public final class TcpReverseProxyStats {
+	private static final Map<IdleState, LongAdder> newCounters() {
+		final EnumMap<IdleState, LongAdder> result = new EnumMap<>(IdleState.class);
+		for (final IdleState state : IdleState.values()) {
+			result.put(state, new LongAdder());
+		}
+		return Maps.immutableEnumMap(result);
+	}
+
+	private final Map<IdleState, LongAdder> feIdleClosures;
+	private final Map<IdleState, LongAdder> beIdleClosures;
+	private final LongAdder queueFullRejections;
+	private final LongAdder queueTimeoutRejections;
+	private final LongAdder mirroredConnections;
+	private final LongAdder mirroredBytes;
+	private final LongAdder mirrorDroppedBytes;
+	private final LongAdder shapingDelays;
+	private final LongAdder tlsHandshakes;
+	private final LongAdder tlsResumedHandshakes;
+	private final LongAdder tlsFailedHandshakes;
+	private final LongAdder tlsHandshakeCpuNanos;
+	private final TcpReverseProxyLatencyHistogram beConnectLatency;
+	private final TcpReverseProxyLatencyHistogram feReadyLatency;
+	private final TcpReverseProxyLatencyHistogram feToBeForwardingLatency;
+	private final TcpReverseProxyLatencyHistogram beToFeForwardingLatency;
+	private final TcpReverseProxyLatencyHistogram tlsHandshakeLatency;
+
+	TcpReverseProxyStats() {
+		feIdleClosures = newCounters();
+		beIdleClosures = newCounters();
+		queueFullRejections = new LongAdder();
+		queueTimeoutRejections = new LongAdder();
+		mirroredConnections = new LongAdder();
+		mirroredBytes = new LongAdder();
+		mirrorDroppedBytes = new LongAdder();
+		shapingDelays = new LongAdder();
+		tlsHandshakes = new LongAdder();
+		tlsResumedHandshakes = new LongAdder();
+		tlsFailedHandshakes = new LongAdder();
+		tlsHandshakeCpuNanos = new LongAdder();
+		beConnectLatency = new TcpReverseProxyLatencyHistogram();
+		feReadyLatency = new TcpReverseProxyLatencyHistogram();
+		feToBeForwardingLatency = new TcpReverseProxyLatencyHistogram();
+		beToFeForwardingLatency = new TcpReverseProxyLatencyHistogram();
+		tlsHandshakeLatency = new TcpReverseProxyLatencyHistogram();
+	}
+
+	/**
+	 * Returns number of proxied connections that were closed because the front-end {@link io.netty.channel.Channel}
+	 * was idle (see {@link TcpReverseProxyIdleSettings}).
+	 *
+	 * @param state
+	 * Kind of idleness.
+	 * @return
+	 * Number of closures.
+	 */
+	public final long getFrontEndIdleClosures(final IdleState state) {
+		checkNotNull(state, ARGUMENT_NULL_SINGLE, "state");
+		return feIdleClosures.get(state).sum();
+	}
+
+	/**
+	 * Returns number of proxied connections that were closed because the back-end {@link io.netty.channel.Channel}
+	 * was idle (see {@link TcpReverseProxyIdleSettings}).
+	 *
+	 * @param state
+	 * Kind of idleness.
+	 * @return
+	 * Number of closures.
+	 */
+	public final long getBackEndIdleClosures(final IdleState state) {
+		checkNotNull(state, ARGUMENT_NULL_SINGLE, "state");
+		return beIdleClosures.get(state).sum();
+	}
+
+	/**
+	 * Returns number of front-end connections that were closed because the queue of connections waiting for
+	 * a free back-end slot was full (see {@link TcpReverseProxyAdmissionSettings}).
+	 *
+	 * @return
+	 * Number of rejections.
+	 */
+	public final long getQueueFullRejections() {
+		return queueFullRejections.sum();
+	}
+
+	/**
+	 * Returns number of front-end connections that were closed because they had been waiting for
+	 * a free back-end slot for too long (see {@link TcpReverseProxyAdmissionSettings}).
+	 *
+	 * @return
+	 * Number of rejections.
+	 */
+	public final long getQueueTimeoutRejections() {
+		return queueTimeoutRejections.sum();
+	}
+
+	/**
+	 * Returns number of front-end connections that were chosen to be mirrored to the shadow back-end
+	 * (see {@link TcpReverseProxyMirrorSettings}).
+	 *
+	 * @return
+	 * Number of mirrored connections.
+	 */
+	public final long getMirroredConnections() {
+		return mirroredConnections.sum();
+	}
+
+	/**
+	 * Returns number of bytes that were written to the shadow back-end (see {@link TcpReverseProxyMirrorSettings}).
+	 *
+	 * @return
+	 * Number of mirrored bytes.
+	 */
+	public final long getMirroredBytes() {
+		return mirroredBytes.sum();
+	}
+
+	/**
+	 * Returns number of bytes that should have been mirrored to the shadow back-end but were dropped
+	 * because the shadow back-end fell behind or failed (see {@link TcpReverseProxyMirrorSettings}).
+	 *
+	 * @return
+	 * Number of dropped bytes.
+	 */
+	public final long getMirrorDroppedBytes() {
+		return mirrorDroppedBytes.sum();
+	}
+
+	/**
+	 * Returns number of times reading from a front-end or a back-end {@link io.netty.channel.Channel} was suspended
+	 * to enforce {@link TcpReverseProxyBandwidthLimits}.
+	 *
+	 * @return
+	 * Number of delays.
+	 */
+	public final long getShapingDelays() {
+		return shapingDelays.sum();
+	}
+
+	/**
+	 * Returns number of successfully completed TLS handshakes including {@linkplain #getTlsResumedHandshakes() resumed} ones
+	 * (see {@link TcpReverseProxyTlsSettings}).
+	 *
+	 * @return
+	 * Number of handshakes.
+	 */
+	public final long getTlsHandshakes() {
+		return tlsHandshakes.sum();
+	}
+
+	/**
+	 * Returns number of successfully completed TLS handshakes that resumed a cached session
+	 * (see {@link TcpReverseProxyTlsSettings}). The ratio of this number to {@link #getTlsHandshakes()}
+	 * is the hit ratio of the session cache.
+	 *
+	 * @return
+	 * Number of resumed handshakes.
+	 */
+	public final long getTlsResumedHandshakes() {
+		return tlsResumedHandshakes.sum();
+	}
+
+	/**
+	 * Returns number of TLS handshakes that failed or timed out (see {@link TcpReverseProxyTlsSettings}).
+	 *
+	 * @return
+	 * Number of failed handshakes.
+	 */
+	public final long getTlsFailedHandshakes() {
+		return tlsFailedHandshakes.sum();
+	}
+
+	/**
+	 * Returns CPU time in nanoseconds worker {@link Thread}s spent on TLS handshakes including failed ones
+	 * (see {@link TcpReverseProxyTlsSettings}). This counter stays {@code 0} if the JVM doesn't support
+	 * {@linkplain java.lang.management.ThreadMXBean#isCurrentThreadCpuTimeSupported() measuring thread CPU time}.
+	 *
+	 * @return
+	 * CPU time in nanoseconds.
+	 */
+	public final long getTlsHandshakeCpuNanos() {
+		return tlsHandshakeCpuNanos.sum();
+	}
+
+	/**
+	 * Returns durations of connecting new dedicated back-end {@link io.netty.channel.Channel}s,
+	 * including failed attempts. Connecting shared back-end {@link io.netty.channel.Channel}s
+	 * (see {@link TcpReverseProxyMultiplexingSettings}) isn't recorded.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	public final TcpReverseProxyLatencyHistogram getBackEndConnectLatency() {
+		return beConnectLatency;
+	}
+
+	/**
+	 * Returns amounts of time between accepting a front-end {@link io.netty.channel.Channel} and starting to read from it
+	 * once a back-end {@link io.netty.channel.Channel} is ready, which includes waiting for a free slot
+	 * (see {@link TcpReverseProxyAdmissionSettings}) and all connect attempts. If TLS is terminated
+	 * (see {@link TcpReverseProxyTlsSettings}), the time is measured since the handshake was completed.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	public final TcpReverseProxyLatencyHistogram getFrontEndReadyLatency() {
+		return feReadyLatency;
+	}
+
+	/**
+	 * Returns amounts of time between reading a chunk of data from a front-end {@link io.netty.channel.Channel}
+	 * and completing writing it to a dedicated back-end {@link io.netty.channel.Channel}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	public final TcpReverseProxyLatencyHistogram getFrontEndToBackEndForwardingLatency() {
+		return feToBeForwardingLatency;
+	}
+
+	/**
+	 * Returns amounts of time between reading a chunk of data from a dedicated back-end {@link io.netty.channel.Channel}
+	 * and completing writing it to a front-end {@link io.netty.channel.Channel}.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	public final TcpReverseProxyLatencyHistogram getBackEndToFrontEndForwardingLatency() {
+		return beToFeForwardingLatency;
+	}
+
+	/**
+	 * Returns amounts of time between accepting a front-end {@link io.netty.channel.Channel}
+	 * and successfully completing the TLS handshake (see {@link TcpReverseProxyTlsSettings}).
+	 *
+	 * @return
+	 * {@link TcpReverseProxyLatencyHistogram}.
+	 */
+	public final TcpReverseProxyLatencyHistogram getTlsHandshakeLatency() {
+		return tlsHandshakeLatency;
+	}
+
+	final void queueFullRejection() {
+		queueFullRejections.increment();
+	}
+
+	final void queueTimeoutRejection() {
+		queueTimeoutRejections.increment();
+	}
+
+	final void mirroredConnection() {
+		mirroredConnections.increment();
+	}
+
+	final void mirroredBytes(final int bytes) {
+		mirroredBytes.add(bytes);
+	}
+
+	final void mirrorDrop(final int bytes) {
+		mirrorDroppedBytes.add(bytes);
+	}
+
+	final void shapingDelay() {
+		shapingDelays.increment();
+	}
+
+	final void tlsHandshake(final boolean resumed) {
+		tlsHandshakes.increment();
+		if (resumed) {
+			tlsResumedHandshakes.increment();
+		}
+	}
+
+	final void tlsHandshakeFailure() {
+		tlsFailedHandshakes.increment();
+	}
+
+	final void tlsHandshakeCpu(final long nanos) {
+		tlsHandshakeCpuNanos.add(nanos);
+	}
+
+	final void idleClosure(final boolean frontEnd, final IdleState state) {
+		(frontEnd ? feIdleClosures : beIdleClosures).get(state).increment();
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyStats}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyStats}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(feIdleClosures=").append(feIdleClosures)
+				.append(", beIdleClosures=").append(beIdleClosures)
+				.append(", queueFullRejections=").append(queueFullRejections)
+				.append(", queueTimeoutRejections=").append(queueTimeoutRejections)
+				.append(", mirroredConnections=").append(mirroredConnections)
+				.append(", mirroredBytes=").append(mirroredBytes)
+				.append(", mirrorDroppedBytes=").append(mirrorDroppedBytes)
+				.append(", shapingDelays=").append(shapingDelays)
+				.append(", tlsHandshakes=").append(tlsHandshakes)
+				.append(", tlsResumedHandshakes=").append(tlsResumedHandshakes)
+				.append(", tlsFailedHandshakes=").append(tlsFailedHandshakes)
+				.append(", tlsHandshakeCpuNanos=").append(tlsHandshakeCpuNanos)
+				.append(", beConnectLatency=").append(beConnectLatency)
+				.append(", feReadyLatency=").append(feReadyLatency)
+				.append(", feToBeForwardingLatency=").append(feToBeForwardingLatency)
+				.append(", beToFeForwardingLatency=").append(beToFeForwardingLatency)
+				.append(", tlsHandshakeLatency=").append(tlsHandshakeLatency).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
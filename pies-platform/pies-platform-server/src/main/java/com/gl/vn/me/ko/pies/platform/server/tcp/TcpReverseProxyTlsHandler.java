@@ -0,0 +1,208 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.net.ssl.ExtendedSSLSession;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SNIServerName;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Terminates TLS on a front-end {@link Channel} (see {@link TcpReverseProxyTlsSettings}).
+ * <p>
+ * Front-end {@link Channel}s are accepted with {@link io.netty.channel.ChannelOption#AUTO_READ} disabled,
+ * so this handler reads the front-end {@link Channel} by itself until the handshake is completed.
+ * Only then the {@link TcpReverseProxyFrontEndChannelHandler}, which is chosen by the SNI host name
+ * the client indicated, is added after this handler and is notified that the front-end {@link Channel} is active.
+ * Data decrypted before the {@link TcpReverseProxyFrontEndChannelHandler} starts reading
+ * is held and is passed to it once it does.
+ * <p>
+ * CPU time spent on the handshake by the current {@link Thread} and whether the handshake resumed a cached session
+ * are recorded in {@link TcpReverseProxyStats}.
+ */
+final class TcpReverseProxyTlsHandler extends SslHandler {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpReverseProxyTlsHandler.class);
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+	private static final long currentThreadCpuTime() {
+		return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+	}
+
+	@Nullable
+	private static final String sniHostName(final SSLSession session) {
+		@Nullable
+		String result = null;
+		if (session instanceof ExtendedSSLSession) {
+			for (final SNIServerName serverName : ((ExtendedSSLSession)session).getRequestedServerNames()) {
+				if (serverName instanceof SNIHostName) {
+					result = ((SNIHostName)serverName).getAsciiName().toLowerCase(Locale.ROOT);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	private final Function<Optional<String>, ChannelHandler> feHandlers;
+	private final TcpReverseProxyStats stats;
+	private long acceptedNanos;
+	private long acceptedMillis;
+	private boolean routed;
+	private boolean forwarding;
+	@Nullable
+	private List<Object> pending;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyTlsHandler}.
+	 *
+	 * @param engine
+	 * A server {@link SSLEngine}.
+	 * @param handshakeTimeoutMillis
+	 * See {@link TcpReverseProxyTlsSettings#getHandshakeTimeoutMillis()}.
+	 * @param feHandlers
+	 * A {@link Function} that creates a {@link TcpReverseProxyFrontEndChannelHandler} for the lower-case SNI host name
+	 * the client indicated, or for {@link Optional#empty()} if the client indicated none.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} that count handshakes.
+	 */
+	TcpReverseProxyTlsHandler(
+			final SSLEngine engine,
+			final long handshakeTimeoutMillis,
+			final Function<Optional<String>, ChannelHandler> feHandlers,
+			final TcpReverseProxyStats stats) {
+		super(engine);
+		setHandshakeTimeoutMillis(handshakeTimeoutMillis);
+		this.feHandlers = feHandlers;
+		this.stats = stats;
+		acceptedNanos = 0;
+		acceptedMillis = 0;
+		routed = false;
+		forwarding = false;
+		pending = null;
+	}
+
+	@Override
+	public final void channelActive(final ChannelHandlerContext ctx) throws Exception {
+		acceptedNanos = System.nanoTime();
+		acceptedMillis = System.currentTimeMillis();
+		handshakeFuture().addListener((final Future<Channel> future) -> {
+			if (future.isSuccess()) {
+				route(ctx);
+			} else {
+				stats.tlsHandshakeFailure();
+				LOGGER.debug("TLS handshake with front-end {} failed", ctx.channel(), future.cause());
+				ctx.close();
+			}
+		});
+		super.channelActive(ctx);//nothing after this handler is interested in the event yet
+		ctx.read();
+	}
+
+	private final void route(final ChannelHandlerContext ctx) {
+		final SSLSession session = engine().getSession();
+		final boolean resumed = session.getCreationTime() < acceptedMillis;
+		stats.tlsHandshake(resumed);
+		stats.getTlsHandshakeLatency().record(System.nanoTime() - acceptedNanos);
+		@Nullable
+		final String sniHostName = sniHostName(session);
+		LOGGER.debug("TLS handshake with front-end {} completed, resumed={}, SNI host name={}",
+				ctx.channel(), Boolean.valueOf(resumed), sniHostName);
+		routed = true;
+		ctx.pipeline().addLast(feHandlers.apply(Optional.ofNullable(sniHostName)));
+		ctx.fireChannelActive();
+	}
+
+	@Override
+	protected final void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) throws SSLException {
+		if (handshakeFuture().isDone()) {
+			super.decode(ctx, in, out);
+		} else {
+			final long startCpuNanos = currentThreadCpuTime();
+			try {
+				super.decode(ctx, in, out);
+			} finally {
+				stats.tlsHandshakeCpu(currentThreadCpuTime() - startCpuNanos);
+			}
+		}
+		if (!forwarding && !out.isEmpty()) {//hold data until the front-end handler starts reading
+			if (pending == null) {
+				pending = new ArrayList<>();
+			}
+			pending.addAll(out);
+			out.clear();
+		}
+	}
+
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+		super.channelReadComplete(ctx);
+		if (!routed && ctx.channel().isActive()) {//keep reading until the handshake is completed
+			ctx.read();
+		}
+	}
+
+	@Override
+	public final void read(final ChannelHandlerContext ctx) {
+		if (!forwarding) {
+			forwarding = true;
+			@Nullable
+			final List<Object> pending = this.pending;
+			if (pending != null) {
+				this.pending = null;
+				for (final Object msg : pending) {
+					ctx.fireChannelRead(msg);
+				}
+				ctx.fireChannelReadComplete();
+			}
+		}
+		super.read(ctx);
+	}
+
+	@Override
+	public final void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+		releasePending();
+		super.channelInactive(ctx);
+	}
+
+	@Override
+	public final void handlerRemoved0(final ChannelHandlerContext ctx) throws Exception {
+		releasePending();
+		super.handlerRemoved0(ctx);
+	}
+
+	private final void releasePending() {
+		if (pending != null) {
+			for (final Object msg : pending) {
+				ReferenceCountUtil.release(msg);
+			}
+			pending = null;
+		}
+	}
+
+	@Override
+	public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) throws Exception {
+		if (routed) {
+			super.exceptionCaught(ctx, e);
+		} else {
+			LOGGER.debug("Exception caught before TLS handshake with front-end {} completed", ctx.channel(), e);
+			ctx.close();
+		}
+	}
+}
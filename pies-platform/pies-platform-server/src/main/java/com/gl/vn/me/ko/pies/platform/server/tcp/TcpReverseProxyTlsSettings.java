@@ -0,0 +1,213 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+/**
+ * Specifies how {@link TcpReverseProxyServer} terminates TLS on front-end connections.
+ * <p>
+ * If TLS termination is {@linkplain #isEnabled() enabled}, a TLS handshake is performed on each accepted front-end
+ * connection before a back-end is chosen for it, and only decrypted data is forwarded to back-ends.
+ * Sessions are cached by the {@linkplain SSLContext#getServerSessionContext() server session context}
+ * of the {@linkplain #getSslContext() SSLContext}, hence reconnecting clients MAY resume a session
+ * instead of performing the full handshake. A client that indicates a host name via SNI (Server Name Indication)
+ * MAY be routed to back-ends of a {@link TcpReverseProxyListener} (see {@link #getSniRoutes()}).
+ * Handshakes, resumed handshakes and handshake CPU time are counted by {@link TcpReverseProxyStats}.
+ */
+@Immutable
+public final class TcpReverseProxyTlsSettings {
+	private static final TcpReverseProxyTlsSettings DISABLED
+			= new TcpReverseProxyTlsSettings(null, 20480, 86400, 10000, Collections.emptyMap());
+	private static final String PROTOCOL = "TLS";
+
+	/**
+	 * Returns {@link TcpReverseProxyTlsSettings} that don't terminate TLS, i.e. data is forwarded as is.
+	 *
+	 * @return
+	 * {@link TcpReverseProxyTlsSettings} that disable TLS termination.
+	 */
+	public static final TcpReverseProxyTlsSettings disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Creates a server {@link SSLContext} of the default JSSE implementation of the JDK
+	 * that uses the first key found in a key store.
+	 *
+	 * @param keyStoreFile
+	 * A key store file of the {@linkplain KeyStore#getDefaultType() default type}
+	 * that contains the private key and the certificate chain of the {@link TcpReverseProxyServer}.
+	 * @param keyStorePassword
+	 * A password of the {@code keyStoreFile}, which is also used as the password of the private key.
+	 * @return
+	 * A new initialized {@link SSLContext}.
+	 */
+	public static final SSLContext newSslContext(final Path keyStoreFile, final String keyStorePassword) {
+		checkNotNull(keyStoreFile, ARGUMENT_NULL, "first", "keyStoreFile");
+		checkNotNull(keyStorePassword, ARGUMENT_NULL, "second", "keyStorePassword");
+		final SSLContext result;
+		final char[] password = keyStorePassword.toCharArray();
+		try (final InputStream keyStoreStream = Files.newInputStream(keyStoreFile)) {
+			final KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+			keyStore.load(keyStoreStream, password);
+			final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+			keyManagerFactory.init(keyStore, password);
+			result = SSLContext.getInstance(PROTOCOL);
+			result.init(keyManagerFactory.getKeyManagers(), null, null);
+		} catch (final IOException | GeneralSecurityException e) {
+			throw new ApplicationException(Message.format("Can't create %s for key store %s", SSLContext.class.getSimpleName(),
+					keyStoreFile), e);
+		}
+		return result;
+	}
+
+	@Nullable
+	private final SSLContext sslContext;
+	private final int sessionCacheSize;
+	private final int sessionTimeoutSeconds;
+	private final long handshakeTimeoutMillis;
+	private final Map<String, String> sniRoutes;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyTlsSettings}.
+	 *
+	 * @param sslContext
+	 * An initialized {@link SSLContext} (see {@link #newSslContext(Path, String)}).
+	 * If this argument is {@code null} then TLS isn't terminated.
+	 * Session cache settings of the {@code sslContext} are changed by {@link TcpReverseProxyServer}.
+	 * @param sessionCacheSize
+	 * Maximum number of cached sessions, {@code 0} means no limit. This argument MUST NOT be negative.
+	 * @param sessionTimeoutSeconds
+	 * Amount of time in seconds a session MAY be resumed for after it was created, {@code 0} means no limit.
+	 * This argument MUST NOT be negative.
+	 * @param handshakeTimeoutMillis
+	 * Amount of time in milliseconds a front-end connection is closed after if the handshake isn't completed.
+	 * This argument MUST be positive.
+	 * @param sniRoutes
+	 * A {@link Map} from SNI host names (case-insensitive) to {@linkplain TcpReverseProxyListener#getName() names}
+	 * of {@link TcpReverseProxyListener}s, MAY be empty. A front-end connection which indicates a host name
+	 * that is a key of this {@link Map} is forwarded to back-ends of the corresponding {@link TcpReverseProxyListener}
+	 * regardless of the address it was accepted at, all other front-end connections are forwarded to back-ends
+	 * that serve the address the connection was accepted at.
+	 */
+	public TcpReverseProxyTlsSettings(
+			@Nullable final SSLContext sslContext,
+			final int sessionCacheSize,
+			final int sessionTimeoutSeconds,
+			final long handshakeTimeoutMillis,
+			final Map<String, String> sniRoutes) {
+		checkArgument(sessionCacheSize >= 0, ARGUMENT_ILLEGAL, sessionCacheSize, "second", "sessionCacheSize",
+				"Expected value must not be negative");
+		checkArgument(sessionTimeoutSeconds >= 0, ARGUMENT_ILLEGAL, sessionTimeoutSeconds, "third", "sessionTimeoutSeconds",
+				"Expected value must not be negative");
+		checkArgument(handshakeTimeoutMillis > 0, ARGUMENT_ILLEGAL, handshakeTimeoutMillis, "fourth", "handshakeTimeoutMillis",
+				"Expected value must be positive");
+		checkNotNull(sniRoutes, ARGUMENT_NULL, "fifth", "sniRoutes");
+		this.sslContext = sslContext;
+		this.sessionCacheSize = sessionCacheSize;
+		this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+		this.handshakeTimeoutMillis = handshakeTimeoutMillis;
+		final ImmutableMap.Builder<String, String> sniRoutesBuilder = ImmutableMap.builder();
+		for (final Map.Entry<String, String> sniRoute : sniRoutes.entrySet()) {
+			sniRoutesBuilder.put(sniRoute.getKey().toLowerCase(Locale.ROOT), sniRoute.getValue());
+		}
+		this.sniRoutes = sniRoutesBuilder.build();
+	}
+
+	/**
+	 * Specifies if TLS is terminated.
+	 *
+	 * @return
+	 * {@code true} if {@link #getSslContext()} isn't {@code null}, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return sslContext != null;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyTlsSettings(SSLContext, int, int, long, Map)}.
+	 *
+	 * @return
+	 * {@link SSLContext}, or {@code null}.
+	 */
+	@Nullable
+	public final SSLContext getSslContext() {
+		return sslContext;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyTlsSettings(SSLContext, int, int, long, Map)}.
+	 *
+	 * @return
+	 * Maximum number of cached sessions.
+	 */
+	public final int getSessionCacheSize() {
+		return sessionCacheSize;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyTlsSettings(SSLContext, int, int, long, Map)}.
+	 *
+	 * @return
+	 * Amount of time in seconds a session MAY be resumed for.
+	 */
+	public final int getSessionTimeoutSeconds() {
+		return sessionTimeoutSeconds;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyTlsSettings(SSLContext, int, int, long, Map)}.
+	 *
+	 * @return
+	 * Handshake timeout in milliseconds.
+	 */
+	public final long getHandshakeTimeoutMillis() {
+		return handshakeTimeoutMillis;
+	}
+
+	/**
+	 * See {@link #TcpReverseProxyTlsSettings(SSLContext, int, int, long, Map)}.
+	 *
+	 * @return
+	 * An unmodifiable {@link Map} from lower-case SNI host names to names of {@link TcpReverseProxyListener}s.
+	 */
+	public final Map<String, String> getSniRoutes() {
+		return sniRoutes;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyTlsSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyTlsSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(sslContext=").append(sslContext == null ? null : sslContext.getProvider())
+				.append(", sessionCacheSize=").append(sessionCacheSize)
+				.append(", sessionTimeoutSeconds=").append(sessionTimeoutSeconds)
+				.append(", handshakeTimeoutMillis=").append(handshakeTimeoutMillis)
+				.append(", sniRoutes=").append(sniRoutes).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
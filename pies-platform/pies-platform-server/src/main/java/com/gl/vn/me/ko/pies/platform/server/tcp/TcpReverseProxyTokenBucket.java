@@ -0,0 +1,72 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A token bucket that limits a byte rate.
+ * <p>
+ * The bucket is implemented as a generic cell rate algorithm: it stores only the time when the bucket becomes empty
+ * if nothing else is taken from it, hence {@link #acquire(long, long, long)} is O(1) and needs neither a timer
+ * nor a lock. Bytes are always taken because they were already read when they are accounted,
+ * and the caller is told how long it MUST wait before reading more.
+ */
+@ThreadSafe
+final class TcpReverseProxyTokenBucket {
+	/**
+	 * Amount of time worth of bytes that MAY be read at once after a period of inactivity.
+	 */
+	static final long BURST_NANOS = MILLISECONDS.toNanos(100);
+
+	private final AtomicLong emptyAtNanos;
+
+	TcpReverseProxyTokenBucket() {
+		emptyAtNanos = new AtomicLong(System.nanoTime() - BURST_NANOS);
+	}
+
+	/**
+	 * Takes {@code bytes} from the bucket.
+	 *
+	 * @param bytes
+	 * Number of bytes that were read.
+	 * @param bytesPerSecond
+	 * Current rate limit. If this argument isn't positive then the rate isn't limited.
+	 * @param nowNanos
+	 * Current value of {@link System#nanoTime()}.
+	 * @return
+	 * Amount of time in nanoseconds reading MUST be delayed for to not exceed the {@code bytesPerSecond} rate,
+	 * or {@code 0} if no delay is needed.
+	 */
+	final long acquire(final long bytes, final long bytesPerSecond, final long nowNanos) {
+		final long result;
+		if (bytesPerSecond <= 0) {
+			result = 0;
+		} else {
+			final long costNanos = (long)((double)bytes * SECONDS.toNanos(1) / bytesPerSecond);
+			long emptyAtNanos;
+			long newEmptyAtNanos;
+			do {
+				emptyAtNanos = this.emptyAtNanos.get();
+				newEmptyAtNanos = Math.max(emptyAtNanos, nowNanos - BURST_NANOS) + costNanos;
+			} while (!this.emptyAtNanos.compareAndSet(emptyAtNanos, newEmptyAtNanos));
+			result = Math.max(0, newEmptyAtNanos - nowNanos);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyTokenBucket}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyTokenBucket}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(emptyAtNanos=").append(emptyAtNanos).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
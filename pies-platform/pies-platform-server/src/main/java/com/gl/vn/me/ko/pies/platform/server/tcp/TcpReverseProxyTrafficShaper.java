@@ -0,0 +1,131 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Enforces {@link TcpReverseProxyBandwidthLimits} for data read from a single {@link Channel}.
+ * <p>
+ * Each read is accounted in the global and in the connection {@link TcpReverseProxyTokenBucket}s,
+ * which is O(1). If either bucket is exhausted, {@link io.netty.channel.ChannelOption#AUTO_READ} of the {@link Channel} is disabled
+ * and a single task that resumes reading is scheduled on the {@link io.netty.channel.EventLoop} of the {@link Channel},
+ * so at most one task is scheduled per suspension regardless of how many buffers were read.
+ * Data that was already read is forwarded without delay, so shaping never buffers data in the proxy.
+ * <p>
+ * Reading of the {@link Channel} is also suspended when its peer isn't writable, therefore code that resumes reading
+ * because the peer became writable MUST use {@link #resumeReading(Channel)}, which doesn't resume a shaped {@link Channel}.
+ */
+@ThreadSafe
+final class TcpReverseProxyTrafficShaper {
+	private final TcpReverseProxyBandwidthLimits limits;
+	private final boolean frontEnd;
+	private final TcpReverseProxyStats stats;
+	private final TcpReverseProxyTokenBucket connectionBucket;
+	private volatile boolean suspended;
+
+	/**
+	 * Constructs a new instance of {@link TcpReverseProxyTrafficShaper}.
+	 *
+	 * @param limits
+	 * {@link TcpReverseProxyBandwidthLimits} to enforce.
+	 * @param frontEnd
+	 * {@code true} if the {@link TcpReverseProxyTrafficShaper} is used for a front-end {@link Channel},
+	 * i.e. enforces read limits, and {@code false} if it's used for a back-end {@link Channel},
+	 * i.e. enforces write limits.
+	 * @param stats
+	 * {@link TcpReverseProxyStats} of the {@link TcpReverseProxyServer}.
+	 */
+	TcpReverseProxyTrafficShaper(
+			final TcpReverseProxyBandwidthLimits limits, final boolean frontEnd, final TcpReverseProxyStats stats) {
+		checkNotNull(limits, ARGUMENT_NULL, "first", "limits");
+		checkNotNull(stats, ARGUMENT_NULL, "third", "stats");
+		this.limits = limits;
+		this.frontEnd = frontEnd;
+		this.stats = stats;
+		connectionBucket = new TcpReverseProxyTokenBucket();
+		suspended = false;
+	}
+
+	/**
+	 * Accounts data read from the {@code channel} and suspends reading from it if a limit is exceeded.
+	 * This method MUST be called from the {@link io.netty.channel.EventLoop} of the {@code channel}.
+	 *
+	 * @param channel
+	 * {@link Channel} the {@code msg} was read from.
+	 * @param peer
+	 * {@link Channel} the {@code msg} is written to. Reading from the {@code channel} is resumed only if the {@code peer}
+	 * is writable.
+	 * @param msg
+	 * Data read from the {@code channel}. Only {@link ByteBuf}s are accounted.
+	 */
+	final void onRead(final Channel channel, final Channel peer, final Object msg) {
+		if (!(msg instanceof ByteBuf)) {
+			return;
+		}
+		final int bytes = ((ByteBuf)msg).readableBytes();
+		final long globalBytesPerSecond;
+		final long connectionBytesPerSecond;
+		final TcpReverseProxyTokenBucket globalBucket;
+		if (frontEnd) {
+			globalBytesPerSecond = limits.getGlobalReadBytesPerSecond();
+			connectionBytesPerSecond = limits.getConnectionReadBytesPerSecond();
+			globalBucket = limits.getGlobalReadBucket();
+		} else {
+			globalBytesPerSecond = limits.getGlobalWriteBytesPerSecond();
+			connectionBytesPerSecond = limits.getConnectionWriteBytesPerSecond();
+			globalBucket = limits.getGlobalWriteBucket();
+		}
+		if (globalBytesPerSecond <= 0 && connectionBytesPerSecond <= 0) {
+			return;
+		}
+		final long nowNanos = System.nanoTime();
+		final long delayNanos = Math.max(
+				globalBucket.acquire(bytes, globalBytesPerSecond, nowNanos),
+				connectionBucket.acquire(bytes, connectionBytesPerSecond, nowNanos));
+		if (delayNanos > 0) {
+			channel.config().setAutoRead(false);//reading may have been resumed concurrently by resumeReading(Channel)
+			if (!suspended) {
+				suspended = true;
+				stats.shapingDelay();
+				channel.eventLoop().schedule(() -> {
+					suspended = false;
+					if (channel.isActive() && peer.isWritable()) {
+						channel.config().setAutoRead(true);
+					}
+				}, delayNanos, NANOSECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Resumes reading from the {@code channel} unless it's suspended by the {@link TcpReverseProxyTrafficShaper}.
+	 *
+	 * @param channel
+	 * {@link Channel} the {@link TcpReverseProxyTrafficShaper} is used for.
+	 */
+	final void resumeReading(final Channel channel) {
+		if (!suspended) {
+			channel.config().setAutoRead(true);
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpReverseProxyTrafficShaper}.
+	 *
+	 * @return
+	 * A description of the {@link TcpReverseProxyTrafficShaper}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(frontEnd=").append(frontEnd)
+				.append(", suspended=").append(suspended)
+				.append(", connectionBucket=").append(connectionBucket).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
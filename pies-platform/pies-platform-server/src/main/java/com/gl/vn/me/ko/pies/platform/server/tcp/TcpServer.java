@@ -3,6 +3,8 @@ package com.gl.vn.me.ko.pies.platform.server.tcp;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import com.gl.vn.me.ko.pies.base.constant.Message;
 import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
@@ -13,18 +15,23 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
-import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.util.concurrent.DefaultPromise;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.Promise;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
 import java.util.concurrent.ThreadFactory;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -38,22 +45,24 @@ import org.slf4j.LoggerFactory;
 @ThreadSafe
 public class TcpServer implements Server {
 	private static final Logger LOGGER = LoggerFactory.getLogger(TcpServer.class);
-	/**
-	 * Requested maximum length of the queue of incoming connections.
-	 * Note that exact semantics are implementation specific
-	 * and value MAY be just ignored by the {@link ServerSocket} implementation.
-	 */
-	private static final Integer BACKLOG = Integer.valueOf(100);
 	private static final long TERMINATION_TIMEOUT_SECS = 10;
 	private static final ChannelInitializer<Channel> DEFAULT_CHANNEL_INITIALIZER;
 	private static final ChannelHandler LOGGING_HANDLER = new LoggingHandler(LogLevel.DEBUG);
+	private static final long DRAIN_CHECK_INTERVAL_MILLIS = 50;
 	private final Object mutexStartShutdown;
 	private boolean active;
+	private volatile boolean draining;
+	@Nullable
+	private Channel serverSocketChannel;
+	private final Promise<Void> completion;
 	private final ServerBootstrap serverBootstrap;
 	private final InetSocketAddress address;
 	private final String name;
 	private final NioEventLoopGroup bossEventLoopGroup;
 	private final NioEventLoopGroup workerEventLoopGroup;
+	private final ChannelGroup serverSocketChannels;
+	private final TcpServerChildChannels childChannels;
+	private final TcpServerConnectionLimiter connectionLimiter;
 
 	static {
 		DEFAULT_CHANNEL_INITIALIZER = new ChannelInitializer<Channel>() {
@@ -65,6 +74,37 @@ public class TcpServer implements Server {
 		};
 	}
 
+	/**
+	 * Adds {@link TcpServerConnectionLimiter}, {@link TcpServerChildChannels} and a {@link ChannelInitializer} specified by a user
+	 * to a pipeline of a {@link ServerSocketChannel} in place of itself, i.e. before the handler that registers accepted
+	 * {@link SocketChannel}s.
+	 */
+	@ChannelHandler.Sharable
+	private static final class ServerSocketChannelInitializer extends ChannelHandlerAdapter {
+		private final TcpServerConnectionLimiter connectionLimiter;
+		private final TcpServerChildChannels childChannels;
+		private final ChannelHandler serverSocketChannelInitializer;
+
+		private ServerSocketChannelInitializer(
+				final TcpServerConnectionLimiter connectionLimiter,
+				final TcpServerChildChannels childChannels,
+				final ChannelHandler serverSocketChannelInitializer) {
+			this.connectionLimiter = connectionLimiter;
+			this.childChannels = childChannels;
+			this.serverSocketChannelInitializer = serverSocketChannelInitializer;
+		}
+
+		@Override
+		public final void channelRegistered(final ChannelHandlerContext ctx) {
+			final ChannelPipeline pipeline = ctx.pipeline();
+			pipeline.addAfter(ctx.name(), "serverSocketChannelInitializer", serverSocketChannelInitializer);
+			pipeline.addAfter(ctx.name(), "childChannels", childChannels);
+			pipeline.addAfter(ctx.name(), "connectionLimiter", connectionLimiter);
+			pipeline.remove(this);
+			ctx.fireChannelRegistered();
+		}
+	}
+
 	/**
 	 * Constructs a new instance of {@link TcpServer}.
 	 *
@@ -87,6 +127,10 @@ public class TcpServer implements Server {
 	 * A {@link ChannelInitializer} that will be used to initialize a {@link SocketChannel}s that are
 	 * children of the {@link ServerSocketChannel}. If this argument is {@code null} then default
 	 * {@link ChannelInitializer}, that adds a {@link LoggingHandler} with {@link LogLevel#DEBUG}, will be used.
+	 * @param socketOptions
+	 * {@link TcpServerSocketOptions} of the {@link ServerSocketChannel} and of the accepted {@link SocketChannel}s.
+	 * @param connectionLimits
+	 * {@link TcpServerConnectionLimits} that are enforced when the {@link TcpServer} accepts connections.
 	 */
 	@Inject
 	public TcpServer(
@@ -96,7 +140,9 @@ public class TcpServer implements Server {
 			@TcpServerWorker final Integer maxWorkerThreads,
 			@TcpServerThreadFactory final ThreadFactory threadFactory,
 			@TcpServerBoss @Nullable final ChannelInitializer<ServerSocketChannel> serverSocketChannelInitializer,
-			@TcpServerWorker @Nullable final ChannelInitializer<SocketChannel> workerSocketChannelInitializer) {
+			@TcpServerWorker @Nullable final ChannelInitializer<SocketChannel> workerSocketChannelInitializer,
+			@TcpServerSocket final TcpServerSocketOptions socketOptions,
+			final TcpServerConnectionLimits connectionLimits) {
 		checkNotNull(address, Message.ARGUMENT_NULL, "first", "address");
 		checkNotNull(name, Message.ARGUMENT_NULL, "second", "name");
 		checkNotNull(maxBossThreads, Message.ARGUMENT_NULL, "third", "maxBossThreads");
@@ -108,21 +154,29 @@ public class TcpServer implements Server {
 		checkArgument(maxWorkers > 0, Message.ARGUMENT_ILLEGAL, maxWorkerThreads, "fourth", "maxWorkerThreads",
 				"Expected value must be greater than 0");
 		checkNotNull(threadFactory, Message.ARGUMENT_NULL, "fifth", "threadFactory");
+		checkNotNull(socketOptions, Message.ARGUMENT_NULL, "eighth", "socketOptions");
+		checkNotNull(connectionLimits, Message.ARGUMENT_NULL, "ninth", "connectionLimits");
 		mutexStartShutdown = new Object();
 		active = false;
+		draining = false;
+		serverSocketChannel = null;
+		completion = new DefaultPromise<>(GlobalEventExecutor.INSTANCE);
 		this.address = address;
 		this.name = name;
 		this.bossEventLoopGroup = createBossEventLoop(maxBosses, threadFactory);
 		this.workerEventLoopGroup = createWorkerEventLoop(maxWorkers, threadFactory);
+		serverSocketChannels = new DefaultChannelGroup(name, GlobalEventExecutor.INSTANCE);
+		childChannels = new TcpServerChildChannels(name);
+		connectionLimiter = new TcpServerConnectionLimiter(connectionLimits, name);
 		serverBootstrap = new ServerBootstrap();
 		serverBootstrap
 				.group(this.bossEventLoopGroup, this.workerEventLoopGroup)
 				.channel(NioServerSocketChannel.class)
-				.option(ChannelOption.SO_BACKLOG, BACKLOG)
-				.handler(serverSocketChannelInitializer == null
-								? DEFAULT_CHANNEL_INITIALIZER : serverSocketChannelInitializer)
+				.handler(new ServerSocketChannelInitializer(connectionLimiter, childChannels, serverSocketChannelInitializer == null
+								? DEFAULT_CHANNEL_INITIALIZER : serverSocketChannelInitializer))
 				.childHandler(workerSocketChannelInitializer == null
 								? DEFAULT_CHANNEL_INITIALIZER : workerSocketChannelInitializer);
+		socketOptions.apply(serverBootstrap);
 	}
 
 	/**
@@ -146,11 +200,17 @@ public class TcpServer implements Server {
 			final NioEventLoopGroup workerEventLoopGroup) {
 		mutexStartShutdown = new Object();
 		active = false;
+		draining = false;
+		serverSocketChannel = null;
+		completion = new DefaultPromise<>(GlobalEventExecutor.INSTANCE);
 		this.serverBootstrap = serverBootstrap;
 		this.address = address;
 		name = "For testing only";
 		this.bossEventLoopGroup = bossEventLoopGroup;
 		this.workerEventLoopGroup = workerEventLoopGroup;
+		serverSocketChannels = new DefaultChannelGroup(name, GlobalEventExecutor.INSTANCE);
+		childChannels = new TcpServerChildChannels(name);
+		connectionLimiter = new TcpServerConnectionLimiter(TcpServerConnectionLimits.unlimited(), name);
 	}
 
 	private final NioEventLoopGroup createBossEventLoop(final int maxThreads, final ThreadFactory threadFactory) {
@@ -181,6 +241,32 @@ public class TcpServer implements Server {
 		return serverBootstrap;
 	}
 
+	/**
+	 * Binds a {@link ServerSocketChannel} to the {@code address}.
+	 * Subclasses MAY use this method to listen to additional addresses.
+	 * All {@link ServerSocketChannel}s bound by this method are kept in a single {@link ChannelGroup},
+	 * so that the {@link TcpServer} can stop listening to all of its addresses at once.
+	 *
+	 * @param bootstrap
+	 * {@link ServerBootstrap} to use, it's either the {@linkplain #getServerBootstrap() bootstrap} of the {@link TcpServer}
+	 * or a {@linkplain ServerBootstrap#clone() clone} of it.
+	 * @param address
+	 * {@link InetSocketAddress} to bind to.
+	 * @return
+	 * Bound {@link ServerSocketChannel}.
+	 * @throws ApplicationException
+	 * If the {@link ServerSocketChannel} can't be bound.
+	 */
+	protected final Channel bind(final ServerBootstrap bootstrap, final InetSocketAddress address) {
+		final ChannelFuture bindFuture = bootstrap.bind(address).awaitUninterruptibly();
+		if (!bindFuture.isSuccess()) {
+			throw new ApplicationException(bindFuture.cause());
+		}
+		final Channel result = bindFuture.channel();
+		serverSocketChannels.add(result);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -199,6 +285,68 @@ public class TcpServer implements Server {
 				LOGGER.info("{} was shut down", this);
 			}
 		}
+		completion.trySuccess(null);
+	}
+
+	/**
+	 * Drains accepted connections and then performs the {@linkplain #shutdown() shutdown} procedure.
+	 * <p>
+	 * Firstly the {@link TcpServer} closes its {@link ServerSocketChannel}s and hence stops accepting connections.
+	 * Then it waits until accepted {@link SocketChannel}s are closed by peers or
+	 * {@linkplain TcpServerDrainSettings#getIdleMillis() go idle}, in which case they are closed by the {@link TcpServer},
+	 * but not longer than {@linkplain TcpServerDrainSettings#getTimeoutMillis() the timeout}.
+	 * {@link SocketChannel}s that are open after that are force-closed, and only then event loops are terminated.
+	 * The {@link TcpServer} doesn't hold a lock while it drains connections, so {@link #shutdown()} MAY be called concurrently
+	 * in order to stop draining early.
+	 * If the {@link TcpServer} isn't active or is already being drained this method does nothing except for returning {@code 0}.
+	 * If the current {@link Thread} is interrupted while waiting, the remaining {@link SocketChannel}s are force-closed
+	 * and the interrupted status is restored.
+	 *
+	 * @param drainSettings
+	 * {@link TcpServerDrainSettings} that specify how to drain accepted connections.
+	 * @return
+	 * Number of force-closed {@link SocketChannel}s.
+	 */
+	public final int drainAndShutdown(final TcpServerDrainSettings drainSettings) {
+		checkNotNull(drainSettings, Message.ARGUMENT_NULL_SINGLE, "drainSettings");
+		int result = 0;
+		final boolean drain;
+		synchronized (mutexStartShutdown) {
+			drain = active && !draining;
+			if (drain) {
+				draining = true;
+				serverSocketChannels.close().awaitUninterruptibly();
+			}
+		}
+		if (drain) {
+			LOGGER.info("{} stopped accepting connections, {} connection(s) are open, draining with {}",
+					this, Integer.valueOf(childChannels.size()), drainSettings);
+			final long startNanos = System.nanoTime();
+			final long timeoutNanos = MILLISECONDS.toNanos(drainSettings.getTimeoutMillis());
+			final long idleNanos = MILLISECONDS.toNanos(drainSettings.getIdleMillis());
+			long idleCheckNanos = startNanos;
+			int idleClosed = 0;
+			childChannels.resetActivity();
+			try {
+				for (long nowNanos = startNanos; childChannels.size() > 0 && nowNanos - startNanos < timeoutNanos;
+						nowNanos = System.nanoTime()) {
+					if (idleNanos > 0 && nowNanos - idleCheckNanos >= idleNanos) {
+						idleClosed += childChannels.closeIdle();
+						idleCheckNanos = nowNanos;
+					}
+					Thread.sleep(Math.min(DRAIN_CHECK_INTERVAL_MILLIS,
+							NANOSECONDS.toMillis(timeoutNanos - (nowNanos - startNanos)) + 1));
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			result = childChannels.closeAll();
+			LOGGER.info("{} drained connections in {} ms, {} idle connection(s) were closed, {} connection(s) were force-closed",
+					this, Long.valueOf(NANOSECONDS.toMillis(System.nanoTime() - startNanos)),
+					Integer.valueOf(idleClosed), Integer.valueOf(result));
+			shutdown();
+		}
+		return result;
 	}
 
 	/**
@@ -212,26 +360,34 @@ public class TcpServer implements Server {
 	 * {@inheritDoc}
 	 * <p>
 	 * This method MUST NOT be called more than once on the same instance of {@link TcpServer}.
+	 * The returned {@link Future} is completed when the {@link ServerSocketChannel} bound to the {@linkplain #getAddress() address}
+	 * is closed, unless it's closed because the {@link TcpServer} {@linkplain #drainAndShutdown(TcpServerDrainSettings) drains}
+	 * connections, in which case the {@link Future} is completed once the {@link TcpServer} is {@linkplain #shutdown() shut down}.
+	 *
+	 * @see #startHook()
 	 */
 	@Override
 	public final Future<?> start() throws InterruptedException {
-		final ChannelFuture result;
 		synchronized (mutexStartShutdown) {
 			checkState(active == false, "Server %s is already started", this);
-			final ChannelFuture serverSocketChannelBindFuture;
-			serverSocketChannelBindFuture = serverBootstrap.bind(address);
-			serverSocketChannelBindFuture.await();
-			if (serverSocketChannelBindFuture.isSuccess()) {
-				LOGGER.info("{} is listening for requests", this);
-				final Channel serverSocketChannel = serverSocketChannelBindFuture.channel();
-				final ChannelFuture serverSocketChannelClosedFuture = serverSocketChannel.closeFuture();
-				result = serverSocketChannelClosedFuture;
-			} else {
-				throw new ApplicationException(serverSocketChannelBindFuture.cause());
-			}
+			serverSocketChannel = bind(serverBootstrap, address);
+			LOGGER.info("{} is listening for requests", this);
+			serverSocketChannel.closeFuture().addListener(future -> {
+				if (!draining) {
+					completion.trySuccess(null);
+				}
+			});
 			activate();
+			startHook();
 		}
-		return result;
+		return completion;
+	}
+
+	/**
+	 * Subclasses MAY implement this method in order to perform start actions; this implementation does nothing.
+	 * This method is called from the {@link #start()} method once the {@link TcpServer} is listening for requests.
+	 */
+	protected void startHook() {
 	}
 
 	/**
@@ -244,6 +400,31 @@ public class TcpServer implements Server {
 		active = true;
 	}
 
+	/**
+	 * Returns the {@link ServerSocketChannel} bound to the {@linkplain #getAddress() address} by {@link #start()}.
+	 * The method MAY be used in tests and MUST NOT be used elsewhere.
+	 *
+	 * @return
+	 * The bound {@link ServerSocketChannel}, or {@code null} if the {@link TcpServer} wasn't started.
+	 */
+	@VisibleForTesting
+	@Nullable
+	final ServerSocketChannel getServerSocketChannel() {
+		synchronized (mutexStartShutdown) {
+			return (ServerSocketChannel)serverSocketChannel;
+		}
+	}
+
+	/**
+	 * Returns {@link TcpServerConnectionStats} of the {@link TcpServer}.
+	 *
+	 * @return
+	 * {@link TcpServerConnectionStats} of connections accepted via all addresses the {@link TcpServer} listens to.
+	 */
+	public final TcpServerConnectionStats getConnectionStats() {
+		return connectionLimiter.getStats();
+	}
+
 	/**
 	 * Returns name of the {@link TcpServer}.
 	 *
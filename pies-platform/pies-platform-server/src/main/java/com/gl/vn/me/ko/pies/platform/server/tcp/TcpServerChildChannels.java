@@ -0,0 +1,140 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps track of open {@link SocketChannel}s accepted by a {@link TcpServer} and of their activity,
+ * so that the {@link TcpServer} is able to drain them (see {@link TcpServerDrainSettings}).
+ * <p>
+ * This handler MUST be added to pipelines of {@link ServerSocketChannel}s before the handler that registers accepted
+ * {@link SocketChannel}s, so that it sees every accepted {@link SocketChannel} before the {@link SocketChannel} is initialized.
+ * Closed {@link SocketChannel}s are forgotten automatically.
+ */
+@ChannelHandler.Sharable
+@ThreadSafe
+final class TcpServerChildChannels extends ChannelHandlerAdapter {
+	/**
+	 * Notes that something was read from or written to a {@link SocketChannel}.
+	 * The flag is only written if it's not set, so that a busy {@link SocketChannel} doesn't write a volatile field per message.
+	 */
+	private static final class ActivityHandler extends ChannelHandlerAdapter {
+		private volatile boolean active;
+
+		private ActivityHandler() {
+			active = false;
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			if (!active) {
+				active = true;
+			}
+			ctx.fireChannelRead(msg);
+		}
+
+		@Override
+		public final void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+			if (!active) {
+				active = true;
+			}
+			ctx.write(msg, promise);
+		}
+
+		private final boolean resetActivity() {
+			final boolean result = active;
+			if (result) {
+				active = false;
+			}
+			return result;
+		}
+	}
+
+	private final ChannelGroup channels;
+
+	/**
+	 * Constructs a new instance of {@link TcpServerChildChannels}.
+	 *
+	 * @param name
+	 * A name of the {@link TcpServer}.
+	 */
+	TcpServerChildChannels(final String name) {
+		channels = new DefaultChannelGroup(name, GlobalEventExecutor.INSTANCE);
+	}
+
+	@Override
+	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+		if (msg instanceof Channel) {
+			final Channel channel = (Channel)msg;
+			channel.pipeline().addFirst(new ActivityHandler());
+			channels.add(channel);
+		}
+		ctx.fireChannelRead(msg);
+	}
+
+	/**
+	 * Returns number of open {@link SocketChannel}s.
+	 *
+	 * @return
+	 * Number of open {@link SocketChannel}s.
+	 */
+	final int size() {
+		return channels.size();
+	}
+
+	/**
+	 * Forgets activity of all open {@link SocketChannel}s, so that a subsequent {@link #closeIdle()}
+	 * only takes into account activity that happens after this method returns.
+	 */
+	final void resetActivity() {
+		for (final Channel channel : channels) {
+			@Nullable
+			final ActivityHandler activityHandler = channel.pipeline().get(ActivityHandler.class);
+			if (activityHandler != null) {
+				activityHandler.resetActivity();
+			}
+		}
+	}
+
+	/**
+	 * Closes {@link SocketChannel}s that were neither read from nor written to since the previous invocation
+	 * of this method or of {@link #resetActivity()}, and forgets activity of the rest of them.
+	 *
+	 * @return
+	 * Number of closed {@link SocketChannel}s.
+	 */
+	final int closeIdle() {
+		int result = 0;
+		for (final Channel channel : channels) {
+			@Nullable
+			final ActivityHandler activityHandler = channel.pipeline().get(ActivityHandler.class);
+			if (activityHandler != null && !activityHandler.resetActivity()) {
+				channel.close();
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Closes all open {@link SocketChannel}s and waits until they are closed.
+	 *
+	 * @return
+	 * Number of closed {@link SocketChannel}s.
+	 */
+	final int closeAll() {
+		final int result = channels.size();
+		channels.close().awaitUninterruptibly();
+		return result;
+	}
+}
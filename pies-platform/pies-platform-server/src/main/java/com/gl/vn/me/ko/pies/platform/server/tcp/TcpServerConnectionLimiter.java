@@ -0,0 +1,219 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_NULL;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Enforces {@link TcpServerConnectionLimits} and counts accepted connections in {@link TcpServerConnectionStats}.
+ * <p>
+ * This handler MUST be added to pipelines of {@link ServerSocketChannel}s before the handler that registers accepted
+ * {@link SocketChannel}s, so that a rejected {@link SocketChannel} is closed before it's registered or initialized.
+ * Both the global counter and per-address counters are checked and incremented atomically, so concurrently accepted
+ * {@link SocketChannel}s can't exceed a limit. Per-address counters are kept in a fixed array of stripes indexed by a hash of the remote IP address,
+ * hence both checking and updating of them take constant time and memory doesn't grow with the number of remote addresses.
+ */
+@ChannelHandler.Sharable
+@ThreadSafe
+final class TcpServerConnectionLimiter extends ChannelHandlerAdapter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TcpServerConnectionLimiter.class);
+	private static final int ADDRESS_STRIPES_BITS = 12;
+	private static final long FILE_DESCRIPTORS_CHECK_INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+	private static final OperatingSystemMXBean OPERATING_SYSTEM_MX_BEAN = ManagementFactory.getOperatingSystemMXBean();
+	private final TcpServerConnectionLimits limits;
+	private final TcpServerConnectionStats stats;
+	private final AtomicInteger connections;
+	@Nullable
+	private final AtomicIntegerArray addressStripes;
+	@Nullable
+	private final UnixOperatingSystemMXBean fileDescriptorsMxBean;
+	private volatile long nextFileDescriptorsCheckNanos;
+	private volatile boolean fileDescriptorsExhausted;
+
+	/**
+	 * Constructs a new instance of {@link TcpServerConnectionLimiter}.
+	 *
+	 * @param limits
+	 * {@link TcpServerConnectionLimits} to enforce.
+	 * @param name
+	 * A name of the {@link TcpServer}.
+	 */
+	TcpServerConnectionLimiter(final TcpServerConnectionLimits limits, final String name) {
+		checkNotNull(limits, ARGUMENT_NULL, "first", "limits");
+		checkNotNull(name, ARGUMENT_NULL, "second", "name");
+		this.limits = limits;
+		stats = new TcpServerConnectionStats();
+		connections = new AtomicInteger();
+		addressStripes = limits.getMaxConnectionsPerAddress() > 0 ? new AtomicIntegerArray(1 << ADDRESS_STRIPES_BITS) : null;
+		if (limits.getMaxFileDescriptorUsagePercent() > 0 && OPERATING_SYSTEM_MX_BEAN instanceof UnixOperatingSystemMXBean) {
+			fileDescriptorsMxBean = (UnixOperatingSystemMXBean)OPERATING_SYSTEM_MX_BEAN;
+		} else {
+			if (limits.getMaxFileDescriptorUsagePercent() > 0) {
+				LOGGER.warn("The platform doesn't report usage of file descriptors, {} doesn't check it", name);
+			}
+			fileDescriptorsMxBean = null;
+		}
+		nextFileDescriptorsCheckNanos = System.nanoTime();
+		fileDescriptorsExhausted = false;
+	}
+
+	private static final int addressStripe(final InetAddress address) {
+		return (address.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - ADDRESS_STRIPES_BITS);
+	}
+
+	@Override
+	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+		if (msg instanceof Channel) {
+			final Channel channel = (Channel)msg;
+			if (isFileDescriptorsExhausted()) {
+				stats.fileDescriptorRejection();
+				reject(channel, "file descriptors are close to exhaustion");
+				backOff(ctx);
+			} else if (!acquireConnection()) {
+				stats.globalLimitRejection();
+				reject(channel, "the limit of open connections is reached");
+			} else {
+				final int stripe = acquireAddressStripe(channel);
+				if (stripe == -2) {
+					connections.decrementAndGet();
+					stats.addressLimitRejection();
+					reject(channel, "the limit of open connections per address is reached");
+				} else {
+					stats.open();
+					channel.closeFuture().addListener(future -> {
+						stats.close();
+						connections.decrementAndGet();
+						if (stripe >= 0 && addressStripes != null) {
+							addressStripes.decrementAndGet(stripe);
+						}
+					});
+					ctx.fireChannelRead(msg);
+				}
+			}
+		} else {
+			ctx.fireChannelRead(msg);
+		}
+	}
+
+	@Override
+	public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+		if (cause instanceof IOException) {
+			LOGGER.warn("Failed to accept a connection via {}, pausing accepting for {} ms",
+					ctx.channel(), Long.valueOf(limits.getAcceptBackOffMillis()), cause);
+			backOff(ctx);
+		} else {
+			ctx.fireExceptionCaught(cause);
+		}
+	}
+
+	/**
+	 * Returns {@link TcpServerConnectionStats}.
+	 *
+	 * @return
+	 * {@link TcpServerConnectionStats} that are updated by this {@link TcpServerConnectionLimiter}.
+	 */
+	final TcpServerConnectionStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Increments the counter of open connections unless it has reached the limit.
+	 *
+	 * @return
+	 * {@code true} if the counter was incremented, {@code false} if the limit is reached.
+	 */
+	private final boolean acquireConnection() {
+		final int max = limits.getMaxConnections();
+		boolean result = false;
+		boolean limitReached = false;
+		while (!result && !limitReached) {
+			final int count = connections.get();
+			if (max > 0 && count >= max) {
+				limitReached = true;
+			} else {
+				result = connections.compareAndSet(count, count + 1);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Increments the per-address counter of the {@code channel} unless it has reached the limit.
+	 *
+	 * @return
+	 * Index of the incremented stripe, {@code -1} if there is no per-address limit or the remote address is unknown,
+	 * {@code -2} if the limit is reached.
+	 */
+	private final int acquireAddressStripe(final Channel channel) {
+		int result = -1;
+		@Nullable
+		final SocketAddress remoteAddress = channel.remoteAddress();
+		if (addressStripes != null && remoteAddress instanceof InetSocketAddress
+				&& ((InetSocketAddress)remoteAddress).getAddress() != null) {
+			final int stripe = addressStripe(((InetSocketAddress)remoteAddress).getAddress());
+			final int max = limits.getMaxConnectionsPerAddress();
+			while (result == -1) {
+				final int count = addressStripes.get(stripe);
+				if (count >= max) {
+					result = -2;
+				} else if (addressStripes.compareAndSet(stripe, count, count + 1)) {
+					result = stripe;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Usage of file descriptors is checked at most once per {@link #FILE_DESCRIPTORS_CHECK_INTERVAL_NANOS}
+	 * because the check is relatively expensive, e.g. on Linux it lists {@code /proc/self/fd}.
+	 */
+	private final boolean isFileDescriptorsExhausted() {
+		boolean result = false;
+		if (fileDescriptorsMxBean != null) {
+			final long nowNanos = System.nanoTime();
+			if (nowNanos - nextFileDescriptorsCheckNanos >= 0) {
+				nextFileDescriptorsCheckNanos = nowNanos + FILE_DESCRIPTORS_CHECK_INTERVAL_NANOS;
+				final long max = fileDescriptorsMxBean.getMaxFileDescriptorCount();
+				final long open = fileDescriptorsMxBean.getOpenFileDescriptorCount();
+				fileDescriptorsExhausted = max > 0 && open * 100 >= max * limits.getMaxFileDescriptorUsagePercent();
+			}
+			result = fileDescriptorsExhausted;
+		}
+		return result;
+	}
+
+	private final void reject(final Channel channel, final String reason) {
+		LOGGER.debug("Rejecting connection {} because {}", channel, reason);
+		channel.unsafe().closeForcibly();
+	}
+
+	private final void backOff(final ChannelHandlerContext ctx) {
+		final ChannelConfig config = ctx.channel().config();
+		if (config.isAutoRead()) {
+			config.setAutoRead(false);
+			stats.acceptBackOff();
+			ctx.executor().schedule(() -> config.setAutoRead(true), limits.getAcceptBackOffMillis(), MILLISECONDS);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies limits that {@link TcpServer} enforces when it accepts connections.
+ * <p>
+ * Limits are checked for each accepted {@link SocketChannel} before the {@link SocketChannel} is initialized,
+ * a {@link SocketChannel} that exceeds a limit is closed right away and is counted in {@link TcpServerConnectionStats}.
+ * Limits apply to all addresses a {@link TcpServer} listens to together.
+ * <p>
+ * While the process is close to its limit of open file descriptors, {@link TcpServer} stops accepting connections
+ * for {@linkplain #getAcceptBackOffMillis() a while} and lets pending connections wait in the backlog of
+ * {@link ServerSocketChannel}s. It does the same if accepting of a connection fails, e.g. because the limit was hit anyway.
+ */
+@Immutable
+public final class TcpServerConnectionLimits {
+	private static final TcpServerConnectionLimits UNLIMITED = new TcpServerConnectionLimits(0, 0, 0, 1000);
+
+	/**
+	 * Returns {@link TcpServerConnectionLimits} that don't limit connections.
+	 * Accepting of connections is still paused for {@code 1000} ms if it fails.
+	 *
+	 * @return
+	 * {@link TcpServerConnectionLimits} that don't limit connections.
+	 */
+	public static final TcpServerConnectionLimits unlimited() {
+		return UNLIMITED;
+	}
+
+	private final int maxConnections;
+	private final int maxConnectionsPerAddress;
+	private final int maxFileDescriptorUsagePercent;
+	private final long acceptBackOffMillis;
+
+	/**
+	 * Constructs a new instance of {@link TcpServerConnectionLimits}.
+	 *
+	 * @param maxConnections
+	 * Maximum number of open accepted {@link SocketChannel}s, {@code 0} means unlimited.
+	 * This argument MUST NOT be negative.
+	 * @param maxConnectionsPerAddress
+	 * Maximum number of open accepted {@link SocketChannel}s per remote IP address, {@code 0} means unlimited.
+	 * Connections are counted in a fixed number of stripes indexed by a hash of the remote IP address,
+	 * so in the rare case when addresses share a stripe they also share the limit. This argument MUST NOT be negative.
+	 * @param maxFileDescriptorUsagePercent
+	 * Percentage of the process limit of open file descriptors, reaching which makes {@link TcpServer}
+	 * reject accepted {@link SocketChannel}s and stop accepting for {@code acceptBackOffMillis}.
+	 * {@code 0} disables the check, as well as does a platform that doesn't report usage of file descriptors.
+	 * This argument MUST be from {@code 0} to {@code 100}.
+	 * @param acceptBackOffMillis
+	 * Amount of time in milliseconds {@link TcpServer} doesn't accept connections after it has noticed that
+	 * file descriptors are close to exhaustion or after accepting of a connection failed.
+	 * This argument MUST be positive.
+	 */
+	public TcpServerConnectionLimits(
+			final int maxConnections,
+			final int maxConnectionsPerAddress,
+			final int maxFileDescriptorUsagePercent,
+			final long acceptBackOffMillis) {
+		checkArgument(maxConnections >= 0, ARGUMENT_ILLEGAL, maxConnections, "first", "maxConnections",
+				"Expected value must not be negative");
+		checkArgument(maxConnectionsPerAddress >= 0, ARGUMENT_ILLEGAL, maxConnectionsPerAddress, "second", "maxConnectionsPerAddress",
+				"Expected value must not be negative");
+		checkArgument(maxFileDescriptorUsagePercent >= 0 && maxFileDescriptorUsagePercent <= 100,
+				ARGUMENT_ILLEGAL, maxFileDescriptorUsagePercent, "third", "maxFileDescriptorUsagePercent",
+				"Expected value must be from 0 to 100");
+		checkArgument(acceptBackOffMillis > 0, ARGUMENT_ILLEGAL, acceptBackOffMillis, "fourth", "acceptBackOffMillis",
+				"Expected value must be positive");
+		this.maxConnections = maxConnections;
+		this.maxConnectionsPerAddress = maxConnectionsPerAddress;
+		this.maxFileDescriptorUsagePercent = maxFileDescriptorUsagePercent;
+		this.acceptBackOffMillis = acceptBackOffMillis;
+	}
+
+	/**
+	 * See {@link #TcpServerConnectionLimits(int, int, int, long)}.
+	 *
+	 * @return
+	 * Maximum number of open connections.
+	 */
+	public final int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * See {@link #TcpServerConnectionLimits(int, int, int, long)}.
+	 *
+	 * @return
+	 * Maximum number of open connections per remote IP address.
+	 */
+	public final int getMaxConnectionsPerAddress() {
+		return maxConnectionsPerAddress;
+	}
+
+	/**
+	 * See {@link #TcpServerConnectionLimits(int, int, int, long)}.
+	 *
+	 * @return
+	 * Percentage of the limit of open file descriptors at which accepting is paused.
+	 */
+	public final int getMaxFileDescriptorUsagePercent() {
+		return maxFileDescriptorUsagePercent;
+	}
+
+	/**
+	 * See {@link #TcpServerConnectionLimits(int, int, int, long)}.
+	 *
+	 * @return
+	 * Accept back-off in milliseconds.
+	 */
+	public final long getAcceptBackOffMillis() {
+		return acceptBackOffMillis;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpServerConnectionLimits}.
+	 *
+	 * @return
+	 * A description of the {@link TcpServerConnectionLimits}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(maxConnections=").append(maxConnections)
+				.append(", maxConnectionsPerAddress=").append(maxConnectionsPerAddress)
+				.append(", maxFileDescriptorUsagePercent=").append(maxFileDescriptorUsagePercent)
+				.append(", acceptBackOffMillis=").append(acceptBackOffMillis).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
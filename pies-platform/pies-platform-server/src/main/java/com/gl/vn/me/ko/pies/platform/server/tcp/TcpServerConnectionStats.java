@@ -0,0 +1,122 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Counters of connections accepted by a {@link TcpServer} (see {@link TcpServerConnectionLimits}).
+ * Counters are cumulative since the {@link TcpServer} was constructed and are cheap to update concurrently.
+ */
+@ThreadSafe
+public final class TcpServerConnectionStats {
+	private final LongAdder openConnections;
+	private final LongAdder globalLimitRejections;
+	private final LongAdder addressLimitRejections;
+	private final LongAdder fileDescriptorRejections;
+	private final LongAdder acceptBackOffs;
+
+	TcpServerConnectionStats() {
+		openConnections = new LongAdder();
+		globalLimitRejections = new LongAdder();
+		addressLimitRejections = new LongAdder();
+		fileDescriptorRejections = new LongAdder();
+		acceptBackOffs = new LongAdder();
+	}
+
+	/**
+	 * Returns number of accepted connections that are open.
+	 *
+	 * @return
+	 * Number of open connections.
+	 */
+	public final long getOpenConnections() {
+		return openConnections.sum();
+	}
+
+	/**
+	 * Returns number of accepted connections that were closed because
+	 * {@linkplain TcpServerConnectionLimits#getMaxConnections() the limit of open connections} was reached.
+	 *
+	 * @return
+	 * Number of rejections.
+	 */
+	public final long getGlobalLimitRejections() {
+		return globalLimitRejections.sum();
+	}
+
+	/**
+	 * Returns number of accepted connections that were closed because
+	 * {@linkplain TcpServerConnectionLimits#getMaxConnectionsPerAddress() the limit of open connections per remote IP address}
+	 * was reached.
+	 *
+	 * @return
+	 * Number of rejections.
+	 */
+	public final long getAddressLimitRejections() {
+		return addressLimitRejections.sum();
+	}
+
+	/**
+	 * Returns number of accepted connections that were closed because
+	 * {@linkplain TcpServerConnectionLimits#getMaxFileDescriptorUsagePercent() file descriptors were close to exhaustion}.
+	 *
+	 * @return
+	 * Number of rejections.
+	 */
+	public final long getFileDescriptorRejections() {
+		return fileDescriptorRejections.sum();
+	}
+
+	/**
+	 * Returns number of times accepting of connections was paused
+	 * for {@linkplain TcpServerConnectionLimits#getAcceptBackOffMillis() the back-off}.
+	 *
+	 * @return
+	 * Number of back-offs.
+	 */
+	public final long getAcceptBackOffs() {
+		return acceptBackOffs.sum();
+	}
+
+	final void open() {
+		openConnections.increment();
+	}
+
+	final void close() {
+		openConnections.decrement();
+	}
+
+	final void globalLimitRejection() {
+		globalLimitRejections.increment();
+	}
+
+	final void addressLimitRejection() {
+		addressLimitRejections.increment();
+	}
+
+	final void fileDescriptorRejection() {
+		fileDescriptorRejections.increment();
+	}
+
+	final void acceptBackOff() {
+		acceptBackOffs.increment();
+	}
+
+	/**
+	 * Returns a description of the {@link TcpServerConnectionStats}.
+	 *
+	 * @return
+	 * A description of the {@link TcpServerConnectionStats}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(openConnections=").append(openConnections)
+				.append(", globalLimitRejections=").append(globalLimitRejections)
+				.append(", addressLimitRejections=").append(addressLimitRejections)
+				.append(", fileDescriptorRejections=").append(fileDescriptorRejections)
+				.append(", acceptBackOffs=").append(acceptBackOffs).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
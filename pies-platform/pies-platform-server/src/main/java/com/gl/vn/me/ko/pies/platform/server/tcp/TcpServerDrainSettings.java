@@ -0,0 +1,99 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.channel.socket.SocketChannel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link TcpServer} drains accepted connections when it's {@linkplain TcpServer#drainAndShutdown(TcpServerDrainSettings)
+ * shut down gracefully}.
+ * <p>
+ * Draining starts with closing of the listening sockets, after which {@link TcpServer} waits for accepted {@link SocketChannel}s
+ * to be closed by peers. {@link SocketChannel}s that are still open when the timeout expires are force-closed.
+ */
+@Immutable
+public final class TcpServerDrainSettings {
+	private static final TcpServerDrainSettings DISABLED = new TcpServerDrainSettings(0, 0);
+
+	/**
+	 * Returns {@link TcpServerDrainSettings} with draining disabled,
+	 * i.e. all accepted connections are force-closed right after the listening sockets are closed.
+	 *
+	 * @return
+	 * {@link TcpServerDrainSettings} that disable draining.
+	 */
+	public static final TcpServerDrainSettings disabled() {
+		return DISABLED;
+	}
+
+	private final long timeoutMillis;
+	private final long idleMillis;
+
+	/**
+	 * Constructs a new instance of {@link TcpServerDrainSettings}.
+	 *
+	 * @param timeoutMillis
+	 * Maximum amount of time in milliseconds {@link TcpServer} waits for accepted {@link SocketChannel}s to be closed,
+	 * {@code 0} disables draining. This argument MUST NOT be negative.
+	 * @param idleMillis
+	 * Amount of time in milliseconds during which nothing was either read from or written to a {@link SocketChannel},
+	 * after which the {@link SocketChannel} is considered idle and is closed without waiting for the timeout.
+	 * Only activity during draining is taken into account. This value SHOULD be greater than the time it takes
+	 * to respond to a request, {@code 0} means that idle {@link SocketChannel}s aren't closed before the timeout expires.
+	 * This argument MUST NOT be negative.
+	 */
+	public TcpServerDrainSettings(final long timeoutMillis, final long idleMillis) {
+		checkArgument(timeoutMillis >= 0, ARGUMENT_ILLEGAL, timeoutMillis, "first", "timeoutMillis",
+				"Expected value must not be negative");
+		checkArgument(idleMillis >= 0, ARGUMENT_ILLEGAL, idleMillis, "second", "idleMillis",
+				"Expected value must not be negative");
+		this.timeoutMillis = timeoutMillis;
+		this.idleMillis = idleMillis;
+	}
+
+	/**
+	 * Specifies if draining is enabled.
+	 *
+	 * @return
+	 * {@code true} if the timeout is positive, {@code false} otherwise.
+	 */
+	public final boolean isEnabled() {
+		return timeoutMillis > 0;
+	}
+
+	/**
+	 * See {@link #TcpServerDrainSettings(long, long)}.
+	 *
+	 * @return
+	 * Drain timeout in milliseconds.
+	 */
+	public final long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	/**
+	 * See {@link #TcpServerDrainSettings(long, long)}.
+	 *
+	 * @return
+	 * Idle timeout in milliseconds.
+	 */
+	public final long getIdleMillis() {
+		return idleMillis;
+	}
+
+	/**
+	 * Returns a description of the {@link TcpServerDrainSettings}.
+	 *
+	 * @return
+	 * A description of the {@link TcpServerDrainSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(timeoutMillis=").append(timeoutMillis)
+				.append(", idleMillis=").append(idleMillis).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,243 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies socket options of a {@link ServerSocketChannel} a {@link TcpServer} listens to
+ * and of the {@link SocketChannel}s it accepts.
+ * <p>
+ * {@linkplain #getBacklog() Backlog} is the number of connections the OS queues before they are accepted.
+ * If this queue is full, new connection requests are dropped by the OS and clients retransmit them after a delay,
+ * hence a backlog that is too small for a burst of reconnecting clients considerably increases connect latency.
+ * Note that the OS MAY silently limit the backlog (e.g. Linux limits it by {@code net.core.somaxconn}).
+ * <p>
+ * Options of accepted {@link SocketChannel}s are applied to all of them, buffer sizes equal to {@code 0} mean that
+ * OS defaults (and OS auto-tuning) are used.
+ * <p>
+ * Instances are obtained by modifying {@link #defaults()} via {@code with...} methods, e.g.
+ * {@code TcpServerSocketOptions.defaults().withBacklog(2048).withKeepAlive(true)}.
+ */
+@Immutable
+public final class TcpServerSocketOptions {
+	private static final TcpServerSocketOptions DEFAULT = new TcpServerSocketOptions(1024, true, true, false, 0, 0);
+
+	/**
+	 * Returns {@link TcpServerSocketOptions} with backlog {@code 1024}, {@code SO_REUSEADDR} and {@code TCP_NODELAY} enabled,
+	 * {@code SO_KEEPALIVE} disabled and OS default buffer sizes.
+	 *
+	 * @return
+	 * Default {@link TcpServerSocketOptions}.
+	 */
+	public static final TcpServerSocketOptions defaults() {
+		return DEFAULT;
+	}
+
+	private final int backlog;
+	private final boolean reuseAddress;
+	private final boolean tcpNoDelay;
+	private final boolean keepAlive;
+	private final int receiveBufferSize;
+	private final int sendBufferSize;
+
+	private TcpServerSocketOptions(
+			final int backlog,
+			final boolean reuseAddress,
+			final boolean tcpNoDelay,
+			final boolean keepAlive,
+			final int receiveBufferSize,
+			final int sendBufferSize) {
+		this.backlog = backlog;
+		this.reuseAddress = reuseAddress;
+		this.tcpNoDelay = tcpNoDelay;
+		this.keepAlive = keepAlive;
+		this.receiveBufferSize = receiveBufferSize;
+		this.sendBufferSize = sendBufferSize;
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified backlog.
+	 *
+	 * @param backlog
+	 * Requested maximum length of the queue of incoming connections ({@code SO_BACKLOG}).
+	 * This argument MUST be positive.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withBacklog(final int backlog) {
+		checkArgument(backlog > 0, ARGUMENT_ILLEGAL, backlog, "first", "backlog", "Expected value must be positive");
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified {@code SO_REUSEADDR}.
+	 *
+	 * @param reuseAddress
+	 * {@code SO_REUSEADDR} of the {@link ServerSocketChannel}, i.e. specifies if the address MAY be bound
+	 * while previous connections to it are in {@code TIME_WAIT} state.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withReuseAddress(final boolean reuseAddress) {
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified {@code TCP_NODELAY}.
+	 *
+	 * @param tcpNoDelay
+	 * {@code TCP_NODELAY} of accepted {@link SocketChannel}s, i.e. specifies if Nagle's algorithm is disabled.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withTcpNoDelay(final boolean tcpNoDelay) {
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified {@code SO_KEEPALIVE}.
+	 *
+	 * @param keepAlive
+	 * {@code SO_KEEPALIVE} of accepted {@link SocketChannel}s.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withKeepAlive(final boolean keepAlive) {
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified {@code SO_RCVBUF}.
+	 *
+	 * @param receiveBufferSize
+	 * {@code SO_RCVBUF} in bytes of accepted {@link SocketChannel}s, {@code 0} means the OS default.
+	 * The value is set on the {@link ServerSocketChannel}, so that accepted {@link SocketChannel}s inherit it
+	 * before the TCP window is negotiated. This argument MUST NOT be negative.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withReceiveBufferSize(final int receiveBufferSize) {
+		checkArgument(receiveBufferSize >= 0, ARGUMENT_ILLEGAL, receiveBufferSize, "first", "receiveBufferSize",
+				"Expected value must not be negative");
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * Returns a copy of the {@link TcpServerSocketOptions} with the specified {@code SO_SNDBUF}.
+	 *
+	 * @param sendBufferSize
+	 * {@code SO_SNDBUF} in bytes of accepted {@link SocketChannel}s, {@code 0} means the OS default.
+	 * This argument MUST NOT be negative.
+	 * @return
+	 * Modified copy of the {@link TcpServerSocketOptions}.
+	 */
+	public final TcpServerSocketOptions withSendBufferSize(final int sendBufferSize) {
+		checkArgument(sendBufferSize >= 0, ARGUMENT_ILLEGAL, sendBufferSize, "first", "sendBufferSize",
+				"Expected value must not be negative");
+		return new TcpServerSocketOptions(backlog, reuseAddress, tcpNoDelay, keepAlive, receiveBufferSize, sendBufferSize);
+	}
+
+	/**
+	 * See {@link #withBacklog(int)}.
+	 *
+	 * @return
+	 * Backlog.
+	 */
+	public final int getBacklog() {
+		return backlog;
+	}
+
+	/**
+	 * See {@link #withReuseAddress(boolean)}.
+	 *
+	 * @return
+	 * {@code true} if {@code SO_REUSEADDR} is enabled, {@code false} otherwise.
+	 */
+	public final boolean isReuseAddress() {
+		return reuseAddress;
+	}
+
+	/**
+	 * See {@link #withTcpNoDelay(boolean)}.
+	 *
+	 * @return
+	 * {@code true} if {@code TCP_NODELAY} is enabled, {@code false} otherwise.
+	 */
+	public final boolean isTcpNoDelay() {
+		return tcpNoDelay;
+	}
+
+	/**
+	 * See {@link #withKeepAlive(boolean)}.
+	 *
+	 * @return
+	 * {@code true} if {@code SO_KEEPALIVE} is enabled, {@code false} otherwise.
+	 */
+	public final boolean isKeepAlive() {
+		return keepAlive;
+	}
+
+	/**
+	 * See {@link #withReceiveBufferSize(int)}.
+	 *
+	 * @return
+	 * {@code SO_RCVBUF} in bytes, or {@code 0}.
+	 */
+	public final int getReceiveBufferSize() {
+		return receiveBufferSize;
+	}
+
+	/**
+	 * See {@link #withSendBufferSize(int)}.
+	 *
+	 * @return
+	 * {@code SO_SNDBUF} in bytes, or {@code 0}.
+	 */
+	public final int getSendBufferSize() {
+		return sendBufferSize;
+	}
+
+	/**
+	 * Applies the {@link TcpServerSocketOptions} to the {@code serverBootstrap}.
+	 *
+	 * @param serverBootstrap
+	 * {@link ServerBootstrap} to modify.
+	 */
+	final void apply(final ServerBootstrap serverBootstrap) {
+		serverBootstrap
+				.option(ChannelOption.SO_BACKLOG, Integer.valueOf(backlog))
+				.option(ChannelOption.SO_REUSEADDR, Boolean.valueOf(reuseAddress))
+				.childOption(ChannelOption.TCP_NODELAY, Boolean.valueOf(tcpNoDelay))
+				.childOption(ChannelOption.SO_KEEPALIVE, Boolean.valueOf(keepAlive));
+		if (receiveBufferSize > 0) {
+			serverBootstrap.option(ChannelOption.SO_RCVBUF, Integer.valueOf(receiveBufferSize));
+		}
+		if (sendBufferSize > 0) {
+			serverBootstrap.childOption(ChannelOption.SO_SNDBUF, Integer.valueOf(sendBufferSize));
+		}
+	}
+
+	/**
+	 * Returns a description of the {@link TcpServerSocketOptions}.
+	 *
+	 * @return
+	 * A description of the {@link TcpServerSocketOptions}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(backlog=").append(backlog)
+				.append(", reuseAddress=").append(reuseAddress)
+				.append(", tcpNoDelay=").append(tcpNoDelay)
+				.append(", keepAlive=").append(keepAlive)
+				.append(", receiveBufferSize=").append(receiveBufferSize)
+				.append(", sendBufferSize=").append(sendBufferSize).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,90 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetSocketAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards datagrams read from a back-end {@link Channel} of a {@link UdpReverseProxySession} to the client.
+ * Datagrams read in a batch are flushed to the front-end {@link Channel} once the batch is complete.
+ * The back-end {@link Channel} is closed, which ends the {@link UdpReverseProxySession},
+ * once an {@link IdleStateHandler} that precedes this handler reports that the session is idle.
+ */
+final class UdpReverseProxyBackEndChannelHandler extends ChannelHandlerAdapter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UdpReverseProxyBackEndChannelHandler.class);
+
+	private final Channel feChannel;
+	private final InetSocketAddress clientAddress;
+	private final UdpReverseProxyStats stats;
+	private boolean flushPending;
+
+	/**
+	 * Constructs a new instance of {@link UdpReverseProxyBackEndChannelHandler}.
+	 *
+	 * @param feChannel
+	 * The front-end {@link Channel} datagrams are forwarded to.
+	 * @param clientAddress
+	 * Address of the client of the {@link UdpReverseProxySession}.
+	 * @param stats
+	 * {@link UdpReverseProxyStats} that count forwarded datagrams and expired sessions.
+	 */
+	UdpReverseProxyBackEndChannelHandler(
+			final Channel feChannel, final InetSocketAddress clientAddress, final UdpReverseProxyStats stats) {
+		this.feChannel = feChannel;
+		this.clientAddress = clientAddress;
+		this.stats = stats;
+		flushPending = false;
+	}
+
+	@Override
+	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+		if (msg instanceof DatagramPacket) {
+			final DatagramPacket packet = (DatagramPacket)msg;
+			feChannel.write(new DatagramPacket(packet.content(), clientAddress));
+			stats.backEndToFrontEnd();
+			flushPending = true;
+		} else {
+			ReferenceCountUtil.release(msg);
+		}
+	}
+
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) {
+		if (flushPending) {
+			flushPending = false;
+			feChannel.flush();
+		}
+		ctx.fireChannelReadComplete();
+	}
+
+	@Override
+	public final void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+		if (evt instanceof IdleStateEvent) {
+			final Channel channel = ctx.channel();
+			if (channel.isOpen()) {
+				stats.sessionExpired();
+				LOGGER.debug("Session of client {} via {} is idle and will be ended", clientAddress, channel);
+				channel.close();
+			}
+		} else {
+			super.userEventTriggered(ctx, evt);
+		}
+	}
+
+	@Override
+	public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) {
+		try {
+			LOGGER.debug("Exception caught, session of client {} will be ended", clientAddress, e);
+		} finally {
+			final Channel channel = ctx.channel();
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards datagrams read from the front-end {@link Channel} of a {@link UdpReverseProxyServer} to back-ends.
+ * <p>
+ * Datagrams of each client are forwarded within a {@link UdpReverseProxySession}, which is created
+ * once the first datagram from the client is received; back-ends are chosen for new sessions in round-robin fashion.
+ * Datagrams read in a batch are written to back-end {@link Channel}s without flushing,
+ * and each back-end {@link Channel} is flushed once when the batch is complete.
+ */
+final class UdpReverseProxyFrontEndChannelHandler extends ChannelHandlerAdapter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UdpReverseProxyFrontEndChannelHandler.class);
+
+	private final List<InetSocketAddress> backEnds;
+	private final ConcurrentMap<InetSocketAddress, UdpReverseProxySession> sessions;
+	private final Bootstrap beBootstrap;
+	private final UdpReverseProxySessionSettings settings;
+	private final UdpReverseProxyStats stats;
+	private final List<UdpReverseProxySession> flushPendingSessions;
+	private int nextBackEndIdx;
+
+	/**
+	 * Constructs a new instance of {@link UdpReverseProxyFrontEndChannelHandler}.
+	 *
+	 * @param backEnds
+	 * Addresses of back-ends, MUST NOT be empty.
+	 * @param sessions
+	 * The session table, {@link UdpReverseProxySession}s are put to it once created and are removed from it once ended.
+	 * @param beBootstrap
+	 * A {@link Bootstrap} that is used to create back-end {@link Channel}s, it MUST NOT specify a handler.
+	 * @param settings
+	 * {@link UdpReverseProxySessionSettings}.
+	 * @param stats
+	 * {@link UdpReverseProxyStats}.
+	 */
+	UdpReverseProxyFrontEndChannelHandler(
+			final List<InetSocketAddress> backEnds,
+			final ConcurrentMap<InetSocketAddress, UdpReverseProxySession> sessions,
+			final Bootstrap beBootstrap,
+			final UdpReverseProxySessionSettings settings,
+			final UdpReverseProxyStats stats) {
+		this.backEnds = backEnds;
+		this.sessions = sessions;
+		this.beBootstrap = beBootstrap;
+		this.settings = settings;
+		this.stats = stats;
+		flushPendingSessions = new ArrayList<>();
+		nextBackEndIdx = 0;
+	}
+
+	@Override
+	public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+		if (msg instanceof DatagramPacket) {
+			final DatagramPacket packet = (DatagramPacket)msg;
+			final InetSocketAddress clientAddress = packet.sender();
+			@Nullable
+			UdpReverseProxySession session = sessions.get(clientAddress);
+			if (session == null) {
+				session = createSession(ctx.channel(), clientAddress);
+			}
+			if (session == null) {
+				stats.dropped();
+				packet.release();
+			} else if (session.write(packet.content())) {
+				flushPendingSessions.add(session);
+			}
+		} else {
+			ReferenceCountUtil.release(msg);
+		}
+	}
+
+	@Override
+	public final void channelReadComplete(final ChannelHandlerContext ctx) {
+		for (final UdpReverseProxySession session : flushPendingSessions) {
+			session.flush();
+		}
+		flushPendingSessions.clear();
+		ctx.fireChannelReadComplete();
+	}
+
+	@Nullable
+	private final UdpReverseProxySession createSession(final Channel feChannel, final InetSocketAddress clientAddress) {
+		@Nullable
+		final UdpReverseProxySession result;
+		if (sessions.size() >= settings.getMaxSessions()) {
+			LOGGER.debug("Datagram from {} is dropped because there are already {} sessions", clientAddress,
+					Integer.valueOf(settings.getMaxSessions()));
+			result = null;
+		} else {
+			final InetSocketAddress beAddress = backEnds.get(nextBackEndIdx);
+			nextBackEndIdx = (nextBackEndIdx + 1) % backEnds.size();
+			final ChannelFuture connectFuture = beBootstrap.clone()
+					.handler(new ChannelInitializer<DatagramChannel>() {
+						@Override
+						protected final void initChannel(final DatagramChannel channel) {
+							channel.pipeline().addLast(
+									new IdleStateHandler(0, 0, settings.getIdleTimeoutMillis(), MILLISECONDS),
+									new UdpReverseProxyBackEndChannelHandler(feChannel, clientAddress, stats));
+						}
+					})
+					.connect(beAddress);
+			result = new UdpReverseProxySession(clientAddress, beAddress, connectFuture, stats);
+			sessions.put(clientAddress, result);
+			result.closeFuture().addListener((final ChannelFuture future) -> sessions.remove(clientAddress, result));
+			stats.sessionCreated();
+			LOGGER.debug("Session {} was created", result);
+		}
+		return result;
+	}
+
+	@Override
+	public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable e) {
+		LOGGER.error("Exception caught", e);
+	}
+}
@@ -0,0 +1,199 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.gl.vn.me.ko.pies.base.throwable.ApplicationException;
+import com.gl.vn.me.ko.pies.platform.server.Server;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.concurrent.Future;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A UDP reverse proxy, i.e. a {@link Server} that forwards datagrams from clients to back-ends
+ * and datagrams returned by back-ends back to the clients.
+ * <p>
+ * Datagrams of each client are forwarded within a session, i.e. an association between the client address
+ * and a back-end, hence all datagrams from a client are forwarded to the same back-end until the session expires
+ * (see {@link UdpReverseProxySessionSettings}). Datagrams are read from sockets in batches and are flushed
+ * to the opposite sockets once per batch.
+ * <p>
+ * This {@link Server} doesn't support multiple {@link #start()} {@literal &} {@link #shutdown()} procedures.
+ */
+@ThreadSafe
+public final class UdpReverseProxyServer implements Server {
+	private static final Logger LOGGER = LoggerFactory.getLogger(UdpReverseProxyServer.class);
+	private static final long TERMINATION_TIMEOUT_SECS = 10;
+
+	private final Object mutexStartShutdown;
+	@GuardedBy("mutexStartShutdown")
+	private boolean active;
+	@GuardedBy("mutexStartShutdown")
+	@Nullable
+	private Channel feChannel;
+	private final InetSocketAddress address;
+	private final List<InetSocketAddress> backEnds;
+	private final String name;
+	private final NioEventLoopGroup workerEventLoopGroup;
+	private final UdpReverseProxySessionSettings sessionSettings;
+	private final ConcurrentMap<InetSocketAddress, UdpReverseProxySession> sessions;
+	private final UdpReverseProxyStats stats;
+
+	/**
+	 * Constructs a new instance of {@link UdpReverseProxyServer}.
+	 *
+	 * @param address
+	 * An {@link InetSocketAddress} the {@link UdpReverseProxyServer} will receive datagrams from clients at.
+	 * @param backEnds
+	 * Addresses of back-ends datagrams are forwarded to. This argument MUST NOT be empty.
+	 * @param name
+	 * A name of the {@link UdpReverseProxyServer}.
+	 * @param maxWorkerThreads
+	 * Maximum number of {@link Thread}s that forward datagrams.
+	 * @param threadFactory
+	 * A {@link ThreadFactory} that will be used to create worker {@link Thread}s.
+	 * {@link Thread} names MAY not be the same as the {@code threadFactory} generates.
+	 * @param sessionSettings
+	 * {@link UdpReverseProxySessionSettings}.
+	 */
+	@Inject
+	public UdpReverseProxyServer(
+			@UdpReverseProxyServerFrontEndAddress final InetSocketAddress address,
+			@UdpReverseProxyServerBackEnds final List<InetSocketAddress> backEnds,
+			@UdpReverseProxyServerName final String name,
+			@UdpReverseProxyServerWorker final Integer maxWorkerThreads,
+			@UdpReverseProxyServerThreadFactory final ThreadFactory threadFactory,
+			final UdpReverseProxySessionSettings sessionSettings) {
+		checkNotNull(address, Message.ARGUMENT_NULL, "first", "address");
+		checkNotNull(backEnds, Message.ARGUMENT_NULL, "second", "backEnds");
+		checkArgument(!backEnds.isEmpty(), Message.ARGUMENT_ILLEGAL, backEnds, "second", "backEnds",
+				"Expected value must not be empty");
+		checkNotNull(name, Message.ARGUMENT_NULL, "third", "name");
+		checkNotNull(maxWorkerThreads, Message.ARGUMENT_NULL, "fourth", "maxWorkerThreads");
+		final int maxWorkers = maxWorkerThreads.intValue();
+		checkArgument(maxWorkers > 0, Message.ARGUMENT_ILLEGAL, maxWorkerThreads, "fourth", "maxWorkerThreads",
+				"Expected value must be greater than 0");
+		checkNotNull(threadFactory, Message.ARGUMENT_NULL, "fifth", "threadFactory");
+		checkNotNull(sessionSettings, Message.ARGUMENT_NULL, "sixth", "sessionSettings");
+		mutexStartShutdown = new Object();
+		active = false;
+		feChannel = null;
+		this.address = address;
+		this.backEnds = ImmutableList.copyOf(backEnds);
+		this.name = name;
+		this.sessionSettings = sessionSettings;
+		workerEventLoopGroup = new NioEventLoopGroup(maxWorkers, new ThreadFactoryBuilder()
+				.setThreadFactory(threadFactory)
+				.setNameFormat(name + "-worker-%d")
+				.build());
+		sessions = new ConcurrentHashMap<>();
+		stats = new UdpReverseProxyStats();
+	}
+
+	private final Bootstrap newBootstrap() {
+		return new Bootstrap()
+				.group(workerEventLoopGroup)
+				.channel(NioDatagramChannel.class)
+				.option(ChannelOption.MAX_MESSAGES_PER_READ, Integer.valueOf(sessionSettings.getMaxDatagramsPerRead()))
+				.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(sessionSettings.getMaxDatagramBytes()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method MUST NOT be called more than once on the same instance of {@link UdpReverseProxyServer}.
+	 */
+	@Override
+	public final Future<?> start() throws InterruptedException {
+		final ChannelFuture result;
+		synchronized (mutexStartShutdown) {
+			checkState(active == false, "Server %s is already started", this);
+			final ChannelFuture bindFuture = newBootstrap()
+					.handler(new UdpReverseProxyFrontEndChannelHandler(backEnds, sessions, newBootstrap(), sessionSettings, stats))
+					.bind(address);
+			bindFuture.await();
+			if (bindFuture.isSuccess()) {
+				feChannel = bindFuture.channel();
+				result = feChannel.closeFuture();
+			} else {
+				throw new ApplicationException(bindFuture.cause());
+			}
+			active = true;
+			LOGGER.info("{} is receiving datagrams", this);
+		}
+		return result;
+	}
+
+	@Override
+	public final void shutdown() {
+		synchronized (mutexStartShutdown) {
+			if (active) {
+				if (feChannel != null) {
+					feChannel.close().awaitUninterruptibly();
+				}
+				for (final UdpReverseProxySession session : sessions.values()) {
+					session.close();
+				}
+				workerEventLoopGroup.shutdownGracefully().awaitUninterruptibly(TERMINATION_TIMEOUT_SECS, SECONDS);
+				active = false;
+				LOGGER.info("{} was shut down", this);
+			}
+		}
+	}
+
+	/**
+	 * Returns number of active sessions.
+	 *
+	 * @return
+	 * Number of sessions.
+	 */
+	public final int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Returns {@link UdpReverseProxyStats} of the {@link UdpReverseProxyServer}.
+	 *
+	 * @return
+	 * {@link UdpReverseProxyStats}.
+	 */
+	public final UdpReverseProxyStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Returns a description of the {@link UdpReverseProxyServer}.
+	 *
+	 * @return
+	 * A description of the {@link UdpReverseProxyServer}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(name)
+				.append("(address=").append(address)
+				.append(", backEnds=").append(backEnds)
+				.append(", sessionSettings=").append(sessionSettings).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
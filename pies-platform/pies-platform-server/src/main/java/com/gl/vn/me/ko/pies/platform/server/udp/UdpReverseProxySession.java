@@ -0,0 +1,144 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import java.net.InetSocketAddress;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An association between a client address and a back-end a {@link UdpReverseProxyServer} forwards datagrams
+ * from the client to. Datagrams are forwarded via a back-end {@link Channel} that is connected to the back-end
+ * and is owned by the session, hence datagrams the back-end returns are forwarded back to the client they belong to.
+ * <p>
+ * Methods of this class MUST be called from the event loop of the front-end {@link Channel}.
+ */
+@NotThreadSafe
+final class UdpReverseProxySession {
+	private final InetSocketAddress clientAddress;
+	private final InetSocketAddress backEndAddress;
+	private final ChannelFuture connectFuture;
+	private final UdpReverseProxyStats stats;
+	private boolean flushPending;
+
+	/**
+	 * Constructs a new instance of {@link UdpReverseProxySession}.
+	 *
+	 * @param clientAddress
+	 * Address of the client.
+	 * @param backEndAddress
+	 * Address of the back-end.
+	 * @param connectFuture
+	 * {@link ChannelFuture} of connecting the back-end {@link Channel} to the {@code backEndAddress}.
+	 * @param stats
+	 * {@link UdpReverseProxyStats} that count forwarded datagrams.
+	 */
+	UdpReverseProxySession(
+			final InetSocketAddress clientAddress,
+			final InetSocketAddress backEndAddress,
+			final ChannelFuture connectFuture,
+			final UdpReverseProxyStats stats) {
+		this.clientAddress = clientAddress;
+		this.backEndAddress = backEndAddress;
+		this.connectFuture = connectFuture;
+		this.stats = stats;
+		flushPending = false;
+	}
+
+	/**
+	 * Writes content of a datagram from the client to the back-end {@link Channel} without flushing it.
+	 * If the back-end {@link Channel} isn't connected yet, the content is written and flushed once it's connected.
+	 *
+	 * @param content
+	 * Content of a datagram. Ownership of the {@code content} is transferred to the {@link UdpReverseProxySession}.
+	 * @return
+	 * {@code true} if {@link #flush()} must be called, {@code false} if it's not needed
+	 * or was already requested by a previous invocation of this method.
+	 */
+	final boolean write(final ByteBuf content) {
+		final boolean result;
+		stats.frontEndToBackEnd();
+		if (connectFuture.isDone()) {
+			if (connectFuture.isSuccess()) {
+				connectFuture.channel().write(content);
+				result = !flushPending;
+				flushPending = true;
+			} else {
+				content.release();
+				result = false;
+			}
+		} else {
+			connectFuture.addListener((final ChannelFuture future) -> {
+				if (future.isSuccess()) {
+					future.channel().writeAndFlush(content);
+				} else {
+					content.release();
+				}
+			});
+			result = false;
+		}
+		return result;
+	}
+
+	/**
+	 * Flushes the back-end {@link Channel}.
+	 */
+	final void flush() {
+		flushPending = false;
+		connectFuture.channel().flush();
+	}
+
+	/**
+	 * Closes the back-end {@link Channel}, which ends the {@link UdpReverseProxySession}.
+	 */
+	final void close() {
+		connectFuture.addListener(ChannelFutureListener.CLOSE);
+	}
+
+	/**
+	 * Returns a {@link ChannelFuture} that is completed once the {@link UdpReverseProxySession} has ended.
+	 *
+	 * @return
+	 * {@link Channel#closeFuture()} of the back-end {@link Channel}.
+	 */
+	final ChannelFuture closeFuture() {
+		return connectFuture.channel().closeFuture();
+	}
+
+	/**
+	 * Returns address of the client.
+	 *
+	 * @return
+	 * Address of the client.
+	 */
+	final InetSocketAddress getClientAddress() {
+		return clientAddress;
+	}
+
+	/**
+	 * Returns address of the back-end.
+	 *
+	 * @return
+	 * Address of the back-end.
+	 */
+	final InetSocketAddress getBackEndAddress() {
+		return backEndAddress;
+	}
+
+	/**
+	 * Returns a description of the {@link UdpReverseProxySession}.
+	 *
+	 * @return
+	 * A description of the {@link UdpReverseProxySession}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(clientAddress=").append(clientAddress)
+				.append(", backEndAddress=").append(backEndAddress)
+				.append(", channel=").append(connectFuture.channel()).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
@@ -0,0 +1,123 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import static com.gl.vn.me.ko.pies.base.constant.Message.ARGUMENT_ILLEGAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Specifies how {@link UdpReverseProxyServer} keeps sessions and reads datagrams.
+ * <p>
+ * A session is an association between a client address and a back-end,
+ * it's created once the first datagram from the client is received and is expired once no datagrams
+ * were forwarded in either direction for {@link #getIdleTimeoutMillis()}.
+ */
+@Immutable
+public final class UdpReverseProxySessionSettings {
+	private static final UdpReverseProxySessionSettings DEFAULTS = new UdpReverseProxySessionSettings(60_000, 10_000, 16, 2048);
+
+	/**
+	 * Returns {@link UdpReverseProxySessionSettings} with idle timeout {@code 60000} milliseconds,
+	 * at most {@code 10000} sessions, at most {@code 16} datagrams per read batch
+	 * and datagrams of at most {@code 2048} bytes.
+	 *
+	 * @return
+	 * Default {@link UdpReverseProxySessionSettings}.
+	 */
+	public static final UdpReverseProxySessionSettings defaults() {
+		return DEFAULTS;
+	}
+
+	private final long idleTimeoutMillis;
+	private final int maxSessions;
+	private final int maxDatagramsPerRead;
+	private final int maxDatagramBytes;
+
+	/**
+	 * Constructs a new instance of {@link UdpReverseProxySessionSettings}.
+	 *
+	 * @param idleTimeoutMillis
+	 * Amount of time in milliseconds during which no datagrams were forwarded within a session,
+	 * after which the session is expired. This argument MUST be positive.
+	 * @param maxSessions
+	 * Maximum number of sessions, datagrams from new clients are dropped once this number is reached.
+	 * This argument MUST be positive.
+	 * @param maxDatagramsPerRead
+	 * Maximum number of datagrams read from a socket in a batch before they are flushed to the opposite sockets.
+	 * This argument MUST be positive.
+	 * @param maxDatagramBytes
+	 * Maximum size of a datagram in bytes, bigger datagrams are truncated.
+	 * This argument MUST be positive and MUST NOT be greater than {@code 65535}.
+	 */
+	public UdpReverseProxySessionSettings(
+			final long idleTimeoutMillis, final int maxSessions, final int maxDatagramsPerRead, final int maxDatagramBytes) {
+		checkArgument(idleTimeoutMillis > 0, ARGUMENT_ILLEGAL, idleTimeoutMillis, "first", "idleTimeoutMillis",
+				"Expected value must be positive");
+		checkArgument(maxSessions > 0, ARGUMENT_ILLEGAL, maxSessions, "second", "maxSessions",
+				"Expected value must be positive");
+		checkArgument(maxDatagramsPerRead > 0, ARGUMENT_ILLEGAL, maxDatagramsPerRead, "third", "maxDatagramsPerRead",
+				"Expected value must be positive");
+		checkArgument(maxDatagramBytes > 0 && maxDatagramBytes <= 65535, ARGUMENT_ILLEGAL, maxDatagramBytes, "fourth",
+				"maxDatagramBytes", "Expected value must be in the range [1, 65535]");
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.maxSessions = maxSessions;
+		this.maxDatagramsPerRead = maxDatagramsPerRead;
+		this.maxDatagramBytes = maxDatagramBytes;
+	}
+
+	/**
+	 * See {@link #UdpReverseProxySessionSettings(long, int, int, int)}.
+	 *
+	 * @return
+	 * Idle timeout of a session in milliseconds.
+	 */
+	public final long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	/**
+	 * See {@link #UdpReverseProxySessionSettings(long, int, int, int)}.
+	 *
+	 * @return
+	 * Maximum number of sessions.
+	 */
+	public final int getMaxSessions() {
+		return maxSessions;
+	}
+
+	/**
+	 * See {@link #UdpReverseProxySessionSettings(long, int, int, int)}.
+	 *
+	 * @return
+	 * Maximum number of datagrams read in a batch.
+	 */
+	public final int getMaxDatagramsPerRead() {
+		return maxDatagramsPerRead;
+	}
+
+	/**
+	 * See {@link #UdpReverseProxySessionSettings(long, int, int, int)}.
+	 *
+	 * @return
+	 * Maximum size of a datagram in bytes.
+	 */
+	public final int getMaxDatagramBytes() {
+		return maxDatagramBytes;
+	}
+
+	/**
+	 * Returns a description of the {@link UdpReverseProxySessionSettings}.
+	 *
+	 * @return
+	 * A description of the {@link UdpReverseProxySessionSettings}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(idleTimeoutMillis=").append(idleTimeoutMillis)
+				.append(", maxSessions=").append(maxSessions)
+				.append(", maxDatagramsPerRead=").append(maxDatagramsPerRead)
+				.append(", maxDatagramBytes=").append(maxDatagramBytes).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
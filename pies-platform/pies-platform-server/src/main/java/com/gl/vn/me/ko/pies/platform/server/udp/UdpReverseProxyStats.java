@@ -0,0 +1,114 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Counters of events that happen in a {@link UdpReverseProxyServer}.
+ * Counters are cumulative since the {@link UdpReverseProxyServer} was constructed and are cheap to update concurrently.
+ */
+@ThreadSafe
+public final class UdpReverseProxyStats {
+	private final LongAdder feToBeDatagrams;
+	private final LongAdder beToFeDatagrams;
+	private final LongAdder droppedDatagrams;
+	private final LongAdder createdSessions;
+	private final LongAdder expiredSessions;
+
+	UdpReverseProxyStats() {
+		feToBeDatagrams = new LongAdder();
+		beToFeDatagrams = new LongAdder();
+		droppedDatagrams = new LongAdder();
+		createdSessions = new LongAdder();
+		expiredSessions = new LongAdder();
+	}
+
+	/**
+	 * Returns number of datagrams forwarded from clients to back-ends.
+	 *
+	 * @return
+	 * Number of datagrams.
+	 */
+	public final long getFrontEndToBackEndDatagrams() {
+		return feToBeDatagrams.sum();
+	}
+
+	/**
+	 * Returns number of datagrams forwarded from back-ends to clients.
+	 *
+	 * @return
+	 * Number of datagrams.
+	 */
+	public final long getBackEndToFrontEndDatagrams() {
+		return beToFeDatagrams.sum();
+	}
+
+	/**
+	 * Returns number of datagrams from clients that were dropped because a session couldn't be created,
+	 * e.g. because the maximal number of sessions was reached (see {@link UdpReverseProxySessionSettings}).
+	 *
+	 * @return
+	 * Number of datagrams.
+	 */
+	public final long getDroppedDatagrams() {
+		return droppedDatagrams.sum();
+	}
+
+	/**
+	 * Returns number of created sessions.
+	 *
+	 * @return
+	 * Number of sessions.
+	 */
+	public final long getCreatedSessions() {
+		return createdSessions.sum();
+	}
+
+	/**
+	 * Returns number of sessions that were expired because they were idle (see {@link UdpReverseProxySessionSettings}).
+	 *
+	 * @return
+	 * Number of sessions.
+	 */
+	public final long getExpiredSessions() {
+		return expiredSessions.sum();
+	}
+
+	final void frontEndToBackEnd() {
+		feToBeDatagrams.increment();
+	}
+
+	final void backEndToFrontEnd() {
+		beToFeDatagrams.increment();
+	}
+
+	final void dropped() {
+		droppedDatagrams.increment();
+	}
+
+	final void sessionCreated() {
+		createdSessions.increment();
+	}
+
+	final void sessionExpired() {
+		expiredSessions.increment();
+	}
+
+	/**
+	 * Returns a description of the {@link UdpReverseProxyStats}.
+	 *
+	 * @return
+	 * A description of the {@link UdpReverseProxyStats}.
+	 */
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(this.getClass().getName())
+				.append("(feToBeDatagrams=").append(feToBeDatagrams)
+				.append(", beToFeDatagrams=").append(beToFeDatagrams)
+				.append(", droppedDatagrams=").append(droppedDatagrams)
+				.append(", createdSessions=").append(createdSessions)
+				.append(", expiredSessions=").append(expiredSessions).append(')');
+		final String result = sb.toString();
+		return result;
+	}
+}
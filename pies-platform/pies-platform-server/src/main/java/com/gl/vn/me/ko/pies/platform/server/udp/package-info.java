@@ -0,0 +1,6 @@
+/**
+ * Contains UDP implementation of the {@link com.gl.vn.me.ko.pies.platform.server.Server} interface.
+ */
+@com.gl.vn.me.ko.pies.base.doc.Defaults
+@javax.annotation.ParametersAreNonnullByDefault
+package com.gl.vn.me.ko.pies.platform.server.udp;
@@ -0,0 +1,212 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares throughput and latency of {@link TcpReverseProxyServer} with and without
+ * {@linkplain TcpReverseProxyForwardingSettings#isEventLoopAffinity() event loop affinity}.
+ * <p>
+ * This is not a test and isn't run by the build. Run {@link #main(String[])} with the test classpath, e.g.
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyServerBenchmark}.
+ * Each mode is measured twice and only the second measurement is reported, the first one serves as a warm-up.
+ * <p>
+ * Throughput is measured by {@value #CONNECTIONS} concurrent connections, each of which sends {@value #BULK_BYTES} bytes
+ * through the proxy to an echo back-end while concurrently reading them back.
+ * Latency is measured by {@value #CONNECTIONS} concurrent connections, each of which performs {@value #ROUND_TRIPS}
+ * sequential round trips of {@value #MESSAGE_BYTES} bytes.
+ */
+@SuppressFBWarnings(value = "DM_DEFAULT_ENCODING", justification = "Output is for humans")
+public final class TcpReverseProxyServerBenchmark {
+	@ChannelHandler.Sharable
+	private static final class EchoChannelHandler extends ChannelHandlerAdapter {
+		private EchoChannelHandler() {
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			ctx.write(msg);
+		}
+
+		@Override
+		public final void channelReadComplete(final ChannelHandlerContext ctx) {
+			ctx.flush();
+		}
+	}
+
+	private static final int CONNECTIONS = 8;
+	private static final int WORKERS = 4;
+	private static final int BULK_BYTES = 64 * 1024 * 1024;
+	private static final int CHUNK_BYTES = 64 * 1024;
+	private static final int ROUND_TRIPS = 20_000;
+	private static final int MESSAGE_BYTES = 64;
+	private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+	public static final void main(final String... args) throws Exception {
+		final NioEventLoopGroup beEventLoopGroup = new NioEventLoopGroup(WORKERS);
+		final ExecutorService clientExecutor = Executors.newFixedThreadPool(2 * CONNECTIONS);
+		try {
+			final Channel beServerChannel = new ServerBootstrap().group(beEventLoopGroup)
+					.channel(NioServerSocketChannel.class)
+					.childOption(ChannelOption.TCP_NODELAY, true)
+					.childHandler(new EchoChannelHandler())
+					.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+					.sync()
+					.channel();
+			final TcpReverseProxyBackEnd backEnd = new TcpReverseProxyBackEnd((InetSocketAddress)beServerChannel.localAddress(), 1);
+			for (final boolean eventLoopAffinity : new boolean[] {false, true}) {
+				for (int i = 0; i < 2; i++) {
+					final String result = measure(backEnd, eventLoopAffinity, clientExecutor);
+					if (i == 1) {
+						System.out.println(result);
+					}
+				}
+			}
+			beServerChannel.close().sync();
+		} finally {
+			clientExecutor.shutdownNow();
+			beEventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+		}
+	}
+
+	private static final String measure(
+			final TcpReverseProxyBackEnd backEnd,
+			final boolean eventLoopAffinity,
+			final ExecutorService clientExecutor) throws Exception {
+		final InetSocketAddress feAddress;
+		try (final ServerSocket socket = new ServerSocket(0)) {
+			feAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort());
+		}
+		final TcpReverseProxyServer proxy = new TcpReverseProxyServer(
+				feAddress,
+				Collections.singletonList(backEnd),
+				"Proxy Server",
+				Integer.valueOf(1),
+				Integer.valueOf(WORKERS),
+				Executors.defaultThreadFactory(),
+				Integer.valueOf(CONNECT_TIMEOUT_MILLIS),
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN,
+				TcpReverseProxyBandwidthLimits.unlimited(),
+				Collections.emptyList(),
+				TcpReverseProxySettings.defaults().withForwardingSettings(
+						new TcpReverseProxyForwardingSettings(32 * 1024, 64 * 1024, true, eventLoopAffinity)));
+		proxy.start();
+		try {
+			final double mibPerSec = measureThroughput(feAddress, clientExecutor);
+			final long[] latenciesNanos = measureLatency(feAddress, clientExecutor);
+			return String.format("eventLoopAffinity=%-5s throughput=%8.1f MiB/s latency: mean=%6.1f us, p50=%6.1f us, p99=%6.1f us",
+					eventLoopAffinity,
+					mibPerSec,
+					Arrays.stream(latenciesNanos).average().getAsDouble() / 1000,
+					percentile(latenciesNanos, 0.5) / 1000d,
+					percentile(latenciesNanos, 0.99) / 1000d);
+		} finally {
+			proxy.shutdown();
+		}
+	}
+
+	private static final double measureThroughput(final InetSocketAddress feAddress, final ExecutorService clientExecutor)
+			throws Exception {
+		final List<Future<?>> futures = new ArrayList<>(2 * CONNECTIONS);
+		final List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+		try {
+			for (int i = 0; i < CONNECTIONS; i++) {
+				sockets.add(connect(feAddress));
+			}
+			final long startNanos = System.nanoTime();
+			for (final Socket socket : sockets) {
+				futures.add(clientExecutor.submit(() -> {
+					final byte[] chunk = new byte[CHUNK_BYTES];
+					final OutputStream out = socket.getOutputStream();
+					for (int sent = 0; sent < BULK_BYTES; sent += CHUNK_BYTES) {
+						out.write(chunk);
+					}
+					out.flush();
+					return null;
+				}));
+				futures.add(clientExecutor.submit(() -> {
+					final byte[] chunk = new byte[CHUNK_BYTES];
+					final DataInputStream in = new DataInputStream(socket.getInputStream());
+					for (int received = 0; received < BULK_BYTES; received += CHUNK_BYTES) {
+						in.readFully(chunk);
+					}
+					return null;
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+			final double seconds = (System.nanoTime() - startNanos) / 1e9;
+			return (double)CONNECTIONS * BULK_BYTES / (1024 * 1024) / seconds;
+		} finally {
+			for (final Socket socket : sockets) {
+				socket.close();
+			}
+		}
+	}
+
+	private static final long[] measureLatency(final InetSocketAddress feAddress, final ExecutorService clientExecutor)
+			throws Exception {
+		final List<Future<long[]>> futures = new ArrayList<>(CONNECTIONS);
+		for (int i = 0; i < CONNECTIONS; i++) {
+			futures.add(clientExecutor.submit(() -> {
+				final long[] result = new long[ROUND_TRIPS];
+				try (final Socket socket = connect(feAddress)) {
+					final byte[] message = new byte[MESSAGE_BYTES];
+					final OutputStream out = socket.getOutputStream();
+					final DataInputStream in = new DataInputStream(socket.getInputStream());
+					for (int j = 0; j < ROUND_TRIPS; j++) {
+						final long startNanos = System.nanoTime();
+						out.write(message);
+						out.flush();
+						in.readFully(message);
+						result[j] = System.nanoTime() - startNanos;
+					}
+				}
+				return result;
+			}));
+		}
+		final long[] result = new long[CONNECTIONS * ROUND_TRIPS];
+		for (int i = 0; i < CONNECTIONS; i++) {
+			System.arraycopy(futures.get(i).get(), 0, result, i * ROUND_TRIPS, ROUND_TRIPS);
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static final Socket connect(final InetSocketAddress address) throws IOException {
+		final Socket result = new Socket(address.getAddress(), address.getPort());
+		result.setTcpNoDelay(true);
+		return result;
+	}
+
+	private static final long percentile(final long[] sortedValues, final double p) {
+		return sortedValues[Math.min(sortedValues.length - 1, (int)(p * sortedValues.length))];
+	}
+
+	private TcpReverseProxyServerBenchmark() {
+	}
+}
@@ -0,0 +1,132 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyBackEnd {
+	private static final TcpReverseProxyHealthCheckSettings SETTINGS
+			= new TcpReverseProxyHealthCheckSettings(0, 1000, 2, 60_000, 200_000);
+	private static final TcpReverseProxyMultiplexer MULTIPLEXER = new TcpReverseProxyMultiplexer(
+			TcpReverseProxyMultiplexingSettings.disabled(), TcpReverseProxyForwardingSettings.defaults(),
+			new TcpReverseProxyCapture(TcpReverseProxyCaptureSettings.unavailable(), Executors.defaultThreadFactory()));
+
+	private static final TcpReverseProxyBackEnd newBackEnd(final int port) {
+		return new TcpReverseProxyBackEnd(InetSocketAddress.createUnresolved("localhost", port), 1);
+	}
+
+	public TestTcpReverseProxyBackEnd() {
+	}
+
+	@Test
+	public final void ejectionThreshold() {
+		final TcpReverseProxyBackEnd backEnd = newBackEnd(7000);
+		assertEquals(0, backEnd.reportFailure(SETTINGS));
+		assertFalse(backEnd.isEjected());
+		assertEquals(60_000, backEnd.reportFailure(SETTINGS));
+		assertTrue(backEnd.isEjected());
+		assertEquals(1, backEnd.getEjections());
+	}
+
+	@Test
+	public final void successResetsFailures() {
+		final TcpReverseProxyBackEnd backEnd = newBackEnd(7000);
+		backEnd.reportFailure(SETTINGS);
+		backEnd.reportSuccess();
+		assertEquals(0, backEnd.getConsecutiveFailures());
+		assertEquals(0, backEnd.reportFailure(SETTINGS));
+		assertFalse(backEnd.isEjected());
+	}
+
+	@Test
+	public final void exponentialBackOff() {
+		final TcpReverseProxyHealthCheckSettings settings = new TcpReverseProxyHealthCheckSettings(0, 1000, 1, 1, 3);
+		final TcpReverseProxyBackEnd backEnd = newBackEnd(7000);
+		assertEquals(1, backEnd.reportFailure(settings));
+		readmit(backEnd);
+		assertEquals(2, backEnd.reportFailure(settings));
+		readmit(backEnd);
+		assertEquals("Assert that ejection period doesn't exceed the maximum", 3, backEnd.reportFailure(settings));
+		readmit(backEnd);
+		backEnd.reportSuccess();
+		assertEquals("Assert that success after re-admission resets ejection period", 1, backEnd.reportFailure(settings));
+	}
+
+	@Test
+	public final void ejectedBackEndIsNotSelected() {
+		final List<TcpReverseProxyBackEnd> backEnds = ImmutableList.of(newBackEnd(7000), newBackEnd(7001));
+		final TcpReverseProxyBackEndGroup group = new TcpReverseProxyBackEndGroup(backEnds,
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN, 1000, TcpReverseProxyBackEndPoolSettings.disabled(), SETTINGS,
+				TcpReverseProxyAdmissionSettings.unlimited(), MULTIPLEXER);
+		group.reportFailure(backEnds.get(0));
+		group.reportFailure(backEnds.get(0));
+		for (int i = 0; i < 4; i++) {
+			assertSame(backEnds.get(1), group.select());
+		}
+	}
+
+	@Test
+	public final void allEjected() {
+		final List<TcpReverseProxyBackEnd> backEnds = ImmutableList.of(newBackEnd(7000), newBackEnd(7001));
+		final TcpReverseProxyBackEndGroup group = new TcpReverseProxyBackEndGroup(backEnds,
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN, 1000, TcpReverseProxyBackEndPoolSettings.disabled(), SETTINGS,
+				TcpReverseProxyAdmissionSettings.unlimited(), MULTIPLEXER);
+		for (final TcpReverseProxyBackEnd backEnd : backEnds) {
+			group.reportFailure(backEnd);
+			group.reportFailure(backEnd);
+		}
+		assertEquals("Assert that ejection is ignored if all back-ends are ejected",
+				backEnds.size(), ImmutableList.of(group.select(), group.select()).stream().distinct().count());
+	}
+
+	@Test
+	public final void drainedBackEndIsNotSelected() {
+		final List<TcpReverseProxyBackEnd> backEnds = ImmutableList.of(newBackEnd(7000), newBackEnd(7001));
+		final TcpReverseProxyBackEndGroup group = new TcpReverseProxyBackEndGroup(backEnds,
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN, 1000, TcpReverseProxyBackEndPoolSettings.disabled(), SETTINGS,
+				TcpReverseProxyAdmissionSettings.unlimited(), MULTIPLEXER);
+		assertTrue(group.drain(backEnds.get(0)));
+		assertTrue(backEnds.get(0).isDraining());
+		for (int i = 0; i < 4; i++) {
+			assertSame(backEnds.get(1), group.select());
+		}
+		assertTrue(group.drain(backEnds.get(1)));
+		assertNull("Assert that draining back-ends aren't selected even if there are no others", group.select());
+		assertEquals(backEnds, group.getBackEnds());
+	}
+
+	@Test
+	public final void addAndRemove() {
+		final TcpReverseProxyBackEnd initial = newBackEnd(7000);
+		final TcpReverseProxyBackEnd added = newBackEnd(7001);
+		final TcpReverseProxyBackEndGroup group = new TcpReverseProxyBackEndGroup(ImmutableList.of(initial),
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN, 1000, TcpReverseProxyBackEndPoolSettings.disabled(), SETTINGS,
+				new TcpReverseProxyAdmissionSettings(1, 1, 1000), MULTIPLEXER);
+		assertSame(initial, group.tryAcquire(ImmutableSet.of()));
+		assertNull(group.tryAcquire(ImmutableSet.of()));
+		assertTrue(group.add(added));
+		assertFalse("Assert that a back-end with an existing address isn't added", group.add(newBackEnd(7001)));
+		assertNotNull(group.getPool(added));
+		assertSame("Assert that an added back-end is selected", added, group.tryAcquire(ImmutableSet.of()));
+		assertTrue(group.remove(initial));
+		assertFalse(group.remove(initial));
+		assertTrue(initial.isDraining());
+		assertNull(group.getPool(initial));
+		assertEquals(ImmutableList.of(added), group.getBackEnds());
+		group.release(initial);
+		assertNull("Assert that a released slot of a removed back-end isn't reused", group.tryAcquire(ImmutableSet.of()));
+	}
+
+	private static final void readmit(final TcpReverseProxyBackEnd backEnd) {
+		assertTrue(backEnd.isAvailable(System.nanoTime() + 1_000_000_000L));
+	}
+}
@@ -0,0 +1,109 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyBackEndPool {
+	private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+	private static final long AWAIT_MILLIS = 5000;
+
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private NioEventLoopGroup eventLoopGroup;
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private Channel beServerChannel;
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private InetSocketAddress beAddress;
+
+	public TestTcpReverseProxyBackEndPool() {
+	}
+
+	@Before
+	public final void setUp() throws InterruptedException {
+		eventLoopGroup = new NioEventLoopGroup(1);
+		beServerChannel = new ServerBootstrap().group(eventLoopGroup)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected final void initChannel(final SocketChannel channel) {
+						channel.pipeline().addLast(new ChannelHandlerAdapter());
+					}
+				})
+				.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+				.sync()
+				.channel();
+		beAddress = (InetSocketAddress)beServerChannel.localAddress();
+	}
+
+	@After
+	public final void tearDown() {
+		beServerChannel.close().awaitUninterruptibly();
+		eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+	}
+
+	@Test
+	public final void pollDisabled() throws Exception {
+		final TcpReverseProxyBackEndPool pool = new TcpReverseProxyBackEndPool(
+				beAddress, CONNECT_TIMEOUT_MILLIS, TcpReverseProxyBackEndPoolSettings.disabled());
+		pool.warmUp(eventLoopGroup);
+		assertNull("Assert that disabled pool doesn't provide channels", poll(pool));
+	}
+
+	@Test
+	public final void pollWarm() throws Exception {
+		final TcpReverseProxyBackEndPool pool = new TcpReverseProxyBackEndPool(
+				beAddress, CONNECT_TIMEOUT_MILLIS, new TcpReverseProxyBackEndPoolSettings(1, 1, 60_000, true));
+		pool.warmUp(eventLoopGroup);
+		final Channel channel = awaitPoll(pool);
+		assertTrue("Assert that pooled channel is active", channel.isActive());
+		assertSame("Assert that pooled channel is registered on the event loop of the front-end",
+				eventLoopGroup.next(), channel.eventLoop());
+		channel.close().awaitUninterruptibly();
+		assertNotNull("Assert that the pool was replenished", awaitPoll(pool));
+	}
+
+	@Test
+	public final void pollClosed() throws Exception {
+		final TcpReverseProxyBackEndPool pool = new TcpReverseProxyBackEndPool(
+				beAddress, CONNECT_TIMEOUT_MILLIS, new TcpReverseProxyBackEndPoolSettings(1, 1, 60_000, true));
+		pool.warmUp(eventLoopGroup);
+		awaitPoll(pool).close();
+		pool.close();
+		assertNull("Assert that closed pool doesn't provide channels", poll(pool));
+	}
+
+	private final Channel poll(final TcpReverseProxyBackEndPool pool) throws Exception {
+		final EventLoop eventLoop = eventLoopGroup.next();
+		return eventLoop.submit(() -> pool.poll(eventLoop, new ChannelHandlerAdapter())).get();
+	}
+
+	private final Channel awaitPoll(final TcpReverseProxyBackEndPool pool) throws Exception {
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_MILLIS);
+		Channel result = poll(pool);
+		while (result == null && System.nanoTime() < deadlineNanos) {
+			Thread.sleep(10);
+			result = poll(pool);
+		}
+		assertNotNull("Assert that the pool provided a channel", result);
+		return result;
+	}
+}
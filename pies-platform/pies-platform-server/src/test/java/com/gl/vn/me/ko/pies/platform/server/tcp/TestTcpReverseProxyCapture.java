@@ -0,0 +1,123 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import com.gl.vn.me.ko.pies.platform.server.tcp.TcpReverseProxyCaptureRecord.Direction;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyCapture {
+	private static final int SEGMENT_SIZE_BYTES = 4096;
+	private static final int DATA_BYTES = 1000;
+
+	private static final ByteBuf newData(final int i) {
+		final byte[] result = new byte[DATA_BYTES];
+		result[0] = (byte)i;
+		result[DATA_BYTES - 1] = (byte)i;
+		return Unpooled.wrappedBuffer(result);
+	}
+
+	private static final int countSegments(final Path directory) throws IOException {
+		int result = 0;
+		try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (@SuppressWarnings("unused") final Path path : stream) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private Path directory;
+
+	public TestTcpReverseProxyCapture() {
+	}
+
+	@Before
+	public final void setUp() throws IOException {
+		directory = Files.createTempDirectory(getClass().getSimpleName());
+	}
+
+	@After
+	public final void tearDown() throws IOException {
+		try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (final Path path : stream) {
+				Files.delete(path);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public final void recordAndRead() throws Exception {
+		final TcpReverseProxyCapture capture = newCapture(100);
+		capture.record(1, Direction.FRONT_END_TO_BACK_END, newData(0));//not recorded because capture is disabled
+		capture.setEnabled(true);
+		final int recordsCount = 10;
+		for (int i = 0; i < recordsCount; i++) {
+			capture.record(i, i % 2 == 0 ? Direction.FRONT_END_TO_BACK_END : Direction.BACK_END_TO_FRONT_END, newData(i));
+			Thread.sleep(20);//let the next segment be allocated
+		}
+		capture.close();
+		assertEquals(recordsCount, capture.getRecords());
+		assertEquals(0, capture.getDroppedRecords());
+		assertTrue("Assert that segments were rotated", countSegments(directory) > 1);
+		final TcpReverseProxyCaptureReader reader = new TcpReverseProxyCaptureReader(directory);
+		long previousTimestampNanos = 0;
+		for (int i = 0; i < recordsCount; i++) {
+			assertTrue(reader.hasNext());
+			final TcpReverseProxyCaptureRecord record = reader.next();
+			assertEquals(i, record.getConnectionId());
+			assertEquals(i % 2 == 0 ? Direction.FRONT_END_TO_BACK_END : Direction.BACK_END_TO_FRONT_END, record.getDirection());
+			assertTrue(record.getTimestampNanos() >= previousTimestampNanos);
+			previousTimestampNanos = record.getTimestampNanos();
+			final ByteBuffer data = record.getData();
+			assertEquals(DATA_BYTES, data.remaining());
+			assertEquals((byte)i, data.get(data.position()));
+			assertEquals((byte)i, data.get(data.limit() - 1));
+		}
+		assertFalse(reader.hasNext());
+	}
+
+	@Test
+	public final void oldSegmentsAreDeleted() throws Exception {
+		final int maxSegments = 2;
+		final TcpReverseProxyCapture capture = newCapture(maxSegments);
+		capture.setEnabled(true);
+		for (int i = 0; i < 20; i++) {
+			capture.record(i, Direction.FRONT_END_TO_BACK_END, newData(i));
+			Thread.sleep(10);
+		}
+		capture.close();
+		assertTrue(countSegments(directory) <= maxSegments);
+	}
+
+	@Test
+	public final void recordBiggerThanSegmentIsDropped() throws Exception {
+		final TcpReverseProxyCapture capture = newCapture(2);
+		capture.setEnabled(true);
+		capture.record(1, Direction.FRONT_END_TO_BACK_END, Unpooled.wrappedBuffer(new byte[SEGMENT_SIZE_BYTES]));
+		capture.setEnabled(false);
+		assertEquals(0, capture.getRecords());
+		assertEquals(1, capture.getDroppedRecords());
+		assertFalse(new TcpReverseProxyCaptureReader(directory).hasNext());
+		capture.close();
+	}
+
+	private final TcpReverseProxyCapture newCapture(final int maxSegments) {
+		return new TcpReverseProxyCapture(
+				new TcpReverseProxyCaptureSettings(directory, SEGMENT_SIZE_BYTES, maxSegments), Executors.defaultThreadFactory());
+	}
+}
@@ -0,0 +1,61 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyConnections {
+	private static final TcpReverseProxyConnection newConnection(final long id) {
+		return new TcpReverseProxyConnection(id, new EmbeddedChannel());
+	}
+
+	private static final List<Long> ids(final List<TcpReverseProxyConnection> connections) {
+		return connections.stream().map((connection) -> Long.valueOf(connection.getId())).collect(Collectors.toList());
+	}
+
+	public TestTcpReverseProxyConnections() {
+	}
+
+	@Test
+	public final void pages() {
+		final TcpReverseProxyConnections connections = new TcpReverseProxyConnections();
+		for (long id = 5; id >= 1; id--) {
+			connections.add(newConnection(id));
+		}
+		assertEquals(5, connections.size());
+		assertEquals("[1, 2]", ids(connections.page(0, 2)).toString());
+		assertEquals("[3, 4]", ids(connections.page(2, 2)).toString());
+		assertEquals("[5]", ids(connections.page(4, 2)).toString());
+		assertTrue(connections.page(5, 2).isEmpty());
+	}
+
+	@Test
+	public final void remove() {
+		final TcpReverseProxyConnections connections = new TcpReverseProxyConnections();
+		final TcpReverseProxyConnection connection = newConnection(1);
+		connections.add(connection);
+		assertSame(connection, connections.get(1));
+		connections.remove(connection);
+		connections.remove(connection);
+		assertEquals("Assert that removing twice doesn't break size", 0, connections.size());
+		assertNull(connections.get(1));
+	}
+
+	@Test
+	public final void counters() {
+		final TcpReverseProxyConnection connection = newConnection(1);
+		connection.frontEndToBackEnd(3);
+		connection.frontEndToBackEnd(4);
+		connection.backEndToFrontEnd(5);
+		assertEquals(7, connection.getFrontEndToBackEndBytes());
+		assertEquals(5, connection.getBackEndToFrontEndBytes());
+		assertNull(connection.getBackEnd());
+		assertFalse("Assert that there is no back-end channel to write to", connection.isBackEndWritable());
+	}
+}
@@ -0,0 +1,72 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyLatencyHistogram {
+	public TestTcpReverseProxyLatencyHistogram() {
+	}
+
+	@Test
+	public final void exactSmallValues() {
+		final TcpReverseProxyLatencyHistogram histogram = new TcpReverseProxyLatencyHistogram();
+		for (int value = 1; value <= 50; value++) {
+			histogram.record(value);
+		}
+		final TcpReverseProxyLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(50, snapshot.getCount());
+		assertEquals(25, snapshot.getValueAtPercentile(50));
+		assertEquals(50, snapshot.getValueAtPercentile(100));
+		assertEquals(1, snapshot.getValueAtPercentile(0));
+		assertEquals(50, snapshot.getMax());
+	}
+
+	@Test
+	public final void relativePrecision() {
+		final TcpReverseProxyLatencyHistogram histogram = new TcpReverseProxyLatencyHistogram();
+		for (long value = 1000; value <= 1_000_000_000; value = value * 3 / 2) {
+			histogram.record(value);
+			final long reported = histogram.intervalSnapshot().getMax();
+			assertTrue(value + " was reported as " + reported, reported >= value && reported - value <= value / 32);
+		}
+	}
+
+	@Test
+	public final void percentiles() {
+		final TcpReverseProxyLatencyHistogram histogram = new TcpReverseProxyLatencyHistogram();
+		for (int i = 0; i < 990; i++) {
+			histogram.record(100_000);
+		}
+		for (int i = 0; i < 10; i++) {
+			histogram.record(50_000_000);
+		}
+		final TcpReverseProxyLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertTrue(snapshot.toString(), Math.abs(snapshot.getValueAtPercentile(99) - 100_000) <= 100_000 / 32);
+		assertTrue(snapshot.toString(), Math.abs(snapshot.getValueAtPercentile(99.9) - 50_000_000) <= 50_000_000 / 32);
+	}
+
+	@Test
+	public final void intervalSnapshot() {
+		final TcpReverseProxyLatencyHistogram histogram = new TcpReverseProxyLatencyHistogram();
+		histogram.record(1);
+		histogram.record(2);
+		assertEquals(2, histogram.intervalSnapshot().getCount());
+		histogram.record(3);
+		final TcpReverseProxyLatencyHistogram.Snapshot interval = histogram.intervalSnapshot();
+		assertEquals(1, interval.getCount());
+		assertEquals(3, interval.getMax());
+		assertEquals(0, histogram.intervalSnapshot().getCount());
+		assertEquals(3, histogram.snapshot().getCount());
+	}
+
+	@Test
+	public final void outOfRangeValues() {
+		final TcpReverseProxyLatencyHistogram histogram = new TcpReverseProxyLatencyHistogram();
+		histogram.record(-1);
+		histogram.record(Long.MAX_VALUE);
+		final TcpReverseProxyLatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(0, snapshot.getValueAtPercentile(50));
+		assertEquals(TcpReverseProxyLatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.getMax());
+	}
+}
@@ -0,0 +1,95 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import com.gl.vn.me.ko.pies.base.constant.Message;
+import com.google.common.collect.ImmutableList;
+import java.net.InetSocketAddress;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyLoadBalancingStrategy {
+	private static final List<TcpReverseProxyBackEnd> newBackEnds(final int... weights) {
+		final ImmutableList.Builder<TcpReverseProxyBackEnd> resultBuilder = ImmutableList.builder();
+		for (int i = 0; i < weights.length; i++) {
+			resultBuilder.add(new TcpReverseProxyBackEnd(InetSocketAddress.createUnresolved("localhost", 7000 + i), weights[i]));
+		}
+		return resultBuilder.build();
+	}
+
+	private static final Map<TcpReverseProxyBackEnd, Integer> select(
+			final TcpReverseProxyLoadBalancer loadBalancer, final List<TcpReverseProxyBackEnd> backEnds, final int times) {
+		final Map<TcpReverseProxyBackEnd, Integer> result = new IdentityHashMap<>();
+		for (int i = 0; i < times; i++) {
+			result.merge(loadBalancer.select(backEnds), 1, Integer::sum);
+		}
+		return result;
+	}
+
+	public TestTcpReverseProxyLoadBalancingStrategy() {
+	}
+
+	@Test
+	public final void roundRobin() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 5, 1);
+		final TcpReverseProxyLoadBalancer loadBalancer = TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN.newLoadBalancer();
+		for (int i = 0; i < 2 * backEnds.size(); i++) {
+			assertSame(backEnds.get(i % backEnds.size()), loadBalancer.select(backEnds));
+		}
+	}
+
+	@Test
+	public final void leastActiveConnections() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 1, 1);
+		backEnds.get(0).incrementActiveConnections();
+		backEnds.get(2).incrementActiveConnections();
+		final TcpReverseProxyLoadBalancer loadBalancer
+				= TcpReverseProxyLoadBalancingStrategy.LEAST_ACTIVE_CONNECTIONS.newLoadBalancer();
+		for (int i = 0; i < 2 * backEnds.size(); i++) {
+			assertSame(backEnds.get(1), loadBalancer.select(backEnds));
+		}
+	}
+
+	@Test
+	public final void leastActiveConnectionsTies() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 1, 1);
+		final TcpReverseProxyLoadBalancer loadBalancer
+				= TcpReverseProxyLoadBalancingStrategy.LEAST_ACTIVE_CONNECTIONS.newLoadBalancer();
+		assertEquals("Assert that ties are resolved in a round-robin manner",
+				backEnds.size(), select(loadBalancer, backEnds, backEnds.size()).size());
+	}
+
+	@Test
+	public final void powerOfTwoChoices() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 1);
+		backEnds.get(0).incrementActiveConnections();
+		final TcpReverseProxyLoadBalancer loadBalancer = TcpReverseProxyLoadBalancingStrategy.POWER_OF_TWO_CHOICES.newLoadBalancer();
+		for (int i = 0; i < 100; i++) {
+			assertSame(backEnds.get(1), loadBalancer.select(backEnds));
+		}
+	}
+
+	@Test
+	public final void powerOfTwoChoicesNeverWorst() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 1, 1, 1);
+		backEnds.get(3).incrementActiveConnections();
+		final TcpReverseProxyLoadBalancer loadBalancer = TcpReverseProxyLoadBalancingStrategy.POWER_OF_TWO_CHOICES.newLoadBalancer();
+		for (int i = 0; i < 1000; i++) {
+			assertNotSame(backEnds.get(3), loadBalancer.select(backEnds));
+		}
+	}
+
+	@Test
+	public final void weighted() {
+		final List<TcpReverseProxyBackEnd> backEnds = newBackEnds(1, 9);
+		final TcpReverseProxyLoadBalancer loadBalancer = TcpReverseProxyLoadBalancingStrategy.WEIGHTED.newLoadBalancer();
+		final Map<TcpReverseProxyBackEnd, Integer> selections = select(loadBalancer, backEnds, 10_000);
+		final int light = selections.getOrDefault(backEnds.get(0), 0);
+		final int heavy = selections.getOrDefault(backEnds.get(1), 0);
+		assertTrue(Message.format("heavy=%s, light=%s", heavy, light), heavy > 5 * light && light > 0);
+	}
+}
@@ -0,0 +1,477 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.timeout.IdleState;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyServer {
+	@ChannelHandler.Sharable
+	private static final class EchoChannelHandler extends ChannelHandlerAdapter {
+		private final AtomicInteger connections;
+		private final AtomicInteger closedConnections;
+
+		private EchoChannelHandler() {
+			connections = new AtomicInteger();
+			closedConnections = new AtomicInteger();
+		}
+
+		@Override
+		public final void channelActive(final ChannelHandlerContext ctx) {
+			connections.incrementAndGet();
+			ctx.fireChannelActive();
+		}
+
+		@Override
+		public final void channelInactive(final ChannelHandlerContext ctx) {
+			closedConnections.incrementAndGet();
+			ctx.fireChannelInactive();
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			ctx.writeAndFlush(msg);
+		}
+	}
+
+	private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+	private static final int SOCKET_TIMEOUT_MILLIS = 10_000;
+
+	private static final int freePort() throws IOException {
+		try (final ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private NioEventLoopGroup beEventLoopGroup;
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private Channel beServerChannel;
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private EchoChannelHandler beChannelHandler;
+	@Nullable
+	private TcpReverseProxyServer proxy;
+
+	public TestTcpReverseProxyServer() {
+	}
+
+	@Before
+	public final void setUp() throws Exception {
+		beEventLoopGroup = new NioEventLoopGroup(1);
+		beChannelHandler = new EchoChannelHandler();
+		beServerChannel = new ServerBootstrap().group(beEventLoopGroup)
+				.channel(NioServerSocketChannel.class)
+				.childHandler(beChannelHandler)
+				.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+				.sync()
+				.channel();
+	}
+
+	@After
+	public final void tearDown() {
+		if (proxy != null) {
+			proxy.shutdown();
+		}
+		beServerChannel.close().awaitUninterruptibly();
+		beEventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+	}
+
+	@Test
+	public final void forwardBulk() throws Exception {
+		final InetSocketAddress feAddress = startProxy(new TcpReverseProxyForwardingSettings(1024, 4 * 1024, false, false));
+		assertForwardedIntact(feAddress, 4 * 1024 * 1024);
+	}
+
+	@Test
+	public final void forwardBulkPooledDirectBuffers() throws Exception {
+		final InetSocketAddress feAddress = startProxy(new TcpReverseProxyForwardingSettings(1024, 4 * 1024, true, false));
+		assertForwardedIntact(feAddress, 4 * 1024 * 1024);
+	}
+
+	@Test
+	public final void forwardBulkEventLoopAffinity() throws Exception {
+		final InetSocketAddress feAddress = startProxy(new TcpReverseProxyForwardingSettings(1024, 4 * 1024, false, true));
+		assertForwardedIntact(feAddress, 4 * 1024 * 1024);
+	}
+
+	@Test
+	public final void failOver() throws Exception {
+		final TcpReverseProxyBackEnd deadBackEnd = new TcpReverseProxyBackEnd(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()), 1);
+		final InetSocketAddress feAddress = startProxy(ImmutableList.of(deadBackEnd, newBackEnd()), TcpReverseProxySettings.defaults());
+		for (int i = 0; i < 4; i++) {
+			assertForwardedIntact(feAddress, 1024);
+		}
+	}
+
+	@Test
+	public final void closeIdle() throws Exception {
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+				TcpReverseProxySettings.defaults().withIdleSettings(new TcpReverseProxyIdleSettings(0, 0, 200)));
+		assertForwardedIntact(feAddress, 1024);
+		try (final Socket socket = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			assertEquals("Assert that idle connection was closed by proxy", -1, socket.getInputStream().read());
+		}
+		final TcpReverseProxyStats stats = proxy.getStats();
+		assertTrue(stats.toString(), stats.getFrontEndIdleClosures(IdleState.ALL_IDLE)
+				+ stats.getBackEndIdleClosures(IdleState.ALL_IDLE) >= 1);
+		assertEquals(0, stats.getFrontEndIdleClosures(IdleState.READER_IDLE));
+	}
+
+	@Test
+	public final void admissionQueue() throws Exception {
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+				TcpReverseProxySettings.defaults().withAdmissionSettings(new TcpReverseProxyAdmissionSettings(1, 1, SOCKET_TIMEOUT_MILLIS)));
+		try (final Socket queued = new Socket()) {
+			try (final Socket admitted = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+				admitted.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+				admitted.getOutputStream().write(1);
+				assertEquals(1, admitted.getInputStream().read());
+				queued.connect(feAddress);
+				queued.setSoTimeout(300);
+				queued.getOutputStream().write(2);
+				try {
+					queued.getInputStream().read();
+					fail("Connection over capacity must not be forwarded");
+				} catch (final SocketTimeoutException e) {
+					//expected
+				}
+				try (final Socket rejected = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+					rejected.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+					assertEquals("Assert that connection was rejected because queue is full", -1, rejected.getInputStream().read());
+				}
+			}
+			queued.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			assertEquals("Assert that queued connection was forwarded once a slot became free", 2, queued.getInputStream().read());
+		}
+		assertEquals(1, proxy.getStats().getQueueFullRejections());
+	}
+
+	@Test
+	public final void mirror() throws Exception {
+		final int length = 256 * 1024;
+		try (final ServerSocket shadow = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			final CompletableFuture<Long> shadowReceivedFuture = CompletableFuture.supplyAsync(() -> {
+				long result = 0;
+				try (final Socket socket = shadow.accept()) {
+					final InputStream in = socket.getInputStream();
+					final byte[] buf = new byte[8192];
+					for (int read = in.read(buf); read >= 0; read = in.read(buf)) {
+						result += read;
+					}
+				} catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+				return result;
+			});
+			final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+					TcpReverseProxySettings.defaults().withMirrorSettings(
+							new TcpReverseProxyMirrorSettings((InetSocketAddress)shadow.getLocalSocketAddress(), 1, 2 * length)));
+			assertForwardedIntact(feAddress, length);
+			assertEquals("Assert that all data was mirrored", length,
+					shadowReceivedFuture.get(SOCKET_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).longValue());
+		}
+		final TcpReverseProxyStats stats = proxy.getStats();
+		assertEquals(1, stats.getMirroredConnections());
+		assertEquals(length, stats.getMirroredBytes());
+		assertEquals(0, stats.getMirrorDroppedBytes());
+	}
+
+	@Test
+	public final void mirrorToDeadShadow() throws Exception {
+		final int length = 64 * 1024;
+		final InetSocketAddress shadowAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+				TcpReverseProxySettings.defaults().withMirrorSettings(new TcpReverseProxyMirrorSettings(shadowAddress, 1, 1024)));
+		assertForwardedIntact(feAddress, length);
+		final TcpReverseProxyStats stats = proxy.getStats();
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SOCKET_TIMEOUT_MILLIS);
+		while (stats.getMirrorDroppedBytes() < length && System.nanoTime() < deadlineNanos) {
+			Thread.sleep(10);
+		}
+		assertEquals("Assert that data that couldn't be mirrored was counted as dropped", length, stats.getMirrorDroppedBytes());
+		assertEquals(0, stats.getMirroredBytes());
+	}
+
+	@Test
+	public final void bandwidthLimit() throws Exception {
+		final int length = 4 * 1024 * 1024;
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()), TcpReverseProxySettings.defaults());
+		proxy.getBandwidthLimits().setConnectionReadBytesPerSecond(length);
+		final long startNanos = System.nanoTime();
+		assertForwardedIntact(feAddress, length);
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		assertTrue("Assert that forwarding was delayed", elapsedMillis >= 500);
+		assertTrue(proxy.getStats().getShapingDelays() > 0);
+	}
+
+	@Test
+	public final void multiplexing() throws Exception {
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+				TcpReverseProxySettings.defaults().withMultiplexingSettings(new TcpReverseProxyMultiplexingSettings(1)));
+		final int clients = 16;
+		final List<CompletableFuture<Void>> clientFutures = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			final int seed = i;
+			clientFutures.add(CompletableFuture.runAsync(() -> {
+				try {
+					assertForwardedIntact(feAddress, 256 * 1024, seed);
+				} catch (final Exception e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+		for (final CompletableFuture<Void> clientFuture : clientFutures) {
+			clientFuture.get(SOCKET_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		assertForwardedIntact(feAddress, 1024);
+		assertTrue("Assert that back-end connections were shared by front-end connections",
+				beChannelHandler.connections.get() <= 2);
+	}
+
+	@Test
+	public final void removeBackEndMultiplexed() throws Exception {
+		final TcpReverseProxyBackEnd backEnd = newBackEnd();
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(backEnd),
+				TcpReverseProxySettings.defaults().withMultiplexingSettings(new TcpReverseProxyMultiplexingSettings(1)));
+		assertForwardedIntact(feAddress, 1024);
+		assertEquals(1, beChannelHandler.connections.get());
+		assertEquals(0, beChannelHandler.closedConnections.get());
+		assertTrue(proxy.removeBackEnd(backEnd));
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SOCKET_TIMEOUT_MILLIS);
+		while (beChannelHandler.closedConnections.get() == 0 && System.nanoTime() < deadlineNanos) {
+			Thread.sleep(10);
+		}
+		assertEquals("Assert that the shared back-end connection to the removed back-end was closed",
+				1, beChannelHandler.closedConnections.get());
+	}
+
+	@Test
+	public final void connectionTable() throws Exception {
+		final TcpReverseProxyBackEnd backEnd = newBackEnd();
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(backEnd), TcpReverseProxySettings.defaults());
+		final TcpReverseProxyConnections connections = proxy.getConnections();
+		try (final Socket socket = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			socket.getOutputStream().write(new byte[] {1, 2, 3});
+			new DataInputStream(socket.getInputStream()).readFully(new byte[3]);
+			final List<TcpReverseProxyConnection> page = connections.page(0, 10);
+			assertEquals(1, page.size());
+			final TcpReverseProxyConnection connection = page.get(0);
+			assertSame(backEnd, connection.getBackEnd());
+			assertEquals(socket.getLocalSocketAddress(), connection.getFrontEndAddress());
+			assertEquals(3, connection.getFrontEndToBackEndBytes());
+			assertEquals(3, connection.getBackEndToFrontEndBytes());
+			assertTrue(connection.isFrontEndWritable());
+			final TcpReverseProxyStats stats = proxy.getStats();
+			assertEquals(1, stats.getBackEndConnectLatency().snapshot().getCount());
+			assertEquals(1, stats.getFrontEndReadyLatency().snapshot().getCount());
+			assertTrue(stats.getFrontEndToBackEndForwardingLatency().snapshot().getCount() >= 1);
+		}
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SOCKET_TIMEOUT_MILLIS);
+		while (connections.size() > 0 && System.nanoTime() < deadlineNanos) {
+			Thread.sleep(10);
+		}
+		assertEquals("Assert that a closed connection was removed from the table", 0, connections.size());
+	}
+
+	@Test
+	public final void listeners() throws Exception {
+		final InetSocketAddress listenerAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()), TcpReverseProxySettings.defaults(),
+				Collections.singletonList(new TcpReverseProxyListener(
+						"second", listenerAddress, Collections.singletonList(newBackEnd()),
+						TcpReverseProxyLoadBalancingStrategy.LEAST_ACTIVE_CONNECTIONS)));
+		assertForwardedIntact(listenerAddress, 1024);
+		assertForwardedIntact(listenerAddress, 1024);
+		assertForwardedIntact(feAddress, 1024);
+		final TcpReverseProxyStats listenerStats = proxy.getListenerStats().get("second");
+		assertEquals(2, listenerStats.getBackEndConnectLatency().snapshot().getCount());
+		assertEquals(1, proxy.getStats().getBackEndConnectLatency().snapshot().getCount());
+		assertEquals(3, beChannelHandler.connections.get());
+		assertEquals(Collections.singletonList("second"), proxy.getListenerNames());
+		assertFalse("Assert that a back-end with an existing address isn't added", proxy.addBackEnd("second", newBackEnd()));
+		final TcpReverseProxyBackEnd added = new TcpReverseProxyBackEnd(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()), 1);
+		assertTrue(proxy.addBackEnd("second", added));
+		assertEquals(2, proxy.getBackEnds("second").size());
+		assertEquals("Assert that back-ends of the primary front-end aren't affected", 1, proxy.getBackEnds().size());
+		assertTrue(proxy.removeBackEnd("second", added));
+		assertEquals(1, proxy.getBackEnds("second").size());
+	}
+
+	@Test
+	public final void tls() throws Exception {
+		final InetSocketAddress listenerAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		final Path keyStoreFile = Paths.get(TestTcpReverseProxyServer.class.getResource("proxy.jks").toURI());
+		final SSLContext serverSslContext = TcpReverseProxyTlsSettings.newSslContext(keyStoreFile, "password");
+		final InetSocketAddress feAddress = startProxy(Collections.singletonList(newBackEnd()),
+				TcpReverseProxySettings.defaults().withTlsSettings(
+						new TcpReverseProxyTlsSettings(serverSslContext, 100, 60, 10_000, ImmutableMap.of("Second.Example", "second"))),
+				Collections.singletonList(new TcpReverseProxyListener(
+						"second", listenerAddress, Collections.singletonList(newBackEnd()),
+						TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN)));
+		final SSLContext clientSslContext = newClientSslContext(keyStoreFile);
+		assertForwardedIntactViaTls(clientSslContext, feAddress, "second.example", 64 * 1024);
+		assertForwardedIntactViaTls(clientSslContext, feAddress, "second.example", 1024);
+		assertForwardedIntactViaTls(newClientSslContext(keyStoreFile), feAddress, null, 1024);
+		final TcpReverseProxyStats stats = proxy.getStats();
+		assertEquals(3, stats.getTlsHandshakes());
+		assertEquals("Assert that reconnecting client resumed the session", 1, stats.getTlsResumedHandshakes());
+		assertEquals(0, stats.getTlsFailedHandshakes());
+		assertEquals(3, stats.getTlsHandshakeLatency().snapshot().getCount());
+		assertEquals("Assert that the SNI host name selected back-ends of the listener",
+				2, proxy.getListenerStats().get("second").getBackEndConnectLatency().snapshot().getCount());
+		assertEquals(1, stats.getBackEndConnectLatency().snapshot().getCount());
+		try (final Socket socket = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			socket.getOutputStream().write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+			assertEquals("Assert that the proxy closed a connection that isn't TLS", -1, socket.getInputStream().read());
+		} catch (final IOException e) {
+			//connection reset is also acceptable
+		}
+		assertEquals(1, stats.getTlsFailedHandshakes());
+	}
+
+	private final TcpReverseProxyBackEnd newBackEnd() {
+		return new TcpReverseProxyBackEnd((InetSocketAddress)beServerChannel.localAddress(), 1);
+	}
+
+	private final InetSocketAddress startProxy(final TcpReverseProxyForwardingSettings forwardingSettings) throws Exception {
+		return startProxy(Collections.singletonList(newBackEnd()), TcpReverseProxySettings.defaults().withForwardingSettings(forwardingSettings));
+	}
+
+	private final InetSocketAddress startProxy(
+			final List<TcpReverseProxyBackEnd> backEnds, final TcpReverseProxySettings settings) throws Exception {
+		return startProxy(backEnds, settings, Collections.emptyList());
+	}
+
+	private final InetSocketAddress startProxy(
+			final List<TcpReverseProxyBackEnd> backEnds,
+			final TcpReverseProxySettings settings,
+			final List<TcpReverseProxyListener> listeners) throws Exception {
+		final InetSocketAddress feAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		proxy = new TcpReverseProxyServer(
+				feAddress,
+				backEnds,
+				"Proxy Server",
+				Integer.valueOf(1),
+				Integer.valueOf(2),
+				Executors.defaultThreadFactory(),
+				Integer.valueOf(CONNECT_TIMEOUT_MILLIS),
+				TcpReverseProxyLoadBalancingStrategy.ROUND_ROBIN,
+				TcpReverseProxyBandwidthLimits.unlimited(),
+				listeners,
+				settings);
+		proxy.start();
+		return feAddress;
+	}
+
+	private static final SSLContext newClientSslContext(final Path trustStoreFile) throws Exception {
+		final KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+		try (final InputStream trustStoreStream = Files.newInputStream(trustStoreFile)) {
+			trustStore.load(trustStoreStream, "password".toCharArray());
+		}
+		final TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init(trustStore);
+		final SSLContext result = SSLContext.getInstance("TLS");
+		result.init(null, trustManagerFactory.getTrustManagers(), null);
+		return result;
+	}
+
+	private static final void assertForwardedIntactViaTls(
+			final SSLContext sslContext, final InetSocketAddress feAddress, @Nullable final String sniHostName, final int length)
+			throws Exception {
+		final byte[] request = new byte[length];
+		new Random(length).nextBytes(request);
+		final byte[] response = new byte[request.length];
+		try (final SSLSocket socket = (SSLSocket)sslContext.getSocketFactory().createSocket(
+				feAddress.getAddress(), feAddress.getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			if (sniHostName != null) {
+				final SSLParameters sslParameters = socket.getSSLParameters();
+				sslParameters.setServerNames(Collections.singletonList(new SNIHostName(sniHostName)));
+				socket.setSSLParameters(sslParameters);
+			}
+			final OutputStream out = socket.getOutputStream();
+			out.write(request);
+			out.flush();
+			new DataInputStream(socket.getInputStream()).readFully(response);
+		}
+		assertArrayEquals("Assert that data was forwarded intact in both directions", request, response);
+	}
+
+	private static final void assertForwardedIntact(final InetSocketAddress feAddress, final int length) throws Exception {
+		assertForwardedIntact(feAddress, length, 0);
+	}
+
+	private static final void assertForwardedIntact(
+			final InetSocketAddress feAddress, final int length, final long seed) throws Exception {
+		final byte[] request = new byte[length];
+		new Random(seed).nextBytes(request);
+		final byte[] response = new byte[request.length];
+		try (final Socket socket = new Socket(feAddress.getAddress(), feAddress.getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			final CompletableFuture<Void> writeFuture = CompletableFuture.runAsync(() -> {
+				try {
+					final OutputStream out = socket.getOutputStream();
+					out.write(request);
+					out.flush();
+				} catch (final IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			final InputStream in = socket.getInputStream();
+			new DataInputStream(in).readFully(response);
+			writeFuture.get(SOCKET_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		}
+		assertArrayEquals("Assert that data was forwarded intact in both directions", request, response);
+	}
+}
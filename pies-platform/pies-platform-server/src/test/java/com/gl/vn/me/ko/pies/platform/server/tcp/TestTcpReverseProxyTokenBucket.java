@@ -0,0 +1,46 @@
+package com.gl.vn.me.ko.pies.platform.server.tcp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public final class TestTcpReverseProxyTokenBucket {
+	private static final long BYTES_PER_SECOND = 1000;
+
+	public TestTcpReverseProxyTokenBucket() {
+	}
+
+	@Test
+	public final void unlimited() {
+		final TcpReverseProxyTokenBucket bucket = new TcpReverseProxyTokenBucket();
+		assertEquals(0, bucket.acquire(Long.MAX_VALUE / 2, 0, System.nanoTime()));
+	}
+
+	@Test
+	public final void burstIsNotDelayed() {
+		final TcpReverseProxyTokenBucket bucket = new TcpReverseProxyTokenBucket();
+		final long burstBytes = BYTES_PER_SECOND * TcpReverseProxyTokenBucket.BURST_NANOS / MILLISECONDS.toNanos(1000);
+		assertEquals(0, bucket.acquire(burstBytes, BYTES_PER_SECOND, System.nanoTime()));
+	}
+
+	@Test
+	public final void excessIsDelayed() {
+		final TcpReverseProxyTokenBucket bucket = new TcpReverseProxyTokenBucket();
+		final long nowNanos = System.nanoTime();
+		final long burstBytes = BYTES_PER_SECOND * TcpReverseProxyTokenBucket.BURST_NANOS / MILLISECONDS.toNanos(1000);
+		bucket.acquire(burstBytes, BYTES_PER_SECOND, nowNanos);
+		assertEquals(MILLISECONDS.toNanos(500), bucket.acquire(BYTES_PER_SECOND / 2, BYTES_PER_SECOND, nowNanos));
+		assertEquals(MILLISECONDS.toNanos(1500), bucket.acquire(BYTES_PER_SECOND, BYTES_PER_SECOND, nowNanos));
+		assertEquals("Assert that the delay decreases as time passes",
+				MILLISECONDS.toNanos(500), bucket.acquire(0, BYTES_PER_SECOND, nowNanos + MILLISECONDS.toNanos(1000)));
+	}
+
+	@Test
+	public final void idleTimeIsNotAccumulated() {
+		final TcpReverseProxyTokenBucket bucket = new TcpReverseProxyTokenBucket();
+		final long nowNanos = System.nanoTime() + MILLISECONDS.toNanos(10_000);
+		final long burstBytes = BYTES_PER_SECOND * TcpReverseProxyTokenBucket.BURST_NANOS / MILLISECONDS.toNanos(1000);
+		assertEquals(0, bucket.acquire(burstBytes, BYTES_PER_SECOND, nowNanos));
+		assertEquals(MILLISECONDS.toNanos(1000), bucket.acquire(BYTES_PER_SECOND, BYTES_PER_SECOND, nowNanos));
+	}
+}
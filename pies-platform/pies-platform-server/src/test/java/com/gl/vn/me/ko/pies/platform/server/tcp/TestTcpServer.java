@@ -2,15 +2,25 @@ package com.gl.vn.me.ko.pies.platform.server.tcp;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelInitializer;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.SocketChannelConfig;
 import io.netty.util.concurrent.Future;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -85,4 +95,179 @@ public final class TestTcpServer {
 		server.shutdown();
 		assertEquals("Assert that shutdownHook was invoked exactly once", 1, server.shutdownHookInvocationCount);
 	}
+
+	@Test
+	public final void socketOptions() throws Exception {
+		final CompletableFuture<SocketChannelConfig> acceptedConfig = new CompletableFuture<>();
+		final TcpServer server = new TcpServer(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				"TCP Server",
+				Integer.valueOf(1),
+				Integer.valueOf(1),
+				Executors.defaultThreadFactory(),
+				null,
+				new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected final void initChannel(final SocketChannel channel) {
+						acceptedConfig.complete(channel.config());
+					}
+				},
+				TcpServerSocketOptions.defaults().withBacklog(2048).withTcpNoDelay(false).withKeepAlive(true),
+				TcpServerConnectionLimits.unlimited());
+		try {
+			server.start();
+			final ServerSocketChannel serverChannel = server.getServerSocketChannel();
+			assertEquals(2048, serverChannel.config().getBacklog());
+			assertTrue(serverChannel.config().isReuseAddress());
+			try (final Socket socket = new Socket(serverChannel.localAddress().getAddress(), serverChannel.localAddress().getPort())) {
+				assertTrue(socket.isConnected());
+				final SocketChannelConfig config = acceptedConfig.get(10, TimeUnit.SECONDS);
+				assertFalse(config.isTcpNoDelay());
+				assertTrue(config.isKeepAlive());
+			}
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public final void drainAndShutdownForceCloses() throws Exception {
+		final CompletableFuture<SocketChannel> accepted = new CompletableFuture<>();
+		final TcpServer server = newAcceptingServer(accepted);
+		server.start();
+		final InetSocketAddress address = server.getServerSocketChannel().localAddress();
+		try (final Socket socket = new Socket(address.getAddress(), address.getPort())) {
+			assertTrue(socket.isConnected());
+			final SocketChannel channel = accepted.get(10, TimeUnit.SECONDS);
+			assertEquals("Assert that the open connection was force-closed",
+					1, server.drainAndShutdown(new TcpServerDrainSettings(100, 0)));
+			assertFalse("Assert that the connection is closed", channel.isOpen());
+			assertFalse("Assert that server isn't active", server.getState());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public final void drainAndShutdownClosesIdle() throws Exception {
+		final CompletableFuture<SocketChannel> accepted = new CompletableFuture<>();
+		final TcpServer server = newAcceptingServer(accepted);
+		server.start();
+		final InetSocketAddress address = server.getServerSocketChannel().localAddress();
+		try (final Socket socket = new Socket(address.getAddress(), address.getPort())) {
+			assertTrue(socket.isConnected());
+			final SocketChannel channel = accepted.get(10, TimeUnit.SECONDS);
+			assertEquals("Assert that the idle connection wasn't force-closed",
+					0, server.drainAndShutdown(new TcpServerDrainSettings(TimeUnit.MINUTES.toMillis(1), 100)));
+			assertFalse("Assert that the connection is closed", channel.isOpen());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public final void drainDoesNotBlockShutdown() throws Exception {
+		final CompletableFuture<SocketChannel> accepted = new CompletableFuture<>();
+		final TcpServer server = newAcceptingServer(accepted);
+		final Future<?> completion = server.start();
+		final InetSocketAddress address = server.getServerSocketChannel().localAddress();
+		try (final Socket socket = new Socket(address.getAddress(), address.getPort())) {
+			assertTrue(socket.isConnected());
+			final SocketChannel channel = accepted.get(10, TimeUnit.SECONDS);
+			final CompletableFuture<Integer> drained = CompletableFuture.supplyAsync(
+					() -> Integer.valueOf(server.drainAndShutdown(new TcpServerDrainSettings(TimeUnit.MINUTES.toMillis(1), 0))));
+			final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (server.getServerSocketChannel().isOpen() && System.nanoTime() - deadlineNanos < 0) {
+				Thread.sleep(10);
+			}
+			assertFalse("Assert that server stopped accepting connections", server.getServerSocketChannel().isOpen());
+			assertFalse("Assert that completion isn't signalled while draining", completion.isDone());
+			server.shutdown();
+			assertTrue("Assert that completion is signalled on shutdown", completion.isDone());
+			assertFalse("Assert that the connection is closed", channel.isOpen());
+			assertEquals(0, drained.get(10, TimeUnit.SECONDS).intValue());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public final void connectionLimit() throws Exception {
+		final TcpServer server = newAcceptingServer(new CompletableFuture<>(), new TcpServerConnectionLimits(1, 0, 0, 1000));
+		try {
+			assertLimitEnforced(server);
+			assertEquals(1, server.getConnectionStats().getGlobalLimitRejections());
+			assertEquals(0, server.getConnectionStats().getAddressLimitRejections());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	public final void connectionLimitPerAddress() throws Exception {
+		final TcpServer server = newAcceptingServer(new CompletableFuture<>(), new TcpServerConnectionLimits(0, 1, 0, 1000));
+		try {
+			assertLimitEnforced(server);
+			assertEquals(0, server.getConnectionStats().getGlobalLimitRejections());
+			assertEquals(1, server.getConnectionStats().getAddressLimitRejections());
+		} finally {
+			server.shutdown();
+		}
+	}
+
+	/**
+	 * Checks that the second connection to a {@link TcpServer} that allows a single connection is closed by the server,
+	 * and that a connection is accepted again once the first one is closed.
+	 */
+	private static final void assertLimitEnforced(final TcpServer server) throws Exception {
+		server.start();
+		final InetSocketAddress address = server.getServerSocketChannel().localAddress();
+		try (final Socket socket = new Socket(address.getAddress(), address.getPort())) {
+			assertTrue(socket.isConnected());
+			awaitOpenConnections(server, 1);
+			try (final Socket rejectedSocket = new Socket(address.getAddress(), address.getPort())) {
+				rejectedSocket.setSoTimeout((int)TimeUnit.SECONDS.toMillis(10));
+				assertEquals("Assert that the connection over the limit was closed by the server",
+						-1, rejectedSocket.getInputStream().read());
+			}
+			assertEquals(1, server.getConnectionStats().getOpenConnections());
+		}
+		awaitOpenConnections(server, 0);
+		try (final Socket socket = new Socket(address.getAddress(), address.getPort())) {
+			assertTrue(socket.isConnected());
+			awaitOpenConnections(server, 1);
+		}
+		assertEquals(0, server.getConnectionStats().getFileDescriptorRejections());
+	}
+
+	private static final void awaitOpenConnections(final TcpServer server, final long expected) throws InterruptedException {
+		final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (server.getConnectionStats().getOpenConnections() != expected && System.nanoTime() - deadlineNanos < 0) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, server.getConnectionStats().getOpenConnections());
+	}
+
+	private static final TcpServer newAcceptingServer(final CompletableFuture<SocketChannel> accepted) {
+		return newAcceptingServer(accepted, TcpServerConnectionLimits.unlimited());
+	}
+
+	private static final TcpServer newAcceptingServer(
+			final CompletableFuture<SocketChannel> accepted, final TcpServerConnectionLimits connectionLimits) {
+		return new TcpServer(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				"TCP Server",
+				Integer.valueOf(1),
+				Integer.valueOf(1),
+				Executors.defaultThreadFactory(),
+				null,
+				new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected final void initChannel(final SocketChannel channel) {
+						accepted.complete(channel);
+					}
+				},
+				TcpServerSocketOptions.defaults(),
+				connectionLimits);
+	}
 }
@@ -0,0 +1,156 @@
+package com.gl.vn.me.ko.pies.platform.server.udp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class TestUdpReverseProxyServer {
+	private static final class EchoChannelHandler extends ChannelHandlerAdapter {
+		private EchoChannelHandler() {
+		}
+
+		@Override
+		public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+			final DatagramPacket packet = (DatagramPacket)msg;
+			ctx.writeAndFlush(new DatagramPacket(packet.content(), packet.sender()));
+		}
+	}
+
+	private static final int SOCKET_TIMEOUT_MILLIS = 10_000;
+
+	private static final int freePort() throws IOException {
+		try (final DatagramSocket socket = new DatagramSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static final String sendAndReceive(final DatagramSocket socket, final InetSocketAddress address, final String data)
+			throws IOException {
+		final byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		socket.send(new java.net.DatagramPacket(bytes, bytes.length, address));
+		final java.net.DatagramPacket response = new java.net.DatagramPacket(new byte[1024], 1024);
+		socket.receive(response);
+		return new String(response.getData(), response.getOffset(), response.getLength(), StandardCharsets.UTF_8);
+	}
+
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private NioEventLoopGroup beEventLoopGroup;
+	@SuppressFBWarnings(
+			value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "The field is initialized in setUp() method")
+	private Channel beChannel;
+	@Nullable
+	private UdpReverseProxyServer proxy;
+
+	public TestUdpReverseProxyServer() {
+	}
+
+	@Before
+	public final void setUp() throws Exception {
+		beEventLoopGroup = new NioEventLoopGroup(1);
+		beChannel = new Bootstrap().group(beEventLoopGroup)
+				.channel(NioDatagramChannel.class)
+				.handler(new EchoChannelHandler())
+				.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+				.sync()
+				.channel();
+	}
+
+	@After
+	public final void tearDown() {
+		if (proxy != null) {
+			proxy.shutdown();
+		}
+		beChannel.close().awaitUninterruptibly();
+		beEventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+	}
+
+	@Test
+	public final void forward() throws Exception {
+		final InetSocketAddress feAddress = startProxy(UdpReverseProxySessionSettings.defaults());
+		try (final DatagramSocket client1 = new DatagramSocket();
+				final DatagramSocket client2 = new DatagramSocket()) {
+			client1.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			client2.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			for (int i = 0; i < 10; i++) {
+				assertEquals("a" + i, sendAndReceive(client1, feAddress, "a" + i));
+				assertEquals("b" + i, sendAndReceive(client2, feAddress, "b" + i));
+			}
+		}
+		final UdpReverseProxyStats stats = proxy.getStats();
+		assertEquals(2, proxy.getSessionCount());
+		assertEquals(2, stats.getCreatedSessions());
+		assertEquals(20, stats.getFrontEndToBackEndDatagrams());
+		assertEquals(20, stats.getBackEndToFrontEndDatagrams());
+	}
+
+	@Test
+	public final void expireIdleSessions() throws Exception {
+		final InetSocketAddress feAddress = startProxy(new UdpReverseProxySessionSettings(200, 10, 16, 2048));
+		try (final DatagramSocket client = new DatagramSocket()) {
+			client.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			assertEquals("a", sendAndReceive(client, feAddress, "a"));
+			final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SOCKET_TIMEOUT_MILLIS);
+			while (proxy.getSessionCount() != 0 && System.nanoTime() < deadlineNanos) {
+				Thread.sleep(50);
+			}
+			assertEquals(0, proxy.getSessionCount());
+			assertEquals(1, proxy.getStats().getExpiredSessions());
+			assertEquals("Assert that a new session is created for the same client", "b", sendAndReceive(client, feAddress, "b"));
+			assertEquals(2, proxy.getStats().getCreatedSessions());
+		}
+	}
+
+	@Test
+	public final void dropWhenMaxSessions() throws Exception {
+		final InetSocketAddress feAddress = startProxy(new UdpReverseProxySessionSettings(60_000, 1, 16, 2048));
+		try (final DatagramSocket client1 = new DatagramSocket();
+				final DatagramSocket client2 = new DatagramSocket()) {
+			client1.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+			client2.setSoTimeout(500);
+			assertEquals("a", sendAndReceive(client1, feAddress, "a"));
+			try {
+				sendAndReceive(client2, feAddress, "b");
+				fail("Datagram must have been dropped");
+			} catch (final SocketTimeoutException e) {
+				//expected
+			}
+		}
+		assertEquals(1, proxy.getSessionCount());
+		assertTrue(proxy.getStats().getDroppedDatagrams() >= 1);
+	}
+
+	private final InetSocketAddress startProxy(final UdpReverseProxySessionSettings settings) throws Exception {
+		final InetSocketAddress result = new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort());
+		proxy = new UdpReverseProxyServer(
+				result,
+				Collections.singletonList((InetSocketAddress)beChannel.localAddress()),
+				"UDP Proxy",
+				Integer.valueOf(2),
+				Executors.defaultThreadFactory(),
+				settings);
+		proxy.start();
+		return result;
+	}
+}